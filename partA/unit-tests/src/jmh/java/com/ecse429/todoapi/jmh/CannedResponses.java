@@ -0,0 +1,73 @@
+package com.ecse429.todoapi.jmh;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+
+/**
+ * Canned Todo Manager responses for the client-side benchmarks.
+ *
+ * Bodies mirror what the server returns, so the RestAssured parsing paths
+ * are exercised exactly as in the tests without any network traffic.
+ */
+final class CannedResponses {
+
+    private CannedResponses() {
+    }
+
+    /** Body of POST /todos: the created todo as a flat object. */
+    static final String FLAT_TODO =
+        "{\"id\":\"42\",\"title\":\"scan paperwork\",\"doneStatus\":\"false\",\"description\":\"\","
+            + "\"tasksof\":[{\"id\":\"1\"}],\"categories\":[{\"id\":\"1\"}]}";
+
+    /** Body of GET /todos/42: the same todo wrapped in a one-element collection. */
+    static final String WRAPPED_TODO = "{\"todos\":[" + FLAT_TODO + "]}";
+
+    /**
+     * Body of GET /todos with the given number of todos.
+     */
+    static String todoCollection(int size) {
+        StringBuilder sb = new StringBuilder("{\"todos\":[");
+        for (int i = 1; i <= size; i++) {
+            if (i > 1) sb.append(',');
+            sb.append("{\"id\":\"").append(i).append("\",\"title\":\"todo ").append(i)
+                .append("\",\"doneStatus\":\"false\",\"description\":\"benchmark todo ").append(i)
+                .append("\",\"tasksof\":[{\"id\":\"1\"}]}");
+        }
+        return sb.append("]}").toString();
+    }
+
+    /**
+     * XML body of GET /todos with the given number of todos, as todoCollection.
+     */
+    static String todoCollectionXml(int size) {
+        StringBuilder sb = new StringBuilder("<todos>");
+        for (int i = 1; i <= size; i++) {
+            sb.append("<todo><id>").append(i).append("</id><title>todo ").append(i)
+                .append("</title><doneStatus>false</doneStatus><description>benchmark todo ").append(i)
+                .append("</description><tasksof><id>1</id></tasksof></todo>");
+        }
+        return sb.append("</todos>").toString();
+    }
+
+    /**
+     * A 200 application/json response with the given body.
+     */
+    static Response json(String body) {
+        return new ResponseBuilder()
+            .setStatusCode(200)
+            .setContentType("application/json")
+            .setBody(body)
+            .build();
+    }
+
+    /**
+     * A 200 application/xml response with the given body.
+     */
+    static Response xml(String body) {
+        return new ResponseBuilder()
+            .setStatusCode(200)
+            .setContentType("application/xml")
+            .setBody(body)
+            .build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecse429.todoapi.jmh;
+
+import com.ecse429.todoapi.Entities;
+import com.ecse429.todoapi.Todo;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the id and title of every todo of a collection: through the GPath maps the
+ * suites used to build with {@code res.path("todos")}, or bound to {@link Todo} by
+ * {@link Entities} from JSON and from XML. Run with -prof gc (the default jmh.args) and
+ * compare gc.alloc.rate.norm, the bytes allocated per collection read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EntityBindingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private Response json;
+    private Response xml;
+
+    @Setup
+    public void setup() {
+        json = CannedResponses.json(CannedResponses.todoCollection(size));
+        xml = CannedResponses.xml(CannedResponses.todoCollectionXml(size));
+    }
+
+    @Benchmark
+    public void gpathMaps(Blackhole bh) {
+        List<Map<String, Object>> todos = json.path("todos");
+        for (Map<String, Object> t : todos) {
+            bh.consume(String.valueOf(t.get("id")));
+            bh.consume(String.valueOf(t.get("title")));
+        }
+    }
+
+    @Benchmark
+    public void typedJson(Blackhole bh) {
+        for (Todo t : Entities.list(json, Todo.class)) {
+            bh.consume(t.id());
+            bh.consume(t.title());
+        }
+    }
+
+    @Benchmark
+    public void typedXml(Blackhole bh) {
+        for (Todo t : Entities.list(xml, Todo.class)) {
+            bh.consume(t.id());
+            bh.consume(t.title());
+        }
+    }
+}
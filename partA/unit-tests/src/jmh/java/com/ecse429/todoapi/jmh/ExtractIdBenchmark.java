@@ -0,0 +1,47 @@
+package com.ecse429.todoapi.jmh;
+
+import com.ecse429.todoapi.TestHelper;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of TestHelper.extractId on the three response shapes it handles:
+ * a flat object (first lookup hits), a wrapped collection (both lookups run)
+ * and a response without an ID (both lookups miss).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExtractIdBenchmark {
+
+    private Response flat;
+    private Response wrapped;
+    private Response empty;
+
+    @Setup
+    public void setup() {
+        flat = CannedResponses.json(CannedResponses.FLAT_TODO);
+        wrapped = CannedResponses.json(CannedResponses.WRAPPED_TODO);
+        empty = CannedResponses.json("{\"todos\":[]}");
+    }
+
+    @Benchmark
+    public String flatObject() {
+        return TestHelper.extractId(flat, "todos");
+    }
+
+    @Benchmark
+    public String wrappedCollection() {
+        return TestHelper.extractId(wrapped, "todos");
+    }
+
+    @Benchmark
+    public String missingId() {
+        return TestHelper.extractId(empty, "todos");
+    }
+}
@@ -0,0 +1,41 @@
+package com.ecse429.todoapi.jmh;
+
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the GPath list extraction the helpers and suites use on collection
+ * responses, e.g. {@code res.path("todos")} in cleanupAllData and the title fallbacks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GPathListBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private Response collection;
+
+    @Setup
+    public void setup() {
+        collection = CannedResponses.json(CannedResponses.todoCollection(size));
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> todosList() {
+        return collection.path("todos");
+    }
+
+    @Benchmark
+    public List<String> todoIds() {
+        return collection.path("todos.id");
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecse429.todoapi.jmh;
+
+import com.ecse429.todoapi.PayloadEncoder;
+import com.ecse429.todoapi.TestHelper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building the bodies sent by the TestHelper create helpers.
+ *
+ * The *Format benchmarks build the bodies with String.format, as the helpers did before
+ * {@link PayloadEncoder}, and todoConcat with a StringBuilder, both for reference. The
+ * *Encoder benchmarks write into the thread's encoder buffer only; the *Helper ones are
+ * the helpers themselves, which also copy the buffer into the String they return.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PayloadBenchmark {
+
+    // Titles arrive qualified with the test namespace, as in the suites
+    private String title = "ns-mf3k2x9a1b-17-scan paperwork";
+    private String description = "created by the benchmark";
+    private boolean done = false;
+
+    @Benchmark
+    public String todoFormat() {
+        return String.format("{\"title\":\"%s\",\"doneStatus\":%s,\"description\":\"%s\"}", title, done, description);
+    }
+
+    @Benchmark
+    public String categoryFormat() {
+        return String.format("{\"title\":\"%s\",\"description\":\"%s\"}", title, description);
+    }
+
+    @Benchmark
+    public String projectFormat() {
+        return String.format("{\"title\":\"%s\",\"description\":\"%s\"}", title, description);
+    }
+
+    @Benchmark
+    public String todoXmlFormat() {
+        return String.format("<todo><title>%s</title><doneStatus>%s</doneStatus><description>%s</description></todo>",
+            title, done, description);
+    }
+
+    @Benchmark
+    public String todoConcat() {
+        return new StringBuilder(64 + title.length() + description.length())
+            .append("{\"title\":\"").append(title)
+            .append("\",\"doneStatus\":").append(done)
+            .append(",\"description\":\"").append(description)
+            .append("\"}")
+            .toString();
+    }
+
+    @Benchmark
+    public int todoEncoder() {
+        return PayloadEncoder.json().todo(title, done, description).length();
+    }
+
+    @Benchmark
+    public int categoryEncoder() {
+        return PayloadEncoder.json().category(title, description).length();
+    }
+
+    @Benchmark
+    public int projectEncoder() {
+        return PayloadEncoder.json().project(title, description).length();
+    }
+
+    @Benchmark
+    public int todoXmlEncoder() {
+        return PayloadEncoder.xml().todo(title, done, description).length();
+    }
+
+    @Benchmark
+    public String todoHelper() {
+        return TestHelper.todoPayload(title, done, description);
+    }
+
+    @Benchmark
+    public String todoXmlHelper() {
+        return TestHelper.todoXmlPayload(title, done, description);
+    }
+}
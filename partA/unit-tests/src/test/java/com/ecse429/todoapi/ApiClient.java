@@ -0,0 +1,110 @@
+package com.ecse429.todoapi;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HTTP backend behind the {@link TestHelper} create, delete and link helpers.
+ *
+ * Selected with -Dtodo.client=restassured|jdk (default restassured). The RestAssured
+ * backend shares the pooled client of {@link HttpClientPool} and every filter; its async
+ * variants run on the calling thread. The jdk backend sends through one
+ * java.net.http.HttpClient, so async calls need no thread while in flight, and records
+ * its calls in the endpoint metrics itself. Neither throws on an error status.
+ */
+public interface ApiClient {
+
+    /**
+     * Send a request and wait for the response.
+     *
+     * @param method The HTTP method
+     * @param path The path relative to the RestAssured base URI and port (e.g., "/todos")
+     * @param jsonBody The JSON request body, or null for none
+     * @return Status and body of the response
+     */
+    Reply send(String method, String path, String jsonBody);
+
+    /**
+     * Send a request without waiting for the response.
+     *
+     * @param method The HTTP method
+     * @param path The path relative to the RestAssured base URI and port
+     * @param jsonBody The JSON request body, or null for none
+     * @return The response once it has arrived
+     */
+    CompletableFuture<Reply> sendAsync(String method, String path, String jsonBody);
+
+    /** Short name, as given to -Dtodo.client. */
+    String name();
+
+    /**
+     * The backend selected with -Dtodo.client.
+     */
+    static ApiClient selected() {
+        return of(System.getProperty("todo.client", "restassured"));
+    }
+
+    /**
+     * A backend by name.
+     *
+     * @param name "restassured" or "jdk"
+     */
+    static ApiClient of(String name) {
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "restassured": return restAssured();
+            case "jdk": return jdk();
+            default: throw new IllegalArgumentException("unknown client " + name + "; expected restassured or jdk");
+        }
+    }
+
+    /** The backend built on RestAssured. */
+    static ApiClient restAssured() {
+        return RestAssuredApiClient.INSTANCE;
+    }
+
+    /** The backend built on java.net.http.HttpClient, created on first use. */
+    static ApiClient jdk() {
+        return JdkApiClient.instance();
+    }
+
+    /**
+     * Status and body of a response.
+     */
+    final class Reply {
+        private static final ObjectMapper JSON = new ObjectMapper();
+
+        private final int status;
+        private final String body;
+
+        public Reply(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        public int status() { return status; }
+        public String body() { return body; }
+
+        /**
+         * ID of the object in a JSON body, read like {@link TestHelper#extractId}: the
+         * top-level "id", or the "id" of the first element under the collection root.
+         *
+         * @param collectionRoot The root name of the collection (e.g., "todos")
+         * @return The ID, or null if the body has none
+         */
+        public String id(String collectionRoot) {
+            if (body == null || body.isEmpty()) return null;
+            try {
+                JsonNode node = JSON.readTree(body);
+                JsonNode id = node.get("id");
+                if ((id == null || id.isNull()) && collectionRoot != null) id = node.path(collectionRoot).path(0).get("id");
+                return id == null || id.isNull() ? null : id.asText();
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecse429.todoapi;
+
+/**
+ * Fields shared by the typed {@link Todo}, {@link Category} and {@link Project}.
+ */
+public interface ApiObject {
+
+    /** The object's ID, as the API returns it. */
+    String id();
+
+    String title();
+
+    /** The description; empty when none was given. */
+    String description();
+}
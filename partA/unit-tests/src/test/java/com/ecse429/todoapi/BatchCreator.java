@@ -0,0 +1,307 @@
+package com.ecse429.todoapi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Batch creates and links for seeding many objects at once.
+ *
+ * Keeps up to the configured number of requests in flight, one per pooled keep-alive
+ * connection, instead of one blocking round trip at a time. The java.net.http backend
+ * sends them asynchronously from the calling thread; the RestAssured backend sends them
+ * from that many platform threads. Results come back in input order, one per item: a
+ * failed item is reported with its status or error and does not stop the rest. Created
+ * objects and links are recorded in the caller's {@link ResourceRegistry}.
+ */
+public final class BatchCreator {
+
+    private final ApiClient client;
+    private final int concurrency;
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    /**
+     * Creator on the backend selected with -Dtodo.client, with todo.batch.concurrency
+     * requests in flight (default 16).
+     */
+    public BatchCreator() {
+        this(ApiClient.selected(), Integer.getInteger("todo.batch.concurrency", 16));
+    }
+
+    /**
+     * @param client The backend to send through
+     * @param concurrency Maximum number of requests in flight; keep it below todo.http.maxPerRoute
+     */
+    public BatchCreator(ApiClient client, int concurrency) {
+        if (concurrency < 1) throw new IllegalArgumentException("concurrency must be at least 1");
+        this.client = client;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Create todos; titles are qualified with the current test namespace.
+     *
+     * @param specs The todos to create
+     * @return One item per spec, in order, holding the new ID
+     */
+    public Result createTodos(List<TodoSpec> specs) {
+        String[] titles = qualify(specs.size(), i -> specs.get(i).title);
+        return create("todos", titles,
+            i -> TestHelper.todoPayload(titles[i], specs.get(i).done, specs.get(i).description));
+    }
+
+    /**
+     * Create categories; titles are qualified with the current test namespace.
+     *
+     * @param specs The categories to create
+     * @return One item per spec, in order, holding the new ID
+     */
+    public Result createCategories(List<Spec> specs) {
+        String[] titles = qualify(specs.size(), i -> specs.get(i).title);
+        return create("categories", titles, i -> TestHelper.categoryPayload(titles[i], specs.get(i).description));
+    }
+
+    /**
+     * Create projects; titles are qualified with the current test namespace.
+     *
+     * @param specs The projects to create
+     * @return One item per spec, in order, holding the new ID
+     */
+    public Result createProjects(List<Spec> specs) {
+        String[] titles = qualify(specs.size(), i -> specs.get(i).title);
+        return create("projects", titles, i -> TestHelper.projectPayload(titles[i], specs.get(i).description));
+    }
+
+    /**
+     * Link todos to categories through /todos/{id}/categories.
+     *
+     * @param links Todo ID and category ID of each link
+     * @return One item per link, in order, holding the category ID
+     */
+    public Result linkTodosToCategories(List<Link> links) {
+        return link(links, "categories");
+    }
+
+    /**
+     * Make todos tasks of projects through /todos/{id}/tasksof.
+     *
+     * @param links Todo ID and project ID of each link
+     * @return One item per link, in order, holding the project ID
+     */
+    public Result linkTodosToProjects(List<Link> links) {
+        return link(links, "tasksof");
+    }
+
+    private Result create(String root, String[] titles, IntFunction<String> payload) {
+        ResourceRegistry registry = TestNamespace.current().registry();
+        return run(titles.length, i -> "/" + root, payload, (i, reply) -> {
+            String id = TestHelper.created(root, titles[i], reply);
+            if (id == null) throw new AssertionError("no id for " + titles[i]);
+            registry.trackEntity("/" + root + "/" + id);
+            return new Item(i, reply.status(), id, null);
+        });
+    }
+
+    private Result link(List<Link> links, String relationship) {
+        ResourceRegistry registry = TestNamespace.current().registry();
+        IntFunction<String> path = i -> "/todos/" + links.get(i).ownerId + "/" + relationship;
+        return run(links.size(), path, i -> TestHelper.linkPayload(links.get(i).targetId), (i, reply) -> {
+            String target = links.get(i).targetId;
+            TestHelper.expectLinked(path.apply(i), target, reply);
+            registry.trackLink(path.apply(i) + "/" + target);
+            return new Item(i, reply.status(), target, null);
+        });
+    }
+
+    private Result run(int n, IntFunction<String> path, IntFunction<String> body, ReplyHandler handler) {
+        Item[] items = new Item[n];
+        Semaphore inFlight = new Semaphore(concurrency);
+        boolean async = "jdk".equals(client.name());
+        ExecutorService senders = async ? null : Executors.newFixedThreadPool(concurrency, task -> {
+            Thread t = new Thread(task, "batch-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < n; i++) {
+                int index = i;
+                String p = path.apply(i);
+                String b = body.apply(i);
+                inFlight.acquireUninterruptibly();
+                CompletableFuture<ApiClient.Reply> reply;
+                try {
+                    reply = async ? client.sendAsync("POST", p, b)
+                        : CompletableFuture.supplyAsync(() -> client.send("POST", p, b), senders);
+                } catch (RuntimeException e) {
+                    reply = CompletableFuture.failedFuture(e);
+                }
+                reply.handle((r, error) -> {
+                    try {
+                        items[index] = error != null ? new Item(index, -1, null, message(error)) : handler.apply(index, r);
+                    } catch (AssertionError | RuntimeException e) {
+                        items[index] = new Item(index, r.status(), null, e.getMessage());
+                    } finally {
+                        inFlight.release();
+                    }
+                    return null;
+                });
+            }
+            // Every permit back means every item has its result
+            inFlight.acquireUninterruptibly(concurrency);
+        } finally {
+            if (senders != null) senders.shutdown();
+        }
+        return new Result(Arrays.asList(items), System.nanoTime() - start);
+    }
+
+    private static String[] qualify(int n, IntFunction<String> title) {
+        String[] titles = new String[n];
+        for (int i = 0; i < n; i++) titles[i] = TestNamespace.qualify(title.apply(i));
+        return titles;
+    }
+
+    private static String message(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    }
+
+    private interface ReplyHandler {
+        Item apply(int index, ApiClient.Reply reply);
+    }
+
+    /**
+     * A todo to create.
+     */
+    public static final class TodoSpec {
+        private final String title;
+        private final boolean done;
+        private final String description;
+
+        public TodoSpec(String title, boolean done, String description) {
+            this.title = title;
+            this.done = done;
+            this.description = description;
+        }
+
+        public String title() { return title; }
+        public boolean done() { return done; }
+        public String description() { return description; }
+    }
+
+    /**
+     * A category or project to create.
+     */
+    public static final class Spec {
+        private final String title;
+        private final String description;
+
+        public Spec(String title, String description) {
+            this.title = title;
+            this.description = description;
+        }
+
+        public String title() { return title; }
+        public String description() { return description; }
+    }
+
+    /**
+     * A relationship to create, from a todo to a category or project.
+     */
+    public static final class Link {
+        private final String ownerId;
+        private final String targetId;
+
+        public Link(String ownerId, String targetId) {
+            this.ownerId = ownerId;
+            this.targetId = targetId;
+        }
+
+        public String ownerId() { return ownerId; }
+        public String targetId() { return targetId; }
+    }
+
+    /**
+     * Outcome of one item of a batch.
+     */
+    public static final class Item {
+        private final int index;
+        private final int status;
+        private final String id;
+        private final String error;
+
+        Item(int index, int status, String id, String error) {
+            this.index = index;
+            this.status = status;
+            this.id = id;
+            this.error = error;
+        }
+
+        /** Position in the input. */
+        public int index() { return index; }
+        /** Response status, or -1 if no response arrived. */
+        public int status() { return status; }
+        /** The created object's ID, or the linked object's ID; null if the item failed. */
+        public String id() { return id; }
+        /** Why the item failed, or null. */
+        public String error() { return error; }
+        public boolean ok() { return error == null; }
+
+        @Override
+        public String toString() {
+            return ok() ? "#" + index + " " + id : "#" + index + " failed (" + status + "): " + error;
+        }
+    }
+
+    /**
+     * Outcome of a batch, one item per input in input order.
+     */
+    public static final class Result {
+        private final List<Item> items;
+        private final long elapsedNanos;
+
+        Result(List<Item> items, long elapsedNanos) {
+            this.items = Collections.unmodifiableList(items);
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public List<Item> items() { return items; }
+        public long elapsedNanos() { return elapsedNanos; }
+
+        /** IDs in input order, null where the item failed. */
+        public List<String> ids() {
+            List<String> ids = new ArrayList<>(items.size());
+            for (Item item : items) ids.add(item.id);
+            return ids;
+        }
+
+        public List<Item> failures() {
+            List<Item> failed = new ArrayList<>();
+            for (Item item : items) if (!item.ok()) failed.add(item);
+            return failed;
+        }
+
+        public boolean allSucceeded() {
+            return items.stream().allMatch(Item::ok);
+        }
+
+        /** Items completed per second of wall-clock time, failed ones included. */
+        public double itemsPerSecond() {
+            return elapsedNanos == 0 ? 0 : items.size() / (elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d items, %d failed in %.2fs (%.0f items/s)",
+                items.size(), failures().size(), elapsedNanos / 1e9, itemsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.ecse429.todoapi;
+
+import io.restassured.response.Response;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Parallel DELETE engine for resetting large datasets.
+ *
+ * Each delete runs on its own virtual thread; a semaphore caps how many are in
+ * flight against the server at once. Server errors (5xx) and connection failures
+ * are retried with exponential backoff and jitter, while 400/404 count as already gone.
+ */
+public final class BulkDeleter {
+
+    private final int concurrency;
+    private final int maxRetries;
+    private final long initialBackoffMillis;
+
+    /**
+     * Deleter configured from system properties: todo.bulk.concurrency (default 64),
+     * todo.bulk.retries (default 4) and todo.bulk.backoffMs (default 50).
+     */
+    public BulkDeleter() {
+        this(Integer.getInteger("todo.bulk.concurrency", 64),
+            Integer.getInteger("todo.bulk.retries", 4),
+            Long.getLong("todo.bulk.backoffMs", 50L));
+    }
+
+    /**
+     * @param concurrency Maximum number of DELETE requests in flight
+     * @param maxRetries Retries per path after the first attempt
+     * @param initialBackoffMillis Delay before the first retry; doubled on each further retry
+     */
+    public BulkDeleter(int concurrency, int maxRetries, long initialBackoffMillis) {
+        if (concurrency < 1) throw new IllegalArgumentException("concurrency must be at least 1");
+        this.concurrency = concurrency;
+        this.maxRetries = Math.max(0, maxRetries);
+        this.initialBackoffMillis = Math.max(1, initialBackoffMillis);
+    }
+
+    /**
+     * Delete every path and wait for all of them to finish.
+     *
+     * @param paths The item paths to delete (e.g., "/todos/123")
+     * @return Counts and throughput for the batch
+     */
+    public Result deleteAll(List<String> paths) {
+        Result result = new Result();
+        Semaphore permits = new Semaphore(concurrency);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String path : paths) {
+                executor.submit(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        delete(path, result);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    private void delete(String path, Result result) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                Response res = given().when().delete(path);
+                int status = res.getStatusCode();
+                if (status == 200 || status == 204) {
+                    result.deleted.incrementAndGet();
+                    return;
+                }
+                if (status == 400 || status == 404) {
+                    result.notFound.incrementAndGet();
+                    return;
+                }
+                if (status < 500 || attempt >= maxRetries) {
+                    result.failed.incrementAndGet();
+                    return;
+                }
+            } catch (Exception e) {
+                // Connection refused/reset and timeouts surface as unchecked wrappers of IOException
+                if (attempt >= maxRetries) {
+                    result.failed.incrementAndGet();
+                    System.err.println("Warning: Giving up on DELETE " + path + ": " + e.getMessage());
+                    return;
+                }
+            }
+            result.retries.incrementAndGet();
+            backoff(attempt);
+        }
+    }
+
+    private void backoff(int attempt) {
+        long delay = initialBackoffMillis << Math.min(attempt, 10);
+        try {
+            Thread.sleep(delay + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Outcome of a bulk delete.
+     */
+    public static final class Result {
+        final AtomicInteger deleted = new AtomicInteger();
+        final AtomicInteger notFound = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final AtomicInteger retries = new AtomicInteger();
+        long elapsedNanos;
+
+        public int deleted() { return deleted.get(); }
+        public int notFound() { return notFound.get(); }
+        public int failed() { return failed.get(); }
+        public int retries() { return retries.get(); }
+        public long elapsedNanos() { return elapsedNanos; }
+
+        /** Completed deletes (including already-gone paths) per second of wall-clock time. */
+        public double deletesPerSecond() {
+            return elapsedNanos == 0 ? 0 : (deleted() + notFound()) / (elapsedNanos / 1e9);
+        }
+
+        Result add(Result other) {
+            deleted.addAndGet(other.deleted());
+            notFound.addAndGet(other.notFound());
+            failed.addAndGet(other.failed());
+            retries.addAndGet(other.retries());
+            elapsedNanos += other.elapsedNanos;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d deleted, %d already gone, %d failed, %d retries in %.2fs (%.0f deletes/s)",
+                deleted(), notFound(), failed(), retries(), elapsedNanos / 1e9, deletesPerSecond());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecse429.todoapi;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.util.Arrays;
+
+/**
+ * A category as returned by the API, bound by Jackson from JSON or XML (see {@link Entities}).
+ *
+ * Relationships are kept as arrays of the linked IDs only.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class Category implements ApiObject {
+
+    private final String id;
+    private final String title;
+    private final String description;
+    private final String[] todos;
+    private final String[] projects;
+
+    @JsonCreator
+    public Category(@JsonProperty("id") String id,
+                    @JsonProperty("title") String title,
+                    @JsonProperty("description") String description,
+                    @JsonProperty("todos") @JsonDeserialize(using = Entities.RefIds.class) String[] todos,
+                    @JsonProperty("projects") @JsonDeserialize(using = Entities.RefIds.class) String[] projects) {
+        this.id = id;
+        this.title = title;
+        this.description = description == null ? "" : description;
+        this.todos = todos == null ? Entities.NO_IDS : todos;
+        this.projects = projects == null ? Entities.NO_IDS : projects;
+    }
+
+    @Override public String id() { return id; }
+    @Override public String title() { return title; }
+    @Override public String description() { return description; }
+    /** IDs of the todos linked from the category. */
+    public String[] todos() { return todos; }
+    /** IDs of the projects linked from the category. */
+    public String[] projects() { return projects; }
+
+    @Override
+    public String toString() {
+        return "Category{id=" + id + ", title=" + title + ", todos=" + Arrays.toString(todos)
+            + ", projects=" + Arrays.toString(projects) + "}";
+    }
+}
@@ -1,12 +1,10 @@
 package com.ecse429.todoapi;
 
-import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.Assumptions;
 
 import java.util.List;
-import java.util.Map;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
@@ -18,22 +16,23 @@ import static org.hamcrest.Matchers.*;
 @TestMethodOrder(MethodOrderer.Random.class)
 public class CategoryTests {
 
-    private static final String BASE = "http://localhost";
-    private static final int PORT = 4567;
-
     @BeforeAll
     static void setup() {
-        RestAssured.baseURI = BASE;
-        RestAssured.port = PORT;
+        TestServer.select();
 
         // Fail fast if service is not running
         given().when().get("/todos").then().statusCode(anyOf(is(200), is(204)));
     }
 
+    @BeforeEach
+    void openNamespace(TestInfo testInfo) {
+        TestNamespace.begin(testInfo.getDisplayName());
+    }
+
     @AfterEach
     void tearDown() {
-        // Clean up all data after each test to ensure test isolation
-        TestHelper.cleanupAllData();
+        // By default only this test's data is removed, so classes and methods can run concurrently
+        TestHelper.reset();
     }
 
     // Helpers
@@ -58,14 +57,12 @@ public class CategoryTests {
 
     @Test
     void get_categories_returns_list() {
-        String categoryId = createCategory("TestCat-" + System.nanoTime(), "test");
+        FixturePool.borrow();
 
         Response res = given().when().get("/categories").then().statusCode(200).extract().response();
-        List<Map<String, Object>> categories = res.path("categories");
+        List<Category> categories = Entities.list(res, Category.class);
         Assertions.assertNotNull(categories);
         Assertions.assertTrue(categories.size() >= 1);
-
-        deleteIfExists("/categories/" + categoryId);
     }
 
     @Test
@@ -75,7 +72,7 @@ public class CategoryTests {
 
     @Test
     void post_categories_creates_new_category() {
-        String title = "NewCat-" + System.nanoTime();
+        String title = TestNamespace.qualify("NewCat-" + System.nanoTime());
         Response res = given()
             .contentType("application/json")
             .body("{\"title\":\"" + title + "\",\"description\":\"test desc\"}")
@@ -84,6 +81,7 @@ public class CategoryTests {
             .extract().response();
 
         String id = TestHelper.extractId(res, "categories");
+        TestHelper.trackCategory(id);
         Assertions.assertNotNull(id);
 
         // Verify it exists
@@ -94,14 +92,13 @@ public class CategoryTests {
 
     @Test
     void get_category_by_id_returns_category() {
-        String id = createCategory("GetCat-" + System.nanoTime(), "get test");
+        FixturePool.Fixture fixture = FixturePool.borrow();
+        String id = fixture.categoryId();
 
         given().when().get("/categories/" + id)
             .then().statusCode(200)
             .body("categories[0].id", equalTo(id))
-            .body("categories[0].title", containsString("GetCat-"));
-
-        deleteIfExists("/categories/" + id);
+            .body("categories[0].title", equalTo(fixture.categoryTitle()));
     }
 
     @Test
@@ -111,11 +108,9 @@ public class CategoryTests {
 
     @Test
     void head_category_by_id_returns_200() {
-        String id = createCategory("HeadCat-" + System.nanoTime(), "head test");
+        String id = FixturePool.borrow().categoryId();
 
         given().when().head("/categories/" + id).then().statusCode(200);
-
-        deleteIfExists("/categories/" + id);
     }
 
     @Test
@@ -123,7 +118,7 @@ public class CategoryTests {
         String id = createCategory("PutCat-" + System.nanoTime(), "original");
 
         given().contentType("application/json")
-            .body("{\"title\":\"UpdatedCat-" + System.nanoTime() + "\",\"description\":\"updated\"}")
+            .body("{\"title\":\"" + TestNamespace.qualify("UpdatedCat-" + System.nanoTime()) + "\",\"description\":\"updated\"}")
             .when().put("/categories/" + id)
             .then().statusCode(anyOf(is(200), is(201)));
 
@@ -153,7 +148,7 @@ public class CategoryTests {
 
         // POST on existing id should behave like PUT
         given().contentType("application/json")
-            .body("{\"title\":\"PostUpdated-" + System.nanoTime() + "\"}")
+            .body("{\"title\":\"" + TestNamespace.qualify("PostUpdated-" + System.nanoTime()) + "\"}")
             .when().post("/categories/" + id)
             .then().statusCode(anyOf(is(200), is(201)));
 
@@ -177,6 +172,7 @@ public class CategoryTests {
         String id = createCategory("DelCat-" + System.nanoTime(), "delete test");
 
         given().when().delete("/categories/" + id).then().statusCode(200);
+        TestHelper.untrack("/categories/" + id);
 
         // Verify deleted
         given().when().get("/categories/" + id).then().statusCode(404);
@@ -199,6 +195,7 @@ public class CategoryTests {
             .body("{\"id\":\"" + categoryId + "\"}")
             .when().post("/todos/" + todoId + "/categories")
             .then().statusCode(anyOf(is(200), is(201)));
+        TestHelper.trackLink("/todos/" + todoId + "/categories", categoryId);
 
         given().when().get("/categories/" + categoryId + "/todos")
             .then().statusCode(200)
@@ -218,15 +215,15 @@ public class CategoryTests {
             .body("{\"id\":\"" + categoryId + "\"}")
             .when().post("/todos/" + todoId + "/categories")
             .then().statusCode(anyOf(is(200), is(201)));
+        TestHelper.trackLink("/todos/" + todoId + "/categories", categoryId);
 
         Response response = given().when().get("/categories/" + categoryId + "/todos")
             .then().statusCode(200)
             .extract().response();
 
         // Assert that the relationship is broken
-        List<Map<String, Object>> todos = response.path("todos");
-        boolean todoFound = todos != null && todos.stream()
-            .anyMatch(t -> String.valueOf(t.get("id")).equals(todoId));
+        List<Todo> todos = Entities.list(response, Todo.class);
+        boolean todoFound = Entities.containsId(todos, todoId);
         Assertions.assertFalse(todoFound, "Todo should NOT appear in category's todos due to broken relationship");
 
         deleteIfExists("/todos/" + todoId + "/categories/" + categoryId);
@@ -244,11 +241,9 @@ public class CategoryTests {
 
     @Test
     void head_category_todos_returns_200() {
-        String categoryId = createCategory("HeadTodosCat-" + System.nanoTime(), "head todos");
+        String categoryId = FixturePool.borrow().categoryId();
 
         given().when().head("/categories/" + categoryId + "/todos").then().statusCode(200);
-
-        deleteIfExists("/categories/" + categoryId);
     }
 
     @Test
@@ -289,7 +284,7 @@ public class CategoryTests {
     @Test
     void post_category_todos_with_title_creates_new_todo_and_links() {
         String categoryId = createCategory("NewTodoCat-" + System.nanoTime(), "new todo");
-        String todoTitle = "NewTodo-" + System.nanoTime();
+        String todoTitle = TestNamespace.qualify("NewTodo-" + System.nanoTime());
 
         Response res = given().contentType("application/json")
             .body("{\"title\":\"" + todoTitle + "\"}")
@@ -298,6 +293,8 @@ public class CategoryTests {
             .extract().response();
 
         String newTodoId = TestHelper.extractId(res, "todos");
+        TestHelper.trackTodo(newTodoId);
+        TestHelper.trackLink("/categories/" + categoryId + "/todos", newTodoId);
 
         // Verify it appears in category todos
         given().when().get("/categories/" + categoryId + "/todos")
@@ -309,9 +306,8 @@ public class CategoryTests {
             .then().statusCode(200)
             .extract().response();
 
-        List<Map<String, Object>> cats = rev.path("categories");
-        boolean linked = cats != null && cats.stream()
-            .anyMatch(c -> String.valueOf(c.get("id")).equals(categoryId));
+        List<Category> cats = Entities.list(rev, Category.class);
+        boolean linked = Entities.containsId(cats, categoryId);
 
         Assumptions.assumeFalse(linked, "Note: New todo created via category endpoint not linked in reverse.");
 
@@ -330,10 +326,12 @@ public class CategoryTests {
             .body("{\"id\":\"" + categoryId + "\"}")
             .when().post("/todos/" + todoId + "/categories")
             .then().statusCode(anyOf(is(200), is(201)));
+        TestHelper.trackLink("/todos/" + todoId + "/categories", categoryId);
 
         // Delete via category
         given().when().delete("/categories/" + categoryId + "/todos/" + todoId)
             .then().statusCode(200);
+        TestHelper.untrack("/todos/" + todoId + "/categories/" + categoryId);
 
         // Verify removed
         given().when().get("/categories/" + categoryId + "/todos")
@@ -353,6 +351,7 @@ public class CategoryTests {
             .body("{\"id\":\"" + categoryId + "\"}")
             .when().post("/todos/" + todoId + "/categories")
             .then().statusCode(anyOf(is(200), is(201)));
+        TestHelper.trackLink("/todos/" + todoId + "/categories", categoryId);
 
         // Observed behavior: DELETE returns 404 error instead of 200
         Response errorResponse = given().when().delete("/categories/" + categoryId + "/todos/" + todoId)
@@ -375,6 +374,7 @@ public class CategoryTests {
             .body("{\"id\":\"" + categoryId + "\"}")
             .when().post("/projects/" + projectId + "/categories")
             .then().statusCode(anyOf(is(200), is(201)));
+        TestHelper.trackLink("/projects/" + projectId + "/categories", categoryId);
 
         given().when().get("/categories/" + categoryId + "/projects")
             .then().statusCode(200)
@@ -394,15 +394,15 @@ public class CategoryTests {
             .body("{\"id\":\"" + categoryId + "\"}")
             .when().post("/projects/" + projectId + "/categories")
             .then().statusCode(anyOf(is(200), is(201)));
+        TestHelper.trackLink("/projects/" + projectId + "/categories", categoryId);
 
         // Observed behavior: project is NOT in category's projects list even after linking
         Response response = given().when().get("/categories/" + categoryId + "/projects")
             .then().statusCode(200)
             .extract().response();
 
-        List<Map<String, Object>> projects = response.path("projects");
-        boolean projectFound = projects != null && projects.stream()
-            .anyMatch(p -> String.valueOf(p.get("id")).equals(projectId));
+        List<Project> projects = Entities.list(response, Project.class);
+        boolean projectFound = Entities.containsId(projects, projectId);
         Assertions.assertFalse(projectFound, "Project should NOT appear in category's projects due to broken relationship");
 
         deleteIfExists("/projects/" + projectId + "/categories/" + categoryId);
@@ -412,11 +412,9 @@ public class CategoryTests {
 
     @Test
     void head_category_projects_returns_200() {
-        String categoryId = createCategory("HeadProjCat-" + System.nanoTime(), "head proj");
+        String categoryId = FixturePool.borrow().categoryId();
 
         given().when().head("/categories/" + categoryId + "/projects").then().statusCode(200);
-
-        deleteIfExists("/categories/" + categoryId);
     }
 
     @Test
@@ -456,7 +454,7 @@ public class CategoryTests {
     @Test
     void post_category_projects_with_title_creates_new_project_and_links() {
         String categoryId = createCategory("NewProjCat-" + System.nanoTime(), "new proj");
-        String projTitle = "NewProj-" + System.nanoTime();
+        String projTitle = TestNamespace.qualify("NewProj-" + System.nanoTime());
 
         Response res = given().contentType("application/json")
             .body("{\"title\":\"" + projTitle + "\"}")
@@ -465,6 +463,8 @@ public class CategoryTests {
             .extract().response();
 
         String newProjId = TestHelper.extractId(res, "projects");
+        TestHelper.trackProject(newProjId);
+        TestHelper.trackLink("/categories/" + categoryId + "/projects", newProjId);
 
         given().when().get("/categories/" + categoryId + "/projects")
             .then().statusCode(200)
@@ -485,9 +485,11 @@ public class CategoryTests {
             .body("{\"id\":\"" + categoryId + "\"}")
             .when().post("/projects/" + projectId + "/categories")
             .then().statusCode(anyOf(is(200), is(201)));
+        TestHelper.trackLink("/projects/" + projectId + "/categories", categoryId);
 
         given().when().delete("/categories/" + categoryId + "/projects/" + projectId)
             .then().statusCode(200);
+        TestHelper.untrack("/projects/" + projectId + "/categories/" + categoryId);
 
         given().when().get("/categories/" + categoryId + "/projects")
             .then().statusCode(200)
@@ -506,6 +508,7 @@ public class CategoryTests {
             .body("{\"id\":\"" + categoryId + "\"}")
             .when().post("/projects/" + projectId + "/categories")
             .then().statusCode(anyOf(is(200), is(201)));
+        TestHelper.trackLink("/projects/" + projectId + "/categories", categoryId);
 
         // Observed behavior: DELETE returns 404 error instead of 200
         Response errorResponse = given().when().delete("/categories/" + categoryId + "/projects/" + projectId)
@@ -553,12 +556,13 @@ public class CategoryTests {
     void unexpected_fields_in_payload() {
         // Test POST with extra fields
         Response res = given().contentType("application/json")
-            .body("{\"title\":\"ExtraField-" + System.nanoTime() + "\",\"description\":\"test\",\"extra\":\"field\"}")
+            .body("{\"title\":\"" + TestNamespace.qualify("ExtraField-" + System.nanoTime()) + "\",\"description\":\"test\",\"extra\":\"field\"}")
             .when().post("/categories")
             .then().statusCode(anyOf(is(200), is(201)))
             .extract().response();
 
         String id = TestHelper.extractId(res, "categories");
+        TestHelper.trackCategory(id);
         Assertions.assertNotNull(id);
 
         deleteIfExists("/categories/" + id);
@@ -568,7 +572,7 @@ public class CategoryTests {
     void unexpected_fields_in_payload_observed() {
         // Observed behavior: POST with extra fields returns 400 error instead of 200/201
         Response errorResponse = given().contentType("application/json")
-            .body("{\"title\":\"ExtraFieldObs-" + System.nanoTime() + "\",\"description\":\"test\",\"extra\":\"field\"}")
+            .body("{\"title\":\"" + TestNamespace.qualify("ExtraFieldObs-" + System.nanoTime()) + "\",\"description\":\"test\",\"extra\":\"field\"}")
             .when().post("/categories")
             .then().statusCode(400)
             .extract().response();
@@ -588,9 +592,11 @@ public class CategoryTests {
             .body("{\"id\":\"" + categoryId + "\"}")
             .when().post("/todos/" + todoId + "/categories")
             .then().statusCode(anyOf(is(200), is(201)));
+        TestHelper.trackLink("/todos/" + todoId + "/categories", categoryId);
 
         // Delete category - should work
         given().when().delete("/categories/" + categoryId).then().statusCode(200);
+        TestHelper.untrack("/categories/" + categoryId);
 
         // Todo should still exist
         given().when().get("/todos/" + todoId).then().statusCode(200);
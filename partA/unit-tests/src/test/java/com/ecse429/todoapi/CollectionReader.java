@@ -0,0 +1,126 @@
+package com.ecse429.todoapi;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader for collection responses of the Todo Manager API
+ *
+ * Walks a body such as {"todos":[{...},{...}]} token by token with Jackson's
+ * JsonParser and hands out only the id and title of each item. Every other field,
+ * including nested relationship arrays, is skipped without being built, so scanning
+ * a collection of 100k todos needs no more heap than the response bytes themselves.
+ */
+public final class CollectionReader {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private CollectionReader() {
+    }
+
+    /**
+     * Receives the items of a collection in response order.
+     */
+    @FunctionalInterface
+    public interface ItemVisitor {
+        /**
+         * @param id The item's id as a string, or null if absent
+         * @param title The item's title, or null if absent
+         * @return false to stop scanning
+         */
+        boolean visit(String id, String title);
+    }
+
+    /**
+     * Visit every item of a collection response.
+     *
+     * @param res A JSON response with the collection under collectionRoot
+     * @param collectionRoot The root name of the collection (e.g., "todos", "categories")
+     * @param visitor Called with the id and title of each item until it returns false
+     */
+    public static void scan(Response res, String collectionRoot, ItemVisitor visitor) {
+        try (InputStream in = res.asInputStream(); JsonParser p = FACTORY.createParser(in)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                if (p.nextToken() != JsonToken.START_ARRAY || !collectionRoot.equals(field)) {
+                    p.skipChildren();
+                    continue;
+                }
+                while (p.nextToken() == JsonToken.START_OBJECT) {
+                    String id = null;
+                    String title = null;
+                    while (p.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = p.currentName();
+                        JsonToken value = p.nextToken();
+                        if (value.isScalarValue() && "id".equals(name)) id = p.getValueAsString();
+                        else if (value.isScalarValue() && "title".equals(name)) title = p.getValueAsString();
+                        else p.skipChildren();
+                    }
+                    if (!visitor.visit(id, title)) return;
+                }
+                return;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + collectionRoot + " collection", e);
+        }
+    }
+
+    /**
+     * IDs of every item of a collection response.
+     *
+     * @param res A JSON response with the collection under collectionRoot
+     * @param collectionRoot The root name of the collection (e.g., "todos", "categories")
+     * @return The IDs in response order
+     */
+    public static List<String> ids(Response res, String collectionRoot) {
+        List<String> ids = new ArrayList<>();
+        scan(res, collectionRoot, (id, title) -> {
+            if (id != null) ids.add(id);
+            return true;
+        });
+        return ids;
+    }
+
+    /**
+     * ID of the first item of a collection response, e.g. of a title-filtered GET.
+     *
+     * @param res A JSON response with the collection under collectionRoot
+     * @param collectionRoot The root name of the collection (e.g., "todos", "categories")
+     * @return The ID, or null if the collection is empty or missing
+     */
+    public static String firstId(Response res, String collectionRoot) {
+        String[] found = new String[1];
+        scan(res, collectionRoot, (id, title) -> {
+            found[0] = id;
+            return false;
+        });
+        return found[0];
+    }
+
+    /**
+     * ID of the first item with the given title; scanning stops at the match.
+     *
+     * @param res A JSON response with the collection under collectionRoot
+     * @param collectionRoot The root name of the collection (e.g., "todos", "categories")
+     * @param title The exact title to look for
+     * @return The ID, or null if no item has that title
+     */
+    public static String findIdByTitle(Response res, String collectionRoot, String title) {
+        String[] found = new String[1];
+        scan(res, collectionRoot, (id, itemTitle) -> {
+            if (!title.equals(itemTitle)) return true;
+            found[0] = id;
+            return false;
+        });
+        return found[0];
+    }
+}
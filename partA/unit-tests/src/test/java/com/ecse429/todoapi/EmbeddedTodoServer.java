@@ -0,0 +1,686 @@
+package com.ecse429.todoapi;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory stand-in for TodoManagerTestAPI-1.5.5.jar, started inside the test JVM.
+ *
+ * Serves /todos, /categories and /projects, their /{id} items and relationship routes
+ * in JSON and XML. Behaviour follows the real server as recorded in the session notes,
+ * including its quirks: category relationships are one-way, linking an existing object
+ * by id from /categories/{id}/todos or /categories/{id}/projects returns 404, a project
+ * id can be changed through PUT, and project ids restart at 1 once no project is left.
+ *
+ * Each collection is a concurrent skip list indexed by id with a secondary title index;
+ * reads are lock-free and writes are serialised on the server. Every object also knows
+ * the objects linking to it, so a delete or id change only touches those.
+ */
+public final class EmbeddedTodoServer {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final XmlMapper XML = new XmlMapper();
+
+    private static final Kind TODOS = new Kind("todos", "todo", true, "title", "doneStatus", "description")
+        .booleans("doneStatus");
+    private static final Kind PROJECTS = new Kind("projects", "project", false, "title", "completed", "active", "description")
+        .booleans("completed", "active");
+    private static final Kind CATEGORIES = new Kind("categories", "category", true, "title", "description");
+
+    static {
+        // Only tasksof/tasks is two-way; the category relationships are independent one-way links
+        TODOS.relate("categories", CATEGORIES, null, true);
+        TODOS.relate("tasksof", PROJECTS, "tasks", true);
+        PROJECTS.relate("tasks", TODOS, "tasksof", true);
+        PROJECTS.relate("categories", CATEGORIES, null, true);
+        CATEGORIES.relate("todos", TODOS, null, false);
+        CATEGORIES.relate("projects", PROJECTS, null, false);
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Store> stores = new LinkedHashMap<>();
+
+    private EmbeddedTodoServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+        for (Kind kind : new Kind[] {TODOS, PROJECTS, CATEGORIES}) {
+            stores.put(kind.collection, new Store(kind));
+        }
+    }
+
+    /**
+     * Start a server on the loopback interface.
+     *
+     * @param port The port to listen on, or 0 for any free port
+     * @param seed Whether to load the same sample data as the real server
+     * @return The running server
+     */
+    public static EmbeddedTodoServer start(int port, boolean seed) throws IOException {
+        // Headers and body are written separately; with Nagle on, each response waits for the
+        // client's delayed ACK (~40ms). Read once by the JDK server when the first one is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        HttpServer http = HttpServer.create(new InetSocketAddress(InetAddress.getByName("localhost"), port), 0);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        EmbeddedTodoServer todoServer = new EmbeddedTodoServer(http, executor);
+        if (seed) todoServer.seed();
+        http.createContext("/", todoServer::handle);
+        http.setExecutor(executor);
+        http.start();
+        return todoServer;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Drop all data and restart id allocation, as a fresh server process would.
+     *
+     * @param seed Whether to reload the sample data
+     */
+    public synchronized void reset(boolean seed) {
+        for (Store store : stores.values()) store.clear();
+        if (seed) seed();
+    }
+
+    private synchronized void seed() {
+        Entity office = store(CATEGORIES).insert(Map.of("title", "Office", "description", ""));
+        store(CATEGORIES).insert(Map.of("title", "Home", "description", ""));
+        Entity work = store(PROJECTS).insert(Map.of("title", "Office Work", "completed", "false", "active", "false", "description", ""));
+        Entity scan = store(TODOS).insert(Map.of("title", "scan paperwork", "doneStatus", "false", "description", ""));
+        Entity file = store(TODOS).insert(Map.of("title", "file paperwork", "doneStatus", "false", "description", ""));
+        link(scan, TODOS.relations.get("categories"), office);
+        link(scan, TODOS.relations.get("tasksof"), work);
+        link(file, TODOS.relations.get("tasksof"), work);
+    }
+
+    private Store store(Kind kind) {
+        return stores.get(kind.collection);
+    }
+
+    // HTTP plumbing
+
+    private void handle(HttpExchange exchange) throws IOException {
+        Reply reply;
+        try {
+            reply = route(exchange);
+        } catch (BadRequest e) {
+            reply = Reply.error(e.status, e.getMessage());
+        } catch (Exception e) {
+            reply = Reply.error(500, String.valueOf(e));
+        }
+        String accept = exchange.getRequestHeaders().getFirst("Accept");
+        boolean xml = accept != null && accept.contains("xml") && !accept.contains("json");
+        byte[] body = reply.render(xml);
+        if (reply.allow != null) exchange.getResponseHeaders().set("Allow", reply.allow);
+        exchange.getResponseHeaders().set("Content-Type", xml ? "application/xml" : "application/json");
+        boolean head = "HEAD".equals(exchange.getRequestMethod());
+        if (head || body.length == 0) {
+            exchange.sendResponseHeaders(reply.status, -1);
+        } else {
+            exchange.sendResponseHeaders(reply.status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+        exchange.close();
+    }
+
+    private Reply route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] segments = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+        Store owner = stores.get(segments[0]);
+        if (owner == null || segments.length > 4) return Reply.error(404, "Not Found");
+
+        ObjectNode body = null;
+        if ("POST".equals(method) || "PUT".equals(method)) {
+            body = parseBody(exchange);
+        }
+
+        if (segments.length == 1) {
+            switch (method) {
+                case "GET":
+                case "HEAD": return Reply.collection(owner.kind, owner.find(query(exchange)));
+                case "POST": return Reply.item(201, owner.kind, create(owner, body));
+                case "OPTIONS": return Reply.allow("OPTIONS, GET, HEAD, POST");
+                default: return Reply.error(405, "Method Not Allowed");
+            }
+        }
+
+        Entity entity = owner.get(segments[1]);
+        if (segments.length == 2) {
+            if ("OPTIONS".equals(method)) return Reply.allow("OPTIONS, GET, HEAD, POST, PUT, DELETE");
+            if ("PATCH".equals(method)) return Reply.error(405, "Method Not Allowed");
+            if (entity == null) {
+                return Reply.error(404, "Could not find an instance with " + owner.kind.collection + "/" + segments[1]);
+            }
+            switch (method) {
+                case "GET":
+                case "HEAD": return Reply.collection(owner.kind, List.of(entity));
+                case "POST": return Reply.item(200, owner.kind, amend(owner, entity, body, false));
+                case "PUT": return Reply.item(200, owner.kind, amend(owner, entity, body, true));
+                case "DELETE": delete(owner, entity); return Reply.empty(200);
+                default: return Reply.error(405, "Method Not Allowed");
+            }
+        }
+
+        Relation relation = owner.kind.relations.get(segments[2]);
+        if (relation == null) return Reply.error(404, "Not Found");
+        if (segments.length == 3) {
+            switch (method) {
+                case "GET":
+                case "HEAD": return Reply.collection(relation.target, related(entity, relation));
+                case "POST": return linkFromBody(owner, entity, relation, body, segments[1]);
+                case "OPTIONS": return Reply.allow("OPTIONS, GET, HEAD, POST");
+                default: return Reply.error(405, "Method Not Allowed");
+            }
+        }
+
+        switch (method) {
+            case "DELETE": return unlink(entity, relation, segments[3]);
+            case "OPTIONS": return Reply.allow("OPTIONS, DELETE");
+            default: return Reply.error(405, "Method Not Allowed");
+        }
+    }
+
+    private static ObjectNode parseBody(HttpExchange exchange) throws IOException {
+        byte[] raw;
+        try (InputStream in = exchange.getRequestBody()) {
+            raw = in.readAllBytes();
+        }
+        if (raw.length == 0) return JSON.createObjectNode();
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        JsonNode node;
+        try {
+            node = contentType != null && contentType.contains("xml") ? XML.readTree(raw) : JSON.readTree(raw);
+        } catch (IOException e) {
+            throw new BadRequest(400, "Malformed request body: " + e.getMessage());
+        }
+        if (node == null || node.isMissingNode()) return JSON.createObjectNode();
+        if (!node.isObject()) throw new BadRequest(400, "Request body must be an object");
+        return (ObjectNode) node;
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null || raw.isEmpty()) return Map.of();
+        Map<String, String> params = new LinkedHashMap<>();
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(key, value);
+        }
+        return params;
+    }
+
+    // Operations
+
+    private synchronized Entity create(Store store, ObjectNode body) {
+        if (body.has("id")) throw new BadRequest(400, "Invalid Creation: Failed Validation: Not allowed to create with id");
+        Map<String, String> fields = store.kind.defaults();
+        fields.putAll(store.kind.validate(body));
+        store.kind.requireTitle(fields);
+        return store.insert(fields);
+    }
+
+    private synchronized Entity amend(Store store, Entity entity, ObjectNode body, boolean replace) {
+        if (store.get(String.valueOf(entity.id)) != entity) {
+            throw new BadRequest(404, "Could not find an instance with " + store.kind.collection + "/" + entity.id);
+        }
+        String newId = null;
+        if (body.has("id")) {
+            // Observed on the real server: projects accept a new id, other objects reject it
+            if (store.kind != PROJECTS) throw new BadRequest(400, "Failed Validation: Not allowed to amend id");
+            newId = body.get("id").asText();
+        }
+        Map<String, String> fields = replace ? store.kind.defaults() : new LinkedHashMap<>(entity.fields);
+        fields.putAll(store.kind.validate(body));
+        store.kind.requireTitle(fields);
+        store.update(entity, fields);
+        if (newId != null && !newId.equals(String.valueOf(entity.id))) renumber(store, entity, newId);
+        return entity;
+    }
+
+    private void renumber(Store store, Entity entity, String newId) {
+        int id;
+        try {
+            id = Integer.parseInt(newId);
+        } catch (NumberFormatException e) {
+            throw new BadRequest(400, "Failed Validation: id should be an integer");
+        }
+        if (store.byId.containsKey(id)) throw new BadRequest(400, "Failed Validation: id " + id + " already in use");
+        int oldId = entity.id;
+        store.remove(entity);
+        entity.id = id;
+        store.put(entity);
+        for (Entity referrer : entity.referrers) {
+            for (Set<Integer> ids : referrer.linksTo(entity.kind)) {
+                if (ids.remove(oldId)) ids.add(id);
+            }
+        }
+    }
+
+    private synchronized void delete(Store store, Entity entity) {
+        store.remove(entity);
+        for (Entity referrer : entity.referrers) {
+            for (Set<Integer> ids : referrer.linksTo(entity.kind)) ids.remove(entity.id);
+        }
+        entity.referrers.clear();
+        // Objects this one linked to no longer have it as a referrer
+        for (Relation relation : entity.kind.relations.values()) {
+            Set<Integer> ids = entity.links.get(relation.name);
+            if (ids == null) continue;
+            Store target = store(relation.target);
+            for (Integer id : ids) {
+                Entity e = target.byId.get(id);
+                if (e != null) e.referrers.remove(entity);
+            }
+        }
+        if (store.kind == PROJECTS && store.byId.isEmpty()) {
+            // Observed on the real server: project numbering restarts when the collection is empty
+            store.nextId.set(1);
+        }
+    }
+
+    private List<Entity> related(Entity owner, Relation relation) {
+        if (owner == null) return List.of();
+        Store target = store(relation.target);
+        List<Entity> result = new ArrayList<>();
+        for (Integer id : owner.linksFor(relation.name)) {
+            Entity e = target.byId.get(id);
+            if (e != null) result.add(e);
+        }
+        return result;
+    }
+
+    private synchronized Reply linkFromBody(Store ownerStore, Entity owner, Relation relation, ObjectNode body, String ownerId) {
+        if (owner == null || ownerStore.byId.get(owner.id) != owner) {
+            return Reply.error(404, "Could not find parent thing for relationship "
+                + ownerStore.kind.collection + "/" + ownerId + "/" + relation.name);
+        }
+        Store target = store(relation.target);
+        if (body.has("id")) {
+            String id = body.get("id").asText();
+            Entity existing = relation.linkById ? target.get(id) : null;
+            if (existing == null) return Reply.error(404, "Could not find thing matching value for id");
+            link(owner, relation, existing);
+            return Reply.empty(201);
+        }
+        Entity created = create(target, body);
+        link(owner, relation, created);
+        return Reply.item(201, target.kind, created);
+    }
+
+    private void link(Entity owner, Relation relation, Entity target) {
+        owner.linksFor(relation.name).add(target.id);
+        target.referrers.add(owner);
+        if (relation.inverse != null) {
+            target.linksFor(relation.inverse).add(owner.id);
+            owner.referrers.add(target);
+        }
+    }
+
+    private synchronized Reply unlink(Entity owner, Relation relation, String targetId) {
+        Integer id = parseId(targetId);
+        if (owner == null || id == null || !owner.linksFor(relation.name).remove(id)) {
+            return Reply.error(404, "Could not find any instances with " + relation.name + "/" + targetId);
+        }
+        Entity target = store(relation.target).byId.get(id);
+        if (target != null) {
+            target.referrers.remove(owner);
+            if (relation.inverse != null && target.linksFor(relation.inverse).remove(owner.id)) {
+                owner.referrers.remove(target);
+            }
+        }
+        return Reply.empty(200);
+    }
+
+    private static Integer parseId(String id) {
+        try {
+            return Integer.valueOf(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Model
+
+    private static final class Kind {
+        final String collection;
+        final String singular;
+        final boolean titleRequired;
+        final List<String> fields;
+        final Set<String> booleans = new HashSet<>();
+        final Map<String, Relation> relations = new LinkedHashMap<>();
+
+        Kind(String collection, String singular, boolean titleRequired, String... fields) {
+            this.collection = collection;
+            this.singular = singular;
+            this.titleRequired = titleRequired;
+            this.fields = List.of(fields);
+        }
+
+        Kind booleans(String... names) {
+            Collections.addAll(booleans, names);
+            return this;
+        }
+
+        void relate(String name, Kind target, String inverse, boolean linkById) {
+            relations.put(name, new Relation(name, target, inverse, linkById));
+        }
+
+        Map<String, String> defaults() {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (String f : fields) values.put(f, booleans.contains(f) ? "false" : "");
+            return values;
+        }
+
+        Map<String, String> validate(ObjectNode body) {
+            Map<String, String> values = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> it = body.fields();
+            while (it.hasNext()) {
+                Map.Entry<String, JsonNode> f = it.next();
+                String name = f.getKey();
+                if ("id".equals(name)) continue;
+                if (!fields.contains(name)) throw new BadRequest(400, "Could not find field: " + name);
+                JsonNode v = f.getValue();
+                String text = v.isNull() ? "" : v.asText();
+                if (booleans.contains(name)) {
+                    if (!v.isBoolean() && !"true".equalsIgnoreCase(text) && !"false".equalsIgnoreCase(text)) {
+                        throw new BadRequest(400, "Failed Validation: " + name + " should be BOOLEAN");
+                    }
+                    text = text.toLowerCase();
+                }
+                values.put(name, text);
+            }
+            return values;
+        }
+
+        void requireTitle(Map<String, String> values) {
+            if (titleRequired && values.get("title").isEmpty()) {
+                throw new BadRequest(400, "Failed Validation: title : can not be empty");
+            }
+        }
+    }
+
+    private static final class Relation {
+        final String name;
+        final Kind target;
+        final String inverse;
+        final boolean linkById;
+
+        Relation(String name, Kind target, String inverse, boolean linkById) {
+            this.name = name;
+            this.target = target;
+            this.inverse = inverse;
+            this.linkById = linkById;
+        }
+    }
+
+    private static final class Entity {
+        final Kind kind;
+        volatile int id;
+        volatile Map<String, String> fields;
+        final Map<String, Set<Integer>> links = new ConcurrentHashMap<>();
+        // Objects with a link to this one; only touched by writes, under the server lock
+        final Set<Entity> referrers = new HashSet<>();
+
+        Entity(Kind kind, int id, Map<String, String> fields) {
+            this.kind = kind;
+            this.id = id;
+            this.fields = Collections.unmodifiableMap(new LinkedHashMap<>(fields));
+        }
+
+        Set<Integer> linksFor(String relation) {
+            return links.computeIfAbsent(relation, r -> new ConcurrentSkipListSet<>());
+        }
+
+        /** Link sets of the relations pointing at objects of the kind. */
+        List<Set<Integer>> linksTo(Kind target) {
+            List<Set<Integer>> sets = new ArrayList<>(1);
+            for (Relation relation : kind.relations.values()) {
+                Set<Integer> ids = relation.target == target ? links.get(relation.name) : null;
+                if (ids != null) sets.add(ids);
+            }
+            return sets;
+        }
+
+        Map<String, Object> toMap(Kind kind) {
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("id", String.valueOf(id));
+            out.putAll(fields);
+            for (String relation : kind.relations.keySet()) {
+                Set<Integer> ids = links.get(relation);
+                if (ids == null || ids.isEmpty()) continue;
+                List<Map<String, String>> refs = new ArrayList<>(ids.size());
+                for (Integer target : ids) refs.add(Map.of("id", String.valueOf(target)));
+                out.put(relation, refs);
+            }
+            return out;
+        }
+    }
+
+    private static final class Store {
+        final Kind kind;
+        final ConcurrentSkipListMap<Integer, Entity> byId = new ConcurrentSkipListMap<>();
+        final Map<String, Set<Integer>> byTitle = new ConcurrentHashMap<>();
+        final AtomicInteger nextId = new AtomicInteger(1);
+
+        Store(Kind kind) {
+            this.kind = kind;
+        }
+
+        Entity get(String id) {
+            Integer key = parseId(id);
+            return key == null ? null : byId.get(key);
+        }
+
+        Entity insert(Map<String, String> fields) {
+            int id = nextId.getAndIncrement();
+            while (byId.containsKey(id)) id = nextId.getAndIncrement();
+            Entity e = new Entity(kind, id, fields);
+            put(e);
+            return e;
+        }
+
+        void put(Entity e) {
+            byId.put(e.id, e);
+            byTitle.computeIfAbsent(e.fields.get("title"), t -> new ConcurrentSkipListSet<>()).add(e.id);
+        }
+
+        void remove(Entity e) {
+            byId.remove(e.id);
+            unindexTitle(e.fields.get("title"), e.id);
+        }
+
+        void update(Entity e, Map<String, String> fields) {
+            // The object stays in byId throughout, so a concurrent GET never misses it
+            String oldTitle = e.fields.get("title");
+            String newTitle = fields.get("title");
+            if (!oldTitle.equals(newTitle)) {
+                byTitle.computeIfAbsent(newTitle, t -> new ConcurrentSkipListSet<>()).add(e.id);
+            }
+            e.fields = Collections.unmodifiableMap(fields);
+            if (!oldTitle.equals(newTitle)) unindexTitle(oldTitle, e.id);
+        }
+
+        private void unindexTitle(String title, int id) {
+            byTitle.computeIfPresent(title, (t, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+
+        void clear() {
+            byId.clear();
+            byTitle.clear();
+            nextId.set(1);
+        }
+
+        List<Entity> find(Map<String, String> filter) {
+            Collection<Entity> candidates = byId.values();
+            String title = filter.get("title");
+            if (title != null) {
+                candidates = new ArrayList<>();
+                for (Integer id : byTitle.getOrDefault(title, Set.of())) {
+                    Entity e = byId.get(id);
+                    if (e != null) candidates.add(e);
+                }
+            }
+            List<Entity> result = new ArrayList<>();
+            for (Entity e : candidates) {
+                if (matches(e, filter)) result.add(e);
+            }
+            return result;
+        }
+
+        private static boolean matches(Entity e, Map<String, String> filter) {
+            for (Map.Entry<String, String> f : filter.entrySet()) {
+                String actual = "id".equals(f.getKey()) ? String.valueOf(e.id) : e.fields.get(f.getKey());
+                if (!f.getValue().equals(actual)) return false;
+            }
+            return true;
+        }
+    }
+
+    // Responses
+
+    private static final class Reply {
+        final int status;
+        final Kind kind;
+        final List<Entity> entities;
+        final Entity item;
+        final String error;
+        String allow;
+
+        private Reply(int status, Kind kind, List<Entity> entities, Entity item, String error) {
+            this.status = status;
+            this.kind = kind;
+            this.entities = entities;
+            this.item = item;
+            this.error = error;
+        }
+
+        static Reply collection(Kind kind, List<Entity> entities) {
+            return new Reply(200, kind, entities, null, null);
+        }
+
+        static Reply item(int status, Kind kind, Entity item) {
+            return new Reply(status, kind, null, item, null);
+        }
+
+        static Reply error(int status, String message) {
+            return new Reply(status, null, null, null, message);
+        }
+
+        static Reply empty(int status) {
+            return new Reply(status, null, null, null, null);
+        }
+
+        static Reply allow(String methods) {
+            Reply r = empty(200);
+            r.allow = methods;
+            return r;
+        }
+
+        byte[] render(boolean xml) throws IOException {
+            if (entities != null) {
+                List<Map<String, Object>> items = new ArrayList<>(entities.size());
+                for (Entity e : entities) items.add(e.toMap(kind));
+                if (!xml) return JSON.writeValueAsBytes(Map.of(kind.collection, items));
+                StringBuilder sb = new StringBuilder("<").append(kind.collection).append('>');
+                for (Map<String, Object> i : items) writeXml(sb, kind.singular, i);
+                return sb.append("</").append(kind.collection).append('>').toString().getBytes(StandardCharsets.UTF_8);
+            }
+            if (item != null) {
+                Map<String, Object> map = item.toMap(kind);
+                if (!xml) return JSON.writeValueAsBytes(map);
+                StringBuilder sb = new StringBuilder();
+                writeXml(sb, kind.singular, map);
+                return sb.toString().getBytes(StandardCharsets.UTF_8);
+            }
+            if (error != null) {
+                if (!xml) return JSON.writeValueAsBytes(Map.of("errorMessages", List.of(error)));
+                StringBuilder sb = new StringBuilder("<errorMessages><errorMessage>");
+                escapeXml(sb, error);
+                return sb.append("</errorMessage></errorMessages>").toString().getBytes(StandardCharsets.UTF_8);
+            }
+            return new byte[0];
+        }
+
+        @SuppressWarnings("unchecked")
+        private static void writeXml(StringBuilder sb, String name, Map<String, Object> map) {
+            sb.append('<').append(name).append('>');
+            for (Map.Entry<String, Object> f : map.entrySet()) {
+                if (f.getValue() instanceof List) {
+                    for (Object ref : (List<Object>) f.getValue()) writeXml(sb, f.getKey(), (Map<String, Object>) ref);
+                } else {
+                    sb.append('<').append(f.getKey()).append('>');
+                    escapeXml(sb, String.valueOf(f.getValue()));
+                    sb.append("</").append(f.getKey()).append('>');
+                }
+            }
+            sb.append("</").append(name).append('>');
+        }
+
+        private static void escapeXml(StringBuilder sb, String text) {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '<': sb.append("&lt;"); break;
+                    case '>': sb.append("&gt;"); break;
+                    case '&': sb.append("&amp;"); break;
+                    case '"': sb.append("&quot;"); break;
+                    default: sb.append(c);
+                }
+            }
+        }
+    }
+
+    private static final class BadRequest extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        BadRequest(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.ecse429.todoapi;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Binds API responses to {@link Todo}, {@link Category} and {@link Project}.
+ *
+ * A typed alternative to {@code res.path("todos")}, which builds a map of boxed values per
+ * item and a map per relationship entry. Collections are walked with Jackson's streaming
+ * parser and each item is bound straight into its value type; relationships such as
+ * [{"id":"1"},{"id":"2"}] become a String[] of the IDs. The content type of the response
+ * picks JSON or XML: the XML of the API has the items as repeated child elements of the
+ * collection, e.g. {@code <todos><todo>...</todo></todos>}, and the relationships as
+ * repeated elements of the item. Fields the types do not know are skipped.
+ */
+public final class Entities {
+
+    /** Shared empty relationship array. */
+    static final String[] NO_IDS = new String[0];
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final XmlMapper XML = XmlMapper.builder()
+        .defaultUseWrapper(false)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .build();
+
+    private Entities() {
+    }
+
+    /**
+     * Items of a collection response, e.g. GET /todos or GET /projects/1/tasks.
+     *
+     * @param res A JSON or XML response
+     * @param type Todo, Category or Project
+     * @return The items in response order; empty if the collection is empty or missing
+     */
+    public static <T extends ApiObject> List<T> list(Response res, Class<T> type) {
+        return list(res.asByteArray(), isXml(res), type);
+    }
+
+    /**
+     * The object of a response, flat as returned by POST or wrapped in a one-element
+     * collection as returned by GET /todos/1.
+     *
+     * @param res A JSON or XML response
+     * @param type Todo, Category or Project
+     * @return The object, or null if the body is empty or the collection has no item
+     */
+    public static <T extends ApiObject> T one(Response res, Class<T> type) {
+        return one(res.asByteArray(), isXml(res), type);
+    }
+
+    /** Items of a JSON or XML collection body; see {@link #list(Response, Class)}. */
+    public static <T extends ApiObject> List<T> list(byte[] body, boolean xml, Class<T> type) {
+        List<T> items = new ArrayList<>();
+        if (body == null || body.length == 0) return items;
+        ObjectMapper mapper = xml ? XML : JSON;
+        // JSON holds the items in an array under the collection name, XML as repeated elements
+        String element = xml ? singular(type) : collection(type);
+        try (JsonParser p = mapper.createParser(body)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return items;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+                if (!element.equals(field)) {
+                    p.skipChildren();
+                } else if (value == JsonToken.START_ARRAY) {
+                    while (p.nextToken() == JsonToken.START_OBJECT) items.add(mapper.readValue(p, type));
+                } else if (value == JsonToken.START_OBJECT) {
+                    items.add(mapper.readValue(p, type));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + collection(type) + " collection", e);
+        }
+        return items;
+    }
+
+    /** The object of a JSON or XML body; see {@link #one(Response, Class)}. */
+    public static <T extends ApiObject> T one(byte[] body, boolean xml, Class<T> type) {
+        if (body == null || body.length == 0) return null;
+        ObjectMapper mapper = xml ? XML : JSON;
+        try {
+            if (wrapped(mapper, body, xml ? singular(type) : collection(type))) {
+                List<T> items = list(body, xml, type);
+                return items.isEmpty() ? null : items.get(0);
+            }
+            return mapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + singular(type), e);
+        }
+    }
+
+    private static boolean wrapped(ObjectMapper mapper, byte[] body, String element) throws IOException {
+        try (JsonParser p = mapper.createParser(body)) {
+            return p.nextToken() == JsonToken.START_OBJECT && p.nextToken() == JsonToken.FIELD_NAME
+                && element.equals(p.currentName());
+        }
+    }
+
+    /**
+     * Whether an object with the ID is among the items.
+     */
+    public static boolean containsId(Collection<? extends ApiObject> items, String id) {
+        for (ApiObject item : items) {
+            if (id.equals(item.id())) return true;
+        }
+        return false;
+    }
+
+    /**
+     * IDs of the items, in order.
+     */
+    public static List<String> ids(Collection<? extends ApiObject> items) {
+        List<String> ids = new ArrayList<>(items.size());
+        for (ApiObject item : items) ids.add(item.id());
+        return ids;
+    }
+
+    private static boolean isXml(Response res) {
+        String contentType = res.getContentType();
+        return contentType != null && contentType.contains("xml");
+    }
+
+    private static String collection(Class<?> type) {
+        if (type == Todo.class) return "todos";
+        if (type == Category.class) return "categories";
+        if (type == Project.class) return "projects";
+        throw new IllegalArgumentException("not an API type: " + type.getName());
+    }
+
+    private static String singular(Class<?> type) {
+        if (type == Todo.class) return "todo";
+        if (type == Category.class) return "category";
+        if (type == Project.class) return "project";
+        throw new IllegalArgumentException("not an API type: " + type.getName());
+    }
+
+    /**
+     * Reads a relationship, a list of {"id": ...} objects, as the array of its IDs.
+     * Every "id" value under the relationship is collected and everything else skipped, so
+     * the JSON array and the repeated XML elements, which the XML module hands over
+     * re-buffered as one object, read the same.
+     */
+    static final class RefIds extends StdDeserializer<String[]> {
+        private static final long serialVersionUID = 1L;
+
+        public RefIds() {
+            super(String[].class);
+        }
+
+        @Override
+        public String[] deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken t = p.currentToken();
+            if (t == null || !t.isStructStart()) return NO_IDS;
+            String[] ids = NO_IDS;
+            int n = 0;
+            int depth = 0;
+            String field = null;
+            do {
+                if (t.isStructStart()) {
+                    depth++;
+                } else if (t.isStructEnd()) {
+                    depth--;
+                } else if (t == JsonToken.FIELD_NAME) {
+                    field = p.currentName();
+                } else if ("id".equals(field)) {
+                    if (n == ids.length) ids = Arrays.copyOf(ids, Math.max(2, n * 2));
+                    ids[n++] = p.getValueAsString();
+                    field = null;
+                }
+                if (depth == 0) break;
+                t = p.nextToken();
+            } while (t != null);
+            return n == ids.length ? ids : Arrays.copyOf(ids, n);
+        }
+
+        @Override
+        public String[] getNullValue(DeserializationContext ctxt) {
+            return NO_IDS;
+        }
+    }
+}
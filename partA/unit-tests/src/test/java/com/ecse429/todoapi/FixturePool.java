@@ -0,0 +1,153 @@
+package com.ecse429.todoapi;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingDeque;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Session-scoped pool of pre-created entities for read-only tests
+ *
+ * A fixture is a todo, a category and a project linked to each other
+ * (todo to category, todo to project as tasksof, project to category).
+ * The first borrow creates -Dtodo.fixtures.size fixtures (default 2) once per run;
+ * when all of them are out, the pool grows by one instead of blocking. A borrowed fixture
+ * is handed back when the borrowing test's namespace is cleaned up, and every fixture is
+ * deleted when the test run finishes (see {@link FixturePoolListener}).
+ *
+ * Only tests that never modify the fixture may borrow one; tests that update, link or
+ * delete must keep creating fresh entities. With -Dtodo.fixtures=false every borrow
+ * creates a fresh fixture owned by the test, for comparing round trips.
+ */
+public final class FixturePool {
+
+    private static final TestNamespace NAMESPACE = TestNamespace.session("fixtures");
+    private static final BlockingDeque<Fixture> IDLE = new LinkedBlockingDeque<>();
+    private static final ConcurrentLinkedQueue<Fixture> SHARED = new ConcurrentLinkedQueue<>();
+    private static boolean filled;
+
+    private FixturePool() {
+    }
+
+    /**
+     * Borrow a fixture for the test running on the current thread. It is returned
+     * to the pool automatically by {@link TestHelper#cleanupNamespace()}.
+     *
+     * @return Linked todo, category and project that must not be modified
+     */
+    public static Fixture borrow() {
+        if ("false".equals(System.getProperty("todo.fixtures"))) {
+            return create();
+        }
+        fill();
+        Fixture fixture = IDLE.pollFirst();
+        if (fixture == null) fixture = createShared();
+        Fixture borrowed = fixture;
+        TestNamespace.current().registry().onCleanup(() -> {
+            // Not if it was invalidated while borrowed
+            if (SHARED.contains(borrowed)) IDLE.addFirst(borrowed);
+        });
+        return borrowed;
+    }
+
+    /**
+     * Drop every fixture so the next borrow creates new ones. Call right after a test
+     * wipes a whole collection, before it creates anything: the wiped collection's IDs
+     * restart at 1, so the pool must not delete those paths at the end of the run. What
+     * survived the wipe is deleted now and every fixture path is forgotten.
+     */
+    public static synchronized void invalidate() {
+        IDLE.clear();
+        filled = false;
+        List<Fixture> dropped = new ArrayList<>(SHARED);
+        SHARED.clear();
+        NAMESPACE.bind(() -> {
+            for (Fixture f : dropped) {
+                TestHelper.deleteIfExists("/todos/" + f.todoId());
+                TestHelper.deleteIfExists("/categories/" + f.categoryId());
+                TestHelper.deleteIfExists("/projects/" + f.projectId());
+            }
+        }).run();
+    }
+
+    /**
+     * Delete every fixture created during the run.
+     */
+    public static synchronized void release() {
+        IDLE.clear();
+        SHARED.clear();
+        filled = false;
+        NAMESPACE.registry().cleanup();
+    }
+
+    private static synchronized void fill() {
+        if (filled) return;
+        int size = Math.max(1, Integer.getInteger("todo.fixtures.size", 2));
+        List<Fixture> created = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) created.add(createShared());
+        IDLE.addAll(created);
+        filled = true;
+    }
+
+    private static Fixture createShared() {
+        Fixture[] created = new Fixture[1];
+        NAMESPACE.bind(() -> created[0] = create()).run();
+        SHARED.add(created[0]);
+        return created[0];
+    }
+
+    private static Fixture create() {
+        String todoTitle = TestNamespace.qualify("fixture-todo-" + System.nanoTime());
+        String categoryTitle = TestNamespace.qualify("fixture-category-" + System.nanoTime());
+        String projectTitle = TestNamespace.qualify("fixture-project-" + System.nanoTime());
+        String todoId = TestHelper.createTodo(todoTitle, false, "fixture");
+        String categoryId = TestHelper.createCategory(categoryTitle, "fixture");
+        String projectId = TestHelper.createProject(projectTitle, "fixture");
+
+        link("/todos/" + todoId + "/categories", categoryId);
+        link("/todos/" + todoId + "/tasksof", projectId);
+        link("/projects/" + projectId + "/categories", categoryId);
+        return new Fixture(todoId, todoTitle, categoryId, categoryTitle, projectId, projectTitle);
+    }
+
+    private static void link(String relationshipPath, String targetId) {
+        given()
+            .contentType("application/json")
+            .body("{\"id\":\"" + targetId + "\"}")
+            .when().post(relationshipPath)
+            .then().statusCode(anyOf(is(200), is(201)));
+    }
+
+    /**
+     * A linked todo, category and project. Read only.
+     */
+    public static final class Fixture {
+        private final String todoId;
+        private final String todoTitle;
+        private final String categoryId;
+        private final String categoryTitle;
+        private final String projectId;
+        private final String projectTitle;
+
+        Fixture(String todoId, String todoTitle, String categoryId, String categoryTitle,
+                String projectId, String projectTitle) {
+            this.todoId = todoId;
+            this.todoTitle = todoTitle;
+            this.categoryId = categoryId;
+            this.categoryTitle = categoryTitle;
+            this.projectId = projectId;
+            this.projectTitle = projectTitle;
+        }
+
+        public String todoId() { return todoId; }
+        public String todoTitle() { return todoTitle; }
+        public String categoryId() { return categoryId; }
+        public String categoryTitle() { return categoryTitle; }
+        public String projectId() { return projectId; }
+        public String projectTitle() { return projectTitle; }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecse429.todoapi;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Deletes the {@link FixturePool} entities once the whole test plan has run.
+ * Registered with the JUnit Platform through META-INF/services.
+ */
+public class FixturePoolListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        try {
+            FixturePool.release();
+        } catch (Exception | AssertionError e) {
+            // Log the exception but don't fail the run
+            System.err.println("Warning: Error during fixture cleanup: " + e.getMessage());
+        }
+    }
+}
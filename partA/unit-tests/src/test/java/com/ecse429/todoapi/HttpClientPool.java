@@ -0,0 +1,94 @@
+package com.ecse429.todoapi;
+
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.pool.PoolStats;
+
+/**
+ * Shared, pooled HTTP connection layer for every RestAssured call in the module.
+ *
+ * By default RestAssured builds a new HttpClient, and therefore a new TCP
+ * connection, for every request. This installs one client backed by a pooling
+ * connection manager with keep-alive so connections to the server are reused.
+ *
+ * Configured with system properties:
+ * todo.http.maxTotal (default 200), todo.http.maxPerRoute (default 100),
+ * todo.http.connectTimeoutMs (default 5000), todo.http.socketTimeoutMs (default 30000),
+ * todo.http.leaseTimeoutMs (default 30000) and todo.http.keepAliveMs (default 30000,
+ * used when the server does not send a Keep-Alive header).
+ */
+@SuppressWarnings("deprecation") // RestAssured 5 requires the HttpClient 4 AbstractHttpClient API
+public final class HttpClientPool {
+
+    private static PoolingClientConnectionManager manager;
+
+    private HttpClientPool() {
+    }
+
+    /**
+     * Install the pooled client into the global RestAssured configuration.
+     * Safe to call from every test class; only the first call has an effect.
+     */
+    public static synchronized void install() {
+        if (manager != null) return;
+
+        PoolingClientConnectionManager pool = new PoolingClientConnectionManager();
+        pool.setMaxTotal(Integer.getInteger("todo.http.maxTotal", 200));
+        pool.setDefaultMaxPerRoute(Integer.getInteger("todo.http.maxPerRoute", 100));
+        long keepAliveMillis = Long.getLong("todo.http.keepAliveMs", 30_000L);
+
+        HttpClientConfig httpClientConfig = RestAssured.config().getHttpClientConfig()
+            .reuseHttpClientInstance()
+            .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, Integer.getInteger("todo.http.connectTimeoutMs", 5_000))
+            .setParam(CoreConnectionPNames.SO_TIMEOUT, Integer.getInteger("todo.http.socketTimeoutMs", 30_000))
+            .setParam(ClientPNames.CONN_MANAGER_TIMEOUT, Long.getLong("todo.http.leaseTimeoutMs", 30_000L))
+            .setParam(CoreConnectionPNames.STALE_CONNECTION_CHECK, true)
+            .httpClientFactory(() -> {
+                DefaultHttpClient client = new DefaultHttpClient(pool);
+                client.setKeepAliveStrategy(keepAlive(keepAliveMillis));
+                // RestAssured does not read empty or unused bodies to the end, which would keep the
+                // connection leased; a buffered entity lets HttpClient release it straight away
+                client.addResponseInterceptor((response, context) -> {
+                    if (response.getEntity() != null) response.setEntity(new BufferedHttpEntity(response.getEntity()));
+                });
+                return client;
+            });
+        RestAssured.config = RestAssured.config().httpClient(httpClientConfig);
+        manager = pool;
+
+        if (Boolean.getBoolean("todo.http.verbose")) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.println("[http-pool] " + describe())));
+        }
+    }
+
+    private static ConnectionKeepAliveStrategy keepAlive(long defaultMillis) {
+        return (response, context) -> {
+            long announced = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return announced > 0 ? announced : defaultMillis;
+        };
+    }
+
+    /**
+     * Current pool statistics, or null if the pool has not been installed.
+     */
+    public static synchronized PoolStats stats() {
+        return manager == null ? null : manager.getTotalStats();
+    }
+
+    /**
+     * One-line summary of the pool for diagnostics.
+     */
+    public static String describe() {
+        PoolStats s = stats();
+        if (s == null) return "not installed";
+        return String.format("leased=%d available=%d pending=%d max=%d",
+            s.getLeased(), s.getAvailable(), s.getPending(), s.getMax());
+    }
+}
@@ -0,0 +1,124 @@
+package com.ecse429.todoapi;
+
+import com.ecse429.todoapi.perf.EndpointMetrics;
+import com.ecse429.todoapi.perf.TrafficCapture;
+import io.restassured.RestAssured;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+/**
+ * {@link ApiClient} on one shared java.net.http.HttpClient speaking HTTP/1.1 with keep-alive.
+ *
+ * Requests go to the current RestAssured base URI and port, so a restarted server is
+ * followed. At most todo.client.maxInFlight requests (default todo.http.maxPerRoute, 100)
+ * are outstanding at once; further sends block the caller until one completes, which keeps
+ * bulk async callers from opening a connection per request. Timeouts follow
+ * todo.http.connectTimeoutMs and todo.http.socketTimeoutMs. Exchanges are recorded in
+ * {@link EndpointMetrics} and, with -Dtodo.capture, in the {@link TrafficCapture}.
+ */
+final class JdkApiClient implements ApiClient {
+
+    private static JdkApiClient instance;
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final Semaphore inFlight;
+
+    private JdkApiClient() {
+        client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(Integer.getInteger("todo.http.connectTimeoutMs", 5_000)))
+            .build();
+        requestTimeout = Duration.ofMillis(Integer.getInteger("todo.http.socketTimeoutMs", 30_000));
+        inFlight = new Semaphore(Integer.getInteger("todo.client.maxInFlight",
+            Integer.getInteger("todo.http.maxPerRoute", 100)));
+    }
+
+    static synchronized JdkApiClient instance() {
+        if (instance == null) instance = new JdkApiClient();
+        return instance;
+    }
+
+    @Override
+    public Reply send(String method, String path, String jsonBody) {
+        HttpRequest request = request(method, path, jsonBody);
+        inFlight.acquireUninterruptibly();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> res = client.send(request, HttpResponse.BodyHandlers.ofString());
+            return record(request, jsonBody, start, res);
+        } catch (IOException e) {
+            EndpointMetrics.record(method, request.uri().toString(), System.nanoTime() - start, -1, -1);
+            throw new UncheckedIOException(method + " " + path + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted during " + method + " " + path, e);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Reply> sendAsync(String method, String path, String jsonBody) {
+        HttpRequest request = request(method, path, jsonBody);
+        inFlight.acquireUninterruptibly();
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<String>> sent;
+        try {
+            sent = client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        } catch (RuntimeException e) {
+            // Failed before anything was sent, e.g. a closed client; nothing will complete the permit
+            inFlight.release();
+            throw e;
+        }
+        return sent
+            .whenComplete((res, error) -> {
+                inFlight.release();
+                if (error != null) EndpointMetrics.record(method, request.uri().toString(), System.nanoTime() - start, -1, -1);
+            })
+            .thenApply(res -> record(request, jsonBody, start, res));
+    }
+
+    @Override
+    public String name() {
+        return "jdk";
+    }
+
+    private HttpRequest request(String method, String path, String jsonBody) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(RestAssured.baseURI + ":" + RestAssured.port + path))
+            .timeout(requestTimeout)
+            .header("Accept", "application/json");
+        if (jsonBody == null) return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        return builder.header("Content-Type", "application/json")
+            .method(method, HttpRequest.BodyPublishers.ofString(jsonBody, StandardCharsets.UTF_8))
+            .build();
+    }
+
+    private static Reply record(HttpRequest request, String jsonBody, long start, HttpResponse<String> res) {
+        long elapsed = System.nanoTime() - start;
+        EndpointMetrics.record(request.method(), request.uri().toString(), elapsed,
+            res.statusCode(), res.headers().firstValueAsLong("Content-Length").orElse(-1));
+        if (TrafficCapture.capturing()) capture(request, jsonBody, start, elapsed, res);
+        return new Reply(res.statusCode(), res.body());
+    }
+
+    private static void capture(HttpRequest request, String jsonBody, long start, long elapsed, HttpResponse<String> res) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        request.headers().map().forEach((name, values) -> headers.put(name, values.get(0)));
+        TrafficCapture.record(request.method(), request.uri().toString(), headers,
+            jsonBody == null ? null : jsonBody.getBytes(StandardCharsets.UTF_8), start, elapsed, res.statusCode(),
+            res.headers().firstValue("Content-Type").orElse(null),
+            res.body() == null ? null : res.body().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,209 @@
+package com.ecse429.todoapi;
+
+import com.ecse429.todoapi.perf.PerfReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * TodoManagerTestAPI-1.5.5.jar launched by the tests as a child process.
+ *
+ * The jar runs in its own JVM on the given port, with its output sent to a log file.
+ * Readiness is probed with GET /todos, starting 10 ms apart and doubling up to 500 ms,
+ * until the first 2xx response; the time from launch to that response is the startup
+ * time. Stopping asks the server to exit through GET /shutdown, then terminates the
+ * process if it is still running.
+ */
+public final class ManagedTodoServer {
+
+    private static final long FIRST_PROBE_DELAY_MILLIS = 10;
+    private static final long MAX_PROBE_DELAY_MILLIS = 500;
+    private static final int PROBE_TIMEOUT_MILLIS = 1_000;
+    private static final long STOP_TIMEOUT_SECONDS = 5;
+
+    private final Process process;
+    private final int port;
+    private final List<String> command;
+    private final Path log;
+    private final long startupNanos;
+    private final int probes;
+
+    private ManagedTodoServer(Process process, int port, List<String> command, Path log, long startupNanos, int probes) {
+        this.process = process;
+        this.port = port;
+        this.command = command;
+        this.log = log;
+        this.startupNanos = startupNanos;
+        this.probes = probes;
+    }
+
+    /**
+     * Launch the jar and wait until it answers.
+     *
+     * @param jar The server jar
+     * @param port The port to serve on, or 0 for any free port
+     * @param jvmFlags Flags for the server JVM (e.g., "-Xmx256m")
+     * @param args Program arguments; "{port}" is replaced by the port
+     * @param timeoutMillis How long to wait for the first successful response
+     * @param log File receiving the server's stdout and stderr
+     * @return The running server
+     * @throws IOException If the jar is missing, the process exits, or it does not answer in time
+     */
+    public static ManagedTodoServer start(Path jar, int port, List<String> jvmFlags, List<String> args,
+                                          long timeoutMillis, Path log) throws IOException {
+        if (!Files.isRegularFile(jar)) throw new IOException("server jar not found: " + jar.toAbsolutePath());
+        int actualPort = port == 0 ? freePort() : port;
+
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmFlags);
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+        for (String arg : args) command.add(arg.replace("{port}", String.valueOf(actualPort)));
+
+        Files.createDirectories(log.toAbsolutePath().getParent());
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(log.toFile())
+            .start();
+
+        long deadline = launched + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long delay = FIRST_PROBE_DELAY_MILLIS;
+        int probes = 0;
+        while (true) {
+            probes++;
+            if (get(actualPort, "/todos") / 100 == 2) {
+                return new ManagedTodoServer(process, actualPort, command, log, System.nanoTime() - launched, probes);
+            }
+            if (!process.isAlive()) {
+                throw new IOException("server exited with " + process.exitValue() + " before answering; see " + log.toAbsolutePath());
+            }
+            if (System.nanoTime() > deadline) {
+                process.destroyForcibly();
+                throw new IOException("server did not answer on port " + actualPort + " within " + timeoutMillis
+                    + " ms; see " + log.toAbsolutePath());
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(delay));
+            delay = Math.min(delay * 2, MAX_PROBE_DELAY_MILLIS);
+        }
+    }
+
+    /**
+     * Launch the jar configured with system properties: todo.jar (default
+     * TodoManagerTestAPI-1.5.5.jar), todo.jar.port (default 0, any free port),
+     * todo.jar.jvmFlags (space-separated), todo.jar.args (default "-port={port}"),
+     * todo.jar.startTimeoutMs (default 60000) and todo.jar.log (default
+     * target/todo-server.log).
+     */
+    public static ManagedTodoServer fromSystemProperties() throws IOException {
+        return start(Paths.get(System.getProperty("todo.jar", "TodoManagerTestAPI-1.5.5.jar")),
+            Integer.getInteger("todo.jar.port", 0),
+            split(System.getProperty("todo.jar.jvmFlags", "")),
+            split(System.getProperty("todo.jar.args", "-port={port}")),
+            Long.getLong("todo.jar.startTimeoutMs", 60_000L),
+            Paths.get(System.getProperty("todo.jar.log", "target/todo-server.log")));
+    }
+
+    public int port() {
+        return port;
+    }
+
+    /** Time from launching the process to its first successful response. */
+    public long startupNanos() {
+        return startupNanos;
+    }
+
+    /** Readiness probes sent, including the successful one. */
+    public int probes() {
+        return probes;
+    }
+
+    /** Process ID of the server's JVM, for attaching tools such as jcmd. */
+    public long pid() {
+        return process.pid();
+    }
+
+    public boolean isAlive() {
+        return process.isAlive();
+    }
+
+    /**
+     * Ask the server to shut down and wait for it; terminate it if it does not exit.
+     *
+     * @return The exit code, or -1 if the process had to be killed
+     */
+    public int stop() {
+        if (!process.isAlive()) return process.exitValue();
+        // The server may drop the connection as it exits; an error status means it will not
+        int status = get(port, "/shutdown");
+        try {
+            if (status < 400 && process.waitFor(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) return process.exitValue();
+            process.destroy();
+            if (process.waitFor(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) return process.exitValue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        process.destroyForcibly();
+        return -1;
+    }
+
+    /**
+     * Startup time, probes and launch command as a {@link PerfReport}.
+     */
+    public PerfReport toReport() {
+        Map<String, Object> startup = new LinkedHashMap<>();
+        startup.put("port", port);
+        startup.put("ready_ms", startupNanos / 1e6);
+        startup.put("probes", probes);
+        startup.put("command", command);
+        startup.put("log", log.toAbsolutePath().toString());
+        return new PerfReport("server-startup").put("startup", startup);
+    }
+
+    /**
+     * Status of a GET, or -1 if the server could not be reached.
+     */
+    private static int get(int port, String path) {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) URI.create("http://localhost:" + port + path).toURL().openConnection();
+            connection.setConnectTimeout(PROBE_TIMEOUT_MILLIS);
+            connection.setReadTimeout(PROBE_TIMEOUT_MILLIS);
+            int status = connection.getResponseCode();
+            InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            if (body != null) body.readAllBytes();
+            return status;
+        } catch (IOException e) {
+            // Not listening yet, or closed the connection while shutting down
+            return -1;
+        } finally {
+            if (connection != null) connection.disconnect();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            socket.setReuseAddress(true);
+            return socket.getLocalPort();
+        }
+    }
+
+    private static List<String> split(String value) {
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? List.of() : Arrays.asList(trimmed.split("\\s+"));
+    }
+}
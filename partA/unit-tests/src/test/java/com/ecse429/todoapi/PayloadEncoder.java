@@ -0,0 +1,299 @@
+package com.ecse429.todoapi;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encoder of the todo, category and project request bodies, in JSON or XML
+ *
+ * Each thread has one encoder per format with its own byte buffer, reused across calls:
+ * a body is written field by field straight into the buffer as UTF-8, escaping as it
+ * goes, with no String built per field. Text is escaped for the format: quotes,
+ * backslashes and control characters in JSON; markup characters in XML, where control
+ * characters XML cannot carry become '?'. A null text is written as empty.
+ * The encoded body stays valid until the same thread encodes the next one; take
+ * {@link #toString()} or {@link #toByteArray()} to keep it.
+ */
+public final class PayloadEncoder {
+
+    /** Body formats. */
+    public enum Format { JSON, XML }
+
+    private static final int INITIAL_CAPACITY = 256;
+    // A buffer grown past this for one large body is dropped rather than kept for the thread
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<PayloadEncoder> JSON = ThreadLocal.withInitial(() -> new PayloadEncoder(Format.JSON));
+    private static final ThreadLocal<PayloadEncoder> XML = ThreadLocal.withInitial(() -> new PayloadEncoder(Format.XML));
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final Format format;
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int length;
+    private boolean firstField;
+
+    private PayloadEncoder(Format format) {
+        this.format = format;
+    }
+
+    /** This thread's JSON encoder. */
+    public static PayloadEncoder json() {
+        return JSON.get();
+    }
+
+    /** This thread's XML encoder. */
+    public static PayloadEncoder xml() {
+        return XML.get();
+    }
+
+    /** This thread's encoder for the format. */
+    public static PayloadEncoder of(Format format) {
+        return format == Format.JSON ? json() : xml();
+    }
+
+    public Format format() { return format; }
+
+    /**
+     * Encode a todo: title, doneStatus and description.
+     *
+     * @return This encoder, holding the body
+     */
+    public PayloadEncoder todo(CharSequence title, boolean done, CharSequence description) {
+        begin("todo");
+        text("title", title);
+        bool("doneStatus", done);
+        text("description", description);
+        return end("todo");
+    }
+
+    /**
+     * Encode a category: title and description.
+     *
+     * @return This encoder, holding the body
+     */
+    public PayloadEncoder category(CharSequence title, CharSequence description) {
+        begin("category");
+        text("title", title);
+        text("description", description);
+        return end("category");
+    }
+
+    /**
+     * Encode a project: title and description.
+     *
+     * @return This encoder, holding the body
+     */
+    public PayloadEncoder project(CharSequence title, CharSequence description) {
+        begin("project");
+        text("title", title);
+        text("description", description);
+        return end("project");
+    }
+
+    /**
+     * Encode a project: title, description and completed.
+     *
+     * @return This encoder, holding the body
+     */
+    public PayloadEncoder project(CharSequence title, CharSequence description, boolean completed) {
+        begin("project");
+        text("title", title);
+        text("description", description);
+        bool("completed", completed);
+        return end("project");
+    }
+
+    /** The buffer holding the body in its first {@link #length()} bytes; overwritten by the next body. */
+    public byte[] buffer() { return buffer; }
+
+    /** Length of the body in bytes. */
+    public int length() { return length; }
+
+    /** A copy of the body. */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    /** Write the body to a stream. */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, length);
+    }
+
+    /** The body as a String, e.g. for {@link ApiClient#send}. */
+    @Override
+    public String toString() {
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void begin(String root) {
+        if (buffer.length > MAX_RETAINED_CAPACITY) buffer = new byte[INITIAL_CAPACITY];
+        length = 0;
+        firstField = true;
+        if (format == Format.JSON) {
+            put((byte) '{');
+        } else {
+            put((byte) '<');
+            ascii(root);
+            put((byte) '>');
+        }
+    }
+
+    private PayloadEncoder end(String root) {
+        if (format == Format.JSON) {
+            put((byte) '}');
+        } else {
+            put((byte) '<');
+            put((byte) '/');
+            ascii(root);
+            put((byte) '>');
+        }
+        return this;
+    }
+
+    private void text(String name, CharSequence value) {
+        if (format == Format.JSON) {
+            jsonName(name);
+            put((byte) '"');
+            if (value != null) jsonEscaped(value);
+            put((byte) '"');
+        } else {
+            openTag(name);
+            if (value != null) xmlEscaped(value);
+            closeTag(name);
+        }
+    }
+
+    private void bool(String name, boolean value) {
+        if (format == Format.JSON) {
+            jsonName(name);
+        } else {
+            openTag(name);
+        }
+        ascii(value ? "true" : "false");
+        if (format == Format.XML) closeTag(name);
+    }
+
+    private void jsonName(String name) {
+        if (!firstField) put((byte) ',');
+        firstField = false;
+        put((byte) '"');
+        ascii(name);
+        put((byte) '"');
+        put((byte) ':');
+    }
+
+    private void openTag(String name) {
+        put((byte) '<');
+        ascii(name);
+        put((byte) '>');
+    }
+
+    private void closeTag(String name) {
+        put((byte) '<');
+        put((byte) '/');
+        ascii(name);
+        put((byte) '>');
+    }
+
+    private void jsonEscaped(CharSequence s) {
+        int n = s.length();
+        ensure(n);
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                buffer[length++] = (byte) c;
+                continue;
+            }
+            // Room for this escape and the rest of the text as plain ASCII
+            ensure(n - i + 6);
+            switch (c) {
+                case '"': buffer[length++] = '\\'; buffer[length++] = '"'; break;
+                case '\\': buffer[length++] = '\\'; buffer[length++] = '\\'; break;
+                case '\n': buffer[length++] = '\\'; buffer[length++] = 'n'; break;
+                case '\r': buffer[length++] = '\\'; buffer[length++] = 'r'; break;
+                case '\t': buffer[length++] = '\\'; buffer[length++] = 't'; break;
+                case '\b': buffer[length++] = '\\'; buffer[length++] = 'b'; break;
+                case '\f': buffer[length++] = '\\'; buffer[length++] = 'f'; break;
+                default:
+                    if (c < 0x20) {
+                        buffer[length++] = '\\';
+                        buffer[length++] = 'u';
+                        buffer[length++] = '0';
+                        buffer[length++] = '0';
+                        buffer[length++] = HEX[c >> 4];
+                        buffer[length++] = HEX[c & 0xF];
+                    } else {
+                        i = utf8(s, i, c);
+                    }
+            }
+        }
+    }
+
+    private void xmlEscaped(CharSequence s) {
+        int n = s.length();
+        ensure(n);
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '<' && c != '>' && c != '&' && c != '"' && c != '\'') {
+                buffer[length++] = (byte) c;
+                continue;
+            }
+            ensure(n - i + 6);
+            switch (c) {
+                case '<': ascii("&lt;"); break;
+                case '>': ascii("&gt;"); break;
+                case '&': ascii("&amp;"); break;
+                case '"': ascii("&quot;"); break;
+                case '\'': ascii("&apos;"); break;
+                default:
+                    if (c < 0x20 && c != '\t' && c != '\n' && c != '\r') buffer[length++] = '?';
+                    else if (c < 0x80) buffer[length++] = (byte) c;
+                    else i = utf8(s, i, c);
+            }
+        }
+    }
+
+    /**
+     * Write a non-ASCII char, or the surrogate pair starting with it, as UTF-8, into room
+     * the caller has ensured. A lone surrogate becomes '?'.
+     *
+     * @return Index of the last char consumed
+     */
+    private int utf8(CharSequence s, int i, char c) {
+        if (c < 0x800) {
+            buffer[length++] = (byte) (0xC0 | (c >> 6));
+            buffer[length++] = (byte) (0x80 | (c & 0x3F));
+        } else if (!Character.isSurrogate(c)) {
+            buffer[length++] = (byte) (0xE0 | (c >> 12));
+            buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[length++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+            int cp = Character.toCodePoint(c, s.charAt(++i));
+            buffer[length++] = (byte) (0xF0 | (cp >> 18));
+            buffer[length++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+            buffer[length++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            buffer[length++] = (byte) (0x80 | (cp & 0x3F));
+        } else {
+            buffer[length++] = '?';
+        }
+        return i;
+    }
+
+    private void ascii(String s) {
+        int n = s.length();
+        ensure(n);
+        for (int i = 0; i < n; i++) buffer[length++] = (byte) s.charAt(i);
+    }
+
+    private void put(byte b) {
+        if (length == buffer.length) ensure(1);
+        buffer[length++] = b;
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > buffer.length) buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+    }
+}
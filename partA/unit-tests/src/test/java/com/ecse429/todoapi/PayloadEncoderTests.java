@@ -0,0 +1,99 @@
+package com.ecse429.todoapi;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link PayloadEncoder} bodies parsed back with Jackson: titles that broke the old
+ * String.format bodies must round-trip. No server is involved.
+ */
+public class PayloadEncoderTests {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final XmlMapper XML = new XmlMapper();
+
+    private static final String[] TITLES = {
+        "plain",
+        "say \"hi\"",
+        "C:\\temp\\new",
+        "\\\"",
+        "<b>bold</b> & <i>more</i>",
+        "it's > 3",
+        "tab\there\nnew line",
+        "café, naïve, Ελληνικά, 日本語",
+        "emoji 😀 pair",
+        "",
+    };
+
+    @Test
+    void json_titles_round_trip() throws Exception {
+        for (String title : TITLES) {
+            JsonNode todo = JSON.readTree(PayloadEncoder.json().todo(title, true, title).toString());
+            assertEquals(title, todo.get("title").asText());
+            assertEquals(title, todo.get("description").asText());
+            assertTrue(todo.get("doneStatus").booleanValue());
+
+            assertEquals(title, JSON.readTree(PayloadEncoder.json().category(title, "d").toString()).get("title").asText());
+            JsonNode project = JSON.readTree(PayloadEncoder.json().project(title, "d", false).toString());
+            assertEquals(title, project.get("title").asText());
+            assertFalse(project.get("completed").booleanValue());
+        }
+    }
+
+    @Test
+    void json_control_characters_are_escaped() throws Exception {
+        String title = "\u0000\u0001\b\f\r\u001f end";
+        String body = PayloadEncoder.json().category(title, null).toString();
+        for (char c : body.toCharArray()) assertTrue(c >= 0x20, "raw control character in " + body);
+        JsonNode category = JSON.readTree(body);
+        assertEquals(title, category.get("title").asText());
+        assertEquals("", category.get("description").asText());
+    }
+
+    @Test
+    void xml_titles_round_trip() throws Exception {
+        for (String title : TITLES) {
+            JsonNode todo = XML.readTree(PayloadEncoder.xml().todo(title, false, title).toString());
+            assertEquals(title, text(todo, "title"));
+            assertEquals(title, text(todo, "description"));
+            assertEquals("false", text(todo, "doneStatus"));
+
+            assertEquals(title, text(XML.readTree(PayloadEncoder.xml().category(title, "d").toString()), "title"));
+            assertEquals(title, text(XML.readTree(PayloadEncoder.xml().project(title, "d").toString()), "title"));
+        }
+    }
+
+    @Test
+    void xml_control_characters_it_cannot_carry_become_question_marks() throws Exception {
+        JsonNode category = XML.readTree(PayloadEncoder.xml().category("a\u0000b\u0001c\td", "").toString());
+        assertEquals("a?b?c\td", text(category, "title"));
+    }
+
+    @Test
+    void lone_surrogate_becomes_question_mark() throws Exception {
+        String title = "x\ud83dy";
+        assertEquals("x?y", JSON.readTree(PayloadEncoder.json().category(title, "").toString()).get("title").asText());
+        assertEquals("x?y", text(XML.readTree(PayloadEncoder.xml().category(title, "").toString()), "title"));
+    }
+
+    @Test
+    void body_is_utf8_and_the_buffer_is_reused() {
+        PayloadEncoder encoder = PayloadEncoder.json().category("é", "");
+        byte[] copy = encoder.toByteArray();
+        assertEquals(encoder.toString(), new String(copy, StandardCharsets.UTF_8));
+        assertEquals(copy.length, encoder.length());
+        assertSame(encoder, PayloadEncoder.json());
+        assertSame(encoder.buffer(), PayloadEncoder.json().category("another", "").buffer());
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null ? "" : value.asText();
+    }
+}
@@ -0,0 +1,58 @@
+package com.ecse429.todoapi;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.util.Arrays;
+
+/**
+ * A project as returned by the API, bound by Jackson from JSON or XML (see {@link Entities}).
+ *
+ * Relationships are kept as arrays of the linked IDs only.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class Project implements ApiObject {
+
+    private final String id;
+    private final String title;
+    private final boolean completed;
+    private final boolean active;
+    private final String description;
+    private final String[] tasks;
+    private final String[] categories;
+
+    @JsonCreator
+    public Project(@JsonProperty("id") String id,
+                   @JsonProperty("title") String title,
+                   @JsonProperty("completed") boolean completed,
+                   @JsonProperty("active") boolean active,
+                   @JsonProperty("description") String description,
+                   @JsonProperty("tasks") @JsonDeserialize(using = Entities.RefIds.class) String[] tasks,
+                   @JsonProperty("categories") @JsonDeserialize(using = Entities.RefIds.class) String[] categories) {
+        this.id = id;
+        this.title = title;
+        this.completed = completed;
+        this.active = active;
+        this.description = description == null ? "" : description;
+        this.tasks = tasks == null ? Entities.NO_IDS : tasks;
+        this.categories = categories == null ? Entities.NO_IDS : categories;
+    }
+
+    @Override public String id() { return id; }
+    @Override public String title() { return title; }
+    public boolean completed() { return completed; }
+    public boolean active() { return active; }
+    @Override public String description() { return description; }
+    /** IDs of the project's todos. */
+    public String[] tasks() { return tasks; }
+    /** IDs of the project's categories. */
+    public String[] categories() { return categories; }
+
+    @Override
+    public String toString() {
+        return "Project{id=" + id + ", title=" + title + ", completed=" + completed + ", active=" + active
+            + ", tasks=" + Arrays.toString(tasks) + ", categories=" + Arrays.toString(categories) + "}";
+    }
+}
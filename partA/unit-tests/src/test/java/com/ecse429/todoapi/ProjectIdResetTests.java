@@ -0,0 +1,113 @@
+package com.ecse429.todoapi;
+
+import io.restassured.response.Response;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Project ID allocation tests for Todo REST API (v1.5.5)
+ * Both tests empty /projects, so the class runs with no other test in flight.
+ */
+@Isolated
+@TestMethodOrder(MethodOrderer.Random.class)
+public class ProjectIdResetTests {
+
+    @BeforeAll
+    static void setup() {
+        TestServer.select();
+        given().when().get("/projects").then().statusCode(anyOf(is(200), is(204)));
+    }
+
+    @BeforeEach
+    void openNamespace(TestInfo testInfo) {
+        TestNamespace.begin(testInfo.getDisplayName());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestHelper.reset();
+    }
+
+    // Helpers
+    private static String createProject(String title, String desc, boolean completed) {
+        title = TestNamespace.qualify(title);
+        String body = PayloadEncoder.json().project(title, desc, completed).toString();
+        Response res = given()
+            .contentType("application/json")
+            .body(body)
+            .when().post("/projects")
+            .then().statusCode(anyOf(is(200), is(201)))
+            .extract().response();
+
+        String id = TestHelper.extractId(res, "projects");
+        if (id == null) {
+            Response all = given().when().get("/projects").then().statusCode(200).extract().response();
+            id = CollectionReader.findIdByTitle(all, "projects", title);
+        }
+        TestHelper.trackProject(id);
+        return id;
+    }
+
+    private static void deleteIfExists(String path) {
+        TestHelper.deleteIfExists(path);
+    }
+
+    // ID Allocation
+
+    @Test
+    void project_id_resets_to_one_after_delete_when_empty() {
+        // Clean slate: ensure no projects exist
+        Response before = given().when().get("/projects").then().statusCode(anyOf(is(200), is(204))).extract().response();
+        for (String v : CollectionReader.ids(before, "projects")) {
+            deleteIfExists("/projects/" + v);
+        }
+        // The wipe also removed the shared fixtures' projects
+        FixturePool.invalidate();
+
+        // Create → Delete → Re-Create
+        String firstId = createProject("ResetTest-" + System.nanoTime(), "first", false);
+        given().when().delete("/projects/" + firstId).then().statusCode(anyOf(is(200), is(204)));
+        TestHelper.untrack("/projects/" + firstId);
+
+        String newId = createProject("ResetTest-" + System.nanoTime(), "second", false);
+
+        // Assert that the new project’s id is "1"
+        Assertions.assertEquals("1", newId, "Expected ID to reset to 1 when DB is empty.");
+
+        deleteIfExists("/projects/" + newId);
+    }
+
+    @Test
+    void put_with_id_field_changes_project_id() {
+        // Clean up to ensure only one project exists
+        Response before = given().when().get("/projects").then().statusCode(anyOf(is(200), is(204))).extract().response();
+        for (String v : CollectionReader.ids(before, "projects")) {
+            deleteIfExists("/projects/" + v);
+        }
+        // The wipe also removed the shared fixtures' projects
+        FixturePool.invalidate();
+
+        // Create a single project
+        String id = createProject("PutIdTest-" + System.nanoTime(), "before", false);
+
+        // PUT with an "id" field to rename the id
+        String newId = "42";
+        TestHelper.trackProject(newId);
+        String changedTitle = TestNamespace.qualify("ChangedId");
+        given().contentType("application/json")
+            .body("{\"id\":\"" + newId + "\",\"title\":\"" + changedTitle + "\",\"description\":\"check\",\"completed\":false}")
+            .when().put("/projects/" + id)
+            .then().statusCode(anyOf(is(200), is(201)));
+
+        // Verify that the project now has id = 42
+        given().when().get("/projects/" + newId)
+            .then().statusCode(200)
+            .body("projects[0].id", equalTo(newId))
+            .body("projects[0].title", equalTo(changedTitle));
+
+        deleteIfExists("/projects/" + newId);
+    }
+}
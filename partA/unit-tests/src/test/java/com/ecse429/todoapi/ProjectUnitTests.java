@@ -1,10 +1,8 @@
 package com.ecse429.todoapi;
 
-import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.*;
 import java.util.List;
-import java.util.Map;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
@@ -16,20 +14,21 @@ import static org.hamcrest.Matchers.*;
 @TestMethodOrder(MethodOrderer.Random.class)
 public class ProjectUnitTests {
 
-    private static final String BASE = "http://localhost";
-    private static final int PORT = 4567;
-
     @BeforeAll
     static void setup() {
-        RestAssured.baseURI = BASE;
-        RestAssured.port = PORT;
+        TestServer.select();
         given().when().get("/projects").then().statusCode(anyOf(is(200), is(204)));
     }
 
+    @BeforeEach
+    void openNamespace(TestInfo testInfo) {
+        TestNamespace.begin(testInfo.getDisplayName());
+    }
+
     @AfterEach
     void tearDown() {
-        // Clean up all data after each test to ensure test isolation
-        TestHelper.cleanupAllData();
+        // By default only this test's data is removed, so classes and methods can run concurrently
+        TestHelper.reset();
     }
 
     // Helpers
@@ -38,8 +37,8 @@ public class ProjectUnitTests {
     }
 
     private static String createProject(String title, String desc, boolean completed) {
-        String body = String.format("{\"title\":\"%s\",\"description\":\"%s\",\"completed\":%s}",
-                title, desc == null ? "" : desc, Boolean.toString(completed));
+        title = TestNamespace.qualify(title);
+        String body = PayloadEncoder.json().project(title, desc, completed).toString();
         Response res = given()
             .contentType("application/json")
             .body(body)
@@ -50,16 +49,9 @@ public class ProjectUnitTests {
         String id = extractId(res, "projects");
         if (id == null) {
             Response all = given().when().get("/projects").then().statusCode(200).extract().response();
-            List<Map<String, Object>> list = all.path("projects");
-            if (list != null) {
-                for (Map<String, Object> p : list) {
-                    if (title.equals(p.get("title"))) {
-                        Object v = p.get("id");
-                        if (v != null) return String.valueOf(v);
-                    }
-                }
-            }
+            id = CollectionReader.findIdByTitle(all, "projects", title);
         }
+        TestHelper.trackProject(id);
         return id;
     }
 
@@ -71,17 +63,16 @@ public class ProjectUnitTests {
 
     @Test
     void get_projects_returns_list_200() {
-        String id = createProject("ProjList-" + System.nanoTime(), "test", false);
+        FixturePool.borrow();
         Response res = given().when().get("/projects").then().statusCode(200).extract().response();
-        List<Map<String, Object>> projects = res.path("projects");
+        List<Project> projects = Entities.list(res, Project.class);
         Assertions.assertNotNull(projects);
         Assertions.assertTrue(projects.size() >= 1);
-        deleteIfExists("/projects/" + id);
     }
 
     @Test
     void post_creates_project_defaults_completed_false() {
-        String title = "ProjCreate-" + System.nanoTime();
+        String title = TestNamespace.qualify("ProjCreate-" + System.nanoTime());
         Response res = given()
             .contentType("application/json")
             .body("{\"title\":\"" + title + "\",\"description\":\"auto test\"}")
@@ -89,6 +80,7 @@ public class ProjectUnitTests {
             .then().statusCode(anyOf(is(200), is(201)))
             .extract().response();
         String id = extractId(res, "projects");
+        TestHelper.trackProject(id);
         given().when().get("/projects/" + id)
             .then().statusCode(200)
             .body("projects[0].completed", anyOf(equalTo("false"), equalTo(false)));
@@ -102,6 +94,7 @@ public class ProjectUnitTests {
             .then().statusCode(200)
             .body("projects[0].id", equalTo(id));
         given().when().delete("/projects/" + id).then().statusCode(200);
+        TestHelper.untrack("/projects/" + id);
         given().when().get("/projects/" + id).then().statusCode(404);
     }
 
@@ -109,7 +102,7 @@ public class ProjectUnitTests {
     void put_updates_all_fields_and_no_side_effects() {
         String id = createProject("ProjPut-" + System.nanoTime(), "before", false);
         given().contentType("application/json")
-            .body("{\"title\":\"Updated-" + System.nanoTime() + "\",\"description\":\"new\",\"completed\":true}")
+            .body("{\"title\":\"" + TestNamespace.qualify("Updated-" + System.nanoTime()) + "\",\"description\":\"new\",\"completed\":true}")
             .when().put("/projects/" + id)
             .then().statusCode(anyOf(is(200), is(201)))
             .body("title", containsString("Updated"))
@@ -139,16 +132,18 @@ public class ProjectUnitTests {
         String projId = createProject("RelProj-" + System.nanoTime(), "link", false);
         // Create a todo to link
         Response todo = given().contentType("application/json")
-            .body("{\"title\":\"RelTodo-" + System.nanoTime() + "\"}")
+            .body("{\"title\":\"" + TestNamespace.qualify("RelTodo-" + System.nanoTime()) + "\"}")
             .when().post("/todos")
             .then().statusCode(anyOf(is(200), is(201)))
             .extract().response();
         String todoId = extractId(todo, "todos");
+        TestHelper.trackTodo(todoId);
 
         given().contentType("application/json")
             .body("{\"id\":\"" + todoId + "\"}")
             .when().post("/projects/" + projId + "/tasks")
             .then().statusCode(anyOf(is(200), is(201)));
+        TestHelper.trackLink("/projects/" + projId + "/tasks", todoId);
 
         given().when().get("/projects/" + projId + "/tasks")
             .then().statusCode(200)
@@ -156,6 +151,7 @@ public class ProjectUnitTests {
 
         given().when().delete("/projects/" + projId + "/tasks/" + todoId)
             .then().statusCode(anyOf(is(200), is(404)));
+        TestHelper.untrack("/projects/" + projId + "/tasks/" + todoId);
 
         deleteIfExists("/projects/" + projId);
         deleteIfExists("/todos/" + todoId);
@@ -165,16 +161,18 @@ public class ProjectUnitTests {
     void link_and_unlink_category_to_project() {
         String projId = createProject("RelProjCat-" + System.nanoTime(), "linkcat", false);
         Response cat = given().contentType("application/json")
-            .body("{\"title\":\"RelCat-" + System.nanoTime() + "\"}")
+            .body("{\"title\":\"" + TestNamespace.qualify("RelCat-" + System.nanoTime()) + "\"}")
             .when().post("/categories")
             .then().statusCode(anyOf(is(200), is(201)))
             .extract().response();
         String catId = extractId(cat, "categories");
+        TestHelper.trackCategory(catId);
 
         given().contentType("application/json")
             .body("{\"id\":\"" + catId + "\"}")
             .when().post("/projects/" + projId + "/categories")
             .then().statusCode(anyOf(is(200), is(201)));
+        TestHelper.trackLink("/projects/" + projId + "/categories", catId);
 
         given().when().get("/projects/" + projId + "/categories")
             .then().statusCode(200)
@@ -182,6 +180,7 @@ public class ProjectUnitTests {
 
         given().when().delete("/projects/" + projId + "/categories/" + catId)
             .then().statusCode(anyOf(is(200), is(404)));
+        TestHelper.untrack("/projects/" + projId + "/categories/" + catId);
 
         deleteIfExists("/projects/" + projId);
         deleteIfExists("/categories/" + catId);
@@ -191,10 +190,12 @@ public class ProjectUnitTests {
 
     @Test
     void post_missing_title_returns_201() {
-        given().contentType("application/json")
+        Response res = given().contentType("application/json")
             .body("{\"description\":\"no title\"}")
             .when().post("/projects")
-            .then().statusCode(201);
+            .then().statusCode(201)
+            .extract().response();
+        TestHelper.trackProject(extractId(res, "projects"));
     }
 
     @Test
@@ -213,71 +214,13 @@ public class ProjectUnitTests {
 
     @Test
     void ids_not_reused_after_delete() {
+        // IDs restart at 1 once /projects is empty, so keep a project alive throughout
+        String keeper = createProject("ProjKeep-" + System.nanoTime(), "keeper", false);
         String a = createProject("ProjA-" + System.nanoTime(), "a", false);
-        given().when().delete("/projects/" + a).then().statusCode(200);
+        deleteIfExists("/projects/" + a);
         String b = createProject("ProjB-" + System.nanoTime(), "b", false);
         Assertions.assertNotEquals(a, b);
         deleteIfExists("/projects/" + b);
-    }
-
-    @Test
-    void project_id_resets_to_one_after_delete_when_empty() {
-        // Clean slate: ensure no projects exist
-        Response before = given().when().get("/projects").then().statusCode(anyOf(is(200), is(204))).extract().response();
-        List<Map<String, Object>> existing = before.path("projects");
-        if (existing != null) {
-            for (Map<String, Object> p : existing) {
-                Object v = p.get("id");
-                if (v != null) {
-                    given().when().delete("/projects/" + v).then().statusCode(anyOf(is(200), is(404)));
-                }
-            }
-        }
-
-        // Create → Delete → Re-Create
-        String firstId = createProject("ResetTest-" + System.nanoTime(), "first", false);
-        given().when().delete("/projects/" + firstId).then().statusCode(anyOf(is(200), is(204)));
-
-        String newId = createProject("ResetTest-" + System.nanoTime(), "second", false);
-
-        // Assert that the new project’s id is "1"
-        Assertions.assertEquals("1", newId, "Expected ID to reset to 1 when DB is empty.");
-
-        deleteIfExists("/projects/" + newId);
-    }
-
-    @Test
-    void put_with_id_field_changes_project_id() {
-        // Clean up to ensure only one project exists
-        Response before = given().when().get("/projects").then().statusCode(anyOf(is(200), is(204))).extract().response();
-        List<Map<String, Object>> existing = before.path("projects");
-        if (existing != null) {
-            for (Map<String, Object> p : existing) {
-                Object v = p.get("id");
-                if (v != null) {
-                    given().when().delete("/projects/" + v).then().statusCode(anyOf(is(200), is(404)));
-                }
-            }
-        }
-
-        // Create a single project
-        String id = createProject("PutIdTest-" + System.nanoTime(), "before", false);
-
-        // PUT with an "id" field to rename the id
-        String newId = "42";
-        given().contentType("application/json")
-            .body("{\"id\":\"" + newId + "\",\"title\":\"ChangedId\",\"description\":\"check\",\"completed\":false}")
-            .when().put("/projects/" + id)
-            .then().statusCode(anyOf(is(200), is(201)));
-
-        // Verify that the project now has id = 42
-        given().when().get("/projects/" + newId)
-            .then().statusCode(200)
-            .body("projects[0].id", equalTo(newId))
-            .body("projects[0].title", equalTo("ChangedId"));
-
-        deleteIfExists("/projects/" + newId);
+        deleteIfExists("/projects/" + keeper);
     }
 }
-
-
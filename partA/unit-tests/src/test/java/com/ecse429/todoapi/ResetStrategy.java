@@ -0,0 +1,144 @@
+package com.ecse429.todoapi;
+
+import com.ecse429.todoapi.perf.PerfReport;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * How the server is brought back to a clean state after each test.
+ *
+ * Selected with -Dtodo.reset=tracked|wipe|restart (default tracked). Every reset is
+ * timed, and the count, mean and percentiles per strategy are printed and written to
+ * target/perf/reset-report.json (-Dtodo.reset.report) when the run ends, so runs with
+ * different strategies can be compared. Only TRACKED leaves data owned by other tests
+ * alone; WIPE and RESTART must not be combined with -Pparallel.
+ */
+public enum ResetStrategy {
+
+    /** Delete what the test recorded in its {@link ResourceRegistry}. */
+    TRACKED(false, true) {
+        @Override
+        void apply(TestNamespace ns) {
+            ResourceRegistry.Teardown teardown = ns.registry().cleanup();
+            if (Boolean.getBoolean("todo.teardown.verbose")) {
+                System.out.printf("[teardown] %s: %d deletes, %d round trips saved%n",
+                    ns.testName(), teardown.deletes, teardown.roundTripsSaved);
+            }
+        }
+    },
+
+    /** List every collection and delete every object, sample data included. */
+    WIPE(false, false) {
+        @Override
+        void apply(TestNamespace ns) {
+            TestHelper.cleanupAllData();
+            FixturePool.invalidate();
+        }
+    },
+
+    /**
+     * Start the server afresh, which also restarts ID allocation. Needs a server the
+     * tests control: -Dtodo.server=embedded or -Dtodo.server=jar.
+     */
+    RESTART(true, false) {
+        @Override
+        void apply(TestNamespace ns) {
+            TestServer.restart();
+            FixturePool.invalidate();
+        }
+    };
+
+    private final boolean resetsIds;
+    private final boolean parallelSafe;
+    private final Recorder timings = new Recorder(PerfReport.MAX_LATENCY_MICROS, 3);
+    private final Histogram total = PerfReport.newHistogram();
+
+    ResetStrategy(boolean resetsIds, boolean parallelSafe) {
+        this.resetsIds = resetsIds;
+        this.parallelSafe = parallelSafe;
+    }
+
+    abstract void apply(TestNamespace ns);
+
+    /**
+     * The strategy selected with -Dtodo.reset.
+     */
+    public static ResetStrategy selected() {
+        return valueOf(System.getProperty("todo.reset", "tracked").trim().toUpperCase(Locale.ROOT));
+    }
+
+    /** Whether new objects get the same IDs as on a fresh server after this reset. */
+    public boolean resetsIds() {
+        return resetsIds;
+    }
+
+    /** Whether the reset only touches the calling test's data. */
+    public boolean parallelSafe() {
+        return parallelSafe;
+    }
+
+    /**
+     * Reset the server for the given test namespace and record how long it took.
+     *
+     * @param ns The namespace of the test that just ran
+     * @return The time the reset took, in nanoseconds
+     */
+    public long reset(TestNamespace ns) {
+        long start = System.nanoTime();
+        apply(ns);
+        long elapsed = System.nanoTime() - start;
+        timings.recordValue(PerfReport.micros(elapsed));
+        return elapsed;
+    }
+
+    /**
+     * Reset times recorded since the run started.
+     */
+    public synchronized Histogram timings() {
+        total.add(timings.getIntervalHistogram());
+        return total.copy();
+    }
+
+    /**
+     * Count, mean and percentiles of every strategy used during the run, as a {@link PerfReport}.
+     */
+    public static PerfReport report() {
+        Map<String, Object> strategies = new LinkedHashMap<>();
+        for (ResetStrategy s : values()) {
+            Histogram h = s.timings();
+            if (h.getTotalCount() == 0) continue;
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("resets_ids", s.resetsIds);
+            m.put("parallel_safe", s.parallelSafe);
+            m.putAll(PerfReport.latency(h));
+            strategies.put(s.name().toLowerCase(Locale.ROOT), m);
+        }
+        return new PerfReport("reset").put("strategies", strategies);
+    }
+
+    /**
+     * Print the mean reset time of every strategy used and write the report.
+     *
+     * @return The report written, or null if no reset was recorded
+     */
+    public static Path publish() {
+        StringBuilder sb = new StringBuilder();
+        for (ResetStrategy s : values()) {
+            Histogram h = s.timings();
+            if (h.getTotalCount() == 0) continue;
+            sb.append(String.format("[reset] %s: %d resets, mean %.2f ms, p99 %.2f ms%n",
+                s.name().toLowerCase(Locale.ROOT), h.getTotalCount(), h.getMean() / 1000.0,
+                h.getValueAtPercentile(99) / 1000.0));
+        }
+        if (sb.length() == 0) return null;
+        System.out.print(sb);
+        Path report = report().write(System.getProperty("todo.reset.report", "reset-report.json"));
+        System.out.println("[reset] report written to " + report.toAbsolutePath());
+        return report;
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecse429.todoapi;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Publishes the {@link ResetStrategy} timings once the whole test plan has run.
+ * Registered with the JUnit Platform through META-INF/services.
+ */
+public class ResetStrategyListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        try {
+            ResetStrategy.publish();
+        } catch (Exception e) {
+            // Reporting must never fail the run
+            System.err.println("Warning: Could not publish reset timings: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.ecse429.todoapi;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe record of the objects and relationship links created by one test.
+ *
+ * Teardown deletes exactly what was recorded instead of listing every collection
+ * on the server: relationship links first, then todos, categories and projects,
+ * each newest first. A link is only deleted on its own when neither end of it was
+ * created by the test, since deleting an object already drops its links.
+ */
+public final class ResourceRegistry {
+
+    private static final String[] DELETE_ORDER = {"/todos/", "/categories/", "/projects/"};
+
+    /** Objects tracked by all registries in this JVM and not yet deleted. */
+    private static final AtomicInteger LIVE = new AtomicInteger();
+    private static final AtomicLong TOTAL_DELETES = new AtomicLong();
+    private static final AtomicLong TOTAL_SAVED = new AtomicLong();
+    private static final AtomicInteger TEARDOWNS = new AtomicInteger();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (TEARDOWNS.get() > 0) {
+                System.out.printf("[teardown] %d tests, %d tracked deletes, %d round trips saved vs cleanupAllData%n",
+                    TEARDOWNS.get(), TOTAL_DELETES.get(), TOTAL_SAVED.get());
+            }
+        }));
+    }
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, Long> entities = new ConcurrentHashMap<>();
+    private final Map<String, Long> links = new ConcurrentHashMap<>();
+    private final List<Runnable> afterCleanup = new CopyOnWriteArrayList<>();
+
+    /**
+     * Record an object created by the test.
+     *
+     * @param path The item path of the object (e.g., "/todos/123")
+     */
+    public void trackEntity(String path) {
+        if (path == null || path.endsWith("/null")) return;
+        if (entities.putIfAbsent(path, sequence.incrementAndGet()) == null) {
+            LIVE.incrementAndGet();
+        }
+    }
+
+    /**
+     * Record a relationship link created by the test.
+     *
+     * @param path The relationship item path (e.g., "/todos/1/categories/2")
+     */
+    public void trackLink(String path) {
+        if (path == null || path.endsWith("/null")) return;
+        links.putIfAbsent(path, sequence.incrementAndGet());
+    }
+
+    /**
+     * Stop tracking a path the test has deleted itself.
+     *
+     * @param path The item or relationship path that was deleted
+     */
+    public void forget(String path) {
+        if (entities.remove(path) != null) {
+            LIVE.decrementAndGet();
+        }
+        links.remove(path);
+    }
+
+    public int size() {
+        return entities.size() + links.size();
+    }
+
+    /**
+     * Run an action once cleanup has deleted everything, e.g. returning a borrowed
+     * {@link FixturePool} fixture to the pool.
+     */
+    public void onCleanup(Runnable action) {
+        afterCleanup.add(action);
+    }
+
+    /**
+     * Delete everything recorded, in reverse dependency order, then run the actions
+     * registered with {@link #onCleanup}.
+     *
+     * @return The round trips spent and saved compared to a full {@link TestHelper#cleanupAllData()}
+     */
+    public Teardown cleanup() {
+        // A full wipe costs three listings plus one DELETE per object on the server;
+        // objects this JVM knows about are a lower bound for the latter.
+        int wipeCost = 3 + LIVE.get();
+        int deletes = 0;
+
+        for (String link : newestFirst(links)) {
+            if (!ownsEndOf(link)) {
+                try {
+                    TestHelper.deleteIfExists(link);
+                } catch (AssertionError e) {
+                    System.err.println("Warning: Unexpected status deleting " + link + ": " + e.getMessage());
+                }
+                deletes++;
+            }
+            links.remove(link);
+        }
+        for (String prefix : DELETE_ORDER) {
+            for (String path : newestFirst(entities)) {
+                if (!path.startsWith(prefix)) continue;
+                try {
+                    TestHelper.deleteIfExists(path);
+                } catch (AssertionError e) {
+                    System.err.println("Warning: Unexpected status deleting " + path + ": " + e.getMessage());
+                }
+                forget(path);
+                deletes++;
+            }
+        }
+
+        for (Runnable action : afterCleanup) action.run();
+        afterCleanup.clear();
+
+        Teardown teardown = new Teardown(deletes, Math.max(0, wipeCost - deletes));
+        TEARDOWNS.incrementAndGet();
+        TOTAL_DELETES.addAndGet(teardown.deletes);
+        TOTAL_SAVED.addAndGet(teardown.roundTripsSaved);
+        return teardown;
+    }
+
+    private boolean ownsEndOf(String link) {
+        // "/todos/1/categories/2" -> "/todos/1" and "/categories/2"
+        String[] parts = link.split("/");
+        if (parts.length < 5) return false;
+        String owner = "/" + parts[1] + "/" + parts[2];
+        String target = "/" + relationshipCollection(parts[3]) + "/" + parts[4];
+        return entities.containsKey(owner) || entities.containsKey(target);
+    }
+
+    private static String relationshipCollection(String relationship) {
+        switch (relationship) {
+            case "tasks": return "todos";
+            case "tasksof": return "projects";
+            default: return relationship;
+        }
+    }
+
+    private static List<String> newestFirst(Map<String, Long> paths) {
+        List<Map.Entry<String, Long>> snapshot = new ArrayList<>(paths.entrySet());
+        snapshot.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        List<String> ordered = new ArrayList<>(snapshot.size());
+        for (Map.Entry<String, Long> e : snapshot) ordered.add(e.getKey());
+        return ordered;
+    }
+
+    /**
+     * Cost of one test's teardown.
+     */
+    public static final class Teardown {
+        public final int deletes;
+        public final int roundTripsSaved;
+
+        Teardown(int deletes, int roundTripsSaved) {
+            this.deletes = deletes;
+            this.roundTripsSaved = roundTripsSaved;
+        }
+    }
+}
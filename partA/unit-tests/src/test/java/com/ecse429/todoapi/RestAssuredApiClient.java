@@ -0,0 +1,42 @@
+package com.ecse429.todoapi;
+
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.concurrent.CompletableFuture;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * {@link ApiClient} on RestAssured, as the helpers have always sent their requests.
+ */
+final class RestAssuredApiClient implements ApiClient {
+
+    static final RestAssuredApiClient INSTANCE = new RestAssuredApiClient();
+
+    private RestAssuredApiClient() {
+    }
+
+    @Override
+    public Reply send(String method, String path, String jsonBody) {
+        RequestSpecification spec = given();
+        if (jsonBody != null) spec.contentType("application/json").body(jsonBody);
+        Response res = spec.when().request(method, path);
+        return new Reply(res.getStatusCode(), res.asString());
+    }
+
+    /** Sends on the calling thread; the future is complete when it returns. */
+    @Override
+    public CompletableFuture<Reply> sendAsync(String method, String path, String jsonBody) {
+        try {
+            return CompletableFuture.completedFuture(send(method, path, jsonBody));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public String name() {
+        return "restassured";
+    }
+}
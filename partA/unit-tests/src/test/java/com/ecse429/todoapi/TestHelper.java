@@ -1,58 +1,62 @@
 package com.ecse429.todoapi;
 
+import com.ecse429.todoapi.perf.EndpointMetrics;
+import com.ecse429.todoapi.perf.TrafficCapture;
 import io.restassured.response.Response;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static io.restassured.RestAssured.given;
-import static org.hamcrest.Matchers.*;
 
 /**
  * Shared test utilities for Todo Manager API Unit Tests
  * 
  * This class provides common helper methods used across all test classes,
  * including database cleanup, object creation, and deletion utilities.
+ * Titles passed to the create helpers are qualified with the current
+ * {@link TestNamespace}, and every created object is recorded in the
+ * namespace's {@link ResourceRegistry} so that cleanup is scoped to a single test.
+ * The create, delete and link helpers send through the {@link ApiClient} selected
+ * with -Dtodo.client and come in synchronous and CompletableFuture variants.
  */
 public class TestHelper {
 
+    static {
+        // Helpers may run before any test class's @BeforeAll (e.g. from BulkDeleter)
+        HttpClientPool.install();
+        EndpointMetrics.install();
+        TrafficCapture.install();
+    }
+
     /**
      * Comprehensive cleanup method that removes all objects from the database.
+     * Collections are read with {@link CollectionReader}, so only IDs are kept in memory.
+     * Deletes run one at a time; see {@link #cleanupAllDataBulk()} for large datasets.
      */
     public static void cleanupAllData() {
         try {
             // Get and delete all todos
             Response todosResponse = given().when().get("/todos");
             if (todosResponse.getStatusCode() == 200) {
-                List<Map<String, Object>> todos = todosResponse.path("todos");
-                if (todos != null) {
-                    for (Map<String, Object> todo : todos) {
-                        String id = String.valueOf(todo.get("id"));
-                        deleteIfExists("/todos/" + id);
-                    }
+                for (String id : CollectionReader.ids(todosResponse, "todos")) {
+                    deleteIfExists("/todos/" + id);
                 }
             }
 
             // Get and delete all categories
             Response categoriesResponse = given().when().get("/categories");
             if (categoriesResponse.getStatusCode() == 200) {
-                List<Map<String, Object>> categories = categoriesResponse.path("categories");
-                if (categories != null) {
-                    for (Map<String, Object> category : categories) {
-                        String id = String.valueOf(category.get("id"));
-                        deleteIfExists("/categories/" + id);
-                    }
+                for (String id : CollectionReader.ids(categoriesResponse, "categories")) {
+                    deleteIfExists("/categories/" + id);
                 }
             }
 
             // Get and delete all projects
             Response projectsResponse = given().when().get("/projects");
             if (projectsResponse.getStatusCode() == 200) {
-                List<Map<String, Object>> projects = projectsResponse.path("projects");
-                if (projects != null) {
-                    for (Map<String, Object> project : projects) {
-                        String id = String.valueOf(project.get("id"));
-                        deleteIfExists("/projects/" + id);
-                    }
+                for (String id : CollectionReader.ids(projectsResponse, "projects")) {
+                    deleteIfExists("/projects/" + id);
                 }
             }
         } catch (Exception e) {
@@ -61,13 +65,154 @@ public class TestHelper {
         }
     }
 
+    /**
+     * Bulk variant of {@link #cleanupAllData()} for large datasets. Deletes fan out over
+     * virtual threads, capped and retried as configured by {@link BulkDeleter}.
+     * Todos go first, then categories, then projects.
+     * 
+     * @return Combined counts and throughput of the three phases
+     */
+    public static BulkDeleter.Result cleanupAllDataBulk() {
+        return cleanupAllDataBulk(new BulkDeleter());
+    }
+
+    /**
+     * Bulk variant of {@link #cleanupAllData()} using the given deleter.
+     * 
+     * @param deleter The configured bulk delete engine
+     * @return Combined counts and throughput of the three phases
+     */
+    public static BulkDeleter.Result cleanupAllDataBulk(BulkDeleter deleter) {
+        BulkDeleter.Result total = new BulkDeleter.Result();
+        total.add(deleter.deleteAll(listItemPaths("/todos", "todos")));
+        total.add(deleter.deleteAll(listItemPaths("/categories", "categories")));
+        total.add(deleter.deleteAll(listItemPaths("/projects", "projects")));
+        System.out.println("[bulk-reset] " + total);
+        return total;
+    }
+
+    private static List<String> listItemPaths(String collectionPath, String collectionRoot) {
+        List<String> paths = new ArrayList<>();
+        Response res = given().when().get(collectionPath);
+        if (res.getStatusCode() == 200) {
+            for (String id : CollectionReader.ids(res, collectionRoot)) {
+                paths.add(collectionPath + "/" + id);
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Remove only the objects and links recorded in the current test's namespace,
+     * leaving data owned by concurrently running tests untouched. Unbinds the namespace afterwards.
+     */
+    public static void cleanupNamespace() {
+        reset(ResetStrategy.TRACKED);
+    }
+
+    /**
+     * Reset the server after a test with the strategy selected by -Dtodo.reset
+     * (see {@link ResetStrategy}). Unbinds the namespace afterwards.
+     */
+    public static void reset() {
+        reset(ResetStrategy.selected());
+    }
+
+    private static void reset(ResetStrategy strategy) {
+        TestNamespace ns = TestNamespace.current();
+        try {
+            strategy.reset(ns);
+        } catch (Exception e) {
+            // Log the exception but don't fail the test
+            System.err.println("Warning: Error during cleanup of " + ns.testName() + ": " + e.getMessage());
+        } finally {
+            TestNamespace.end();
+        }
+    }
+
+    /**
+     * Record a todo created outside the create helpers so teardown deletes it.
+     * 
+     * @param id The todo ID
+     */
+    public static void trackTodo(String id) {
+        if (id != null) TestNamespace.current().registry().trackEntity("/todos/" + id);
+    }
+
+    /**
+     * Record a category created outside the create helpers so teardown deletes it.
+     * 
+     * @param id The category ID
+     */
+    public static void trackCategory(String id) {
+        if (id != null) TestNamespace.current().registry().trackEntity("/categories/" + id);
+    }
+
+    /**
+     * Record a project created outside the create helpers so teardown deletes it.
+     * 
+     * @param id The project ID
+     */
+    public static void trackProject(String id) {
+        if (id != null) TestNamespace.current().registry().trackEntity("/projects/" + id);
+    }
+
+    /**
+     * Record a relationship link so teardown can remove it.
+     * 
+     * @param relationshipPath The relationship collection path (e.g., "/todos/1/categories")
+     * @param targetId The ID of the linked object
+     */
+    public static void trackLink(String relationshipPath, String targetId) {
+        if (targetId != null) TestNamespace.current().registry().trackLink(relationshipPath + "/" + targetId);
+    }
+
+    /**
+     * Stop tracking an object or link the test has deleted itself, so teardown does not
+     * delete a later object that was given the same ID.
+     * 
+     * @param path The item or relationship path that was deleted (e.g., "/todos/123")
+     */
+    public static void untrack(String path) {
+        TestNamespace.current().registry().forget(path);
+    }
+
     /**
      * Delete that accepts any success or expected failure status codes.
+     * The path stays tracked for teardown unless the server answered 200 or 404.
      * 
      * @param path The REST path to delete (e.g., "/todos/123")
      */
     public static void deleteIfExists(String path) {
-        given().when().delete(path).then().statusCode(anyOf(is(200), is(404), is(400)));
+        ResourceRegistry registry = TestNamespace.current().registry();
+        forgetIfGone(registry, path, expectDeleted(path, client().send("DELETE", path, null)));
+    }
+
+    /**
+     * Asynchronous {@link #deleteIfExists}; with -Dtodo.client=jdk no thread waits for the response.
+     * 
+     * @param path The REST path to delete (e.g., "/todos/123")
+     * @return The response status once the delete has completed
+     */
+    public static CompletableFuture<Integer> deleteIfExistsAsync(String path) {
+        ResourceRegistry registry = TestNamespace.current().registry();
+        return client().sendAsync("DELETE", path, null).thenApply(reply -> {
+            int status = expectDeleted(path, reply);
+            forgetIfGone(registry, path, status);
+            return status;
+        });
+    }
+
+    private static void forgetIfGone(ResourceRegistry registry, String path, int status) {
+        if (status == 200 || status == 404) registry.forget(path);
+    }
+
+    private static int expectDeleted(String path, ApiClient.Reply reply) {
+        int status = reply.status();
+        if (status != 200 && status != 404 && status != 400) {
+            throw new AssertionError("Expected status code 200, 404 or 400 for DELETE " + path + " but was " + status);
+        }
+        return status;
     }
 
     /**
@@ -76,8 +221,7 @@ public class TestHelper {
      * @param id The todo ID to delete
      */
     public static void safeDeleteTodo(String id) {
-        if (id == null) return;
-        given().when().delete("/todos/" + id);
+        safeDelete("/todos/", id);
     }
 
     /**
@@ -86,8 +230,7 @@ public class TestHelper {
      * @param id The category ID to delete
      */
     public static void safeDeleteCategory(String id) {
-        if (id == null) return;
-        given().when().delete("/categories/" + id);
+        safeDelete("/categories/", id);
     }
 
     /**
@@ -96,8 +239,50 @@ public class TestHelper {
      * @param id The project ID to delete
      */
     public static void safeDeleteProject(String id) {
+        safeDelete("/projects/", id);
+    }
+
+    private static void safeDelete(String collectionPath, String id) {
         if (id == null) return;
-        given().when().delete("/projects/" + id);
+        ResourceRegistry registry = TestNamespace.current().registry();
+        forgetIfGone(registry, collectionPath + id, client().send("DELETE", collectionPath + id, null).status());
+    }
+
+    /**
+     * Link an existing object through a relationship and record the link for teardown.
+     * 
+     * @param relationshipPath The relationship collection path (e.g., "/todos/1/categories")
+     * @param targetId The ID of the object to link
+     */
+    public static void link(String relationshipPath, String targetId) {
+        expectLinked(relationshipPath, targetId, client().send("POST", relationshipPath, linkPayload(targetId)));
+        trackLink(relationshipPath, targetId);
+    }
+
+    /**
+     * Asynchronous {@link #link}; with -Dtodo.client=jdk no thread waits for the response.
+     * 
+     * @param relationshipPath The relationship collection path (e.g., "/todos/1/categories")
+     * @param targetId The ID of the object to link
+     * @return Completes once the link exists and is recorded
+     */
+    public static CompletableFuture<Void> linkAsync(String relationshipPath, String targetId) {
+        ResourceRegistry registry = TestNamespace.current().registry();
+        return client().sendAsync("POST", relationshipPath, linkPayload(targetId)).thenAccept(reply -> {
+            expectLinked(relationshipPath, targetId, reply);
+            registry.trackLink(relationshipPath + "/" + targetId);
+        });
+    }
+
+    static void expectLinked(String relationshipPath, String targetId, ApiClient.Reply reply) {
+        if (reply.status() != 201) {
+            throw new AssertionError("Expected status code 201 linking " + targetId + " through " + relationshipPath
+                + " but was " + reply.status());
+        }
+    }
+
+    static String linkPayload(String targetId) {
+        return "{\"id\":\"" + targetId + "\"}";
     }
 
     /**
@@ -119,7 +304,75 @@ public class TestHelper {
     }
 
     /**
-     * Create a todo using JSON payload.
+     * JSON body sent by {@link #createTodo}, encoded by {@link PayloadEncoder}.
+     * 
+     * @param title The todo title, escaped as needed
+     * @param done Whether the todo is completed
+     * @param description The todo description; null is sent as an empty string
+     * @return The JSON payload
+     */
+    public static String todoPayload(String title, boolean done, String description) {
+        return PayloadEncoder.json().todo(title, done, description).toString();
+    }
+
+    /**
+     * JSON body sent by {@link #createCategory}, encoded by {@link PayloadEncoder}.
+     * 
+     * @param title The category title, escaped as needed
+     * @param description The category description; null is sent as an empty string
+     * @return The JSON payload
+     */
+    public static String categoryPayload(String title, String description) {
+        return PayloadEncoder.json().category(title, description).toString();
+    }
+
+    /**
+     * JSON body sent by {@link #createProject}, encoded by {@link PayloadEncoder}.
+     * 
+     * @param title The project title, escaped as needed
+     * @param description The project description; null is sent as an empty string
+     * @return The JSON payload
+     */
+    public static String projectPayload(String title, String description) {
+        return PayloadEncoder.json().project(title, description).toString();
+    }
+
+    /**
+     * XML body with the fields of {@link #todoPayload}.
+     *
+     * @param title The todo title, escaped as needed
+     * @param done Whether the todo is completed
+     * @param description The todo description; null is sent as an empty element
+     * @return The XML payload
+     */
+    public static String todoXmlPayload(String title, boolean done, String description) {
+        return PayloadEncoder.xml().todo(title, done, description).toString();
+    }
+
+    /**
+     * XML body with the fields of {@link #categoryPayload}.
+     *
+     * @param title The category title, escaped as needed
+     * @param description The category description; null is sent as an empty element
+     * @return The XML payload
+     */
+    public static String categoryXmlPayload(String title, String description) {
+        return PayloadEncoder.xml().category(title, description).toString();
+    }
+
+    /**
+     * XML body with the fields of {@link #projectPayload}.
+     *
+     * @param title The project title, escaped as needed
+     * @param description The project description; null is sent as an empty element
+     * @return The XML payload
+     */
+    public static String projectXmlPayload(String title, String description) {
+        return PayloadEncoder.xml().project(title, description).toString();
+    }
+
+    /**
+     * Create a todo using JSON payload. The title is qualified with the current test namespace.
      * 
      * @param title The todo title
      * @param done Whether the todo is completed
@@ -127,88 +380,199 @@ public class TestHelper {
      * @return The ID of the created todo
      */
     public static String createTodo(String title, boolean done, String description) {
-        Response res = given()
-            .contentType("application/json")
-            .body(String.format("{\"title\":\"%s\",\"doneStatus\":%s,\"description\":\"%s\"}",
-                title, done, description == null ? "" : description))
-            .when().post("/todos")
-            .then().statusCode(anyOf(is(200), is(201)))
-            .extract().response();
-
-        String id = extractId(res, "todos");
-        if (id == null) {
-            Response r = given().queryParam("title", title)
-                .when().get("/todos").then().statusCode(200).extract().response();
-            List<Map<String, Object>> list = r.path("todos");
-            if (list != null && !list.isEmpty()) {
-                Object v = list.get(0).get("id");
-                if (v != null) id = String.valueOf(v);
-            }
-        }
+        title = TestNamespace.qualify(title);
+        String id = created("todos", title, client().send("POST", "/todos", todoPayload(title, done, description)));
+        trackTodo(id);
         return id;
     }
 
     /**
-     * Create a category using JSON payload.
+     * Asynchronous {@link #createTodo}; with -Dtodo.client=jdk no thread waits for the response.
+     * 
+     * @param title The todo title
+     * @param done Whether the todo is completed
+     * @param description The todo description
+     * @return The ID of the created todo, once it is recorded for teardown
+     */
+    public static CompletableFuture<String> createTodoAsync(String title, boolean done, String description) {
+        String qualified = TestNamespace.qualify(title);
+        return createAsync("todos", qualified, todoPayload(qualified, done, description));
+    }
+
+    /**
+     * Create a category using JSON payload. The title is qualified with the current test namespace.
      * 
      * @param title The category title
      * @param description The category description
      * @return The ID of the created category
      */
     public static String createCategory(String title, String description) {
-        Response res = given()
-            .contentType("application/json")
-            .body(String.format("{\"title\":\"%s\",\"description\":\"%s\"}",
-                title, description == null ? "" : description))
-            .when().post("/categories")
-            .then().statusCode(anyOf(is(200), is(201)))
-            .extract().response();
-
-        String id = extractId(res, "categories");
-        if (id == null) {
-            Response r = given().when().get("/categories").then().statusCode(200).extract().response();
-            List<Map<String, Object>> list = r.path("categories");
-            if (list != null) {
-                for (Map<String, Object> c : list) {
-                    if (title.equals(String.valueOf(c.get("title")))) {
-                        Object v = c.get("id");
-                        if (v != null) return String.valueOf(v);
-                    }
-                }
-            }
-        }
+        title = TestNamespace.qualify(title);
+        String id = created("categories", title, client().send("POST", "/categories", categoryPayload(title, description)));
+        trackCategory(id);
         return id;
     }
 
     /**
-     * Create a project using JSON payload.
+     * Asynchronous {@link #createCategory}; with -Dtodo.client=jdk no thread waits for the response.
+     * 
+     * @param title The category title
+     * @param description The category description
+     * @return The ID of the created category, once it is recorded for teardown
+     */
+    public static CompletableFuture<String> createCategoryAsync(String title, String description) {
+        String qualified = TestNamespace.qualify(title);
+        return createAsync("categories", qualified, categoryPayload(qualified, description));
+    }
+
+    /**
+     * Create a project using JSON payload. The title is qualified with the current test namespace.
      * 
      * @param title The project title
      * @param description The project description
      * @return The ID of the created project
      */
     public static String createProject(String title, String description) {
-        Response res = given()
-            .contentType("application/json")
-            .body(String.format("{\"title\":\"%s\",\"description\":\"%s\"}",
-                title, description == null ? "" : description))
-            .when().post("/projects")
-            .then().statusCode(anyOf(is(200), is(201)))
-            .extract().response();
-
-        String id = extractId(res, "projects");
-        if (id == null) {
-            Response r = given().when().get("/projects").then().statusCode(200).extract().response();
-            List<Map<String, Object>> list = r.path("projects");
-            if (list != null) {
-                for (Map<String, Object> p : list) {
-                    if (title.equals(String.valueOf(p.get("title")))) {
-                        Object v = p.get("id");
-                        if (v != null) return String.valueOf(v);
-                    }
-                }
-            }
-        }
+        title = TestNamespace.qualify(title);
+        String id = created("projects", title, client().send("POST", "/projects", projectPayload(title, description)));
+        trackProject(id);
         return id;
     }
-}
\ No newline at end of file
+
+    /**
+     * Asynchronous {@link #createProject}; with -Dtodo.client=jdk no thread waits for the response.
+     * 
+     * @param title The project title
+     * @param description The project description
+     * @return The ID of the created project, once it is recorded for teardown
+     */
+    public static CompletableFuture<String> createProjectAsync(String title, String description) {
+        String qualified = TestNamespace.qualify(title);
+        return createAsync("projects", qualified, projectPayload(qualified, description));
+    }
+
+    /**
+     * Read a todo with GET /todos/{id}, bound to a {@link Todo}.
+     *
+     * @param id The todo ID
+     * @return The todo, or null if there is none
+     */
+    public static Todo getTodo(String id) {
+        return get("/todos/", id, Todo.class);
+    }
+
+    /**
+     * Read a category with GET /categories/{id}, bound to a {@link Category}.
+     *
+     * @param id The category ID
+     * @return The category, or null if there is none
+     */
+    public static Category getCategory(String id) {
+        return get("/categories/", id, Category.class);
+    }
+
+    /**
+     * Read a project with GET /projects/{id}, bound to a {@link Project}.
+     *
+     * @param id The project ID
+     * @return The project, or null if there is none
+     */
+    public static Project getProject(String id) {
+        return get("/projects/", id, Project.class);
+    }
+
+    private static <T extends ApiObject> T get(String collectionPath, String id, Class<T> type) {
+        Response res = given().when().get(collectionPath + id);
+        if (res.getStatusCode() == 404) return null;
+        if (res.getStatusCode() != 200) {
+            throw new AssertionError("Expected status code 200 or 404 for GET " + collectionPath + id
+                + " but was " + res.getStatusCode());
+        }
+        return Entities.one(res, type);
+    }
+
+    /**
+     * Create many todos with todo.batch.concurrency requests in flight (see {@link BatchCreator}).
+     *
+     * @param specs The todos to create; titles are qualified with the current test namespace
+     * @return One item per spec, in input order; failed items do not stop the batch
+     */
+    public static BatchCreator.Result createTodos(List<BatchCreator.TodoSpec> specs) {
+        return new BatchCreator().createTodos(specs);
+    }
+
+    /**
+     * Create many categories with todo.batch.concurrency requests in flight.
+     *
+     * @param specs The categories to create; titles are qualified with the current test namespace
+     * @return One item per spec, in input order; failed items do not stop the batch
+     */
+    public static BatchCreator.Result createCategories(List<BatchCreator.Spec> specs) {
+        return new BatchCreator().createCategories(specs);
+    }
+
+    /**
+     * Create many projects with todo.batch.concurrency requests in flight.
+     *
+     * @param specs The projects to create; titles are qualified with the current test namespace
+     * @return One item per spec, in input order; failed items do not stop the batch
+     */
+    public static BatchCreator.Result createProjects(List<BatchCreator.Spec> specs) {
+        return new BatchCreator().createProjects(specs);
+    }
+
+    /**
+     * Link many todos to categories, recording each link made for teardown.
+     *
+     * @param links Todo ID and category ID of each link
+     * @return One item per link, in input order; failed items do not stop the batch
+     */
+    public static BatchCreator.Result linkTodosToCategories(List<BatchCreator.Link> links) {
+        return new BatchCreator().linkTodosToCategories(links);
+    }
+
+    /**
+     * Make many todos tasks of projects, recording each link made for teardown.
+     *
+     * @param links Todo ID and project ID of each link
+     * @return One item per link, in input order; failed items do not stop the batch
+     */
+    public static BatchCreator.Result linkTodosToProjects(List<BatchCreator.Link> links) {
+        return new BatchCreator().linkTodosToProjects(links);
+    }
+
+    private static CompletableFuture<String> createAsync(String root, String qualifiedTitle, String payload) {
+        // Completion runs on a client thread, which is not bound to the caller's namespace
+        ResourceRegistry registry = TestNamespace.current().registry();
+        return client().sendAsync("POST", "/" + root, payload).thenApply(reply -> {
+            String id = created(root, qualifiedTitle, reply);
+            registry.trackEntity("/" + root + "/" + id);
+            return id;
+        });
+    }
+
+    /**
+     * ID of a created object: from the response body, or looked up by title when the body has none.
+     */
+    static String created(String root, String qualifiedTitle, ApiClient.Reply reply) {
+        if (reply.status() != 200 && reply.status() != 201) {
+            throw new AssertionError("Expected status code 200 or 201 for POST /" + root + " but was " + reply.status());
+        }
+        String id = reply.id(root);
+        if (id != null) return id;
+        if ("todos".equals(root)) {
+            Response r = given().queryParam("title", qualifiedTitle)
+                .when().get("/todos").then().statusCode(200).extract().response();
+            return CollectionReader.firstId(r, "todos");
+        }
+        Response r = given().when().get("/" + root).then().statusCode(200).extract().response();
+        return CollectionReader.findIdByTitle(r, root, qualifiedTitle);
+    }
+
+    /**
+     * The backend selected with -Dtodo.client (see {@link ApiClient}).
+     */
+    private static ApiClient client() {
+        return ApiClient.selected();
+    }
+}
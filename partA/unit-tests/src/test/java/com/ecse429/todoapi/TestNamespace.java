@@ -0,0 +1,130 @@
+package com.ecse429.todoapi;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-test data namespace for Todo Manager API Unit Tests
+ *
+ * Every surefire run gets a run ID, and every test gets its own title prefix
+ * derived from it. Entities created with a namespaced title belong to that test
+ * only, so cleanup can remove them without touching data owned by tests running
+ * concurrently against the same server. Each namespace owns the
+ * {@link ResourceRegistry} of what its test created.
+ */
+public final class TestNamespace {
+
+    /** Identifies this surefire run; override with -Dtodo.runId to correlate runs. */
+    public static final String RUN_ID = System.getProperty("todo.runId",
+        Long.toString(System.currentTimeMillis(), 36) + Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36), 36));
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    private static final TestNamespace RUN = new TestNamespace("ns-" + RUN_ID + "-", "run");
+    private static final ThreadLocal<TestNamespace> CURRENT = new ThreadLocal<>();
+
+    private final String prefix;
+    private final String testName;
+    private final ResourceRegistry registry = new ResourceRegistry();
+
+    private TestNamespace(String prefix, String testName) {
+        this.prefix = prefix;
+        this.testName = testName;
+    }
+
+    /**
+     * Open a fresh namespace for the test running on the current thread.
+     *
+     * @param testName The display name of the test, kept for diagnostics
+     * @return The namespace now bound to the current thread
+     */
+    public static TestNamespace begin(String testName) {
+        TestNamespace ns = new TestNamespace(RUN.prefix + SEQUENCE.incrementAndGet() + "-", testName);
+        CURRENT.set(ns);
+        return ns;
+    }
+
+    /**
+     * A namespace for data shared across tests for the whole run, e.g. the {@link FixturePool}.
+     * It is never bound to a thread by itself; run work in it with {@link #bind(Runnable)}.
+     *
+     * @param name A short name, unique within the run
+     * @return A new namespace with its own registry
+     */
+    public static TestNamespace session(String name) {
+        return new TestNamespace(RUN.prefix + name + "-", name);
+    }
+
+    /**
+     * Namespace of the test running on the current thread, or the run-wide
+     * namespace when called outside of a test (e.g. from @BeforeAll).
+     */
+    public static TestNamespace current() {
+        TestNamespace ns = CURRENT.get();
+        return ns == null ? RUN : ns;
+    }
+
+    /**
+     * Unbind the namespace from the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Wrap a task so it runs in this namespace on whichever thread executes it,
+     * e.g. worker threads started by a test. The thread's previous binding is restored afterwards.
+     *
+     * @param task The task to run
+     * @return A task bound to this namespace
+     */
+    public Runnable bind(Runnable task) {
+        return () -> {
+            TestNamespace previous = CURRENT.get();
+            CURRENT.set(this);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) CURRENT.remove();
+                else CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Shorthand for {@code current().title(title)}.
+     */
+    public static String qualify(String title) {
+        return current().title(title);
+    }
+
+    /**
+     * Prefix a title with this namespace. Already qualified titles are returned as is,
+     * so helpers can qualify whatever the test passes in.
+     *
+     * @param title The raw title
+     * @return The namespaced title
+     */
+    public String title(String title) {
+        if (title == null) return prefix;
+        return title.startsWith(prefix) ? title : prefix + title;
+    }
+
+    /**
+     * Whether an entity with this title was created in this namespace.
+     */
+    public boolean owns(Object title) {
+        return title != null && String.valueOf(title).startsWith(prefix);
+    }
+
+    public String prefix() {
+        return prefix;
+    }
+
+    public String testName() {
+        return testName;
+    }
+
+    public ResourceRegistry registry() {
+        return registry;
+    }
+}
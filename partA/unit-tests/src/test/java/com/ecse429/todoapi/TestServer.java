@@ -0,0 +1,123 @@
+package com.ecse429.todoapi;
+
+import com.ecse429.todoapi.perf.EndpointMetrics;
+import com.ecse429.todoapi.perf.TrafficCapture;
+import io.restassured.RestAssured;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Selects the Todo Manager instance the tests talk to.
+ *
+ * By default the tests expect TodoManagerTestAPI-1.5.5.jar already running on
+ * http://localhost:4567. With -Dtodo.server=embedded an {@link EmbeddedTodoServer}
+ * is started once per JVM on a free port and shared by every test class instead. With
+ * -Dtodo.server=jar the jar itself is launched once per JVM as a {@link ManagedTodoServer}
+ * and its startup time written to target/perf/server-startup.json (-Dtodo.jar.report).
+ * The launched jar is stopped by {@link TestServerListener} when the run ends.
+ */
+public final class TestServer {
+
+    private static final String DEFAULT_BASE = "http://localhost";
+    private static final int DEFAULT_PORT = 4567;
+
+    private static EmbeddedTodoServer embedded;
+    private static ManagedTodoServer managed;
+
+    private TestServer() {
+    }
+
+    /**
+     * Point RestAssured at the selected server and install the shared HTTP client,
+     * the per-endpoint metrics filter and, with -Dtodo.capture, the traffic capture filter.
+     * Call from @BeforeAll. The base URI and port are only ever set here, under the lock,
+     * so a class starting up never redirects the calls of tests already running.
+     */
+    public static synchronized void select() {
+        if ("embedded".equals(System.getProperty("todo.server"))) {
+            if (embedded == null) {
+                try {
+                    embedded = EmbeddedTodoServer.start(Integer.getInteger("todo.embedded.port", 0),
+                        !"false".equals(System.getProperty("todo.embedded.seed")));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not start embedded Todo Manager", e);
+                }
+                EmbeddedTodoServer started = embedded;
+                Runtime.getRuntime().addShutdownHook(new Thread(started::stop));
+            }
+            RestAssured.baseURI = "http://localhost";
+            RestAssured.port = embedded.port();
+        } else if ("jar".equals(System.getProperty("todo.server"))) {
+            if (managed == null) {
+                try {
+                    managed = ManagedTodoServer.fromSystemProperties();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not launch Todo Manager jar", e);
+                }
+                Runtime.getRuntime().addShutdownHook(new Thread(TestServer::shutdown));
+                Path report = managed.toReport().write(System.getProperty("todo.jar.report", "server-startup.json"));
+                System.out.printf("[server] Todo Manager ready on port %d after %.0f ms (%d probes), report at %s%n",
+                    managed.port(), managed.startupNanos() / 1e6, managed.probes(), report.toAbsolutePath());
+            }
+            RestAssured.baseURI = "http://localhost";
+            RestAssured.port = managed.port();
+        } else {
+            RestAssured.baseURI = DEFAULT_BASE;
+            RestAssured.port = DEFAULT_PORT;
+        }
+        HttpClientPool.install();
+        EndpointMetrics.install();
+        TrafficCapture.install();
+    }
+
+    /**
+     * Bring the server back to its startup state. The embedded server drops its data and
+     * restarts ID allocation in place; the launched jar is stopped and launched again, on a
+     * new free port unless -Dtodo.jar.port is set.
+     *
+     * @throws IllegalStateException When the tests run against a server they did not start
+     */
+    public static synchronized void restart() {
+        if (embedded != null) {
+            embedded.reset(!"false".equals(System.getProperty("todo.embedded.seed")));
+        } else if (managed != null) {
+            managed.stop();
+            try {
+                managed = ManagedTodoServer.fromSystemProperties();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not relaunch Todo Manager jar", e);
+            }
+            RestAssured.port = managed.port();
+        } else {
+            throw new IllegalStateException("restarting needs a server started by the tests: -Dtodo.server=embedded or jar");
+        }
+    }
+
+    /**
+     * Stop the launched jar, if any. Called once the whole run is over; the embedded
+     * server stops with the test JVM.
+     */
+    public static synchronized void shutdown() {
+        if (managed != null) {
+            int exit = managed.stop();
+            System.out.println("[server] Todo Manager stopped" + (exit < 0 ? " forcibly" : " with exit code " + exit));
+            managed = null;
+        }
+    }
+
+    /**
+     * The launched jar, or null unless running with -Dtodo.server=jar.
+     */
+    public static synchronized ManagedTodoServer managed() {
+        return managed;
+    }
+
+    /**
+     * The embedded server, or null when tests run against an external one.
+     */
+    public static synchronized EmbeddedTodoServer embedded() {
+        return embedded;
+    }
+}
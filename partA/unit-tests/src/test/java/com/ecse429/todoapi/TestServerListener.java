@@ -0,0 +1,22 @@
+package com.ecse429.todoapi;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Stops the server started by {@link TestServer} once the whole test plan has run.
+ * Registered with the JUnit Platform through META-INF/services, after every listener
+ * that still talks to the server.
+ */
+public class TestServerListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        try {
+            TestServer.shutdown();
+        } catch (Exception e) {
+            // Log the exception but don't fail the run
+            System.err.println("Warning: Error while stopping the server: " + e.getMessage());
+        }
+    }
+}
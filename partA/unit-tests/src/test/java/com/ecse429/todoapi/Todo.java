@@ -0,0 +1,54 @@
+package com.ecse429.todoapi;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.util.Arrays;
+
+/**
+ * A todo as returned by the API, bound by Jackson from JSON or XML (see {@link Entities}).
+ *
+ * Relationships are kept as arrays of the linked IDs only.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class Todo implements ApiObject {
+
+    private final String id;
+    private final String title;
+    private final boolean doneStatus;
+    private final String description;
+    private final String[] tasksof;
+    private final String[] categories;
+
+    @JsonCreator
+    public Todo(@JsonProperty("id") String id,
+                @JsonProperty("title") String title,
+                @JsonProperty("doneStatus") boolean doneStatus,
+                @JsonProperty("description") String description,
+                @JsonProperty("tasksof") @JsonDeserialize(using = Entities.RefIds.class) String[] tasksof,
+                @JsonProperty("categories") @JsonDeserialize(using = Entities.RefIds.class) String[] categories) {
+        this.id = id;
+        this.title = title;
+        this.doneStatus = doneStatus;
+        this.description = description == null ? "" : description;
+        this.tasksof = tasksof == null ? Entities.NO_IDS : tasksof;
+        this.categories = categories == null ? Entities.NO_IDS : categories;
+    }
+
+    @Override public String id() { return id; }
+    @Override public String title() { return title; }
+    public boolean doneStatus() { return doneStatus; }
+    @Override public String description() { return description; }
+    /** IDs of the projects the todo is a task of. */
+    public String[] tasksof() { return tasksof; }
+    /** IDs of the todo's categories. */
+    public String[] categories() { return categories; }
+
+    @Override
+    public String toString() {
+        return "Todo{id=" + id + ", title=" + title + ", doneStatus=" + doneStatus + ", tasksof="
+            + Arrays.toString(tasksof) + ", categories=" + Arrays.toString(categories) + "}";
+    }
+}
@@ -1,11 +1,9 @@
 package com.ecse429.todoapi;
 
-import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.*;
 
 import java.util.List;
-import java.util.Map;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
@@ -17,14 +15,9 @@ import static org.hamcrest.Matchers.*;
 @TestMethodOrder(MethodOrderer.Random.class)
 public class TodoUnitTests {
 
-    // Test Configuration
-    private static final String BASE = "http://localhost";
-    private static final int PORT = 4567;
-
     @BeforeAll
     static void setup() {
-        RestAssured.baseURI = BASE;
-        RestAssured.port = PORT;
+        TestServer.select();
 
         // Fail fast if service not running — /todos is reliable
         given()
@@ -32,10 +25,15 @@ public class TodoUnitTests {
             .then().statusCode(anyOf(is(200), is(204)));
     }
 
+    @BeforeEach
+    void openNamespace(TestInfo testInfo) {
+        TestNamespace.begin(testInfo.getDisplayName());
+    }
+
     @AfterEach
     void tearDown() {
-        // Clean up all data after each test to ensure test isolation
-        TestHelper.cleanupAllData();
+        // By default only this test's data is removed, so classes and methods can run concurrently
+        TestHelper.reset();
     }
 
     // Helpers
@@ -50,20 +48,13 @@ public class TodoUnitTests {
             .then().statusCode(200)
             .extract().response();
 
-        List<Map<String, Object>> list = r.path("todos");
-        if (list != null && !list.isEmpty()) {
-            Object v = list.get(0).get("id");
-            return v == null ? null : String.valueOf(v);
-        }
-        return null;
+        return CollectionReader.firstId(r, "todos");
     }
 
     private static String createTodoJSON(String title, boolean done, String description) {
+        title = TestNamespace.qualify(title);
         // IMPORTANT: doneStatus must be boolean (no quotes)
-        String body = String.format(
-            "{\"title\":\"%s\",\"doneStatus\":%s,\"description\":\"%s\"}",
-            title, Boolean.toString(done), description == null ? "" : description
-        );
+        String body = TestHelper.todoPayload(title, done, description);
 
         Response res = given()
             .contentType("application/json")
@@ -74,13 +65,13 @@ public class TodoUnitTests {
 
         String id = extractId(res, "todos");
         if (id == null) id = findTodoIdByTitle(title);
+        TestHelper.trackTodo(id);
         return id;
     }
 
     private static String createTodoXML(String title, boolean done, String description) {
-        String xml = "<todo><title>" + title + "</title><doneStatus>" + done +
-            "</doneStatus><description>" + (description == null ? "" : description) +
-            "</description></todo>";
+        title = TestNamespace.qualify(title);
+        String xml = TestHelper.todoXmlPayload(title, done, description);
 
         given()
             .contentType("application/xml")
@@ -88,11 +79,14 @@ public class TodoUnitTests {
             .when().post("/todos")
             .then().statusCode(anyOf(is(200), is(201)));
 
-        return findTodoIdByTitle(title);
+        String id = findTodoIdByTitle(title);
+        TestHelper.trackTodo(id);
+        return id;
     }
 
     private static String createCategory(String title, String desc) {
-        String body = String.format("{\"title\":\"%s\",\"description\":\"%s\"}", title, desc == null ? "" : desc);
+        title = TestNamespace.qualify(title);
+        String body = TestHelper.categoryPayload(title, desc);
         Response res = given()
             .contentType("application/json")
             .body(body)
@@ -103,20 +97,15 @@ public class TodoUnitTests {
         String id = extractId(res, "categories");
         if (id == null) {
             Response r = given().when().get("/categories").then().statusCode(200).extract().response();
-            List<Map<String, Object>> list = r.path("categories");
-            if (list != null) {
-                for (Map<String, Object> c : list) {
-                    if (title.equals(String.valueOf(c.get("title")))) {
-                        Object v = c.get("id"); if (v != null) return String.valueOf(v);
-                    }
-                }
-            }
+            id = CollectionReader.findIdByTitle(r, "categories", title);
         }
+        TestHelper.trackCategory(id);
         return id;
     }
 
     private static String createProject(String title, String desc) {
-        String body = String.format("{\"title\":\"%s\",\"description\":\"%s\"}", title, desc == null ? "" : desc);
+        title = TestNamespace.qualify(title);
+        String body = TestHelper.projectPayload(title, desc);
         Response res = given()
             .contentType("application/json")
             .body(body)
@@ -127,15 +116,9 @@ public class TodoUnitTests {
         String id = extractId(res, "projects");
         if (id == null) {
             Response r = given().when().get("/projects").then().statusCode(200).extract().response();
-            List<Map<String, Object>> list = r.path("projects");
-            if (list != null) {
-                for (Map<String, Object> p : list) {
-                    if (title.equals(String.valueOf(p.get("title")))) {
-                        Object v = p.get("id"); if (v != null) return String.valueOf(v);
-                    }
-                }
-            }
+            id = CollectionReader.findIdByTitle(r, "projects", title);
         }
+        TestHelper.trackProject(id);
         return id;
     }
 
@@ -162,35 +145,34 @@ public class TodoUnitTests {
 
     @Test
     void filter_by_title_query_param_200_contains_created() {
-        String unique = "ECSE429-" + System.nanoTime();
-        String id = createTodoJSON(unique, false, "filter-check");
+        String unique = FixturePool.borrow().todoTitle();
 
         given()
           .queryParam("title", unique)
           .when().get("/todos")
           .then().statusCode(200)
           .body("todos.find { it.title == '" + unique + "' }", notNullValue());
-
-        safeDeleteTodo(id);
     }
 
     @Test
     void post_todos_minimal_defaults_doneStatus_false() {
+        String title = TestNamespace.qualify("Minimal");
         Response res = given()
             .contentType("application/json")
-            .body("{\"title\":\"Minimal\"}")
+            .body("{\"title\":\"" + title + "\"}")
             .when().post("/todos")
             .then().statusCode(anyOf(is(200), is(201)))
-            .body("title", anyOf(equalTo("Minimal"), notNullValue()))
+            .body("title", anyOf(equalTo(title), notNullValue()))
             .extract().response();
 
         String id = extractId(res, "todos");
-        if (id == null) id = findTodoIdByTitle("Minimal");
+        if (id == null) id = findTodoIdByTitle(title);
+        TestHelper.trackTodo(id);
 
-        // doneStatus may be "false" (string) or boolean false depending on build
-        given().when().get("/todos/" + id)
-            .then().statusCode(200)
-            .body("todos[0].doneStatus", anyOf(equalTo("false"), equalTo(false)));
+        // doneStatus may be "false" (string) or boolean false depending on build; Todo binds both
+        Todo todo = TestHelper.getTodo(id);
+        Assertions.assertNotNull(todo, "Todo " + id + " should exist");
+        Assertions.assertFalse(todo.doneStatus());
 
         safeDeleteTodo(id);
     }
@@ -238,12 +220,13 @@ public class TodoUnitTests {
     @Test
     void put_replaces_fields_200_no_side_effects() {
         String id = createTodoJSON("put-me", false, "before");
+        String after = TestNamespace.qualify("after");
         // IMPORTANT: doneStatus must be boolean literal true (no quotes)
         given().contentType("application/json")
-          .body("{\"title\":\"after\",\"doneStatus\":true,\"description\":\"changed\"}")
+          .body("{\"title\":\"" + after + "\",\"doneStatus\":true,\"description\":\"changed\"}")
           .when().put("/todos/" + id)
           .then().statusCode(200)
-          .body("title", equalTo("after"))
+          .body("title", equalTo(after))
           .body("doneStatus", anyOf(equalTo("true"), equalTo(true)));
 
         given().when().get("/todos").then().statusCode(200);
@@ -265,6 +248,7 @@ public class TodoUnitTests {
     void delete_existing_200_then_delete_again_404_or_400() {
         String id = createTodoJSON("to-delete", false, "desc");
         given().when().delete("/todos/" + id).then().statusCode(200);
+        TestHelper.untrack("/todos/" + id);
         given().when().delete("/todos/" + id).then().statusCode(anyOf(is(404), is(400)));
     }
 
@@ -309,9 +293,11 @@ public class TodoUnitTests {
           .body("{\"id\":\"" + catId + "\"}")
           .when().post("/todos/" + todoId + "/categories")
           .then().statusCode(anyOf(is(200), is(201)));
+        TestHelper.trackLink("/todos/" + todoId + "/categories", catId);
 
         given().when().delete("/todos/" + todoId + "/categories/" + catId)
           .then().statusCode(anyOf(is(200), is(404)));
+        TestHelper.untrack("/todos/" + todoId + "/categories/" + catId);
 
         given().when().delete("/todos/" + todoId + "/categories/999999").then().statusCode(404);
 
@@ -330,9 +316,11 @@ public class TodoUnitTests {
           .body("{\"id\":\"" + projectId + "\"}")
           .when().post("/todos/" + todoId + "/tasksof")
           .then().statusCode(anyOf(is(200), is(201)));
+        TestHelper.trackLink("/todos/" + todoId + "/tasksof", projectId);
 
         given().when().delete("/todos/" + todoId + "/tasksof/" + projectId)
           .then().statusCode(anyOf(is(200), is(404)));
+        TestHelper.untrack("/todos/" + todoId + "/tasksof/" + projectId);
 
         given().when().delete("/todos/" + todoId + "/tasksof/999999").then().statusCode(404);
 
@@ -350,13 +338,14 @@ public class TodoUnitTests {
 
     @Test
     void post_todos_without_description_sets_empty_or_absent_description() {
-        String unique = "ECSE429-NODESC-" + System.nanoTime();
+        String unique = TestNamespace.qualify("ECSE429-NODESC-" + System.nanoTime());
         String id = given()
         .contentType("application/json")
         .body("{\"title\":\"" + unique + "\",\"doneStatus\":false}")
         .when().post("/todos")
         .then().statusCode(anyOf(is(200), is(201)))
         .extract().path("id").toString();
+        TestHelper.trackTodo(id);
 
         given().when().get("/todos/" + id)
         .then().statusCode(200)
@@ -368,8 +357,7 @@ public class TodoUnitTests {
 
     @Test
     void filter_by_title_returns_only_that_title_when_unique() {
-        String unique = "ECSE429-FILTER-" + System.nanoTime();
-        String id = createTodoJSON(unique, false, "filter-only");
+        String unique = FixturePool.borrow().todoTitle();
 
         Response r = given()
         .queryParam("title", unique)
@@ -378,14 +366,10 @@ public class TodoUnitTests {
         .extract().response();
 
         // Ensure all returned titles equal the unique title
-        List<Map<String, Object>> todos = r.path("todos");
-        if (todos != null) {
-            for (Map<String, Object> t : todos) {
-                Assertions.assertEquals(unique, String.valueOf(t.get("title")));
-            }
+        List<Todo> todos = Entities.list(r, Todo.class);
+        for (Todo t : todos) {
+            Assertions.assertEquals(unique, t.title());
         }
-
-        safeDeleteTodo(id);
     }
 
     @Test
@@ -465,6 +449,7 @@ public class TodoUnitTests {
         .body("{\"id\":\"" + catId + "\"}")
         .when().post("/todos/" + todoId + "/categories")
         .then().statusCode(anyOf(is(200), is(201)));
+        TestHelper.trackLink("/todos/" + todoId + "/categories", catId);
 
         given().contentType("application/json")
         .body("{\"id\":\"" + catId + "\"}")
@@ -479,16 +464,16 @@ public class TodoUnitTests {
 
     @Test
     void options_relationship_endpoints_200() {
-        String todoId = createTodoJSON("rel-options-" + System.nanoTime(), false, "smoke");
+        String todoId = FixturePool.borrow().todoId();
         given().when().options("/todos/" + todoId + "/categories").then().statusCode(200);
         given().when().options("/todos/" + todoId + "/tasksof").then().statusCode(200);
-        safeDeleteTodo(todoId);
     }
 
     @Test
     void ids_are_not_reused_after_delete_sanity() {
         String id1 = createTodoJSON("id-sanity-" + System.nanoTime(), false, "one");
         given().when().delete("/todos/" + id1).then().statusCode(200);
+        TestHelper.untrack("/todos/" + id1);
         String id2 = createTodoJSON("id-sanity-" + System.nanoTime(), false, "two");
         Assertions.assertNotEquals(id1, id2);
         safeDeleteTodo(id2);
@@ -0,0 +1,113 @@
+package com.ecse429.todoapi.perf;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Arrival schedule for the open-model {@link LoadGenerator}.
+ *
+ * Requests are issued at times dictated by the schedule, independent of how
+ * quickly the server answers earlier ones, so a slow server builds a queue
+ * instead of silently lowering the offered load.
+ */
+public interface ArrivalProcess {
+
+    /**
+     * Gap between the arrival at {@code elapsedNanos} into the run and the next one.
+     *
+     * @param elapsedNanos Time since the start of the run of the current arrival
+     * @return Nanoseconds until the next arrival
+     */
+    long nextIntervalNanos(long elapsedNanos);
+
+    /**
+     * Short description for reports (e.g., "constant 50/s").
+     */
+    String describe();
+
+    /**
+     * Evenly spaced arrivals at a fixed rate.
+     *
+     * @param ratePerSecond Arrivals per second
+     */
+    static ArrivalProcess constant(double ratePerSecond) {
+        long interval = intervalNanos(ratePerSecond);
+        return new ArrivalProcess() {
+            public long nextIntervalNanos(long elapsedNanos) {
+                return interval;
+            }
+
+            public String describe() {
+                return "constant " + ratePerSecond + "/s";
+            }
+        };
+    }
+
+    /**
+     * Evenly spaced arrivals whose rate changes linearly from one value to another.
+     *
+     * @param fromPerSecond Rate at the start of the run
+     * @param toPerSecond Rate reached at the end of the ramp and held afterwards
+     * @param rampNanos Length of the ramp
+     */
+    static ArrivalProcess ramp(double fromPerSecond, double toPerSecond, long rampNanos) {
+        return new ArrivalProcess() {
+            public long nextIntervalNanos(long elapsedNanos) {
+                double progress = rampNanos <= 0 ? 1 : Math.min(1, (double) elapsedNanos / rampNanos);
+                return intervalNanos(fromPerSecond + (toPerSecond - fromPerSecond) * progress);
+            }
+
+            public String describe() {
+                return "ramp " + fromPerSecond + "/s to " + toPerSecond + "/s";
+            }
+        };
+    }
+
+    /**
+     * Poisson arrivals: exponentially distributed gaps with the given mean rate.
+     *
+     * @param ratePerSecond Mean arrivals per second
+     */
+    static ArrivalProcess poisson(double ratePerSecond) {
+        double meanNanos = intervalNanos(ratePerSecond);
+        return new ArrivalProcess() {
+            public long nextIntervalNanos(long elapsedNanos) {
+                // 1 - U is in (0, 1], so the logarithm is finite
+                return Math.max(1, Math.round(-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanNanos));
+            }
+
+            public String describe() {
+                return "poisson " + ratePerSecond + "/s";
+            }
+        };
+    }
+
+    /**
+     * Schedule from system properties: load.profile (constant, ramp or poisson; default constant),
+     * load.rate (default 50), and for ramps load.rate.end (default 4x load.rate) reached after
+     * load.ramp.seconds (default the whole run).
+     *
+     * @param durationNanos Length of the run, used as the default ramp length
+     */
+    static ArrivalProcess fromSystemProperties(long durationNanos) {
+        double rate = Double.parseDouble(System.getProperty("load.rate", "50"));
+        String profile = System.getProperty("load.profile", "constant");
+        switch (profile) {
+            case "constant":
+                return constant(rate);
+            case "poisson":
+                return poisson(rate);
+            case "ramp":
+                double end = Double.parseDouble(System.getProperty("load.rate.end", String.valueOf(rate * 4)));
+                String rampSeconds = System.getProperty("load.ramp.seconds");
+                long rampNanos = rampSeconds == null ? durationNanos : (long) (Double.parseDouble(rampSeconds) * 1e9);
+                return ramp(rate, end, rampNanos);
+            default:
+                throw new IllegalArgumentException("Unknown load.profile: " + profile);
+        }
+    }
+
+    private static long intervalNanos(double ratePerSecond) {
+        if (!(ratePerSecond > 0)) throw new IllegalArgumentException("rate must be positive: " + ratePerSecond);
+        return Math.max(1, Math.round(1e9 / ratePerSecond));
+    }
+}
@@ -0,0 +1,255 @@
+package com.ecse429.todoapi.perf;
+
+import com.ecse429.todoapi.ApiClient;
+import com.ecse429.todoapi.BatchCreator;
+import com.ecse429.todoapi.BulkDeleter;
+import com.ecse429.todoapi.ResourceRegistry;
+import com.ecse429.todoapi.TestNamespace;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Throughput of {@link BatchCreator} against the number of requests in flight.
+ *
+ * For each backend and concurrency level, creates a batch of todos and links each of them
+ * to one of a few categories, with a fraction of the links pointing at a category that does
+ * not exist. Reports creates and links per second and the speedup over the first level, and
+ * checks the per-item results: every create succeeded, the failed links are exactly the
+ * injected ones, and sampled IDs belong to the todo at their input position. What a level
+ * created is deleted before the next one starts.
+ */
+public final class BatchBenchmark {
+
+    /** ID no category will have, so linking to it fails. */
+    private static final String MISSING_ID = "999999999";
+
+    private final List<String> clients;
+    private final List<Integer> levels;
+    private final int items;
+    private final double invalidLinks;
+
+    /**
+     * @param clients Backends to run, by {@link ApiClient#of} name
+     * @param levels Requests in flight, in order; the first is the speedup baseline
+     * @param items Todos created, and links made, per level
+     * @param invalidLinks Fraction of links that point at a missing category, 0 to 1
+     */
+    public BatchBenchmark(List<String> clients, List<Integer> levels, int items, double invalidLinks) {
+        if (items < 1) throw new IllegalArgumentException("items must be at least 1");
+        if (levels.isEmpty()) throw new IllegalArgumentException("at least one concurrency level is required");
+        if (invalidLinks < 0 || invalidLinks > 1) throw new IllegalArgumentException("invalidLinks must be between 0 and 1");
+        clients.forEach(ApiClient::of);
+        this.clients = clients;
+        this.levels = levels;
+        this.items = items;
+        this.invalidLinks = invalidLinks;
+    }
+
+    /**
+     * Benchmark configured from -Dbatch.clients (default restassured,jdk), -Dbatch.concurrency
+     * (default 1,4,16,64), -Dbatch.items (default 400) and -Dbatch.invalidLinks (default 0.05).
+     */
+    public static BatchBenchmark fromSystemProperties() {
+        List<String> clients = new ArrayList<>();
+        for (String c : System.getProperty("batch.clients", "restassured,jdk").split(",")) {
+            if (!c.isBlank()) clients.add(c.trim().toLowerCase(Locale.ROOT));
+        }
+        List<Integer> levels = new ArrayList<>();
+        for (String l : System.getProperty("batch.concurrency", "1,4,16,64").split(",")) {
+            if (!l.isBlank()) levels.add(Integer.parseInt(l.trim()));
+        }
+        return new BatchBenchmark(clients, levels, Integer.getInteger("batch.items", 400),
+            Double.parseDouble(System.getProperty("batch.invalidLinks", "0.05")));
+    }
+
+    /**
+     * Run every level of every backend.
+     *
+     * @return Throughput and result checks of each level
+     */
+    public Result run() {
+        List<String> categories = new BatchCreator(ApiClient.restAssured(), 4)
+            .createCategories(List.of(new BatchCreator.Spec("batch-a", ""), new BatchCreator.Spec("batch-b", ""),
+                new BatchCreator.Spec("batch-c", ""))).ids();
+        if (categories.contains(null)) throw new IllegalStateException("batch: could not create the link targets");
+
+        List<Level> results = new ArrayList<>();
+        for (String name : clients) {
+            ApiClient client = ApiClient.of(name);
+            // Unmeasured: connections, JIT and the server's first requests
+            run(client, levels.get(levels.size() - 1), Math.min(items, 50), categories);
+            for (int concurrency : levels) {
+                Level level = run(client, concurrency, items, categories);
+                results.add(level);
+                System.out.println("[batch] " + level);
+            }
+        }
+        return new Result(results);
+    }
+
+    private Level run(ApiClient client, int concurrency, int count, List<String> categories) {
+        BatchCreator creator = new BatchCreator(client, concurrency);
+        List<BatchCreator.TodoSpec> specs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) specs.add(new BatchCreator.TodoSpec("batch-" + i, false, "batch"));
+        BatchCreator.Result created = creator.createTodos(specs);
+
+        List<BatchCreator.Link> links = new ArrayList<>();
+        List<Integer> injected = new ArrayList<>();
+        List<String> todoIds = created.ids();
+        for (int i = 0; i < todoIds.size(); i++) {
+            if (todoIds.get(i) == null) continue;
+            boolean invalid = invalidLinks > 0 && i % Math.max(1, (int) Math.round(1 / invalidLinks)) == 0;
+            if (invalid) injected.add(links.size());
+            links.add(new BatchCreator.Link(todoIds.get(i), invalid ? MISSING_ID : categories.get(i % categories.size())));
+        }
+        BatchCreator.Result linked = creator.linkTodosToCategories(links);
+
+        List<Integer> failedLinks = new ArrayList<>();
+        for (BatchCreator.Item item : linked.failures()) failedLinks.add(item.index());
+        int misplaced = misplacedIds(todoIds);
+        delete(todoIds, links, linked);
+        return new Level(client.name(), concurrency, count, created, linked,
+            created.failures().size(), injected.size(), failedLinks.equals(injected), misplaced);
+    }
+
+    /**
+     * Sampled IDs whose todo does not carry the title of its input position.
+     */
+    private static int misplacedIds(List<String> ids) {
+        int misplaced = 0;
+        int step = Math.max(1, ids.size() / 8);
+        for (int i = 0; i < ids.size(); i += step) {
+            if (ids.get(i) == null) continue;
+            Response r = given().when().get("/todos/" + ids.get(i));
+            String title = r.getStatusCode() == 200 ? r.path("todos[0].title") : null;
+            if (title == null || !title.endsWith("batch-" + i)) misplaced++;
+        }
+        return misplaced;
+    }
+
+    private static void delete(List<String> todoIds, List<BatchCreator.Link> links, BatchCreator.Result linked) {
+        ResourceRegistry registry = TestNamespace.current().registry();
+        List<String> paths = new ArrayList<>();
+        for (String id : todoIds) if (id != null) paths.add("/todos/" + id);
+        new BulkDeleter().deleteAll(paths);
+        paths.forEach(registry::forget);
+        // The links went with their todos
+        for (BatchCreator.Item item : linked.items()) {
+            if (item.ok()) registry.forget("/todos/" + links.get(item.index()).ownerId() + "/categories/" + item.id());
+        }
+    }
+
+    /**
+     * Throughput and result checks of one backend at one concurrency level.
+     */
+    public static final class Level {
+        private final String client;
+        private final int concurrency;
+        private final int items;
+        private final BatchCreator.Result created;
+        private final BatchCreator.Result linked;
+        private final int createFailures;
+        private final int injectedFailures;
+        private final boolean failuresMatched;
+        private final int misplacedIds;
+
+        Level(String client, int concurrency, int items, BatchCreator.Result created, BatchCreator.Result linked,
+              int createFailures, int injectedFailures, boolean failuresMatched, int misplacedIds) {
+            this.client = client;
+            this.concurrency = concurrency;
+            this.items = items;
+            this.created = created;
+            this.linked = linked;
+            this.createFailures = createFailures;
+            this.injectedFailures = injectedFailures;
+            this.failuresMatched = failuresMatched;
+            this.misplacedIds = misplacedIds;
+        }
+
+        public String client() { return client; }
+        public int concurrency() { return concurrency; }
+        public double createsPerSecond() { return created.itemsPerSecond(); }
+        public double linksPerSecond() { return linked.itemsPerSecond(); }
+        public int createFailures() { return createFailures; }
+        /** Whether the failed links were exactly the ones pointing at a missing category. */
+        public boolean failuresMatched() { return failuresMatched; }
+        public int misplacedIds() { return misplacedIds; }
+
+        Map<String, Object> toMap(Level base) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("client", client);
+            m.put("concurrency", concurrency);
+            m.put("items", items);
+            m.put("creates_per_s", createsPerSecond());
+            m.put("links_per_s", linksPerSecond());
+            m.put("create_speedup", Math.round(createsPerSecond() / base.createsPerSecond() * 100) / 100.0);
+            m.put("link_speedup", Math.round(linksPerSecond() / base.linksPerSecond() * 100) / 100.0);
+            m.put("create_failures", createFailures);
+            m.put("link_failures", linked.failures().size());
+            m.put("injected_link_failures", injectedFailures);
+            m.put("link_failures_matched", failuresMatched);
+            m.put("misplaced_ids", misplacedIds);
+            return m;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s x%d: %.0f creates/s, %.0f links/s, %d/%d link failures%s, %d create failures, %d misplaced IDs",
+                client, concurrency, createsPerSecond(), linksPerSecond(), linked.failures().size(), injectedFailures,
+                failuresMatched ? "" : " (not the injected ones)", createFailures, misplacedIds);
+        }
+    }
+
+    /**
+     * Outcome of a benchmark run.
+     */
+    public static final class Result implements PerfResult {
+        private final List<Level> levels;
+
+        Result(List<Level> levels) {
+            this.levels = levels;
+        }
+
+        public List<Level> levels() {
+            return levels;
+        }
+
+        /**
+         * Every level as a {@link PerfReport}, with speedups over the first level of its backend.
+         */
+        public PerfReport toReport() {
+            List<Object> rows = new ArrayList<>();
+            for (Level l : levels) rows.add(l.toMap(baseOf(l)));
+            return new PerfReport("batch").put("levels", rows);
+        }
+
+        /**
+         * Create throughput of each backend at every level relative to its first, one line per backend.
+         */
+        public String summary() {
+            StringBuilder sb = new StringBuilder();
+            String client = null;
+            for (Level l : levels) {
+                if (!l.client.equals(client)) {
+                    if (client != null) sb.append('\n');
+                    client = l.client;
+                    sb.append("[batch] ").append(client).append(" create speedup:");
+                }
+                sb.append(String.format(" x%d %.2f", l.concurrency, l.createsPerSecond() / baseOf(l).createsPerSecond()));
+            }
+            return sb.length() == 0 ? "" : sb.append('\n').toString();
+        }
+
+        private Level baseOf(Level level) {
+            for (Level l : levels) if (l.client.equals(level.client)) return l;
+            return level;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecse429.todoapi.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Batch create and link throughput for the Todo Manager API.
+ * Run with
+ * mvn test -Pperf -Dtest=BatchTests [-Dbatch.clients=restassured,jdk -Dbatch.concurrency=1,4,16,64 -Dbatch.items=400].
+ * Writes creates and links per second at each concurrency level, and the per-item result
+ * checks, to target/perf/batch-report.json (override with -Dbatch.report).
+ */
+public class BatchTests extends PerfTestBase {
+
+    @Test
+    void batch_throughput_by_concurrency() {
+        BatchBenchmark.Result result = ServerProfiler.profile("batch", () -> BatchBenchmark.fromSystemProperties().run());
+        Path report = report("batch", "batch.report", "batch-report.json", result);
+        for (BatchBenchmark.Level level : result.levels()) {
+            assertEquals(0, level.createFailures(), level + "; see " + report);
+            assertTrue(level.failuresMatched(), level + "; see " + report);
+            assertEquals(0, level.misplacedIds(), level + "; see " + report);
+        }
+    }
+}
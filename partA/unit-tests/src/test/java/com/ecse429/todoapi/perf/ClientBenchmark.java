@@ -0,0 +1,305 @@
+package com.ecse429.todoapi.perf;
+
+import com.ecse429.todoapi.ApiClient;
+import com.ecse429.todoapi.TestHelper;
+import com.ecse429.todoapi.TestNamespace;
+import com.ecse429.todoapi.ResourceRegistry;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RestAssured against java.net.http on the same workload.
+ *
+ * One operation is the create, read and delete of a todo, three requests, sent through
+ * an {@link ApiClient}. Modes:
+ * <ul>
+ *   <li>restassured: synchronous RestAssured calls from a pool of platform threads</li>
+ *   <li>jdk: synchronous java.net.http calls from the same pool</li>
+ *   <li>jdk-async: chained CompletableFutures issued from one thread, with at most
+ *       maxInFlight operations outstanding</li>
+ * </ul>
+ * Each mode reports throughput, operation latency, process CPU time per operation and heap
+ * allocated per operation by platform threads. With the embedded server the CPU time includes
+ * the server's share, which is the same in every mode, so the difference between modes is the
+ * client's; the server's handlers run on virtual threads and are not in the allocation figure.
+ */
+public final class ClientBenchmark {
+
+    private static final com.sun.management.OperatingSystemMXBean OS =
+        (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final List<String> modes;
+    private final int ops;
+    private final int warmup;
+    private final int threads;
+    private final int maxInFlight;
+
+    /**
+     * @param modes Modes to run, in order: restassured, jdk, jdk-async
+     * @param ops Measured operations per mode
+     * @param warmup Unmeasured operations before each mode
+     * @param threads Calling threads of the synchronous modes
+     * @param maxInFlight Outstanding operations of the async mode
+     */
+    public ClientBenchmark(List<String> modes, int ops, int warmup, int threads, int maxInFlight) {
+        if (ops < 1) throw new IllegalArgumentException("ops must be at least 1");
+        if (threads < 1 || maxInFlight < 1) throw new IllegalArgumentException("threads and maxInFlight must be at least 1");
+        for (String mode : modes) {
+            if (!mode.equals("restassured") && !mode.equals("jdk") && !mode.equals("jdk-async")) {
+                throw new IllegalArgumentException("unknown mode " + mode + "; expected restassured, jdk or jdk-async");
+            }
+        }
+        this.modes = modes;
+        this.ops = ops;
+        this.warmup = warmup;
+        this.threads = threads;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Benchmark configured from -Dclient.modes (default restassured,jdk,jdk-async),
+     * -Dclient.ops (default 2000), -Dclient.warmup (default 200), -Dclient.threads
+     * (default 8) and -Dclient.maxInFlight (default 32).
+     */
+    public static ClientBenchmark fromSystemProperties() {
+        List<String> modes = new ArrayList<>();
+        for (String mode : System.getProperty("client.modes", "restassured,jdk,jdk-async").split(",")) {
+            if (!mode.isBlank()) modes.add(mode.trim().toLowerCase(Locale.ROOT));
+        }
+        return new ClientBenchmark(modes, Integer.getInteger("client.ops", 2000), Integer.getInteger("client.warmup", 200),
+            Integer.getInteger("client.threads", 8), Integer.getInteger("client.maxInFlight", 32));
+    }
+
+    /**
+     * Run every mode in order.
+     *
+     * @return Cost per operation of each mode
+     */
+    public Result run() {
+        List<Mode> results = new ArrayList<>();
+        for (String mode : modes) {
+            run(mode, warmup);
+            Mode m = ServerProfiler.profile("client-" + mode, () -> run(mode, ops));
+            results.add(m);
+            System.out.println("[client] " + m);
+        }
+        return new Result(results);
+    }
+
+    private Mode run(String mode, int count) {
+        ApiClient client = ApiClient.of(mode.startsWith("jdk") ? "jdk" : "restassured");
+        Recorder latency = new Recorder(PerfReport.MAX_LATENCY_MICROS, 3);
+        LongAdder errors = new LongAdder();
+        ResourceRegistry registry = TestNamespace.current().registry();
+        String title = TestNamespace.qualify("client-" + mode);
+
+        long cpu = OS.getProcessCpuTime();
+        Map<Long, Long> before = allocatedByThread();
+        Map<Long, Long> workers = new ConcurrentHashMap<>();
+        long start = System.nanoTime();
+        if (mode.equals("jdk-async")) {
+            runAsync(client, count, title, registry, latency, errors);
+        } else {
+            runSync(client, count, title, registry, latency, errors, workers);
+        }
+        long elapsed = System.nanoTime() - start;
+        cpu = OS.getProcessCpuTime() - cpu;
+        long allocated = workers.values().stream().mapToLong(Long::longValue).sum();
+        for (Map.Entry<Long, Long> e : allocatedByThread().entrySet()) {
+            if (!workers.containsKey(e.getKey())) allocated += e.getValue() - before.getOrDefault(e.getKey(), 0L);
+        }
+        return new Mode(mode, count, elapsed, latency.getIntervalHistogram(), cpu, allocated, errors.sum());
+    }
+
+    private void runSync(ApiClient client, int count, String title, ResourceRegistry registry,
+                         Recorder latency, LongAdder errors, Map<Long, Long> workers) {
+        AtomicInteger remaining = new AtomicInteger(count);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                while (remaining.getAndDecrement() > 0) {
+                    long begin = System.nanoTime();
+                    try {
+                        ApiClient.Reply created = client.send("POST", "/todos", TestHelper.todoPayload(title, false, "client"));
+                        String path = "/todos/" + created.id("todos");
+                        registry.trackEntity(path);
+                        if (client.send("GET", path, null).status() != 200) errors.increment();
+                        if (client.send("DELETE", path, null).status() == 200) registry.forget(path);
+                        else errors.increment();
+                        latency.recordValue(PerfReport.micros(System.nanoTime() - begin));
+                    } catch (RuntimeException e) {
+                        errors.increment();
+                    }
+                }
+                // Workers may be gone, or still exiting, at the second snapshot
+                workers.put(Thread.currentThread().threadId(), THREADS.getCurrentThreadAllocatedBytes());
+            });
+        }
+        pool.shutdown();
+        awaitQuietly(pool);
+    }
+
+    private void runAsync(ApiClient client, int count, String title, ResourceRegistry registry,
+                          Recorder latency, LongAdder errors) {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        for (int i = 0; i < count; i++) {
+            inFlight.acquireUninterruptibly();
+            long begin = System.nanoTime();
+            String[] path = new String[1];
+            client.sendAsync("POST", "/todos", TestHelper.todoPayload(title, false, "client"))
+                .thenCompose(created -> {
+                    path[0] = "/todos/" + created.id("todos");
+                    registry.trackEntity(path[0]);
+                    return client.sendAsync("GET", path[0], null);
+                })
+                .thenCompose(read -> {
+                    if (read.status() != 200) errors.increment();
+                    return client.sendAsync("DELETE", path[0], null);
+                })
+                .whenComplete((deleted, error) -> {
+                    if (error == null && deleted.status() == 200) registry.forget(path[0]);
+                    else errors.increment();
+                    latency.recordValue(PerfReport.micros(System.nanoTime() - begin));
+                    inFlight.release();
+                });
+        }
+        inFlight.acquireUninterruptibly(maxInFlight);
+    }
+
+    /** Bytes allocated so far by each live platform thread. */
+    private static Map<Long, Long> allocatedByThread() {
+        long[] ids = THREADS.getAllThreadIds();
+        long[] bytes = THREADS.getThreadAllocatedBytes(ids);
+        Map<Long, Long> byThread = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (bytes[i] >= 0) byThread.put(ids[i], bytes[i]);
+        }
+        return byThread;
+    }
+
+    private static void awaitQuietly(ExecutorService pool) {
+        try {
+            pool.awaitTermination(1, TimeUnit.HOURS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Cost of one mode.
+     */
+    public static final class Mode {
+        private final String mode;
+        private final int ops;
+        private final long elapsedNanos;
+        private final Histogram latency;
+        private final long cpuNanos;
+        private final long allocatedBytes;
+        private final long errors;
+
+        Mode(String mode, int ops, long elapsedNanos, Histogram latency, long cpuNanos, long allocatedBytes, long errors) {
+            this.mode = mode;
+            this.ops = ops;
+            this.elapsedNanos = elapsedNanos;
+            this.latency = latency;
+            this.cpuNanos = cpuNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.errors = errors;
+        }
+
+        public String mode() { return mode; }
+        public long errors() { return errors; }
+        public double throughput() { return PerfReport.perSecond(ops, elapsedNanos); }
+        /** Process CPU time per operation, in microseconds. */
+        public double cpuMicrosPerOp() { return cpuNanos / 1e3 / ops; }
+        /** Heap allocated by platform threads per operation, in kilobytes. */
+        public double allocatedKbPerOp() { return allocatedBytes / 1024.0 / ops; }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("mode", mode);
+            m.put("ops", ops);
+            m.put("requests", ops * 3L);
+            m.put("elapsed_s", elapsedNanos / 1e9);
+            m.put("throughput_ops_per_s", throughput());
+            m.put("cpu_us_per_op", Math.round(cpuMicrosPerOp() * 10) / 10.0);
+            m.put("allocated_kb_per_op", Math.round(allocatedKbPerOp() * 10) / 10.0);
+            m.put("errors", errors);
+            m.put("latency", PerfReport.latency(latency));
+            return m;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %.1f ops/s, p50 %.2f ms, p99 %.2f ms, %.0f us CPU/op, %.1f KB allocated/op, %d errors",
+                mode, throughput(), latency.getValueAtPercentile(50) / 1000.0, latency.getValueAtPercentile(99) / 1000.0,
+                cpuMicrosPerOp(), allocatedKbPerOp(), errors);
+        }
+    }
+
+    /**
+     * Outcome of a benchmark run.
+     */
+    public static final class Result implements PerfResult {
+        private final List<Mode> modes;
+
+        Result(List<Mode> modes) {
+            this.modes = modes;
+        }
+
+        public List<Mode> modes() {
+            return modes;
+        }
+
+        public long errors() {
+            return modes.stream().mapToLong(Mode::errors).sum();
+        }
+
+        /**
+         * Every mode as a {@link PerfReport}, with CPU and allocation relative to the first.
+         */
+        public PerfReport toReport() {
+            List<Object> rows = new ArrayList<>();
+            Mode base = modes.isEmpty() ? null : modes.get(0);
+            for (Mode m : modes) {
+                Map<String, Object> row = m.toMap();
+                if (base != null && m != base) {
+                    row.put("cpu_vs_" + base.mode, Math.round(m.cpuMicrosPerOp() / base.cpuMicrosPerOp() * 100) / 100.0);
+                    row.put("allocated_vs_" + base.mode, Math.round(m.allocatedKbPerOp() / base.allocatedKbPerOp() * 100) / 100.0);
+                }
+                rows.add(row);
+            }
+            return new PerfReport("client").put("modes", rows);
+        }
+
+        /**
+         * CPU per operation of every mode relative to the first, on one line.
+         */
+        public String summary() {
+            if (modes.size() < 2) return "";
+            Mode base = modes.get(0);
+            StringBuilder sb = new StringBuilder("[client] CPU/op vs " + base.mode + ":");
+            for (Mode m : modes.subList(1, modes.size())) {
+                sb.append(String.format(" %s %.2fx", m.mode, m.cpuMicrosPerOp() / base.cpuMicrosPerOp()));
+            }
+            return sb.append('\n').toString();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecse429.todoapi.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * RestAssured versus java.net.http client benchmark for the Todo Manager API.
+ * Run with
+ * mvn test -Pperf -Dtest=ClientTests [-Dclient.modes=restassured,jdk,jdk-async -Dclient.ops=2000 -Dclient.threads=8].
+ * Writes throughput, latency, CPU time and allocation per operation of each mode to
+ * target/perf/client-report.json (override with -Dclient.report).
+ */
+public class ClientTests extends PerfTestBase {
+
+    @Test
+    void client_backends_compared() {
+        ClientBenchmark.Result result = ClientBenchmark.fromSystemProperties().run();
+        Path report = report("client", "client.report", "client-report.json", result);
+        assertFalse(result.modes().isEmpty(), "no mode was run");
+        assertEquals(0, result.errors(), "operations failed; see " + report);
+    }
+}
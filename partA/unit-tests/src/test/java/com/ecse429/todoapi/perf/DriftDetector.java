@@ -0,0 +1,191 @@
+package com.ecse429.todoapi.perf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Drift of p99 latency and throughput between the early and the late windows of a soak run.
+ *
+ * After skipping the warm-up windows, the first and the last fraction of the remaining
+ * windows are compared with a two-sided Mann-Whitney U test on the per-window values. It
+ * assumes nothing about their distribution, which tail percentiles rarely satisfy. A metric
+ * has drifted when the difference is significant at the configured level and the medians
+ * differ by at least the minimum relative change; it has degraded when it drifted the bad
+ * way, p99 up or throughput down. About six windows per group are needed before anything
+ * can be significant at 0.01.
+ */
+public final class DriftDetector {
+
+    private final int warmupWindows;
+    private final double compareFraction;
+    private final double alpha;
+    private final double minChange;
+
+    /**
+     * @param warmupWindows Windows at the start left out of the comparison
+     * @param compareFraction Fraction of the remaining windows in each of the early and late groups, up to 0.5
+     * @param alpha Significance level of the test
+     * @param minChange Smallest relative change of the median reported as drift, e.g. 0.1
+     */
+    public DriftDetector(int warmupWindows, double compareFraction, double alpha, double minChange) {
+        if (warmupWindows < 0) throw new IllegalArgumentException("warmupWindows must not be negative");
+        if (!(compareFraction > 0 && compareFraction <= 0.5)) throw new IllegalArgumentException("compareFraction must be in (0, 0.5]");
+        if (!(alpha > 0 && alpha < 1)) throw new IllegalArgumentException("alpha must be in (0, 1)");
+        this.warmupWindows = warmupWindows;
+        this.compareFraction = compareFraction;
+        this.alpha = alpha;
+        this.minChange = minChange;
+    }
+
+    /**
+     * Detector configured from -Dsoak.warmupWindows (default 1), -Dsoak.compareFraction
+     * (default 0.25), -Dsoak.alpha (default 0.01) and -Dsoak.minChange (default 0.1).
+     */
+    public static DriftDetector fromSystemProperties() {
+        return new DriftDetector(Integer.getInteger("soak.warmupWindows", 1),
+            Double.parseDouble(System.getProperty("soak.compareFraction", "0.25")),
+            Double.parseDouble(System.getProperty("soak.alpha", "0.01")),
+            Double.parseDouble(System.getProperty("soak.minChange", "0.1")));
+    }
+
+    /**
+     * Compare early and late windows on p99 latency and on throughput.
+     *
+     * @param windows The windows of a run, in order
+     * @return One drift per metric; not significant when there are too few windows
+     */
+    public List<Drift> analyse(List<LoadGenerator.Window> windows) {
+        List<LoadGenerator.Window> measured = windows.subList(Math.min(warmupWindows, windows.size()), windows.size());
+        int group = (int) Math.floor(measured.size() * compareFraction);
+        List<LoadGenerator.Window> early = measured.subList(0, group);
+        List<LoadGenerator.Window> late = measured.subList(measured.size() - group, measured.size());
+        List<Drift> drifts = new ArrayList<>();
+        drifts.add(compare("p99_ms", true, early, late, w -> w.latency().getValueAtPercentile(99) / 1000.0));
+        drifts.add(compare("throughput_per_s", false, early, late, LoadGenerator.Window::throughput));
+        return drifts;
+    }
+
+    private Drift compare(String metric, boolean higherIsWorse, List<LoadGenerator.Window> early,
+                          List<LoadGenerator.Window> late, ToDoubleFunction<LoadGenerator.Window> value) {
+        double[] a = early.stream().mapToDouble(value).toArray();
+        double[] b = late.stream().mapToDouble(value).toArray();
+        double earlyMedian = median(a);
+        double lateMedian = median(b);
+        double change = earlyMedian == 0 ? 0 : (lateMedian - earlyMedian) / earlyMedian;
+        double p = a.length == 0 || b.length == 0 ? 1 : mannWhitneyP(a, b);
+        boolean drifted = p < alpha && Math.abs(change) >= minChange;
+        boolean degraded = drifted && (higherIsWorse ? change > 0 : change < 0);
+        return new Drift(metric, a.length, b.length, earlyMedian, lateMedian, change, p, drifted, degraded);
+    }
+
+    /**
+     * Two-sided p-value of the Mann-Whitney U test, by the normal approximation with tie and
+     * continuity corrections.
+     */
+    static double mannWhitneyP(double[] a, double[] b) {
+        int n1 = a.length;
+        int n2 = b.length;
+        int n = n1 + n2;
+        double[][] all = new double[n][];
+        for (int i = 0; i < n1; i++) all[i] = new double[] { a[i], 0 };
+        for (int i = 0; i < n2; i++) all[n1 + i] = new double[] { b[i], 1 };
+        Arrays.sort(all, (x, y) -> Double.compare(x[0], y[0]));
+
+        double rankSumA = 0;
+        double ties = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j < n && all[j][0] == all[i][0]) j++;
+            double rank = (i + 1 + j) / 2.0;
+            for (int k = i; k < j; k++) if (all[k][1] == 0) rankSumA += rank;
+            double t = j - i;
+            ties += t * t * t - t;
+            i = j;
+        }
+        double u = rankSumA - n1 * (n1 + 1) / 2.0;
+        double mean = n1 * (double) n2 / 2.0;
+        double variance = n1 * (double) n2 / 12.0 * ((n + 1) - ties / ((double) n * (n - 1)));
+        if (variance <= 0) return 1;
+        double z = Math.max(0, Math.abs(u - mean) - 0.5) / Math.sqrt(variance);
+        return Math.min(1, 2 * (1 - normalCdf(z)));
+    }
+
+    /** Standard normal CDF, from the Abramowitz and Stegun 7.1.26 approximation of erf. */
+    static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * x);
+        double erf = 1 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429))))
+            * Math.exp(-x * x);
+        return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+
+    static double median(double[] values) {
+        if (values.length == 0) return Double.NaN;
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+
+    /**
+     * Early against late windows on one metric.
+     */
+    public static final class Drift {
+        private final String metric;
+        private final int earlyWindows;
+        private final int lateWindows;
+        private final double earlyMedian;
+        private final double lateMedian;
+        private final double change;
+        private final double pValue;
+        private final boolean drifted;
+        private final boolean degraded;
+
+        Drift(String metric, int earlyWindows, int lateWindows, double earlyMedian, double lateMedian,
+              double change, double pValue, boolean drifted, boolean degraded) {
+            this.metric = metric;
+            this.earlyWindows = earlyWindows;
+            this.lateWindows = lateWindows;
+            this.earlyMedian = earlyMedian;
+            this.lateMedian = lateMedian;
+            this.change = change;
+            this.pValue = pValue;
+            this.drifted = drifted;
+            this.degraded = degraded;
+        }
+
+        public String metric() { return metric; }
+        /** Relative change of the late median against the early one. */
+        public double change() { return change; }
+        public double pValue() { return pValue; }
+        /** Significant change of at least the minimum size, either way. */
+        public boolean drifted() { return drifted; }
+        /** Drifted the bad way: p99 up or throughput down. */
+        public boolean degraded() { return degraded; }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("metric", metric);
+            m.put("early_windows", earlyWindows);
+            m.put("late_windows", lateWindows);
+            m.put("early_median", earlyMedian);
+            m.put("late_median", lateMedian);
+            m.put("change", Math.round(change * 1000) / 1000.0);
+            m.put("p_value", pValue);
+            m.put("drifted", drifted);
+            m.put("degraded", degraded);
+            return m;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %.2f -> %.2f (%+.1f%%) over %d vs %d windows, p=%.4f%s",
+                metric, earlyMedian, lateMedian, change * 100, earlyWindows, lateWindows, pValue,
+                degraded ? ", DEGRADED" : drifted ? ", drifted" : "");
+        }
+    }
+}
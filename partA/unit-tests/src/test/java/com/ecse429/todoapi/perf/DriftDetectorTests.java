@@ -0,0 +1,55 @@
+package com.ecse429.todoapi.perf;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The statistics behind {@link DriftDetector}. Reference p-values are those of R's
+ * wilcox.test(a, b, exact = FALSE, correct = TRUE), the same normal approximation with
+ * tie and continuity corrections.
+ */
+public class DriftDetectorTests {
+
+    // Abramowitz and Stegun 7.1.26 is accurate to 1.5e-7
+    private static final double CDF_ERROR = 1e-6;
+
+    @Test
+    void normal_cdf_matches_reference_values() {
+        assertEquals(0.5, DriftDetector.normalCdf(0), CDF_ERROR);
+        assertEquals(0.975, DriftDetector.normalCdf(1.959964), CDF_ERROR);
+        assertEquals(0.158655, DriftDetector.normalCdf(-1), CDF_ERROR);
+        assertEquals(0.99865, DriftDetector.normalCdf(3), CDF_ERROR);
+        assertEquals(1, DriftDetector.normalCdf(-2.5) + DriftDetector.normalCdf(2.5), 1e-12);
+    }
+
+    @Test
+    void mann_whitney_without_ties() {
+        double[] a = {1, 2, 3, 4, 5};
+        double[] b = {6, 7, 8, 9, 10};
+        assertEquals(0.0121858, DriftDetector.mannWhitneyP(a, b), CDF_ERROR);
+        assertEquals(DriftDetector.mannWhitneyP(a, b), DriftDetector.mannWhitneyP(b, a), 1e-12);
+    }
+
+    @Test
+    void mann_whitney_with_ties() {
+        assertEquals(0.0087328, DriftDetector.mannWhitneyP(
+            new double[] {1, 2, 2, 3, 3, 3}, new double[] {3, 4, 4, 5, 5, 6}), CDF_ERROR);
+        assertEquals(0.1367765, DriftDetector.mannWhitneyP(
+            new double[] {10, 12, 12, 14, 15, 15, 15, 18}, new double[] {11, 12, 15, 16, 16, 19, 20, 20}), CDF_ERROR);
+    }
+
+    @Test
+    void mann_whitney_of_identical_samples_is_one() {
+        double[] a = {4, 4, 4, 4};
+        assertEquals(1, DriftDetector.mannWhitneyP(a, a.clone()));
+        assertEquals(1, DriftDetector.mannWhitneyP(new double[] {1, 2, 3}, new double[] {3, 2, 1}), CDF_ERROR);
+    }
+
+    @Test
+    void median_of_odd_and_even_counts() {
+        assertEquals(3, DriftDetector.median(new double[] {5, 1, 3}));
+        assertEquals(2.5, DriftDetector.median(new double[] {4, 1, 3, 2}));
+        assertTrue(Double.isNaN(DriftDetector.median(new double[0])));
+    }
+}
@@ -0,0 +1,291 @@
+package com.ecse429.todoapi.perf;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency instrumentation for every RestAssured call.
+ *
+ * A global filter maps each request to a route template, where every second path
+ * segment is an ID (e.g. "GET /todos/{id}/categories"), and records latency, status
+ * code and response size for the route. Recording is lock-free: latencies and sizes
+ * go to HdrHistogram recorders and status codes to an atomic counter array.
+ * At the end of the test run {@link EndpointMetricsListener} prints a summary table
+ * and writes a JSON report to target/perf/endpoint-report.json (override with
+ * -Dtodo.metrics.report). Disable with -Dtodo.metrics=false.
+ */
+public final class EndpointMetrics implements Filter {
+
+    private static final EndpointMetrics INSTANCE = new EndpointMetrics();
+    private static boolean installed;
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private volatile long startNanos = System.nanoTime();
+
+    private EndpointMetrics() {
+    }
+
+    /**
+     * Register the filter globally.
+     * Safe to call from every test class; only the first call has an effect.
+     */
+    public static synchronized void install() {
+        if (installed || "false".equals(System.getProperty("todo.metrics"))) return;
+        RestAssured.filters(INSTANCE);
+        INSTANCE.startNanos = System.nanoTime();
+        installed = true;
+    }
+
+    /**
+     * Record a call made outside RestAssured, e.g. by {@link com.ecse429.todoapi.ApiClient#jdk()}.
+     * Ignored unless the filter is installed.
+     *
+     * @param method The HTTP method
+     * @param uri Full request URI or path
+     * @param nanos Time from sending the request to reading the whole response
+     * @param status The response status, or -1 if the call failed
+     * @param bytes The response body size, or -1 if unknown
+     */
+    public static void record(String method, String uri, long nanos, int status, long bytes) {
+        if (!installed) return;
+        INSTANCE.route(method, uri).record(nanos, status < 0 ? 0 : status, bytes);
+    }
+
+    /**
+     * Print the summary and write the JSON report, if anything was recorded.
+     *
+     * @return The report written, or null if no call was recorded
+     */
+    public static Path publish() {
+        if (INSTANCE.routes.isEmpty()) return null;
+        System.out.print(summary());
+        Path report = report().write(System.getProperty("todo.metrics.report", "endpoint-report.json"));
+        System.out.println("[endpoints] report written to " + report.toAbsolutePath());
+        return report;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Route route = route(requestSpec.getMethod(), requestSpec.getURI());
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (RuntimeException e) {
+            route.record(System.nanoTime() - start, 0, -1);
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        route.record(elapsed, response.getStatusCode(), responseBytes(response));
+        return response;
+    }
+
+    private Route route(String method, String uri) {
+        String key = method + " " + template(uri);
+        Route route = routes.get(key);
+        return route != null ? route : routes.computeIfAbsent(key, Route::new);
+    }
+
+    /**
+     * Route template of a request URI: the path without scheme, host or query,
+     * with every second segment replaced by {id}.
+     *
+     * @param uri Full request URI or path (e.g., "http://localhost:4567/todos/3/categories?x=1")
+     * @return The template (e.g., "/todos/{id}/categories")
+     */
+    public static String template(String uri) {
+        int start = uri.indexOf("://");
+        start = start < 0 ? 0 : uri.indexOf('/', start + 3);
+        if (start < 0) return "/";
+        int end = uri.indexOf('?', start);
+        if (end < 0) end = uri.length();
+
+        StringBuilder sb = new StringBuilder(end - start);
+        int segment = 0;
+        int i = start;
+        while (i < end) {
+            if (uri.charAt(i) == '/') {
+                i++;
+                continue;
+            }
+            int next = uri.indexOf('/', i);
+            if (next < 0 || next > end) next = end;
+            sb.append('/');
+            if (segment % 2 == 1) sb.append("{id}");
+            else sb.append(uri, i, next);
+            segment++;
+            i = next;
+        }
+        return sb.length() == 0 ? "/" : sb.toString();
+    }
+
+    private static long responseBytes(Response response) {
+        String length = response.getHeader("Content-Length");
+        if (length != null) {
+            try {
+                return Long.parseLong(length.trim());
+            } catch (NumberFormatException ignored) {
+                // Fall through to the body itself
+            }
+        }
+        byte[] body = response.asByteArray();
+        return body == null ? 0 : body.length;
+    }
+
+    /**
+     * Snapshot of every route recorded so far, slowest total time first.
+     */
+    public static List<RouteSnapshot> snapshot() {
+        List<RouteSnapshot> list = new ArrayList<>();
+        for (Route route : INSTANCE.routes.values()) list.add(route.snapshot());
+        list.sort(Comparator.comparingDouble(RouteSnapshot::totalMillis).reversed());
+        return list;
+    }
+
+    /**
+     * Forget everything recorded so far, e.g. between benchmark phases.
+     */
+    public static void reset() {
+        INSTANCE.routes.clear();
+        INSTANCE.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Time since recording started or was last {@link #reset}; per-route throughput is measured over it.
+     */
+    public static long elapsedNanos() {
+        return System.nanoTime() - INSTANCE.startNanos;
+    }
+
+    /**
+     * Routes as a {@link PerfReport}: per-route latency percentiles, status counts and response sizes.
+     */
+    public static PerfReport report() {
+        Map<String, Object> byRoute = new LinkedHashMap<>();
+        for (RouteSnapshot s : snapshot()) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("total_ms", Math.round(s.totalMillis() * 1000) / 1000.0);
+            m.put("statuses", s.statuses());
+            m.put("latency", PerfReport.latency(s.latency()));
+            Map<String, Object> bytes = new LinkedHashMap<>();
+            bytes.put("total", s.totalBytes());
+            bytes.put("mean", Math.round(s.meanBytes()));
+            bytes.put("p99", s.bytes().getValueAtPercentile(99));
+            bytes.put("max", s.bytes().getMaxValue());
+            m.put("response_bytes", bytes);
+            byRoute.put(s.route(), m);
+        }
+        return new PerfReport("endpoints").put("routes", byRoute);
+    }
+
+    /**
+     * Human-readable table of the routes, slowest total time first.
+     */
+    public static String summary() {
+        StringBuilder sb = new StringBuilder(String.format("[endpoints] %-42s %7s %10s %8s %8s %8s %6s %9s%n",
+            "route", "calls", "total ms", "p50 ms", "p99 ms", "max ms", "4xx+", "avg bytes"));
+        for (RouteSnapshot s : snapshot()) {
+            Histogram h = s.latency();
+            long failures = s.statuses().entrySet().stream()
+                .filter(e -> e.getKey() >= 400 || e.getKey() == 0).mapToLong(Map.Entry::getValue).sum();
+            sb.append(String.format("[endpoints] %-42s %7d %10.1f %8.2f %8.2f %8.2f %6d %9.0f%n",
+                s.route(), h.getTotalCount(), s.totalMillis(), h.getValueAtPercentile(50) / 1000.0,
+                h.getValueAtPercentile(99) / 1000.0, h.getMaxValue() / 1000.0, failures, s.meanBytes()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Recorded data of one route at the time of the snapshot.
+     */
+    public static final class RouteSnapshot {
+        private final String route;
+        private final Histogram latency;
+        private final Histogram bytes;
+        private final long totalBytes;
+        private final Map<Integer, Long> statuses;
+
+        RouteSnapshot(String route, Histogram latency, Histogram bytes, long totalBytes, Map<Integer, Long> statuses) {
+            this.route = route;
+            this.latency = latency;
+            this.bytes = bytes;
+            this.totalBytes = totalBytes;
+            this.statuses = statuses;
+        }
+
+        /** The method and route template (e.g., "GET /todos/{id}"). */
+        public String route() { return route; }
+        /** Latencies in microseconds. */
+        public Histogram latency() { return latency; }
+        /** Response sizes in bytes. */
+        public Histogram bytes() { return bytes; }
+        /** Exact sum of the response sizes. */
+        public long totalBytes() { return totalBytes; }
+        /** Calls per status code; 0 stands for calls that failed without a response. */
+        public Map<Integer, Long> statuses() { return statuses; }
+
+        /** Mean response size in bytes. */
+        public double meanBytes() {
+            return bytes.getTotalCount() == 0 ? 0 : (double) totalBytes / bytes.getTotalCount();
+        }
+
+        /** Sum of all latencies of the route. */
+        public double totalMillis() {
+            return latency.getTotalCount() == 0 ? 0 : latency.getMean() * latency.getTotalCount() / 1000.0;
+        }
+    }
+
+    private static final class Route {
+        private static final long MAX_BYTES = 1L << 36;
+
+        private final String name;
+        private final Recorder latency = new Recorder(PerfReport.MAX_LATENCY_MICROS, 3);
+        private final Recorder bytes = new Recorder(MAX_BYTES, 2);
+        private final LongAdder totalBytes = new LongAdder();
+        private final AtomicLongArray statuses = new AtomicLongArray(600);
+        // Interval histograms drained from the recorders, guarded by this
+        private final Histogram latencyTotal = PerfReport.newHistogram();
+        private final Histogram bytesTotal = new Histogram(MAX_BYTES, 2);
+
+        Route(String name) {
+            this.name = name;
+        }
+
+        void record(long nanos, int status, long size) {
+            latency.recordValue(PerfReport.micros(nanos));
+            if (size >= 0) {
+                bytes.recordValue(Math.min(size, MAX_BYTES));
+                totalBytes.add(size);
+            }
+            statuses.incrementAndGet(status >= 0 && status < 600 ? status : 0);
+        }
+
+        synchronized RouteSnapshot snapshot() {
+            latencyTotal.add(latency.getIntervalHistogram());
+            bytesTotal.add(bytes.getIntervalHistogram());
+            Map<Integer, Long> counts = new LinkedHashMap<>();
+            for (int code = 0; code < statuses.length(); code++) {
+                long n = statuses.get(code);
+                if (n > 0) counts.put(code, n);
+            }
+            return new RouteSnapshot(name, latencyTotal.copy(), bytesTotal.copy(), totalBytes.sum(), counts);
+        }
+    }
+}
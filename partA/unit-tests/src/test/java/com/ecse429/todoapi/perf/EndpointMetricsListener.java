@@ -0,0 +1,21 @@
+package com.ecse429.todoapi.perf;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Publishes the {@link EndpointMetrics} report once the whole test plan has run.
+ * Registered with the JUnit Platform through META-INF/services.
+ */
+public class EndpointMetricsListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        try {
+            EndpointMetrics.publish();
+        } catch (Exception e) {
+            // Reporting must never fail the run
+            System.err.println("Warning: Could not publish endpoint metrics: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package com.ecse429.todoapi.perf;
+
+import com.ecse429.todoapi.CollectionReader;
+import com.ecse429.todoapi.TestHelper;
+import com.ecse429.todoapi.TestNamespace;
+import com.ecse429.todoapi.perf.ScalingBenchmark.Collection;
+import io.restassured.response.Response;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Relationship fan-out benchmark for the six relationship routes.
+ *
+ * For each route one owner is created and linked to more and more targets, from 1 up to
+ * the largest configured size. At every step the benchmark times the links that grew the
+ * fan-out, GET of the relationship list, unlinking a sample of targets (which are then
+ * linked again so the fan-out is kept), and GET of the owner itself, whose embedded
+ * relationship arrays grow with every link; for the two todo-owned routes that is
+ * GET /todos/{id}. Each measurement is fitted against the fan-out with {@link GrowthFit}.
+ *
+ * Routes that cannot link an existing object by id (the server answers 404, as for
+ * /categories/{id}/todos) are grown by creating each target through the relationship instead.
+ * Links and targets are created in parallel by a {@link Seeder}; everything is deleted at the end.
+ */
+public final class FanoutBenchmark {
+
+    /** Default fan-outs: 1 to 50k targets per owner. */
+    public static final String DEFAULT_SIZES = "1,10,100,1000,10000,50000";
+
+    /**
+     * A relationship route, /{owner}/{id}/{name}.
+     */
+    public enum Route {
+        PROJECT_TASKS(Collection.PROJECTS, "tasks", Collection.TODOS),
+        TODO_CATEGORIES(Collection.TODOS, "categories", Collection.CATEGORIES),
+        TODO_TASKSOF(Collection.TODOS, "tasksof", Collection.PROJECTS),
+        CATEGORY_TODOS(Collection.CATEGORIES, "todos", Collection.TODOS),
+        CATEGORY_PROJECTS(Collection.CATEGORIES, "projects", Collection.PROJECTS),
+        PROJECT_CATEGORIES(Collection.PROJECTS, "categories", Collection.CATEGORIES);
+
+        private final Collection owner;
+        private final String name;
+        private final Collection target;
+
+        Route(Collection owner, String name, Collection target) {
+            this.owner = owner;
+            this.name = name;
+            this.target = target;
+        }
+
+        /** The route template, e.g. "/projects/{id}/tasks". */
+        public String template() {
+            return owner.path() + "/{id}/" + name;
+        }
+
+        String path(String ownerId) {
+            return owner.path() + "/" + ownerId + "/" + name;
+        }
+
+        static Route fromTemplate(String template) {
+            for (Route r : values()) {
+                if (r.template().equals(template.trim())) return r;
+            }
+            throw new IllegalArgumentException("Unknown route in fanout.routes: " + template);
+        }
+    }
+
+    private final List<Route> routes;
+    private final int[] sizes;
+    private final int samples;
+    private final int seedConcurrency;
+
+    /** Link targets shared by every route, per target collection. */
+    private final Map<Collection, List<String>> targets = new EnumMap<>(Collection.class);
+    /** Everything created, for the final bulk delete. */
+    private final List<String> created = new ArrayList<>();
+
+    /**
+     * @param routes The routes to grow
+     * @param sizes Fan-outs to measure at, in any order
+     * @param samples Measured requests per step for list, owner GET and unlink
+     * @param seedConcurrency Parallel creates and links while growing
+     */
+    public FanoutBenchmark(List<Route> routes, int[] sizes, int samples, int seedConcurrency) {
+        if (routes.isEmpty()) throw new IllegalArgumentException("at least one route is required");
+        if (sizes.length == 0) throw new IllegalArgumentException("at least one size is required");
+        if (samples < 1) throw new IllegalArgumentException("samples must be at least 1");
+        this.routes = routes;
+        this.sizes = Arrays.stream(sizes).filter(s -> s > 0).sorted().distinct().toArray();
+        this.samples = samples;
+        this.seedConcurrency = seedConcurrency;
+        for (Collection c : Collection.values()) targets.put(c, new ArrayList<>());
+    }
+
+    /**
+     * Benchmark configured from system properties: fanout.routes (route templates separated by
+     * commas, default all six), fanout.sizes (default {@link #DEFAULT_SIZES}), fanout.samples
+     * (default 10) and fanout.seed.concurrency (default 32).
+     */
+    public static FanoutBenchmark fromSystemProperties() {
+        String spec = System.getProperty("fanout.routes", "");
+        List<Route> routes = new ArrayList<>();
+        for (String template : spec.split(",")) {
+            if (!template.isBlank()) routes.add(Route.fromTemplate(template));
+        }
+        if (routes.isEmpty()) routes.addAll(Arrays.asList(Route.values()));
+        int[] sizes = Arrays.stream(System.getProperty("fanout.sizes", DEFAULT_SIZES).split(","))
+            .map(String::trim).filter(s -> !s.isEmpty()).mapToInt(Integer::parseInt).toArray();
+        return new FanoutBenchmark(routes, sizes, Integer.getInteger("fanout.samples", 10),
+            Integer.getInteger("fanout.seed.concurrency", 32));
+    }
+
+    /**
+     * Grow every route through every fan-out, then delete what was created.
+     *
+     * @return One step per route and size, with the fitted growth curves
+     */
+    public Result run() {
+        List<Step> steps = new ArrayList<>();
+        Map<Route, Boolean> linksById = new EnumMap<>(Route.class);
+        try (Seeder seeder = new Seeder("fanout", seedConcurrency)) {
+            try {
+                for (Route route : routes) {
+                    String ownerId = route.owner.create("fanout-owner-" + route.name());
+                    created.add(route.owner.path() + "/" + ownerId);
+                    boolean byId = probeLinkById(route, ownerId);
+                    linksById.put(route, byId);
+
+                    List<String> linked = new ArrayList<>();
+                    if (byId) linked.add(targets.get(route.target).get(0));
+                    for (int size : sizes) {
+                        Recorder links = new Recorder(PerfReport.MAX_LATENCY_MICROS, 3);
+                        grow(seeder, route, ownerId, byId, linked, size, links);
+                        steps.add(measure(route, ownerId, byId, linked, links.getIntervalHistogram()));
+                        System.out.println("[fanout] " + steps.get(steps.size() - 1));
+                    }
+                }
+            } finally {
+                for (Map.Entry<Collection, List<String>> e : targets.entrySet()) {
+                    for (String id : e.getValue()) created.add(e.getKey().path() + "/" + id);
+                }
+                seeder.delete(created);
+            }
+        }
+        return new Result(steps, linksById);
+    }
+
+    /**
+     * Link one existing target by id. Routes that refuse (404) are grown by creating targets
+     * through the relationship; the target created for the probe is kept as unused.
+     */
+    private boolean probeLinkById(Route route, String ownerId) {
+        String targetId = route.target.create("fanout-target-" + route.target.root() + "-probe");
+        targets.get(route.target).add(0, targetId);
+        Response res = given()
+            .contentType("application/json")
+            .body(String.format("{\"id\":\"%s\"}", targetId))
+            .when().post(route.path(ownerId));
+        if (res.getStatusCode() == 404) return false;
+        res.then().statusCode(anyOf(is(200), is(201)));
+        return true;
+    }
+
+    private void grow(Seeder seeder, Route route, String ownerId, boolean byId,
+                      List<String> linked, int size, Recorder latencies) {
+        int from = linked.size();
+        if (from >= size) return;
+        if (byId) {
+            List<String> pool = targets.get(route.target);
+            if (pool.size() < size) {
+                int have = pool.size();
+                pool.addAll(seeder.run(have, size, i ->
+                    route.target.create("fanout-target-" + route.target.root() + "-" + i)));
+            }
+            List<String> next = pool.subList(from, size);
+            seeder.run(0, next.size(), i -> {
+                long start = System.nanoTime();
+                linkById(route, ownerId, next.get(i));
+                latencies.recordValue(PerfReport.micros(System.nanoTime() - start));
+                return next.get(i);
+            });
+            linked.addAll(next);
+        } else {
+            List<String> ids = seeder.run(from, size, i -> {
+                long start = System.nanoTime();
+                String id = linkNew(route, ownerId, "fanout-" + route.name() + "-" + i);
+                latencies.recordValue(PerfReport.micros(System.nanoTime() - start));
+                return id;
+            });
+            linked.addAll(ids);
+        }
+    }
+
+    private Step measure(Route route, String ownerId, boolean byId, List<String> linked, Histogram link) {
+        String listPath = route.path(ownerId);
+        String ownerPath = route.owner.path() + "/" + ownerId;
+        Histogram list = PerfReport.newHistogram();
+        Histogram owner = PerfReport.newHistogram();
+        Histogram unlink = PerfReport.newHistogram();
+        long listBytes = 0;
+        long ownerBytes = 0;
+        int listed = 0;
+
+        for (int i = 0; i < samples; i++) {
+            long t0 = System.nanoTime();
+            Response res = given().when().get(listPath);
+            list.recordValue(PerfReport.micros(System.nanoTime() - t0));
+            res.then().statusCode(200);
+            listBytes = res.asByteArray().length;
+            listed = CollectionReader.ids(res, route.target.root()).size();
+
+            long t1 = System.nanoTime();
+            Response item = given().when().get(ownerPath);
+            owner.recordValue(PerfReport.micros(System.nanoTime() - t1));
+            item.then().statusCode(200);
+            ownerBytes = item.asByteArray().length;
+        }
+
+        // Unlink the newest targets, then restore the fan-out before the next step
+        int n = Math.min(samples, linked.size());
+        for (int i = linked.size() - n; i < linked.size(); i++) {
+            String targetId = linked.get(i);
+            long t0 = System.nanoTime();
+            given().when().delete(listPath + "/" + targetId).then().statusCode(anyOf(is(200), is(204)));
+            unlink.recordValue(PerfReport.micros(System.nanoTime() - t0));
+            linked.set(i, byId ? linkById(route, ownerId, targetId)
+                : linkNew(route, ownerId, "fanout-" + route.name() + "-relink-" + i));
+        }
+        return new Step(route, linked.size(), listed, listBytes, ownerBytes, link, list, owner, unlink);
+    }
+
+    private static String linkById(Route route, String ownerId, String targetId) {
+        given()
+            .contentType("application/json")
+            .body(String.format("{\"id\":\"%s\"}", targetId))
+            .when().post(route.path(ownerId))
+            .then().statusCode(anyOf(is(200), is(201)));
+        return targetId;
+    }
+
+    private String linkNew(Route route, String ownerId, String label) {
+        String title = TestNamespace.qualify(label);
+        Response res = given()
+            .contentType("application/json")
+            .body(String.format("{\"title\":\"%s\"}", title))
+            .when().post(route.path(ownerId))
+            .then().statusCode(anyOf(is(200), is(201)))
+            .extract().response();
+        String id = TestHelper.extractId(res, route.target.root());
+        if (id == null) throw new IllegalStateException("link through " + route.template() + " returned no ID");
+        String path = route.target.path() + "/" + id;
+        synchronized (created) {
+            created.add(path);
+        }
+        return id;
+    }
+
+    /**
+     * Measurements for one route at one fan-out.
+     */
+    public static final class Step {
+        private final Route route;
+        private final int fanout;
+        private final int listed;
+        private final long listBytes;
+        private final long ownerBytes;
+        private final Histogram link;
+        private final Histogram list;
+        private final Histogram owner;
+        private final Histogram unlink;
+
+        Step(Route route, int fanout, int listed, long listBytes, long ownerBytes,
+             Histogram link, Histogram list, Histogram owner, Histogram unlink) {
+            this.route = route;
+            this.fanout = fanout;
+            this.listed = listed;
+            this.listBytes = listBytes;
+            this.ownerBytes = ownerBytes;
+            this.link = link;
+            this.list = list;
+            this.owner = owner;
+            this.unlink = unlink;
+        }
+
+        public Route route() { return route; }
+        /** Targets the benchmark has linked. */
+        public int fanout() { return fanout; }
+        /** Targets the relationship list returned. */
+        public int listed() { return listed; }
+        public long listBytes() { return listBytes; }
+        public long ownerBytes() { return ownerBytes; }
+        /** Links made to grow to this fan-out; empty when the fan-out did not grow. */
+        public Histogram link() { return link; }
+        public Histogram list() { return list; }
+        public Histogram owner() { return owner; }
+        public Histogram unlink() { return unlink; }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("fanout", fanout);
+            m.put("listed", listed);
+            m.put("list_bytes", listBytes);
+            m.put("owner_bytes", ownerBytes);
+            m.put("owner_bytes_per_link", fanout == 0 ? 0 : Math.round(ownerBytes * 10.0 / fanout) / 10.0);
+            m.put("link", PerfReport.latency(link));
+            m.put("list", PerfReport.latency(list));
+            m.put("owner_get", PerfReport.latency(owner));
+            m.put("unlink", PerfReport.latency(unlink));
+            return m;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-24s %6d linked %6d listed  link p50 %7.2f ms  list p50 %8.2f ms  unlink p50 %7.2f ms  owner %9d bytes",
+                route.template(), fanout, listed, link.getValueAtPercentile(50) / 1000.0,
+                list.getValueAtPercentile(50) / 1000.0, unlink.getValueAtPercentile(50) / 1000.0, ownerBytes);
+        }
+    }
+
+    /**
+     * Outcome of a fan-out run.
+     */
+    public static final class Result implements PerfResult {
+        private static final String[] METRICS = {"link", "list", "unlink", "owner_get", "list_bytes", "owner_bytes"};
+
+        private final List<Step> steps;
+        private final Map<Route, Boolean> linksById;
+
+        Result(List<Step> steps, Map<Route, Boolean> linksById) {
+            this.steps = steps;
+            this.linksById = linksById;
+        }
+
+        public List<Step> steps() {
+            return steps;
+        }
+
+        /**
+         * Fit of one measurement of one route against its fan-out.
+         *
+         * @param route The route
+         * @param metric One of "link", "list", "unlink", "owner_get", "list_bytes", "owner_bytes"
+         * @return The growth curve; p50 latencies are used for the timed metrics
+         */
+        public GrowthFit fit(Route route, String metric) {
+            List<Step> mine = new ArrayList<>();
+            for (Step s : steps) if (s.route == route) mine.add(s);
+            double[] x = new double[mine.size()];
+            double[] y = new double[mine.size()];
+            for (int i = 0; i < mine.size(); i++) {
+                x[i] = mine.get(i).fanout;
+                y[i] = value(mine.get(i), metric);
+            }
+            return GrowthFit.of(x, y);
+        }
+
+        private static double value(Step s, String metric) {
+            switch (metric) {
+                case "link": return s.link.getTotalCount() == 0 ? 0 : s.link.getValueAtPercentile(50);
+                case "list": return s.list.getValueAtPercentile(50);
+                case "unlink": return s.unlink.getValueAtPercentile(50);
+                case "owner_get": return s.owner.getValueAtPercentile(50);
+                case "list_bytes": return s.listBytes;
+                case "owner_bytes": return s.ownerBytes;
+                default: throw new IllegalArgumentException("Unknown metric " + metric);
+            }
+        }
+
+        /** Routes and metrics whose growth is super-linear, e.g. "/todos/{id}/categories list". */
+        public List<String> superLinear() {
+            List<String> flagged = new ArrayList<>();
+            for (Route route : linksById.keySet()) {
+                for (String metric : METRICS) {
+                    if (fit(route, metric).superLinear()) flagged.add(route.template() + " " + metric);
+                }
+            }
+            return flagged;
+        }
+
+        /**
+         * The run as a {@link PerfReport}: per-step measurements and the growth fits per route.
+         */
+        public PerfReport toReport() {
+            Map<String, Object> byRoute = new LinkedHashMap<>();
+            for (Map.Entry<Route, Boolean> e : linksById.entrySet()) {
+                Route route = e.getKey();
+                List<Object> rows = new ArrayList<>();
+                for (Step s : steps) if (s.route == route) rows.add(s.toMap());
+                Map<String, Object> fits = new LinkedHashMap<>();
+                for (String metric : METRICS) fits.put(metric, fit(route, metric).toMap());
+                Map<String, Object> m = new LinkedHashMap<>();
+                m.put("link_mode", e.getValue() ? "existing by id" : "created through relationship");
+                m.put("steps", rows);
+                m.put("growth", fits);
+                byRoute.put(route.template(), m);
+            }
+            return new PerfReport("fanout")
+                .put("routes", byRoute)
+                .put("super_linear", superLinear());
+        }
+
+        /**
+         * Growth of each metric per route as a fixed-width table.
+         */
+        public String summary() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("[fanout] %-24s %-12s %s%n", "route", "metric", "growth"));
+            for (Route route : linksById.keySet()) {
+                for (String metric : METRICS) {
+                    sb.append(String.format("[fanout] %-24s %-12s %s%n", route.template(), metric, fit(route, metric)));
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecse429.todoapi.perf;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Relationship fan-out benchmark for the Todo Manager API.
+ * Run with
+ * mvn test -Pperf -Dtest=FanoutTests [-Dfanout.sizes=1,10,100,1000 -Dfanout.routes=/todos/{id}/categories].
+ * Writes per-step link, list and unlink latency and owner payload size with the fitted
+ * growth curves to target/perf/fanout-report.json (override with -Dfanout.report).
+ */
+public class FanoutTests extends PerfTestBase {
+
+    @Test
+    void relationship_routes_scale_with_fanout() {
+        FanoutBenchmark.Result result = FanoutBenchmark.fromSystemProperties().run();
+        report("fanout", "fanout.report", "fanout-report.json", result);
+        if (!result.superLinear().isEmpty()) {
+            System.out.println("[fanout] super-linear growth: " + String.join(", ", result.superLinear()));
+        }
+        assertFalse(result.steps().isEmpty(), "no fan-out was measured");
+    }
+}
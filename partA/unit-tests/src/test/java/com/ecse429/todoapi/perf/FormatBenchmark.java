@@ -0,0 +1,395 @@
+package com.ecse429.todoapi.perf;
+
+import com.ecse429.todoapi.BulkDeleter;
+import com.ecse429.todoapi.ResourceRegistry;
+import com.ecse429.todoapi.TestHelper;
+import com.ecse429.todoapi.TestNamespace;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * The same workload in JSON and in XML, to see what each format costs.
+ *
+ * Each iteration creates a todo, a category and a project, reads it by ID, lists its
+ * collection, replaces it with PUT and links it with a fixture, once per format with the
+ * format as both Content-Type and Accept. The formats alternate which goes first, so both
+ * list collections of the same size. Per format, entity type and operation it reports the
+ * round-trip latency, request and response bytes, and the client's cost of parsing the
+ * response into a Jackson tree, which is timed apart from the round trip.
+ */
+public final class FormatBenchmark {
+
+    /** Wire format of request and response bodies. */
+    public enum Format {
+        JSON("application/json", new ObjectMapper()) {
+            @Override
+            String body(Entity entity, String title, String description) {
+                switch (entity) {
+                    case TODOS: return TestHelper.todoPayload(title, false, description);
+                    case CATEGORIES: return TestHelper.categoryPayload(title, description);
+                    default: return TestHelper.projectPayload(title, description);
+                }
+            }
+
+            @Override
+            String link(String targetSingular, String targetId) {
+                return "{\"id\":\"" + targetId + "\"}";
+            }
+        },
+        XML("application/xml", new XmlMapper()) {
+            @Override
+            String body(Entity entity, String title, String description) {
+                switch (entity) {
+                    case TODOS: return TestHelper.todoXmlPayload(title, false, description);
+                    case CATEGORIES: return TestHelper.categoryXmlPayload(title, description);
+                    default: return TestHelper.projectXmlPayload(title, description);
+                }
+            }
+
+            @Override
+            String link(String targetSingular, String targetId) {
+                return "<" + targetSingular + "><id>" + targetId + "</id></" + targetSingular + ">";
+            }
+        };
+
+        private final String mediaType;
+        private final ObjectMapper mapper;
+
+        Format(String mediaType, ObjectMapper mapper) {
+            this.mediaType = mediaType;
+            this.mapper = mapper;
+        }
+
+        abstract String body(Entity entity, String title, String description);
+
+        abstract String link(String targetSingular, String targetId);
+    }
+
+    /**
+     * Entity type, with the relationship its link operation goes through. Categories are
+     * linked from a project, since their own relationships refuse existing objects.
+     */
+    public enum Entity {
+        TODOS("todos", "todo") {
+            @Override
+            String linkPath(String id, Map<Entity, String> fixtures) {
+                return "/todos/" + id + "/categories";
+            }
+
+            @Override
+            Entity linkTarget() { return CATEGORIES; }
+        },
+        CATEGORIES("categories", "category") {
+            @Override
+            String linkPath(String id, Map<Entity, String> fixtures) {
+                return "/projects/" + fixtures.get(PROJECTS) + "/categories";
+            }
+
+            @Override
+            Entity linkTarget() { return this; }
+        },
+        PROJECTS("projects", "project") {
+            @Override
+            String linkPath(String id, Map<Entity, String> fixtures) {
+                return "/projects/" + id + "/tasks";
+            }
+
+            @Override
+            Entity linkTarget() { return TODOS; }
+        };
+
+        private final String root;
+        private final String singular;
+
+        Entity(String root, String singular) {
+            this.root = root;
+            this.singular = singular;
+        }
+
+        /** Relationship collection the link is posted to. */
+        abstract String linkPath(String id, Map<Entity, String> fixtures);
+
+        /** Type of the object linked: the new object itself, or a fixture of another type. */
+        abstract Entity linkTarget();
+    }
+
+    /** Operations of one iteration, in order. */
+    public enum Operation { CREATE, READ, LIST, UPDATE, LINK }
+
+    private final List<Format> formats;
+    private final int iterations;
+    private final int warmup;
+
+    /**
+     * @param formats Formats to compare; the first is the reference of the ratios
+     * @param iterations Measured iterations, each creating one object of every type per format
+     * @param warmup Unmeasured iterations before them
+     */
+    public FormatBenchmark(List<Format> formats, int iterations, int warmup) {
+        if (formats.isEmpty()) throw new IllegalArgumentException("at least one format is required");
+        if (iterations < 1) throw new IllegalArgumentException("iterations must be at least 1");
+        this.formats = formats;
+        this.iterations = iterations;
+        this.warmup = warmup;
+    }
+
+    /**
+     * Benchmark configured from -Dformat.formats (default json,xml), -Dformat.iterations
+     * (default 200) and -Dformat.warmup (default 20).
+     */
+    public static FormatBenchmark fromSystemProperties() {
+        List<Format> formats = new ArrayList<>();
+        for (String f : System.getProperty("format.formats", "json,xml").split(",")) {
+            if (!f.isBlank()) formats.add(Format.valueOf(f.trim().toUpperCase(Locale.ROOT)));
+        }
+        return new FormatBenchmark(formats, Integer.getInteger("format.iterations", 200),
+            Integer.getInteger("format.warmup", 20));
+    }
+
+    /**
+     * Run the warm-up and the measured iterations, then delete what they created.
+     *
+     * @return Cost of every format, entity type and operation
+     */
+    public Result run() {
+        Map<Entity, String> fixtures = new EnumMap<>(Entity.class);
+        fixtures.put(Entity.TODOS, TestHelper.createTodo("format-fixture", false, ""));
+        fixtures.put(Entity.CATEGORIES, TestHelper.createCategory("format-fixture", ""));
+        fixtures.put(Entity.PROJECTS, TestHelper.createProject("format-fixture", ""));
+
+        List<String> created = new ArrayList<>();
+        List<String> links = new ArrayList<>();
+        Map<String, Cell> discarded = new LinkedHashMap<>();
+        for (int i = 0; i < warmup; i++) iteration(i, fixtures, discarded, created, links);
+        Map<String, Cell> cells = new LinkedHashMap<>();
+        for (Format f : formats) for (Entity e : Entity.values()) for (Operation o : Operation.values()) {
+            cells.put(key(f, e, o), new Cell(f, e, o));
+        }
+        for (int i = 0; i < iterations; i++) iteration(i, fixtures, cells, created, links);
+
+        ResourceRegistry registry = TestNamespace.current().registry();
+        BulkDeleter.Result deleted = new BulkDeleter().deleteAll(created);
+        created.forEach(registry::forget);
+        // The links went with the objects they joined
+        links.forEach(registry::forget);
+        System.out.println("[format] deleted " + deleted);
+        return new Result(formats, new ArrayList<>(cells.values()));
+    }
+
+    private void iteration(int i, Map<Entity, String> fixtures, Map<String, Cell> cells,
+                           List<String> created, List<String> links) {
+        ResourceRegistry registry = TestNamespace.current().registry();
+        for (Entity entity : Entity.values()) {
+            for (int n = 0; n < formats.size(); n++) {
+                Format format = formats.get((n + i) % formats.size());
+                String title = TestNamespace.qualify("format-" + format.name().toLowerCase(Locale.ROOT) + "-" + i);
+                JsonNode node = exchange(cells, format, entity, Operation.CREATE, "POST", "/" + entity.root,
+                    format.body(entity, title, "created"), 201);
+                String id = node == null ? null : node.path("id").asText(null);
+                if (id == null) continue;
+                String path = "/" + entity.root + "/" + id;
+                created.add(path);
+                registry.trackEntity(path);
+
+                exchange(cells, format, entity, Operation.READ, "GET", path, null, 200);
+                exchange(cells, format, entity, Operation.LIST, "GET", "/" + entity.root, null, 200);
+                exchange(cells, format, entity, Operation.UPDATE, "PUT", path, format.body(entity, title, "updated"), 200);
+                String relationship = entity.linkPath(id, fixtures);
+                Entity targetType = entity.linkTarget();
+                String target = targetType == entity ? id : fixtures.get(targetType);
+                if (exchange(cells, format, entity, Operation.LINK, "POST", relationship,
+                        format.link(targetType.singular, target), 201) != null) {
+                    links.add(relationship + "/" + target);
+                    registry.trackLink(relationship + "/" + target);
+                }
+            }
+        }
+    }
+
+    /**
+     * Send one request in the format and parse the response.
+     *
+     * @return The parsed response, missing if it had no body; null if the status was not the expected one
+     */
+    private static JsonNode exchange(Map<String, Cell> cells, Format format, Entity entity, Operation op,
+                                     String method, String path, String body, int expected) {
+        Cell cell = cells.computeIfAbsent(key(format, entity, op), k -> new Cell(format, entity, op));
+        RequestSpecification spec = given().accept(format.mediaType);
+        if (body != null) spec.contentType(format.mediaType).body(body);
+        long start = System.nanoTime();
+        Response res = spec.when().request(method, path);
+        byte[] raw = res.asByteArray();
+        long elapsed = System.nanoTime() - start;
+
+        JsonNode node = MissingNode.getInstance();
+        long parseStart = System.nanoTime();
+        try {
+            if (raw.length > 0) node = format.mapper.readTree(raw);
+        } catch (IOException e) {
+            cell.errors++;
+        }
+        long parse = System.nanoTime() - parseStart;
+
+        cell.latency.recordValue(PerfReport.micros(elapsed));
+        cell.parseNanos.recordValue(Math.min(parse, cell.parseNanos.getHighestTrackableValue()));
+        cell.requestBytes += body == null ? 0 : body.getBytes(StandardCharsets.UTF_8).length;
+        cell.responseBytes += raw.length;
+        if (res.getStatusCode() != expected && !(op == Operation.CREATE && res.getStatusCode() == 200)) {
+            cell.errors++;
+            return null;
+        }
+        return node;
+    }
+
+    private static String key(Format f, Entity e, Operation o) {
+        return f + "/" + e + "/" + o;
+    }
+
+    /**
+     * Measurements of one format, entity type and operation.
+     */
+    public static final class Cell {
+        private final Format format;
+        private final Entity entity;
+        private final Operation operation;
+        private final Histogram latency = PerfReport.newHistogram();
+        private final Histogram parseNanos = new Histogram(PerfReport.MAX_LATENCY_MICROS * 1000, 3);
+        private long requestBytes;
+        private long responseBytes;
+        private long errors;
+
+        Cell(Format format, Entity entity, Operation operation) {
+            this.format = format;
+            this.entity = entity;
+            this.operation = operation;
+        }
+
+        public Format format() { return format; }
+        public Entity entity() { return entity; }
+        public Operation operation() { return operation; }
+        public long count() { return latency.getTotalCount(); }
+        public long errors() { return errors; }
+        /** Request plus response body bytes per call. */
+        public double bytesPerCall() { return count() == 0 ? 0 : (requestBytes + responseBytes) / (double) count(); }
+        /** Mean client parse time, in microseconds. */
+        public double parseMicros() { return parseNanos.getMean() / 1000.0; }
+        public double latencyP50Millis() { return latency.getValueAtPercentile(50) / 1000.0; }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("format", format.name().toLowerCase(Locale.ROOT));
+            m.put("entity", entity.root);
+            m.put("operation", operation.name().toLowerCase(Locale.ROOT));
+            m.put("request_bytes_mean", count() == 0 ? 0 : requestBytes / (double) count());
+            m.put("response_bytes_mean", count() == 0 ? 0 : responseBytes / (double) count());
+            m.put("parse_us_mean", Math.round(parseMicros() * 10) / 10.0);
+            m.put("parse_us_p99", parseNanos.getValueAtPercentile(99) / 1000.0);
+            m.put("errors", errors);
+            m.put("latency", PerfReport.latency(latency));
+            return m;
+        }
+    }
+
+    /**
+     * Outcome of a benchmark run.
+     */
+    public static final class Result implements PerfResult {
+        private final List<Format> formats;
+        private final List<Cell> cells;
+
+        Result(List<Format> formats, List<Cell> cells) {
+            this.formats = formats;
+            this.cells = cells;
+        }
+
+        public List<Cell> cells() {
+            return cells;
+        }
+
+        public long errors() {
+            return cells.stream().mapToLong(Cell::errors).sum();
+        }
+
+        /**
+         * Every cell as a {@link PerfReport}, with each format's ratios to the first per entity type and operation.
+         */
+        public PerfReport toReport() {
+            List<Object> rows = new ArrayList<>();
+            for (Cell c : cells) rows.add(c.toMap());
+            List<Object> ratios = new ArrayList<>();
+            Format base = formats.get(0);
+            for (Format f : formats.subList(1, formats.size())) {
+                for (Entity e : Entity.values()) for (Operation o : Operation.values()) {
+                    Cell c = find(f, e, o);
+                    Cell b = find(base, e, o);
+                    if (c == null || b == null || c.count() == 0 || b.count() == 0) continue;
+                    Map<String, Object> r = new LinkedHashMap<>();
+                    r.put("format", f.name().toLowerCase(Locale.ROOT) + "/" + base.name().toLowerCase(Locale.ROOT));
+                    r.put("entity", e.root);
+                    r.put("operation", o.name().toLowerCase(Locale.ROOT));
+                    r.put("latency_p50", ratio(c.latencyP50Millis(), b.latencyP50Millis()));
+                    r.put("bytes", ratio(c.bytesPerCall(), b.bytesPerCall()));
+                    r.put("parse", ratio(c.parseMicros(), b.parseMicros()));
+                    ratios.add(r);
+                }
+            }
+            return new PerfReport("format").put("cells", rows).put("ratios", ratios);
+        }
+
+        /**
+         * Per operation, each format's latency, bytes and parse time against the first, summed over entity types.
+         */
+        public String summary() {
+            StringBuilder sb = new StringBuilder();
+            Format base = formats.get(0);
+            for (Format f : formats.subList(1, formats.size())) {
+                for (Operation o : Operation.values()) {
+                    double[] mine = totals(f, o);
+                    double[] theirs = totals(base, o);
+                    sb.append(String.format("[format] %s %s vs %s: latency p50 %.2fx, bytes %.2fx, parse %.2fx%n",
+                        o.name().toLowerCase(Locale.ROOT), f.name().toLowerCase(Locale.ROOT),
+                        base.name().toLowerCase(Locale.ROOT),
+                        ratio(mine[0], theirs[0]), ratio(mine[1], theirs[1]), ratio(mine[2], theirs[2])));
+                }
+            }
+            return sb.toString();
+        }
+
+        private double[] totals(Format f, Operation o) {
+            double[] t = new double[3];
+            for (Entity e : Entity.values()) {
+                Cell c = find(f, e, o);
+                if (c == null) continue;
+                t[0] += c.latencyP50Millis();
+                t[1] += c.bytesPerCall();
+                t[2] += c.parseMicros();
+            }
+            return t;
+        }
+
+        private Cell find(Format f, Entity e, Operation o) {
+            for (Cell c : cells) if (c.format == f && c.entity == e && c.operation == o) return c;
+            return null;
+        }
+
+        private static double ratio(double a, double b) {
+            return b == 0 ? 0 : Math.round(a / b * 100) / 100.0;
+        }
+    }
+}
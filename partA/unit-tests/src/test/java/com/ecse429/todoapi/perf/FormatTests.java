@@ -0,0 +1,24 @@
+package com.ecse429.todoapi.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * JSON versus XML comparison for the Todo Manager API.
+ * Run with
+ * mvn test -Pperf -Dtest=FormatTests [-Dformat.formats=json,xml -Dformat.iterations=200].
+ * Writes latency, bytes and client parse time per format, entity type and operation to
+ * target/perf/format-report.json (override with -Dformat.report).
+ */
+public class FormatTests extends PerfTestBase {
+
+    @Test
+    void json_and_xml_compared() {
+        FormatBenchmark.Result result = ServerProfiler.profile("format", () -> FormatBenchmark.fromSystemProperties().run());
+        Path report = report("format", "format.report", "format-report.json", result);
+        assertEquals(0, result.errors(), "requests failed or did not parse; see " + report);
+    }
+}
@@ -0,0 +1,112 @@
+package com.ecse429.todoapi.perf;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Power-law fit of a measurement against the size of its input.
+ *
+ * Fits y = a * n^k by least squares on log(n) and log(y). An exponent near 1 is linear
+ * growth, near 0 constant, and clearly above 1 super-linear. Because a fixed per-request
+ * cost flattens the curve at small sizes, the exponent between the two largest sizes is
+ * reported as well; it is the one to watch for super-linear behaviour.
+ */
+public final class GrowthFit {
+
+    /** Exponent above which growth is reported as super-linear. */
+    public static final double SUPER_LINEAR = 1.15;
+
+    private final double exponent;
+    private final double coefficient;
+    private final double rSquared;
+    private final double tailExponent;
+    private final int points;
+
+    private GrowthFit(double exponent, double coefficient, double rSquared, double tailExponent, int points) {
+        this.exponent = exponent;
+        this.coefficient = coefficient;
+        this.rSquared = rSquared;
+        this.tailExponent = tailExponent;
+        this.points = points;
+    }
+
+    /**
+     * Fit y = a * n^k. Points where n or y is not positive are ignored.
+     *
+     * @param sizes The input sizes, e.g. number of items in a collection
+     * @param values The measurement at each size
+     * @return The fit; NaN fields when fewer than two points are usable
+     */
+    public static GrowthFit of(double[] sizes, double[] values) {
+        if (sizes.length != values.length) throw new IllegalArgumentException("sizes and values differ in length");
+        int n = 0;
+        double sx = 0, sy = 0, sxx = 0, sxy = 0, syy = 0;
+        double lastX = Double.NaN, lastY = Double.NaN, prevX = Double.NaN, prevY = Double.NaN;
+        for (int i = 0; i < sizes.length; i++) {
+            if (sizes[i] <= 0 || values[i] <= 0) continue;
+            double x = Math.log(sizes[i]);
+            double y = Math.log(values[i]);
+            n++;
+            sx += x;
+            sy += y;
+            sxx += x * x;
+            sxy += x * y;
+            syy += y * y;
+            prevX = lastX;
+            prevY = lastY;
+            lastX = x;
+            lastY = y;
+        }
+        double varX = n * sxx - sx * sx;
+        if (n < 2 || varX == 0) return new GrowthFit(Double.NaN, Double.NaN, Double.NaN, Double.NaN, n);
+
+        double k = (n * sxy - sx * sy) / varX;
+        double a = Math.exp((sy - k * sx) / n);
+        double varY = n * syy - sy * sy;
+        double r2 = varY == 0 ? 1 : Math.pow(n * sxy - sx * sy, 2) / (varX * varY);
+        double tail = lastX == prevX ? Double.NaN : (lastY - prevY) / (lastX - prevX);
+        return new GrowthFit(k, a, r2, tail, n);
+    }
+
+    public double exponent() { return exponent; }
+    public double coefficient() { return coefficient; }
+    public double rSquared() { return rSquared; }
+    public double tailExponent() { return tailExponent; }
+
+    /** Whether the overall or the tail exponent exceeds {@link #SUPER_LINEAR}. */
+    public boolean superLinear() {
+        return exponent > SUPER_LINEAR || tailExponent > SUPER_LINEAR;
+    }
+
+    /** "constant", "sub-linear", "linear" or "super-linear", judged on the larger of the two exponents. */
+    public String growth() {
+        double k = Double.isNaN(tailExponent) ? exponent : Math.max(exponent, tailExponent);
+        if (Double.isNaN(k)) return "unknown";
+        if (k > SUPER_LINEAR) return "super-linear";
+        if (k >= 0.85) return "linear";
+        if (k >= 0.15) return "sub-linear";
+        return "constant";
+    }
+
+    /**
+     * The fit as a report section.
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("points", points);
+        m.put("exponent", round(exponent));
+        m.put("tail_exponent", round(tailExponent));
+        m.put("r_squared", round(rSquared));
+        m.put("growth", growth());
+        return m;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n^%.2f (tail n^%.2f, r2=%.2f, %s)", exponent, tailExponent, rSquared, growth());
+    }
+
+    private static Object round(double v) {
+        return Double.isNaN(v) ? null : Math.round(v * 1000) / 1000.0;
+    }
+}
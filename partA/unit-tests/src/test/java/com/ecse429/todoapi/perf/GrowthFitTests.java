@@ -0,0 +1,67 @@
+package com.ecse429.todoapi.perf;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link GrowthFit} on exact power laws, where the fitted exponent is known.
+ */
+public class GrowthFitTests {
+
+    private static final double[] SIZES = {10, 100, 1_000, 10_000, 100_000};
+
+    private static double[] values(double a, double k) {
+        double[] values = new double[SIZES.length];
+        for (int i = 0; i < SIZES.length; i++) values[i] = a * Math.pow(SIZES[i], k);
+        return values;
+    }
+
+    @Test
+    void linear_data_fits_exponent_one() {
+        GrowthFit fit = GrowthFit.of(SIZES, values(3, 1));
+        assertEquals(1, fit.exponent(), 1e-9);
+        assertEquals(1, fit.tailExponent(), 1e-9);
+        assertEquals(3, fit.coefficient(), 1e-6);
+        assertEquals(1, fit.rSquared(), 1e-9);
+        assertEquals("linear", fit.growth());
+        assertFalse(fit.superLinear());
+    }
+
+    @Test
+    void quadratic_data_fits_exponent_two() {
+        GrowthFit fit = GrowthFit.of(SIZES, values(0.5, 2));
+        assertEquals(2, fit.exponent(), 1e-9);
+        assertEquals(2, fit.tailExponent(), 1e-9);
+        assertEquals("super-linear", fit.growth());
+        assertTrue(fit.superLinear());
+    }
+
+    @Test
+    void constant_data_fits_exponent_zero() {
+        GrowthFit fit = GrowthFit.of(SIZES, values(7, 0));
+        assertEquals(0, fit.exponent(), 1e-9);
+        assertEquals("constant", fit.growth());
+    }
+
+    @Test
+    void fixed_cost_flattens_the_overall_exponent_but_not_the_tail() {
+        double[] values = values(1, 1);
+        for (int i = 0; i < values.length; i++) values[i] += 1_000;
+        GrowthFit fit = GrowthFit.of(SIZES, values);
+        assertTrue(fit.exponent() < 0.85, fit.toString());
+        assertEquals(1, fit.tailExponent(), 0.05);
+        assertEquals("linear", fit.growth());
+    }
+
+    @Test
+    void points_that_are_not_positive_are_ignored() {
+        GrowthFit fit = GrowthFit.of(new double[] {0, 10, 100, 1_000}, new double[] {5, 20, 0, 2_000});
+        assertEquals(1, fit.exponent(), 1e-9);
+
+        GrowthFit single = GrowthFit.of(new double[] {10, 100}, new double[] {5, -1});
+        assertTrue(Double.isNaN(single.exponent()));
+        assertEquals("unknown", single.growth());
+        assertThrows(IllegalArgumentException.class, () -> GrowthFit.of(new double[] {1, 2}, new double[] {1}));
+    }
+}
@@ -0,0 +1,376 @@
+package com.ecse429.todoapi.perf;
+
+import com.ecse429.todoapi.BulkDeleter;
+import com.ecse429.todoapi.TestHelper;
+import com.ecse429.todoapi.TestNamespace;
+import com.ecse429.todoapi.perf.ScalingBenchmark.Collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Concurrent ID-allocation stress for POST /todos, /categories and /projects.
+ *
+ * Runs in stages of increasing concurrency. In each stage every virtual thread creates
+ * objects round-robin across the three collections and deletes a random one of its own
+ * with the configured probability after each create. Every returned ID goes into a
+ * concurrent map per collection together with whether it is still live, so the stress can tell:
+ * <ul>
+ *   <li>duplicates: an ID handed out while an earlier object with that ID is still live</li>
+ *   <li>reuses: an ID handed out again after its object was deleted</li>
+ *   <li>resets to 1: "1" handed out after higher IDs were seen in that collection</li>
+ *   <li>gaps: IDs between the lowest and highest of a stage that no create returned</li>
+ * </ul>
+ * The throughput of each stage is reported with its anomalies, so the load at which the
+ * first anomaly appears can be read off. Virtual threads wait on a semaphore before each
+ * request so no more than maxInFlight are on the wire; more would queue for a pooled
+ * connection while pinned to their carrier (see {@link LoadGenerator}).
+ */
+public final class IdAllocationStress {
+
+    /** Default stages: number of virtual threads in each. */
+    public static final String DEFAULT_THREADS = "50,100,200,400";
+
+    private static final Boolean LIVE = Boolean.TRUE;
+    private static final Boolean DELETED = Boolean.FALSE;
+
+    private final int[] stages;
+    private final int opsPerThread;
+    private final double deleteRatio;
+    private final int maxInFlight;
+
+    /** Every ID returned per collection, mapped to whether its object is still live. */
+    private final Map<Collection, Map<Long, Boolean>> seen = new EnumMap<>(Collection.class);
+    private final Map<Collection, AtomicLong> highest = new EnumMap<>(Collection.class);
+
+    /**
+     * @param stages Virtual threads per stage, run in the given order
+     * @param opsPerThread Creates per thread in each stage
+     * @param deleteRatio Probability of a delete after each create
+     * @param maxInFlight Requests on the wire at once; keep it below todo.http.maxPerRoute
+     */
+    public IdAllocationStress(int[] stages, int opsPerThread, double deleteRatio, int maxInFlight) {
+        if (stages.length == 0) throw new IllegalArgumentException("at least one stage is required");
+        if (opsPerThread < 1) throw new IllegalArgumentException("opsPerThread must be at least 1");
+        if (maxInFlight < 1) throw new IllegalArgumentException("maxInFlight must be at least 1");
+        this.stages = Arrays.stream(stages).filter(t -> t > 0).toArray();
+        this.opsPerThread = opsPerThread;
+        this.deleteRatio = Math.min(1, Math.max(0, deleteRatio));
+        this.maxInFlight = maxInFlight;
+        for (Collection c : Collection.values()) {
+            seen.put(c, new ConcurrentHashMap<>());
+            highest.put(c, new AtomicLong());
+        }
+    }
+
+    /**
+     * Stress configured from system properties: idalloc.threads (default {@link #DEFAULT_THREADS}),
+     * idalloc.opsPerThread (default 20), idalloc.deleteRatio (default 0.5) and
+     * idalloc.maxInFlight (default 64).
+     */
+    public static IdAllocationStress fromSystemProperties() {
+        int[] stages = Arrays.stream(System.getProperty("idalloc.threads", DEFAULT_THREADS).split(","))
+            .map(String::trim).filter(s -> !s.isEmpty()).mapToInt(Integer::parseInt).toArray();
+        return new IdAllocationStress(stages, Integer.getInteger("idalloc.opsPerThread", 20),
+            Double.parseDouble(System.getProperty("idalloc.deleteRatio", "0.5")),
+            Integer.getInteger("idalloc.maxInFlight", 64));
+    }
+
+    /**
+     * Run every stage, then delete whatever is still live.
+     *
+     * @return Per-stage throughput and anomalies
+     */
+    public Result run() {
+        List<Stage> results = new ArrayList<>();
+        try {
+            for (int threads : stages) {
+                Stage stage = runStage(threads);
+                results.add(stage);
+                System.out.println("[idalloc] " + stage);
+            }
+        } finally {
+            deleteLive();
+        }
+        return new Result(results);
+    }
+
+    private Stage runStage(int threads) {
+        Stage stage = new Stage(threads);
+        TestNamespace ns = TestNamespace.current();
+        Semaphore permits = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < threads; t++) {
+                int worker = t;
+                executor.submit(ns.bind(() -> work(worker, stage, permits)));
+            }
+        }
+        stage.elapsedNanos = System.nanoTime() - start;
+        for (Collection c : Collection.values()) stage.gaps.put(c, gaps(stage.returned.get(c).keySet()));
+        return stage;
+    }
+
+    private void work(int worker, Stage stage, Semaphore permits) {
+        Map<Collection, List<Long>> own = ownLists();
+        for (int i = 0; i < opsPerThread; i++) {
+            int op = i;
+            Collection c = Collection.values()[(worker + op) % Collection.values().length];
+            Long id = call(permits, () -> create(c, stage, worker, op));
+            List<Long> mine = own.get(c);
+            if (id != null) mine.add(id);
+
+            if (!mine.isEmpty() && ThreadLocalRandom.current().nextDouble() < deleteRatio) {
+                Long victim = mine.remove(ThreadLocalRandom.current().nextInt(mine.size()));
+                call(permits, () -> delete(c, victim, stage));
+            }
+        }
+    }
+
+    private static Map<Collection, List<Long>> ownLists() {
+        Map<Collection, List<Long>> lists = new EnumMap<>(Collection.class);
+        for (Collection c : Collection.values()) lists.put(c, new ArrayList<>());
+        return lists;
+    }
+
+    private static <T> T call(Semaphore permits, Supplier<T> request) {
+        permits.acquireUninterruptibly();
+        try {
+            return request.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Long create(Collection c, Stage stage, int worker, int op) {
+        String raw;
+        try {
+            raw = c.create("idalloc-" + stage.threads + "-" + worker + "-" + op);
+        } catch (Throwable e) {
+            // Status assertions surface as AssertionError, connection failures as unchecked exceptions
+            stage.failed.increment();
+            stage.firstError.compareAndSet(null, String.valueOf(e.getMessage()).strip());
+            return null;
+        }
+        stage.creates.increment();
+        Long id = parse(raw);
+        if (id == null) {
+            stage.failed.increment();
+            stage.firstError.compareAndSet(null, c.path() + " returned a non-numeric ID " + raw);
+            return null;
+        }
+
+        stage.returned.get(c).put(id, LIVE);
+        Boolean previous = seen.get(c).put(id, LIVE);
+        if (LIVE.equals(previous)) stage.duplicates.get(c).increment();
+        else if (DELETED.equals(previous)) stage.reuses.get(c).increment();
+        long max = highest.get(c).getAndAccumulate(id, Math::max);
+        if (id == 1 && max > 1) stage.resets.get(c).increment();
+        return id;
+    }
+
+    private Void delete(Collection c, Long id, Stage stage) {
+        // Mark first: a create racing with this delete may legitimately get the ID back
+        seen.get(c).put(id, DELETED);
+        try {
+            TestHelper.deleteIfExists(c.path() + "/" + id);
+            stage.deletes.increment();
+        } catch (Throwable e) {
+            stage.failed.increment();
+            stage.firstError.compareAndSet(null, String.valueOf(e.getMessage()).strip());
+        }
+        return null;
+    }
+
+    private void deleteLive() {
+        List<String> paths = new ArrayList<>();
+        for (Map.Entry<Collection, Map<Long, Boolean>> e : seen.entrySet()) {
+            for (Map.Entry<Long, Boolean> id : e.getValue().entrySet()) {
+                if (LIVE.equals(id.getValue())) paths.add(e.getKey().path() + "/" + id.getKey());
+            }
+        }
+        if (paths.isEmpty()) return;
+        BulkDeleter.Result result = new BulkDeleter().deleteAll(paths);
+        paths.forEach(TestNamespace.current().registry()::forget);
+        System.out.println("[idalloc] deleted " + result);
+    }
+
+    private static Long parse(String id) {
+        try {
+            return id == null ? null : Long.valueOf(id.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * IDs missing between the lowest and highest of a set.
+     */
+    static long gaps(Set<Long> ids) {
+        if (ids.isEmpty()) return 0;
+        TreeSet<Long> sorted = new TreeSet<>(ids);
+        return sorted.last() - sorted.first() + 1 - sorted.size();
+    }
+
+    /**
+     * One stage of the stress.
+     */
+    public static final class Stage {
+        private final int threads;
+        private final LongAdder creates = new LongAdder();
+        private final LongAdder deletes = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final AtomicReference<String> firstError = new AtomicReference<>();
+        private final Map<Collection, Map<Long, Boolean>> returned = new EnumMap<>(Collection.class);
+        private final Map<Collection, LongAdder> duplicates = new EnumMap<>(Collection.class);
+        private final Map<Collection, LongAdder> reuses = new EnumMap<>(Collection.class);
+        private final Map<Collection, LongAdder> resets = new EnumMap<>(Collection.class);
+        private final Map<Collection, Long> gaps = new EnumMap<>(Collection.class);
+        private long elapsedNanos;
+
+        Stage(int threads) {
+            this.threads = threads;
+            for (Collection c : Collection.values()) {
+                returned.put(c, new ConcurrentHashMap<>());
+                duplicates.put(c, new LongAdder());
+                reuses.put(c, new LongAdder());
+                resets.put(c, new LongAdder());
+            }
+        }
+
+        public int threads() { return threads; }
+        public long creates() { return creates.sum(); }
+        public long deletes() { return deletes.sum(); }
+        public long failed() { return failed.sum(); }
+        public String firstError() { return firstError.get(); }
+        public long duplicates(Collection c) { return duplicates.get(c).sum(); }
+        public long reuses(Collection c) { return reuses.get(c).sum(); }
+        public long resets(Collection c) { return resets.get(c).sum(); }
+        public long gaps(Collection c) { return gaps.get(c); }
+
+        /** Completed creates and deletes per second. */
+        public double throughput() {
+            return PerfReport.perSecond(creates() + deletes(), elapsedNanos);
+        }
+
+        public long duplicates() { return sum(duplicates); }
+        public long reuses() { return sum(reuses); }
+        public long resets() { return sum(resets); }
+
+        public long gaps() {
+            long total = 0;
+            for (Long g : gaps.values()) total += g;
+            return total;
+        }
+
+        /** Whether any ID was duplicated, reused, reset to 1 or skipped in this stage. */
+        public boolean anomalous() {
+            return duplicates() + reuses() + resets() + gaps() > 0;
+        }
+
+        private static long sum(Map<Collection, LongAdder> counts) {
+            long total = 0;
+            for (LongAdder a : counts.values()) total += a.sum();
+            return total;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("threads", threads);
+            m.put("elapsed_s", elapsedNanos / 1e9);
+            m.put("throughput_per_s", throughput());
+            m.put("creates", creates());
+            m.put("deletes", deletes());
+            m.put("failed", failed());
+            if (firstError() != null) m.put("first_error", firstError());
+            Map<String, Object> collections = new LinkedHashMap<>();
+            for (Collection c : Collection.values()) {
+                Map<String, Object> a = new LinkedHashMap<>();
+                a.put("ids", returned.get(c).size());
+                a.put("duplicates", duplicates(c));
+                a.put("reuses", reuses(c));
+                a.put("resets_to_1", resets(c));
+                a.put("gaps", gaps(c));
+                collections.put(c.path(), a);
+            }
+            m.put("collections", collections);
+            return m;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%4d threads %8.1f ops/s  %5d creates %5d deletes %3d failed  "
+                    + "duplicates %d  reuses %d  resets %d  gaps %d",
+                threads, throughput(), creates(), deletes(), failed(), duplicates(), reuses(), resets(), gaps());
+        }
+    }
+
+    /**
+     * Outcome of a stress run.
+     */
+    public static final class Result implements PerfResult {
+        private final List<Stage> stages;
+
+        Result(List<Stage> stages) {
+            this.stages = stages;
+        }
+
+        public List<Stage> stages() {
+            return stages;
+        }
+
+        /** The first stage with any anomaly, or null when every stage was clean. */
+        public Stage firstAnomalous() {
+            for (Stage s : stages) if (s.anomalous()) return s;
+            return null;
+        }
+
+        /** Duplicates over all stages: IDs handed out twice while both objects were live. */
+        public long duplicates() {
+            long total = 0;
+            for (Stage s : stages) total += s.duplicates();
+            return total;
+        }
+
+        /**
+         * The run as a {@link PerfReport}: every stage and the first one with anomalies.
+         */
+        public PerfReport toReport() {
+            List<Object> rows = new ArrayList<>();
+            for (Stage s : stages) rows.add(s.toMap());
+            Stage first = firstAnomalous();
+            Map<String, Object> onset = new LinkedHashMap<>();
+            if (first != null) {
+                onset.put("threads", first.threads);
+                onset.put("throughput_per_s", first.throughput());
+            }
+            return new PerfReport("idalloc")
+                .put("stages", rows)
+                .put("first_anomaly", first == null ? null : onset);
+        }
+
+        /**
+         * One line naming where anomalies first appeared.
+         */
+        public String summary() {
+            Stage first = firstAnomalous();
+            if (first == null) return "[idalloc] no anomaly in " + stages.size() + " stages\n";
+            return String.format("[idalloc] first anomaly at %d threads, %.1f ops/s%n", first.threads, first.throughput());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecse429.todoapi.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Concurrent ID-allocation stress for the Todo Manager API.
+ * Run with
+ * mvn test -Pperf -Dtest=IdAllocationTests [-Didalloc.threads=50,100,200,400 -Didalloc.deleteRatio=0.5].
+ * Writes per-stage throughput, duplicates, reuses, resets to 1 and gaps to
+ * target/perf/idalloc-report.json (override with -Didalloc.report).
+ * Fails when an ID is handed out twice while both objects are live; the other anomalies are reported only.
+ */
+public class IdAllocationTests extends PerfTestBase {
+
+    @Test
+    void ids_stay_unique_under_concurrent_creates_and_deletes() {
+        IdAllocationStress.Result result = IdAllocationStress.fromSystemProperties().run();
+        Path report = report("idalloc", "idalloc.report", "idalloc-report.json", result);
+        assertFalse(result.stages().isEmpty(), "no stage was run");
+        assertEquals(0, result.duplicates(), "IDs handed out twice while live; see " + report);
+    }
+}
@@ -0,0 +1,197 @@
+package com.ecse429.todoapi.perf;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hot methods, allocation pressure and GC pauses of a JFR recording.
+ *
+ * Hot methods are the top frames of the execution samples, counted per method. Allocation
+ * is the weight of the allocation samples, an estimate of the bytes allocated, per class
+ * of the allocated objects. GC pauses are summed over the garbage collections. When the
+ * recording is of a JVM shared with the tests, CPU and allocation samples are kept only
+ * if their stack passes through the HTTP server or the embedded Todo Manager.
+ */
+public final class JfrSummary {
+
+    private static final String[] SERVER_FRAMES = { "sun.net.httpserver.", "com.ecse429.todoapi.EmbeddedTodoServer" };
+
+    private final Path file;
+    private final long durationNanos;
+    private final boolean serverThreadsOnly;
+    private final long executionSamples;
+    private final List<Map.Entry<String, Long>> hotMethods;
+    private final long allocatedBytes;
+    private final List<Map.Entry<String, Long>> allocatingClasses;
+    private final long collections;
+    private final long pauseTotalNanos;
+    private final long pauseMaxNanos;
+
+    private JfrSummary(Path file, long durationNanos, boolean serverThreadsOnly, long executionSamples,
+                       List<Map.Entry<String, Long>> hotMethods, long allocatedBytes,
+                       List<Map.Entry<String, Long>> allocatingClasses, long collections,
+                       long pauseTotalNanos, long pauseMaxNanos) {
+        this.file = file;
+        this.durationNanos = durationNanos;
+        this.serverThreadsOnly = serverThreadsOnly;
+        this.executionSamples = executionSamples;
+        this.hotMethods = hotMethods;
+        this.allocatedBytes = allocatedBytes;
+        this.allocatingClasses = allocatingClasses;
+        this.collections = collections;
+        this.pauseTotalNanos = pauseTotalNanos;
+        this.pauseMaxNanos = pauseMaxNanos;
+    }
+
+    /**
+     * Summarize a recording.
+     *
+     * @param file The .jfr file
+     * @param durationNanos Length of the recorded phase
+     * @param serverThreadsOnly Keep only samples from the server's threads
+     * @param top Number of methods and classes to keep
+     * @return The summary
+     */
+    public static JfrSummary read(Path file, long durationNanos, boolean serverThreadsOnly, int top) throws IOException {
+        Map<String, Long> methods = new HashMap<>();
+        Map<String, Long> classes = new HashMap<>();
+        long samples = 0;
+        long allocated = 0;
+        long collections = 0;
+        long pauseTotal = 0;
+        long pauseMax = 0;
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent e = recording.readEvent();
+                switch (e.getEventType().getName()) {
+                    case "jdk.ExecutionSample": {
+                        RecordedStackTrace stack = e.getStackTrace();
+                        if (stack == null || stack.getFrames().isEmpty() || !keep(stack, serverThreadsOnly)) break;
+                        samples++;
+                        methods.merge(method(stack.getFrames().get(0)), 1L, Long::sum);
+                        break;
+                    }
+                    case "jdk.ObjectAllocationSample": {
+                        RecordedStackTrace stack = e.getStackTrace();
+                        if (stack != null && !keep(stack, serverThreadsOnly)) break;
+                        long weight = e.getLong("weight");
+                        allocated += weight;
+                        classes.merge(e.getClass("objectClass").getName(), weight, Long::sum);
+                        break;
+                    }
+                    case "jdk.GarbageCollection": {
+                        collections++;
+                        pauseTotal += e.getDuration("sumOfPauses").toNanos();
+                        pauseMax = Math.max(pauseMax, e.getDuration("longestPause").toNanos());
+                        break;
+                    }
+                    default:
+                        break;
+                }
+            }
+        }
+        return new JfrSummary(file, durationNanos, serverThreadsOnly, samples, top(methods, top), allocated,
+            top(classes, top), collections, pauseTotal, pauseMax);
+    }
+
+    private static boolean keep(RecordedStackTrace stack, boolean serverThreadsOnly) {
+        if (!serverThreadsOnly) return true;
+        for (RecordedFrame frame : stack.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            for (String server : SERVER_FRAMES) if (type.startsWith(server)) return true;
+        }
+        return false;
+    }
+
+    private static String method(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    private static List<Map.Entry<String, Long>> top(Map<String, Long> counts, int n) {
+        List<Map.Entry<String, Long>> sorted = new ArrayList<>(counts.entrySet());
+        sorted.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        return sorted.subList(0, Math.min(n, sorted.size()));
+    }
+
+    public long executionSamples() { return executionSamples; }
+    /** Methods with the most execution samples on top of the stack, most first. */
+    public List<Map.Entry<String, Long>> hotMethods() { return hotMethods; }
+    /** Estimated bytes allocated during the phase. */
+    public long allocatedBytes() { return allocatedBytes; }
+    public long collections() { return collections; }
+    public long pauseTotalNanos() { return pauseTotalNanos; }
+    public long pauseMaxNanos() { return pauseMaxNanos; }
+
+    /** Estimated allocation rate, in megabytes per second. */
+    public double allocationMbPerSecond() {
+        return durationNanos == 0 ? 0 : allocatedBytes / 1048576.0 / (durationNanos / 1e9);
+    }
+
+    /**
+     * The summary as a {@link PerfReport}.
+     *
+     * @param phase Name of the recorded phase
+     */
+    public PerfReport toReport(String phase) {
+        Map<String, Object> recording = new LinkedHashMap<>();
+        recording.put("phase", phase);
+        recording.put("file", file.toAbsolutePath().toString());
+        recording.put("duration_s", durationNanos / 1e9);
+        recording.put("samples", serverThreadsOnly ? "server threads of the test JVM" : "server process");
+
+        List<Object> hot = new ArrayList<>();
+        for (Map.Entry<String, Long> m : hotMethods) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("method", m.getKey());
+            row.put("samples", m.getValue());
+            row.put("percent", executionSamples == 0 ? 0 : Math.round(m.getValue() * 1000.0 / executionSamples) / 10.0);
+            hot.add(row);
+        }
+        Map<String, Object> allocation = new LinkedHashMap<>();
+        allocation.put("estimated_mb", Math.round(allocatedBytes / 1048576.0 * 10) / 10.0);
+        allocation.put("mb_per_s", Math.round(allocationMbPerSecond() * 10) / 10.0);
+        List<Object> byClass = new ArrayList<>();
+        for (Map.Entry<String, Long> c : allocatingClasses) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("class", c.getKey());
+            row.put("estimated_mb", Math.round(c.getValue() / 1048576.0 * 10) / 10.0);
+            byClass.add(row);
+        }
+        allocation.put("top_classes", byClass);
+        Map<String, Object> gc = new LinkedHashMap<>();
+        gc.put("collections", collections);
+        gc.put("pause_total_ms", pauseTotalNanos / 1e6);
+        gc.put("pause_max_ms", pauseMaxNanos / 1e6);
+        gc.put("pause_percent", durationNanos == 0 ? 0 : Math.round(pauseTotalNanos * 1000.0 / durationNanos) / 10.0);
+
+        return new PerfReport("jfr").put("recording", recording).put("execution_samples", executionSamples)
+            .put("hot_methods", hot).put("allocation", allocation).put("gc", gc);
+    }
+
+    /**
+     * Three lines: the hottest methods, allocation and GC pauses.
+     *
+     * @param phase Name of the recorded phase
+     */
+    public String summary(String phase) {
+        StringBuilder sb = new StringBuilder("[jfr] " + phase + " hot methods (" + executionSamples + " samples):");
+        for (Map.Entry<String, Long> m : hotMethods.subList(0, Math.min(3, hotMethods.size()))) {
+            sb.append(String.format(" %s %.1f%%", m.getKey(), m.getValue() * 100.0 / executionSamples));
+        }
+        sb.append(String.format("%n[jfr] %s allocation: ~%.1f MB/s", phase, allocationMbPerSecond()));
+        if (!allocatingClasses.isEmpty()) sb.append(", mostly ").append(allocatingClasses.get(0).getKey());
+        sb.append(String.format("%n[jfr] %s GC: %d collections, %.1f ms paused in total, longest %.1f ms%n",
+            phase, collections, pauseTotalNanos / 1e6, pauseMaxNanos / 1e6));
+        return sb.toString();
+    }
+}
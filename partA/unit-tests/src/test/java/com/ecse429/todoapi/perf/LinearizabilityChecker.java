@@ -0,0 +1,403 @@
+package com.ecse429.todoapi.perf;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Offline linearizability check of a history of operations on one entity.
+ *
+ * The entity is modelled as a sequential register holding its title, or nothing once it
+ * is deleted: PUT and POST amend write the title and answer 404 on a deleted entity, GET
+ * reads it, DELETE empties it and answers 404 when already empty. A history is
+ * linearizable if every operation can be placed at one instant between its invocation
+ * and its response so that the resulting sequence is legal for the register.
+ *
+ * The search is the Wing and Gong algorithm with Lowe's memoisation of (linearized set,
+ * state) pairs. To keep long histories tractable the history is first cut at quiescent
+ * points, where every earlier operation has responded before any later one was invoked;
+ * each segment is searched on its own, starting from every state the previous segment
+ * can end in. The last segment stops at the first legal ordering, so a history without
+ * quiescent points costs one ordinary search. A segment with no legal ordering is reported
+ * as a non-linearizable window, and checking resumes after it from every value written so far.
+ */
+public final class LinearizabilityChecker {
+
+    /** Status of an operation whose response never arrived; it may or may not have taken effect. */
+    public static final int UNKNOWN = -1;
+
+    /** Memory the memoised states of one search may take before the segment is reported as undecided. */
+    private static final long MAX_MEMO_BYTES = 256L << 20;
+
+    // Compared by identity: a register state can never be this instance
+    private static final String ILLEGAL = new String("illegal");
+
+    private LinearizabilityChecker() {
+    }
+
+    /**
+     * The kinds of operation in a history.
+     */
+    public enum Kind { PUT, AMEND, GET, DELETE }
+
+    /**
+     * One invocation and its response.
+     */
+    public static final class Op {
+        private final int client;
+        private final Kind kind;
+        private final String input;
+        private final int status;
+        private final String output;
+        private final long invokedNanos;
+        private final long respondedNanos;
+
+        /**
+         * @param client The client that issued the operation
+         * @param kind The operation
+         * @param input The title written by PUT and AMEND, otherwise null
+         * @param status 200, 404 or {@link #UNKNOWN}
+         * @param output The title read by a successful GET, otherwise null
+         * @param invokedNanos When the request was sent
+         * @param respondedNanos When the response was read; ignored for {@link #UNKNOWN}
+         */
+        public Op(int client, Kind kind, String input, int status, String output, long invokedNanos, long respondedNanos) {
+            this.client = client;
+            this.kind = kind;
+            this.input = input;
+            this.status = status;
+            this.output = output;
+            this.invokedNanos = invokedNanos;
+            // An operation without a response may take effect at any time after its invocation
+            this.respondedNanos = status == UNKNOWN ? Long.MAX_VALUE : respondedNanos;
+        }
+
+        public int client() { return client; }
+        public Kind kind() { return kind; }
+        public String input() { return input; }
+        public int status() { return status; }
+        public String output() { return output; }
+        public long invokedNanos() { return invokedNanos; }
+        public long respondedNanos() { return respondedNanos; }
+
+        Map<String, Object> toMap(long originNanos) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("client", client);
+            m.put("op", kind.name());
+            if (input != null) m.put("input", input);
+            m.put("status", status == UNKNOWN ? "unknown" : status);
+            if (output != null) m.put("output", output);
+            m.put("invoked_ms", millis(invokedNanos - originNanos));
+            m.put("responded_ms", respondedNanos == Long.MAX_VALUE ? null : millis(respondedNanos - originNanos));
+            return m;
+        }
+
+        @Override
+        public String toString() {
+            return "c" + client + " " + kind + (input == null ? "" : "(" + input + ")")
+                + " -> " + (status == UNKNOWN ? "?" : status) + (output == null ? "" : " " + output);
+        }
+    }
+
+    /**
+     * Check a history of one entity.
+     *
+     * @param history Operations in any order
+     * @param initial The title the entity was created with
+     * @return The outcome with every non-linearizable window
+     */
+    public static Verdict check(List<Op> history, String initial) {
+        List<Op> ops = new ArrayList<>(history);
+        ops.sort(Comparator.comparingLong(Op::invokedNanos));
+        long origin = ops.isEmpty() ? 0 : ops.get(0).invokedNanos;
+
+        List<Window> windows = new ArrayList<>();
+        Set<String> states = new LinkedHashSet<>();
+        states.add(initial);
+        Set<String> written = new LinkedHashSet<>(states);
+        written.add(null);
+        int segments = 0;
+
+        int start = 0;
+        long reach = Long.MIN_VALUE;
+        for (int i = 0; i <= ops.size(); i++) {
+            boolean cut = i == ops.size() || (i > start && ops.get(i).invokedNanos > reach);
+            if (cut && i > start) {
+                List<Op> segment = ops.subList(start, i);
+                segments++;
+                Search search = new Search(segment);
+                Set<String> next = new LinkedHashSet<>();
+                // Only a segment followed by another needs every state it can end in
+                boolean last = i == ops.size();
+                for (String state : states) {
+                    next.addAll(search.finalStates(state, last));
+                    if (last && !next.isEmpty()) break;
+                }
+                for (Op op : segment) if (op.input != null) written.add(op.input);
+                if (next.isEmpty() || search.undecided) {
+                    windows.add(new Window(segment, origin, search.deepest, search.undecided));
+                    next = new LinkedHashSet<>(written);
+                }
+                states = next;
+                start = i;
+            }
+            if (i < ops.size()) reach = Math.max(reach, ops.get(i).respondedNanos);
+        }
+        return new Verdict(ops.size(), segments, windows);
+    }
+
+    /**
+     * The register: the state after applying op to state, or {@link #ILLEGAL}.
+     */
+    private static String step(String state, Op op) {
+        boolean present = state != null;
+        switch (op.kind) {
+            case PUT:
+            case AMEND:
+                if (op.status == UNKNOWN) return present ? op.input : null;
+                if (op.status == 200) return present ? op.input : ILLEGAL;
+                return present ? ILLEGAL : null;
+            case GET:
+                if (op.status == UNKNOWN) return state;
+                if (op.status == 200) return present && state.equals(op.output) ? state : ILLEGAL;
+                return present ? ILLEGAL : null;
+            case DELETE:
+                if (op.status == UNKNOWN) return null;
+                if (op.status == 200) return present ? null : ILLEGAL;
+                return present ? ILLEGAL : null;
+            default:
+                throw new IllegalStateException("Unhandled operation " + op.kind);
+        }
+    }
+
+    /**
+     * Wing and Gong search over one segment, collecting every state a legal ordering ends in.
+     */
+    private static final class Search {
+        private final Entry head = new Entry(null, -1, false, 0);
+        private final int size;
+        private int deepest;
+        private boolean undecided;
+
+        Search(List<Op> ops) {
+            size = ops.size();
+            List<Entry> events = new ArrayList<>(ops.size() * 2);
+            for (int i = 0; i < ops.size(); i++) {
+                Op op = ops.get(i);
+                Entry call = new Entry(op, i, true, op.invokedNanos);
+                Entry ret = new Entry(op, i, false, op.respondedNanos);
+                call.match = ret;
+                events.add(call);
+                events.add(ret);
+            }
+            // Calls sort before returns at the same instant, which allows the most orderings
+            events.sort(Comparator.comparingLong((Entry e) -> e.time).thenComparing(e -> !e.call));
+            Entry prev = head;
+            for (Entry e : events) {
+                prev.next = e;
+                e.prev = prev;
+                prev = e;
+            }
+        }
+
+        /**
+         * @param initial The state before the segment
+         * @param firstOnly Stop at the first legal ordering instead of collecting every final state
+         * @return The states legal orderings end in; empty if there is none
+         */
+        Set<String> finalStates(String initial, boolean firstOnly) {
+            Set<String> finals = new HashSet<>();
+            Set<Memo> memo = new HashSet<>();
+            long memoBytes = 0;
+            Deque<Frame> stack = new ArrayDeque<>();
+            BitSet linearized = new BitSet(size);
+            String state = initial;
+            Entry entry = head.next;
+
+            while (true) {
+                if (head.next == null || (entry != null && !entry.call)) {
+                    // Either everything is linearized, or a pending return blocks this branch
+                    if (head.next == null) {
+                        finals.add(state);
+                        if (firstOnly) break;
+                    }
+                    if (stack.isEmpty()) break;
+                    Frame top = stack.pop();
+                    state = top.state;
+                    linearized = top.linearized;
+                    top.entry.unlift();
+                    entry = top.entry.next;
+                    continue;
+                }
+                if (entry == null) break;
+                String next = step(state, entry.op);
+                if (next != ILLEGAL) {
+                    BitSet with = (BitSet) linearized.clone();
+                    with.set(entry.id);
+                    if (memo.add(new Memo(with, next))) {
+                        memoBytes += with.size() / 8 + 64;
+                        if (memoBytes > MAX_MEMO_BYTES) {
+                            undecided = true;
+                            break;
+                        }
+                        stack.push(new Frame(entry, state, linearized));
+                        state = next;
+                        linearized = with;
+                        entry.lift();
+                        deepest = Math.max(deepest, stack.size());
+                        entry = head.next;
+                        continue;
+                    }
+                }
+                entry = entry.next;
+            }
+            // Restore the list for the next starting state
+            while (!stack.isEmpty()) stack.pop().entry.unlift();
+            return finals;
+        }
+    }
+
+    private static final class Entry {
+        final Op op;
+        final int id;
+        final boolean call;
+        final long time;
+        Entry match;
+        Entry prev;
+        Entry next;
+
+        Entry(Op op, int id, boolean call, long time) {
+            this.op = op;
+            this.id = id;
+            this.call = call;
+            this.time = time;
+        }
+
+        /** Take this call and its return out of the list. */
+        void lift() {
+            prev.next = next;
+            if (next != null) next.prev = prev;
+            match.prev.next = match.next;
+            if (match.next != null) match.next.prev = match.prev;
+        }
+
+        /** Put this call and its return back, in reverse order of {@link #lift}. */
+        void unlift() {
+            match.prev.next = match;
+            if (match.next != null) match.next.prev = match;
+            prev.next = this;
+            if (next != null) next.prev = this;
+        }
+    }
+
+    private static final class Frame {
+        final Entry entry;
+        final String state;
+        final BitSet linearized;
+
+        Frame(Entry entry, String state, BitSet linearized) {
+            this.entry = entry;
+            this.state = state;
+            this.linearized = linearized;
+        }
+    }
+
+    private static final class Memo {
+        final BitSet linearized;
+        final String state;
+
+        Memo(BitSet linearized, String state) {
+            this.linearized = linearized;
+            this.state = state;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Memo)) return false;
+            Memo m = (Memo) o;
+            return linearized.equals(m.linearized) && Objects.equals(state, m.state);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * linearized.hashCode() + Objects.hashCode(state);
+        }
+    }
+
+    /**
+     * A segment of the history with no legal ordering, or one too large to decide.
+     */
+    public static final class Window {
+        private final List<Op> ops;
+        private final long originNanos;
+        private final int linearizedPrefix;
+        private final boolean undecided;
+
+        Window(List<Op> ops, long originNanos, int linearizedPrefix, boolean undecided) {
+            this.ops = new ArrayList<>(ops);
+            this.originNanos = originNanos;
+            this.linearizedPrefix = linearizedPrefix;
+            this.undecided = undecided;
+        }
+
+        public List<Op> ops() { return ops; }
+        public boolean undecided() { return undecided; }
+        /** Most operations of the window any ordering managed to place. */
+        public int linearizedPrefix() { return linearizedPrefix; }
+
+        /**
+         * The window as a report section, listing at most maxOps of its operations.
+         */
+        public Map<String, Object> toMap(int maxOps) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("verdict", undecided ? "undecided" : "not linearizable");
+            m.put("start_ms", millis(ops.get(0).invokedNanos - originNanos));
+            long end = 0;
+            for (Op op : ops) if (op.respondedNanos != Long.MAX_VALUE) end = Math.max(end, op.respondedNanos);
+            m.put("end_ms", millis(end - originNanos));
+            m.put("operations", ops.size());
+            m.put("linearized_prefix", linearizedPrefix);
+            List<Object> listed = new ArrayList<>();
+            for (Op op : ops.subList(0, Math.min(maxOps, ops.size()))) listed.add(op.toMap(originNanos));
+            m.put("ops", listed);
+            return m;
+        }
+    }
+
+    /**
+     * Outcome of checking one history.
+     */
+    public static final class Verdict {
+        private final int operations;
+        private final int segments;
+        private final List<Window> windows;
+
+        Verdict(int operations, int segments, List<Window> windows) {
+            this.operations = operations;
+            this.segments = segments;
+            this.windows = windows;
+        }
+
+        public int operations() { return operations; }
+        /** Pieces the history was cut into at quiescent points. */
+        public int segments() { return segments; }
+        public List<Window> windows() { return windows; }
+
+        public boolean linearizable() {
+            return windows.isEmpty();
+        }
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecse429.todoapi.perf;
+
+import com.ecse429.todoapi.perf.LinearizabilityChecker.Kind;
+import com.ecse429.todoapi.perf.LinearizabilityChecker.Op;
+import com.ecse429.todoapi.perf.LinearizabilityChecker.Verdict;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.ecse429.todoapi.perf.LinearizabilityChecker.UNKNOWN;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link LinearizabilityChecker} on hand-built histories of one entity created as "a".
+ * Times are in arbitrary units; no server is involved.
+ */
+public class LinearizabilityCheckerTests {
+
+    private static Op put(int client, String title, long invoked, long responded) {
+        return new Op(client, Kind.PUT, title, 200, null, invoked, responded);
+    }
+
+    private static Op get(int client, String title, long invoked, long responded) {
+        return new Op(client, Kind.GET, null, 200, title, invoked, responded);
+    }
+
+    private static Op get404(int client, long invoked, long responded) {
+        return new Op(client, Kind.GET, null, 404, null, invoked, responded);
+    }
+
+    private static Op delete(int client, long invoked, long responded) {
+        return new Op(client, Kind.DELETE, null, 200, null, invoked, responded);
+    }
+
+    private static Op lostPut(int client, String title, long invoked) {
+        return new Op(client, Kind.PUT, title, UNKNOWN, null, invoked, 0);
+    }
+
+    @Test
+    void stale_read_after_completed_put_is_rejected() {
+        Op stale = get(2, "a", 20, 30);
+        Verdict verdict = LinearizabilityChecker.check(List.of(put(1, "b", 0, 10), stale), "a");
+
+        assertFalse(verdict.linearizable());
+        assertEquals(1, verdict.windows().size());
+        assertEquals(List.of(stale), verdict.windows().get(0).ops());
+        assertFalse(verdict.windows().get(0).undecided());
+    }
+
+    @Test
+    void read_during_put_may_see_either_value() {
+        for (String seen : new String[] {"a", "b"}) {
+            Verdict verdict = LinearizabilityChecker.check(List.of(put(1, "b", 0, 20), get(2, seen, 5, 15)), "a");
+            assertTrue(verdict.linearizable(), seen);
+        }
+    }
+
+    @Test
+    void overlapping_writes_are_accepted_in_either_order() {
+        for (String last : new String[] {"b", "c"}) {
+            List<Op> history = List.of(put(1, "b", 0, 20), put(2, "c", 5, 25), get(3, last, 30, 40));
+            assertTrue(LinearizabilityChecker.check(history, "a").linearizable(), last);
+        }
+        List<Op> neither = List.of(put(1, "b", 0, 20), put(2, "c", 5, 25), get(3, "a", 30, 40));
+        assertFalse(LinearizabilityChecker.check(neither, "a").linearizable());
+    }
+
+    @Test
+    void unknown_write_may_take_effect_or_not() {
+        assertTrue(LinearizabilityChecker.check(List.of(lostPut(1, "b", 0), get(2, "a", 10, 20)), "a").linearizable());
+        assertTrue(LinearizabilityChecker.check(List.of(lostPut(1, "b", 0), get(2, "b", 10, 20)), "a").linearizable());
+
+        // It may take effect late, but only once
+        Verdict late = LinearizabilityChecker.check(List.of(lostPut(1, "b", 0), get(2, "a", 10, 20), get(2, "b", 30, 40)), "a");
+        assertTrue(late.linearizable());
+        Verdict undone = LinearizabilityChecker.check(List.of(lostPut(1, "b", 0), get(2, "b", 10, 20), get(2, "a", 30, 40)), "a");
+        assertFalse(undone.linearizable());
+        // Without a response it never ends, so nothing after it is quiescent
+        assertEquals(1, undone.segments());
+    }
+
+    @Test
+    void get_404_without_delete_is_rejected() {
+        Verdict verdict = LinearizabilityChecker.check(List.of(put(1, "b", 0, 10), get404(2, 20, 30)), "a");
+        assertFalse(verdict.linearizable());
+
+        assertTrue(LinearizabilityChecker.check(List.of(delete(1, 0, 10), get404(2, 20, 30)), "a").linearizable());
+        assertTrue(LinearizabilityChecker.check(List.of(delete(1, 0, 20), get404(2, 5, 15)), "a").linearizable());
+    }
+
+    @Test
+    void quiescent_points_cut_segments_and_checking_resumes_after_a_window() {
+        Op stale = get(3, "a", 60, 70);
+        List<Op> history = List.of(
+            // Overlapping: one segment
+            put(1, "b", 0, 10), get(2, "b", 5, 15),
+            get(1, "b", 20, 30),
+            put(1, "c", 40, 50), put(2, "d", 45, 55),
+            // Nothing wrote "a" back
+            stale,
+            // Resumes from every value written so far
+            get(1, "c", 80, 90));
+        Verdict verdict = LinearizabilityChecker.check(history, "a");
+
+        assertEquals(7, verdict.operations());
+        assertEquals(5, verdict.segments());
+        assertEquals(1, verdict.windows().size());
+        assertEquals(List.of(stale), verdict.windows().get(0).ops());
+    }
+
+    @Test
+    void empty_history_is_linearizable() {
+        Verdict verdict = LinearizabilityChecker.check(List.of(), "a");
+        assertTrue(verdict.linearizable());
+        assertEquals(0, verdict.segments());
+    }
+}
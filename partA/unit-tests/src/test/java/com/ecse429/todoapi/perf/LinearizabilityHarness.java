@@ -0,0 +1,349 @@
+package com.ecse429.todoapi.perf;
+
+import com.ecse429.todoapi.TestHelper;
+import com.ecse429.todoapi.TestNamespace;
+import com.ecse429.todoapi.perf.LinearizabilityChecker.Kind;
+import com.ecse429.todoapi.perf.LinearizabilityChecker.Op;
+import com.ecse429.todoapi.perf.ScalingBenchmark.Collection;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Races PUT, POST amend, GET and DELETE from many clients against one entity and checks
+ * the recorded history with the {@link LinearizabilityChecker}.
+ *
+ * Each round creates a fresh todo, project or category, releases every client at once and
+ * lets each issue its share of operations drawn from the mix, with a short random pause
+ * in between so the history has quiescent points to be cut at. Every write sends a title
+ * no other operation uses, which is what lets reads be matched to writes. Invocation and
+ * response times are taken on the client around each call; a call that fails without a
+ * status is recorded as unknown. Clients run on platform threads (see {@link LoadGenerator}).
+ */
+public final class LinearizabilityHarness {
+
+    /** Default mix: mostly writes and reads, with a rare delete that ends the entity's life. */
+    public static final String DEFAULT_MIX = "put:30,amend:30,get:38,delete:2";
+
+    private final List<Collection> collections;
+    private final int rounds;
+    private final int clients;
+    private final int opsPerClient;
+    private final long maxPauseMicros;
+    private final Kind[] kinds;
+    private final int[] cumulativeWeights;
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    /**
+     * @param collections The kinds of entity to race on
+     * @param rounds Entities per collection, each raced on and checked separately
+     * @param clients Concurrent clients per round
+     * @param opsPerClient Operations each client issues per round
+     * @param maxPauseMicros Longest random pause between a client's operations
+     * @param mix Relative weight of each operation
+     */
+    public LinearizabilityHarness(List<Collection> collections, int rounds, int clients, int opsPerClient,
+                                  long maxPauseMicros, Map<Kind, Integer> mix) {
+        if (collections.isEmpty()) throw new IllegalArgumentException("at least one collection is required");
+        if (rounds < 1 || clients < 1 || opsPerClient < 1) {
+            throw new IllegalArgumentException("rounds, clients and opsPerClient must be at least 1");
+        }
+        this.collections = collections;
+        this.rounds = rounds;
+        this.clients = clients;
+        this.opsPerClient = opsPerClient;
+        this.maxPauseMicros = Math.max(0, maxPauseMicros);
+
+        List<Kind> ks = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Kind, Integer> e : mix.entrySet()) {
+            if (e.getValue() <= 0) continue;
+            total += e.getValue();
+            ks.add(e.getKey());
+            weights.add(total);
+        }
+        if (ks.isEmpty()) throw new IllegalArgumentException("mix has no operation with a positive weight");
+        this.kinds = ks.toArray(new Kind[0]);
+        this.cumulativeWeights = weights.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Harness configured from system properties: lin.collections (default todos,projects,categories),
+     * lin.rounds (default 10), lin.clients (default 8), lin.opsPerClient (default 50),
+     * lin.maxPauseMicros (default 2000) and lin.mix (default {@link #DEFAULT_MIX}).
+     */
+    public static LinearizabilityHarness fromSystemProperties() {
+        List<Collection> collections = new ArrayList<>();
+        for (String name : System.getProperty("lin.collections", "todos,projects,categories").split(",")) {
+            if (name.isBlank()) continue;
+            collections.add(Collection.valueOf(name.trim().toUpperCase()));
+        }
+        return new LinearizabilityHarness(collections, Integer.getInteger("lin.rounds", 10),
+            Integer.getInteger("lin.clients", 8), Integer.getInteger("lin.opsPerClient", 50),
+            Long.getLong("lin.maxPauseMicros", 2_000L), parseMix(System.getProperty("lin.mix", DEFAULT_MIX)));
+    }
+
+    /**
+     * Parse a mix of the form "put:30,amend:30,get:38,delete:2".
+     */
+    public static Map<Kind, Integer> parseMix(String spec) {
+        Map<Kind, Integer> mix = new EnumMap<>(Kind.class);
+        for (String part : spec.split(",")) {
+            if (part.isBlank()) continue;
+            String[] kv = part.trim().split(":");
+            if (kv.length != 2) throw new IllegalArgumentException("Bad lin.mix entry: " + part);
+            mix.merge(Kind.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()), Integer::sum);
+        }
+        return mix;
+    }
+
+    /**
+     * Run and check every round.
+     *
+     * @return The verdict of every round
+     */
+    public Result run() {
+        List<Round> results = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(clients, task -> {
+            Thread t = new Thread(task, "lin-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            for (Collection c : collections) {
+                for (int r = 0; r < rounds; r++) {
+                    Round round = runRound(c, r, executor);
+                    results.add(round);
+                    if (!round.verdict.linearizable()) System.out.println("[lin] " + round);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Result(results);
+    }
+
+    private Round runRound(Collection c, int r, ExecutorService executor) {
+        TestNamespace ns = TestNamespace.current();
+        String label = "lin-" + c.root() + "-" + r;
+        String initial = TestNamespace.qualify(label);
+        String id = c.create(label);
+        String path = c.path() + "/" + id;
+
+        ConcurrentLinkedQueue<Op> history = new ConcurrentLinkedQueue<>();
+        CountDownLatch ready = new CountDownLatch(clients);
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int client = 0; client < clients; client++) {
+            int me = client;
+            executor.execute(ns.bind(() -> {
+                try {
+                    ready.countDown();
+                    go.await();
+                    for (int i = 0; i < opsPerClient; i++) {
+                        history.add(invoke(c, path, me, TestNamespace.qualify(label + "-c" + me + "-" + i)));
+                        pause();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }));
+        }
+        await(ready);
+        go.countDown();
+        await(done);
+        TestHelper.deleteIfExists(path);
+
+        long start = System.nanoTime();
+        LinearizabilityChecker.Verdict verdict = LinearizabilityChecker.check(new ArrayList<>(history), initial);
+        return new Round(c, id, verdict, System.nanoTime() - start);
+    }
+
+    private Op invoke(Collection c, String path, int client, String title) {
+        Kind kind = pick();
+        String input = kind == Kind.PUT || kind == Kind.AMEND ? title : null;
+        long invoked = System.nanoTime();
+        try {
+            Response res;
+            switch (kind) {
+                case PUT:
+                    res = given().contentType("application/json")
+                        .body(String.format("{\"title\":\"%s\"}", input)).when().put(path);
+                    break;
+                case AMEND:
+                    res = given().contentType("application/json")
+                        .body(String.format("{\"title\":\"%s\"}", input)).when().post(path);
+                    break;
+                case GET:
+                    res = given().when().get(path);
+                    break;
+                case DELETE:
+                    res = given().when().delete(path);
+                    break;
+                default:
+                    throw new IllegalStateException("Unhandled operation " + kind);
+            }
+            long responded = System.nanoTime();
+            int status = res.getStatusCode();
+            if (status != 200 && status != 404) {
+                return new Op(client, kind, input, LinearizabilityChecker.UNKNOWN, null, invoked, responded);
+            }
+            String output = kind == Kind.GET && status == 200 ? title(res, c) : null;
+            return new Op(client, kind, input, status, output, invoked, responded);
+        } catch (RuntimeException e) {
+            // Connection failures leave the outcome open: the server may or may not have applied the call
+            return new Op(client, kind, input, LinearizabilityChecker.UNKNOWN, null, invoked, 0);
+        }
+    }
+
+    private static String title(Response res, Collection c) {
+        String title = res.path(c.root() + "[0].title");
+        return title != null ? title : res.path("title");
+    }
+
+    private Kind pick() {
+        int r = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) return kinds[i];
+        }
+        return kinds[kinds.length - 1];
+    }
+
+    private void pause() throws InterruptedException {
+        if (maxPauseMicros == 0) return;
+        TimeUnit.MICROSECONDS.sleep(ThreadLocalRandom.current().nextLong(maxPauseMicros + 1));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while racing clients", e);
+        }
+    }
+
+    /**
+     * One entity raced on and its verdict.
+     */
+    public static final class Round {
+        private final Collection collection;
+        private final String id;
+        private final LinearizabilityChecker.Verdict verdict;
+        private final long checkNanos;
+
+        Round(Collection collection, String id, LinearizabilityChecker.Verdict verdict, long checkNanos) {
+            this.collection = collection;
+            this.id = id;
+            this.verdict = verdict;
+            this.checkNanos = checkNanos;
+        }
+
+        public Collection collection() { return collection; }
+        public String id() { return id; }
+        public LinearizabilityChecker.Verdict verdict() { return verdict; }
+
+        @Override
+        public String toString() {
+            return String.format("%s/%s: %d ops in %d segments, %d non-linearizable windows (checked in %.1f ms)",
+                collection.path(), id, verdict.operations(), verdict.segments(), verdict.windows().size(), checkNanos / 1e6);
+        }
+    }
+
+    /**
+     * Outcome of a harness run.
+     */
+    public static final class Result implements PerfResult {
+        private static final int MAX_OPS_PER_WINDOW = 40;
+
+        private final List<Round> rounds;
+
+        Result(List<Round> rounds) {
+            this.rounds = rounds;
+        }
+
+        public List<Round> rounds() {
+            return rounds;
+        }
+
+        /** Non-linearizable or undecided windows over all rounds. */
+        public int windows() {
+            int total = 0;
+            for (Round r : rounds) total += r.verdict.windows().size();
+            return total;
+        }
+
+        /**
+         * The run as a {@link PerfReport}: totals per collection and every window found.
+         */
+        public PerfReport toReport() {
+            Map<Collection, long[]> totals = totals();
+            Map<String, Object> perCollection = new LinkedHashMap<>();
+            for (Map.Entry<Collection, long[]> e : totals.entrySet()) {
+                long[] t = e.getValue();
+                Map<String, Object> m = new LinkedHashMap<>();
+                m.put("rounds", t[0]);
+                m.put("operations", t[1]);
+                m.put("segments", t[2]);
+                m.put("windows", t[3]);
+                m.put("check_ms", Math.round(t[4] / 1e3) / 1e3);
+                perCollection.put(e.getKey().path(), m);
+            }
+            List<Object> windows = new ArrayList<>();
+            for (Round r : rounds) {
+                for (LinearizabilityChecker.Window w : r.verdict.windows()) {
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("entity", r.collection.path() + "/" + r.id);
+                    entry.putAll(w.toMap(MAX_OPS_PER_WINDOW));
+                    windows.add(entry);
+                }
+            }
+            return new PerfReport("linearizability")
+                .put("collections", perCollection)
+                .put("windows", windows);
+        }
+
+        /**
+         * Rounds, operations and windows per collection as a fixed-width table.
+         */
+        public String summary() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("[lin] %-12s %6s %10s %8s %8s%n", "collection", "rounds", "operations", "segments", "windows"));
+            for (Map.Entry<Collection, long[]> e : totals().entrySet()) {
+                long[] t = e.getValue();
+                sb.append(String.format("[lin] %-12s %6d %10d %8d %8d%n", e.getKey().path(), t[0], t[1], t[2], t[3]));
+            }
+            return sb.toString();
+        }
+
+        /** Rounds, operations, segments, windows and check nanos per collection. */
+        private Map<Collection, long[]> totals() {
+            Map<Collection, long[]> totals = new EnumMap<>(Collection.class);
+            for (Round r : rounds) {
+                long[] t = totals.computeIfAbsent(r.collection, k -> new long[5]);
+                t[0]++;
+                t[1] += r.verdict.operations();
+                t[2] += r.verdict.segments();
+                t[3] += r.verdict.windows().size();
+                t[4] += r.checkNanos;
+            }
+            return totals;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecse429.todoapi.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Linearizability check of concurrent CRUD on single entities of the Todo Manager API.
+ * Run with
+ * mvn test -Pperf -Dtest=LinearizabilityTests [-Dlin.clients=8 -Dlin.opsPerClient=50 -Dlin.rounds=10].
+ * Writes operation and window counts per collection and every non-linearizable window with
+ * its operations to target/perf/linearizability-report.json (override with -Dlin.report).
+ */
+public class LinearizabilityTests extends PerfTestBase {
+
+    @Test
+    void concurrent_crud_on_one_entity_is_linearizable() {
+        LinearizabilityHarness.Result result = LinearizabilityHarness.fromSystemProperties().run();
+        Path report = report("lin", "lin.report", "linearizability-report.json", result);
+        assertFalse(result.rounds().isEmpty(), "no round was run");
+        assertEquals(0, result.windows(), "non-linearizable histories; see " + report);
+    }
+}
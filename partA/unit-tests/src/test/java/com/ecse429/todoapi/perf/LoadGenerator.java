@@ -0,0 +1,525 @@
+package com.ecse429.todoapi.perf;
+
+import com.ecse429.todoapi.TestHelper;
+import com.ecse429.todoapi.TestNamespace;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Open-model load generator for the Todo Manager API.
+ *
+ * Requests are started at the times given by an {@link ArrivalProcess} on a cached pool
+ * of platform threads, and an operation is drawn from a weighted mix for every arrival.
+ * Virtual threads are not used here: RestAssured can block on a connection lease while
+ * pinned to its carrier, which starves the embedded server when it shares the JVM.
+ * Latency is measured from the scheduled start rather than the actual send, so time a
+ * request spends queued behind a slow server is counted instead of hidden.
+ * Objects are created through {@link TestHelper} in the caller's {@link TestNamespace},
+ * so the caller's teardown removes whatever is left at the end of the run.
+ */
+public final class LoadGenerator {
+
+    /**
+     * The operations the generator can issue.
+     */
+    public enum Operation {
+        CREATE_TODO("createTodo"),
+        CREATE_CATEGORY("createCategory"),
+        CREATE_PROJECT("createProject"),
+        GET_TODO("getTodo"),
+        GET_CATEGORY("getCategory"),
+        GET_PROJECT("getProject"),
+        UPDATE_TODO("updateTodo"),
+        LINK_TODO_CATEGORY("linkTodoCategory"),
+        LINK_TODO_PROJECT("linkTodoProject"),
+        DELETE_TODO("deleteTodo"),
+        DELETE_CATEGORY("deleteCategory"),
+        DELETE_PROJECT("deleteProject");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+
+        static Operation fromLabel(String label) {
+            for (Operation op : values()) {
+                if (op.label.equalsIgnoreCase(label)) return op;
+            }
+            throw new IllegalArgumentException("Unknown operation in load.mix: " + label);
+        }
+    }
+
+    /** Default mix: reads dominate, creates outpace deletes so the live pools stay populated; no updates. */
+    public static final String DEFAULT_MIX = "createTodo:15,createCategory:5,createProject:5,"
+        + "getTodo:25,getCategory:10,getProject:10,linkTodoCategory:8,linkTodoProject:7,"
+        + "deleteTodo:9,deleteCategory:3,deleteProject:3";
+
+    private final ArrivalProcess arrivals;
+    private final long durationNanos;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final int maxInFlight;
+    private final int seedPerCollection;
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> skipped = new EnumMap<>(Operation.class);
+    private final Map<Operation, String> firstErrors = new ConcurrentHashMap<>();
+    private final IdPool todos = new IdPool();
+    private final IdPool categories = new IdPool();
+    private final IdPool projects = new IdPool();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    /**
+     * @param arrivals When requests are started
+     * @param durationNanos How long to keep issuing requests
+     * @param mix Relative weight of each operation
+     * @param maxInFlight Cap on outstanding requests; arrivals beyond it are dropped and counted
+     * @param seedPerCollection Objects of each kind created before the run so reads have targets
+     */
+    public LoadGenerator(ArrivalProcess arrivals, long durationNanos, Map<Operation, Integer> mix,
+                         int maxInFlight, int seedPerCollection) {
+        if (durationNanos <= 0) throw new IllegalArgumentException("duration must be positive");
+        if (maxInFlight < 1) throw new IllegalArgumentException("maxInFlight must be at least 1");
+        this.arrivals = arrivals;
+        this.durationNanos = durationNanos;
+        this.maxInFlight = maxInFlight;
+        this.seedPerCollection = Math.max(1, seedPerCollection);
+
+        List<Operation> ops = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Operation, Integer> e : mix.entrySet()) {
+            if (e.getValue() <= 0) continue;
+            total += e.getValue();
+            ops.add(e.getKey());
+            weights.add(total);
+        }
+        if (ops.isEmpty()) throw new IllegalArgumentException("mix has no operation with a positive weight");
+        this.operations = ops.toArray(new Operation[0]);
+        this.cumulativeWeights = weights.stream().mapToInt(Integer::intValue).toArray();
+
+        for (Operation op : Operation.values()) {
+            recorders.put(op, new Recorder(PerfReport.MAX_LATENCY_MICROS, 3));
+            errors.put(op, new LongAdder());
+            skipped.put(op, new LongAdder());
+        }
+    }
+
+    /**
+     * Generator configured from system properties: the {@link ArrivalProcess#fromSystemProperties schedule},
+     * load.duration.seconds (default 30), load.mix (default {@link #DEFAULT_MIX}),
+     * load.maxInFlight (default 1000) and load.seed (default 10 per collection).
+     */
+    public static LoadGenerator fromSystemProperties() {
+        long durationNanos = (long) (Double.parseDouble(System.getProperty("load.duration.seconds", "30")) * 1e9);
+        return new LoadGenerator(ArrivalProcess.fromSystemProperties(durationNanos), durationNanos,
+            parseMix(System.getProperty("load.mix", DEFAULT_MIX)),
+            Integer.getInteger("load.maxInFlight", 1_000), Integer.getInteger("load.seed", 10));
+    }
+
+    /**
+     * Parse a mix of the form "createTodo:20,getTodo:30,...".
+     */
+    public static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            if (part.isBlank()) continue;
+            String[] kv = part.trim().split(":");
+            if (kv.length != 2) throw new IllegalArgumentException("Bad load.mix entry: " + part);
+            mix.merge(Operation.fromLabel(kv[0].trim()), Integer.parseInt(kv[1].trim()), Integer::sum);
+        }
+        return mix;
+    }
+
+    /**
+     * Seed the pools, issue requests for the configured duration and wait for all of them to finish.
+     *
+     * @return Per-operation latency histograms and counts
+     */
+    public Result run() {
+        return run(0, null);
+    }
+
+    /**
+     * Like {@link #run()}, also handing the latencies completed in each window of the run to a
+     * listener as the run goes. Windows are cut by the dispatching thread at the first arrival
+     * past a window's end; the time spent draining in-flight requests at the end is a last,
+     * shorter window, passed on only if it is at least half a window long.
+     *
+     * @param windowNanos Length of a window
+     * @param onWindow Called on the dispatching thread with each window
+     * @return Per-operation latency histograms and counts of the whole run
+     */
+    public Result run(long windowNanos, Consumer<Window> onWindow) {
+        if (onWindow != null && windowNanos <= 0) throw new IllegalArgumentException("window must be positive");
+        seed();
+        TestNamespace ns = TestNamespace.current();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long issued = 0;
+        long dropped = 0;
+        long start = System.nanoTime();
+        long offset = 0;
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        for (Operation op : Operation.values()) histograms.put(op, PerfReport.newHistogram());
+        long windowStart = start;
+        long windowIssued = 0;
+        long windowDropped = 0;
+        int windows = 0;
+        ExecutorService executor = Executors.newCachedThreadPool(task -> {
+            Thread t = new Thread(task, "load-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            while (offset < durationNanos) {
+                long intended = start + offset;
+                for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                long now = System.nanoTime();
+                if (onWindow != null && now - windowStart >= windowNanos) {
+                    onWindow.accept(window(windows++, windowStart - start, now - windowStart,
+                        windowIssued, windowDropped, histograms));
+                    windowStart = now;
+                    windowIssued = 0;
+                    windowDropped = 0;
+                }
+                Operation op = pick();
+                if (inFlight.tryAcquire()) {
+                    issued++;
+                    windowIssued++;
+                    executor.execute(ns.bind(() -> {
+                        try {
+                            execute(op, intended);
+                        } finally {
+                            inFlight.release();
+                        }
+                    }));
+                } else {
+                    dropped++;
+                    windowDropped++;
+                }
+                offset += arrivals.nextIntervalNanos(offset);
+            }
+        } finally {
+            executor.shutdown();
+            inFlight.acquireUninterruptibly(maxInFlight);
+        }
+        long end = System.nanoTime();
+        long elapsed = end - start;
+        Window last = window(windows, windowStart - start, end - windowStart, windowIssued, windowDropped, histograms);
+        if (onWindow != null && last.lengthNanos() * 2 >= windowNanos) onWindow.accept(last);
+
+        Map<Operation, long[]> counts = new EnumMap<>(Operation.class);
+        for (Operation op : Operation.values()) {
+            counts.put(op, new long[] { errors.get(op).sum(), skipped.get(op).sum() });
+        }
+        Map<Operation, String> messages = new EnumMap<>(Operation.class);
+        messages.putAll(firstErrors);
+        return new Result(arrivals.describe(), durationNanos, elapsed, issued, dropped, histograms, counts, messages);
+    }
+
+    /**
+     * Latencies recorded since the previous window, also added to the run's totals.
+     */
+    private Window window(int index, long offsetNanos, long lengthNanos, long issued, long dropped,
+                          Map<Operation, Histogram> totals) {
+        Histogram latency = PerfReport.newHistogram();
+        for (Operation op : Operation.values()) {
+            Histogram h = recorders.get(op).getIntervalHistogram();
+            totals.get(op).add(h);
+            latency.add(h);
+        }
+        return new Window(index, offsetNanos, lengthNanos, issued, dropped, latency);
+    }
+
+    private void seed() {
+        for (int i = 0; i < seedPerCollection; i++) {
+            todos.add(TestHelper.createTodo("load-seed-" + i, false, "load"));
+            categories.add(TestHelper.createCategory("load-seed-" + i, "load"));
+            projects.add(TestHelper.createProject("load-seed-" + i, "load"));
+        }
+    }
+
+    private Operation pick() {
+        int r = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) return operations[i];
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void execute(Operation op, long intendedNanos) {
+        boolean performed;
+        try {
+            performed = perform(op);
+        } catch (Throwable e) {
+            // Status assertions surface as AssertionError, connection failures as unchecked exceptions
+            errors.get(op).increment();
+            firstErrors.putIfAbsent(op, String.valueOf(e.getMessage()).strip());
+            performed = true;
+        }
+        if (performed) {
+            long latency = System.nanoTime() - intendedNanos;
+            recorders.get(op).recordValue(PerfReport.micros(latency));
+        } else {
+            skipped.get(op).increment();
+        }
+    }
+
+    /**
+     * @return false when the operation had no object to act on and was skipped
+     */
+    private boolean perform(Operation op) {
+        String label = "load-" + sequence.incrementAndGet();
+        switch (op) {
+            case CREATE_TODO:
+                return todos.add(TestHelper.createTodo(label, false, "load"));
+            case CREATE_CATEGORY:
+                return categories.add(TestHelper.createCategory(label, "load"));
+            case CREATE_PROJECT:
+                return projects.add(TestHelper.createProject(label, "load"));
+            case GET_TODO:
+                return get("/todos/", todos.newest());
+            case GET_CATEGORY:
+                return get("/categories/", categories.newest());
+            case GET_PROJECT:
+                return get("/projects/", projects.newest());
+            case UPDATE_TODO:
+                return update("/todos/", todos.newest(), label);
+            case LINK_TODO_CATEGORY:
+                return link(todos.newest(), "/categories", categories.newest());
+            case LINK_TODO_PROJECT:
+                return link(todos.newest(), "/tasksof", projects.newest());
+            case DELETE_TODO:
+                return delete("/todos/", todos.takeOldest(seedPerCollection));
+            case DELETE_CATEGORY:
+                return delete("/categories/", categories.takeOldest(seedPerCollection));
+            case DELETE_PROJECT:
+                return delete("/projects/", projects.takeOldest(seedPerCollection));
+            default:
+                throw new IllegalStateException("Unhandled operation " + op);
+        }
+    }
+
+    private static boolean get(String collectionPath, String id) {
+        if (id == null) return false;
+        given().when().get(collectionPath + id).then().statusCode(200);
+        return true;
+    }
+
+    private static boolean update(String collectionPath, String id, String label) {
+        if (id == null) return false;
+        given()
+            .contentType("application/json")
+            .body(String.format("{\"description\":\"%s\"}", label))
+            .when().post(collectionPath + id)
+            .then().statusCode(200);
+        return true;
+    }
+
+    private static boolean link(String todoId, String relationship, String targetId) {
+        if (todoId == null || targetId == null) return false;
+        given()
+            .contentType("application/json")
+            .body(String.format("{\"id\":\"%s\"}", targetId))
+            .when().post("/todos/" + todoId + relationship)
+            .then().statusCode(anyOf(is(200), is(201)));
+        return true;
+    }
+
+    private static boolean delete(String collectionPath, String id) {
+        if (id == null) return false;
+        TestHelper.deleteIfExists(collectionPath + id);
+        return true;
+    }
+
+    /**
+     * IDs created during the run. Reads and links target the newest objects, deletes
+     * take the oldest, and a floor keeps deletes from draining the pool for reads.
+     */
+    private static final class IdPool {
+        private final Deque<String> ids = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        boolean add(String id) {
+            if (id == null) throw new IllegalStateException("create did not return an ID");
+            ids.addLast(id);
+            size.incrementAndGet();
+            return true;
+        }
+
+        String newest() {
+            return ids.peekLast();
+        }
+
+        String takeOldest(int floor) {
+            if (size.decrementAndGet() < floor) {
+                size.incrementAndGet();
+                return null;
+            }
+            String id = ids.pollFirst();
+            if (id == null) size.incrementAndGet();
+            return id;
+        }
+    }
+
+    /**
+     * Latencies of the requests that completed in one window of a run.
+     */
+    public static final class Window {
+        private final int index;
+        private final long offsetNanos;
+        private final long lengthNanos;
+        private final long issued;
+        private final long dropped;
+        private final Histogram latency;
+
+        Window(int index, long offsetNanos, long lengthNanos, long issued, long dropped, Histogram latency) {
+            this.index = index;
+            this.offsetNanos = offsetNanos;
+            this.lengthNanos = lengthNanos;
+            this.issued = issued;
+            this.dropped = dropped;
+            this.latency = latency;
+        }
+
+        public int index() { return index; }
+        /** Start of the window from the start of the run. */
+        public long offsetNanos() { return offsetNanos; }
+        public long lengthNanos() { return lengthNanos; }
+        public long issued() { return issued; }
+        public long dropped() { return dropped; }
+        /** Latencies of all operations completed in the window, in microseconds. */
+        public Histogram latency() { return latency; }
+        /** Operations completed per second. */
+        public double throughput() { return PerfReport.perSecond(latency.getTotalCount(), lengthNanos); }
+    }
+
+    /**
+     * Outcome of a load run.
+     */
+    public static final class Result implements PerfResult {
+        private final String schedule;
+        private final long durationNanos;
+        private final long elapsedNanos;
+        private final long issued;
+        private final long dropped;
+        private final Map<Operation, Histogram> histograms;
+        private final Map<Operation, long[]> counts;
+        private final Map<Operation, String> firstErrors;
+
+        Result(String schedule, long durationNanos, long elapsedNanos, long issued, long dropped,
+               Map<Operation, Histogram> histograms, Map<Operation, long[]> counts, Map<Operation, String> firstErrors) {
+            this.schedule = schedule;
+            this.durationNanos = durationNanos;
+            this.elapsedNanos = elapsedNanos;
+            this.issued = issued;
+            this.dropped = dropped;
+            this.histograms = histograms;
+            this.counts = counts;
+            this.firstErrors = firstErrors;
+        }
+
+        public long issued() { return issued; }
+        public long dropped() { return dropped; }
+        public long elapsedNanos() { return elapsedNanos; }
+        public Histogram histogram(Operation op) { return histograms.get(op); }
+        public long errors(Operation op) { return counts.get(op)[0]; }
+        public long skipped(Operation op) { return counts.get(op)[1]; }
+        public String firstError(Operation op) { return firstErrors.get(op); }
+
+        /** Latencies of every operation combined. */
+        public Histogram overall() {
+            Histogram all = PerfReport.newHistogram();
+            histograms.values().forEach(all::add);
+            return all;
+        }
+
+        /**
+         * The run as a {@link PerfReport}: schedule, achieved throughput and per-operation percentiles.
+         */
+        public PerfReport toReport() {
+            Map<String, Object> run = new LinkedHashMap<>();
+            run.put("schedule", schedule);
+            run.put("duration_s", durationNanos / 1e9);
+            run.put("elapsed_s", elapsedNanos / 1e9);
+            run.put("issued", issued);
+            run.put("dropped", dropped);
+            run.put("offered_per_s", PerfReport.perSecond(issued + dropped, durationNanos));
+
+            Histogram all = overall();
+            Map<String, Object> overall = new LinkedHashMap<>();
+            overall.put("throughput_per_s", PerfReport.perSecond(all.getTotalCount(), elapsedNanos));
+            overall.put("latency", PerfReport.latency(all));
+
+            Map<String, Object> operations = new LinkedHashMap<>();
+            for (Operation op : Operation.values()) {
+                Histogram h = histograms.get(op);
+                if (h.getTotalCount() == 0 && skipped(op) == 0) continue;
+                Map<String, Object> m = new LinkedHashMap<>();
+                m.put("throughput_per_s", PerfReport.perSecond(h.getTotalCount(), elapsedNanos));
+                m.put("errors", errors(op));
+                if (firstError(op) != null) m.put("first_error", firstError(op));
+                m.put("skipped", skipped(op));
+                m.put("latency", PerfReport.latency(h));
+                operations.put(op.label(), m);
+            }
+            return new PerfReport("load").put("run", run).put("overall", overall).put("operations", operations);
+        }
+
+        /**
+         * Human-readable table of per-operation throughput and percentiles.
+         */
+        public String summary() {
+            StringBuilder sb = new StringBuilder(String.format(
+                "[load] %s for %.1fs: %d issued, %d dropped%n", schedule, durationNanos / 1e9, issued, dropped));
+            sb.append(String.format("%-18s %8s %8s %7s %9s %9s %9s %9s%n",
+                "operation", "count", "ops/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms"));
+            for (Operation op : Operation.values()) {
+                Histogram h = histograms.get(op);
+                if (h.getTotalCount() == 0) continue;
+                sb.append(row(op.label(), h, errors(op)));
+            }
+            long totalErrors = counts.values().stream().mapToLong(c -> c[0]).sum();
+            sb.append(row("all", overall(), totalErrors));
+            firstErrors.forEach((op, message) -> sb.append(String.format("first %s error: %s%n", op.label(), message)));
+            return sb.toString();
+        }
+
+        private String row(String label, Histogram h, long errorCount) {
+            return String.format("%-18s %8d %8.1f %7d %9.2f %9.2f %9.2f %9.2f%n", label, h.getTotalCount(),
+                PerfReport.perSecond(h.getTotalCount(), elapsedNanos), errorCount,
+                h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(90) / 1000.0,
+                h.getValueAtPercentile(99) / 1000.0, h.getValueAtPercentile(99.9) / 1000.0);
+        }
+    }
+}
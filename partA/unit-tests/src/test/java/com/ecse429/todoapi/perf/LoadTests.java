@@ -0,0 +1,22 @@
+package com.ecse429.todoapi.perf;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Open-model load run against the Todo Manager API.
+ * Run with
+ * mvn test -Pperf -Dtest=LoadTests [-Dload.profile=poisson -Dload.rate=200 -Dload.duration.seconds=60].
+ * Writes per-operation p50/p90/p99/p99.9 and throughput to target/perf/load-report.json
+ * (override with -Dload.report).
+ */
+public class LoadTests extends PerfTestBase {
+
+    @Test
+    void open_model_load_run() {
+        LoadGenerator.Result result = ServerProfiler.profile("load", () -> LoadGenerator.fromSystemProperties().run());
+        report("load", "load.report", "load-report.json", result);
+        assertTrue(result.overall().getTotalCount() > 0, "no request completed");
+    }
+}
@@ -0,0 +1,141 @@
+package com.ecse429.todoapi.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+
+/**
+ * Per-route latency and throughput of a run, stored to compare later runs against.
+ *
+ * Baselines live in perf-baselines/{name}.json in the unit-tests module (override the
+ * directory with -Dperf.baseline.dir) and are meant to be committed with the code they
+ * measure. Each route keeps its call count and its whole latency histogram, compressed
+ * and Base64-encoded, so later runs can be compared on any percentile with confidence
+ * intervals; p50, p90 and p99 are written alongside for reading. The file carries a
+ * format version so older baselines can be recognised.
+ */
+public final class PerfBaseline {
+
+    /** Format of the file; bump it when the layout changes. */
+    public static final int VERSION = 1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final String recorded;
+    private final long elapsedNanos;
+    private final Map<String, Histogram> routes;
+
+    /**
+     * @param recorded When the run happened, ISO-8601
+     * @param elapsedNanos Length of the run, over which throughput is measured
+     * @param routes Latency histogram of each route, in microseconds
+     */
+    public PerfBaseline(String recorded, long elapsedNanos, Map<String, Histogram> routes) {
+        this.recorded = recorded;
+        this.elapsedNanos = elapsedNanos;
+        this.routes = Collections.unmodifiableMap(new TreeMap<>(routes));
+    }
+
+    /**
+     * Everything {@link EndpointMetrics} has recorded in this run.
+     */
+    public static PerfBaseline fromEndpointMetrics() {
+        Map<String, Histogram> routes = new TreeMap<>();
+        for (EndpointMetrics.RouteSnapshot s : EndpointMetrics.snapshot()) routes.put(s.route(), s.latency());
+        return new PerfBaseline(Instant.now().toString(), EndpointMetrics.elapsedNanos(), routes);
+    }
+
+    /**
+     * The baseline file of a name.
+     *
+     * @param name Baseline name, e.g. "load"
+     */
+    public static Path file(String name) {
+        return Paths.get(System.getProperty("perf.baseline.dir", "perf-baselines")).resolve(name + ".json");
+    }
+
+    public String recorded() { return recorded; }
+    public long elapsedNanos() { return elapsedNanos; }
+    /** Latency histogram of each route, by "METHOD /template". */
+    public Map<String, Histogram> routes() { return routes; }
+
+    /** Calls per second of a route over the run. */
+    public double throughput(String route) {
+        Histogram h = routes.get(route);
+        return h == null ? 0 : PerfReport.perSecond(h.getTotalCount(), elapsedNanos);
+    }
+
+    /**
+     * Write the baseline as JSON, creating its directory.
+     *
+     * @return The path written
+     */
+    public Path write(Path path) {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("kind", "perf-baseline");
+        root.put("version", VERSION);
+        root.put("recorded", recorded);
+        root.put("elapsed_s", elapsedNanos / 1e9);
+        ObjectNode byRoute = root.putObject("routes");
+        for (Map.Entry<String, Histogram> e : routes.entrySet()) {
+            Histogram h = e.getValue();
+            ObjectNode r = byRoute.putObject(e.getKey());
+            r.put("calls", h.getTotalCount());
+            r.put("throughput_per_s", throughput(e.getKey()));
+            r.put("p50_ms", h.getValueAtPercentile(50) / 1000.0);
+            r.put("p90_ms", h.getValueAtPercentile(90) / 1000.0);
+            r.put("p99_ms", h.getValueAtPercentile(99) / 1000.0);
+            ByteBuffer buffer = ByteBuffer.allocate(h.getNeededByteBufferCapacity());
+            int length = h.encodeIntoCompressedByteBuffer(buffer);
+            r.put("histogram", Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length)));
+        }
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            MAPPER.writeValue(path.toFile(), root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write baseline " + path, e);
+        }
+        return path;
+    }
+
+    /**
+     * Read a baseline written by {@link #write}.
+     *
+     * @throws IllegalStateException If the file is of another format version
+     */
+    public static PerfBaseline read(Path path) throws IOException {
+        JsonNode root = MAPPER.readTree(path.toFile());
+        if (root.path("version").asInt() != VERSION) {
+            throw new IllegalStateException(path + " is baseline version " + root.path("version").asInt()
+                + ", expected " + VERSION + "; record it again with -Dperf.baseline.update=true");
+        }
+        Map<String, Histogram> routes = new TreeMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = root.path("routes").fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> e = it.next();
+            byte[] encoded = Base64.getDecoder().decode(e.getValue().path("histogram").asText());
+            try {
+                routes.put(e.getKey(), Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(encoded), PerfReport.MAX_LATENCY_MICROS));
+            } catch (DataFormatException ex) {
+                throw new IOException("corrupt histogram for " + e.getKey() + " in " + path, ex);
+            }
+        }
+        return new PerfBaseline(root.path("recorded").asText(), (long) (root.path("elapsed_s").asDouble() * 1e9), routes);
+    }
+}
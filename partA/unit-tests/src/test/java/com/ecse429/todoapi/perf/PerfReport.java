@@ -0,0 +1,112 @@
+package com.ecse429.todoapi.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Machine-readable report for the performance harnesses.
+ *
+ * A report is an ordered tree of sections written as JSON under target/perf
+ * (override with -Dperf.dir). Latencies are recorded in microseconds and
+ * reported in milliseconds.
+ */
+public final class PerfReport {
+
+    /** Highest latency a histogram tracks before clamping: one minute, in microseconds. */
+    public static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, Object> root = new LinkedHashMap<>();
+
+    /**
+     * @param kind The harness that produced the report (e.g., "load")
+     */
+    public PerfReport(String kind) {
+        root.put("kind", kind);
+        root.put("timestamp", Instant.now().toString());
+    }
+
+    /**
+     * Add or replace a top-level section.
+     *
+     * @param key The section name
+     * @param value Any value Jackson can serialize
+     * @return This report
+     */
+    public PerfReport put(String key, Object value) {
+        root.put(key, value);
+        return this;
+    }
+
+    /**
+     * Write the report as JSON.
+     *
+     * @param fileName File name within the report directory, or an absolute path
+     * @return The path written
+     */
+    public Path write(String fileName) {
+        Path path = Paths.get(System.getProperty("perf.dir", "target/perf")).resolve(fileName);
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            MAPPER.writeValue(path.toFile(), root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write report " + path, e);
+        }
+        return path;
+    }
+
+    /**
+     * A histogram sized for request latencies in microseconds with 3 significant digits.
+     */
+    public static Histogram newHistogram() {
+        return new Histogram(MAX_LATENCY_MICROS, 3);
+    }
+
+    /**
+     * Convert a latency to the microseconds histograms record, clamped to the trackable range.
+     *
+     * @param nanos The latency in nanoseconds
+     * @return The value to record
+     */
+    public static long micros(long nanos) {
+        return Math.min(Math.max(0, nanos / 1_000), MAX_LATENCY_MICROS);
+    }
+
+    /**
+     * Count, mean and the p50/p90/p99/p99.9/max percentiles of a histogram, in milliseconds.
+     */
+    public static Map<String, Object> latency(Histogram h) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("count", h.getTotalCount());
+        m.put("mean_ms", millis(h.getMean()));
+        m.put("p50_ms", millis(h.getValueAtPercentile(50)));
+        m.put("p90_ms", millis(h.getValueAtPercentile(90)));
+        m.put("p99_ms", millis(h.getValueAtPercentile(99)));
+        m.put("p99_9_ms", millis(h.getValueAtPercentile(99.9)));
+        m.put("max_ms", millis(h.getMaxValue()));
+        return m;
+    }
+
+    /**
+     * Events per second, rounded to two decimals.
+     */
+    public static double perSecond(long count, long elapsedNanos) {
+        return elapsedNanos <= 0 ? 0 : Math.round(count * 100 / (elapsedNanos / 1e9)) / 100.0;
+    }
+
+    private static double millis(double micros) {
+        return Math.round(micros) / 1000.0;
+    }
+}
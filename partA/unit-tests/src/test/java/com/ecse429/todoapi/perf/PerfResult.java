@@ -0,0 +1,13 @@
+package com.ecse429.todoapi.perf;
+
+/**
+ * Outcome of one harness run, as written and printed by {@link PerfTestBase#report}.
+ */
+public interface PerfResult {
+
+    /** The machine-readable report of the run. */
+    PerfReport toReport();
+
+    /** Human-readable lines for the console, each ending in a newline. */
+    String summary();
+}
@@ -0,0 +1,57 @@
+package com.ecse429.todoapi.perf;
+
+import com.ecse429.todoapi.TestHelper;
+import com.ecse429.todoapi.TestNamespace;
+import com.ecse429.todoapi.TestServer;
+import org.junit.jupiter.api.*;
+
+import java.nio.file.Path;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Lifecycle shared by the perf entry points (the *Tests classes of this package).
+ *
+ * Selects and probes the server once per class, gives each test its own
+ * {@link TestNamespace} and cleans it up afterwards. Subclasses keep one short test
+ * per harness: run it, hand the result to {@link #report} and assert on it.
+ * Tagged "perf", so excluded from the default build; run with mvn test -Pperf.
+ */
+@Tag("perf")
+public abstract class PerfTestBase {
+
+    @BeforeAll
+    static void setup() {
+        TestServer.select();
+
+        given()
+            .when().get("/todos")
+            .then().statusCode(anyOf(is(200), is(204)));
+    }
+
+    @BeforeEach
+    void openNamespace(TestInfo testInfo) {
+        TestNamespace.begin(testInfo.getDisplayName());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestHelper.cleanupNamespace();
+    }
+
+    /**
+     * Write the result's report under target/perf and print its summary.
+     *
+     * @param name Prefix of the printed lines (e.g., "load")
+     * @param reportProperty System property overriding the report file (e.g., "load.report")
+     * @param defaultFile Report file name when the property is not set
+     * @return The path written
+     */
+    protected static Path report(String name, String reportProperty, String defaultFile, PerfResult result) {
+        Path report = result.toReport().write(System.getProperty(reportProperty, defaultFile));
+        System.out.print(result.summary());
+        System.out.println("[" + name + "] report written to " + report.toAbsolutePath());
+        return report;
+    }
+}
@@ -0,0 +1,324 @@
+package com.ecse429.todoapi.perf;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Compares the routes of a run against a {@link PerfBaseline} and decides which regressed.
+ *
+ * Every route with enough calls in both runs is compared on each configured latency
+ * percentile and on throughput. Each side gets a confidence interval: for a percentile,
+ * the values at the order-statistic ranks n*q +/- z*sqrt(n*q*(1-q)) of its histogram, which
+ * holds whatever the latency distribution; for throughput, a Poisson interval on the call
+ * count. A metric regressed when the whole current interval is worse than the whole baseline
+ * interval widened by the tolerance, and improved when it is better by the same margin; a
+ * shift inside the noise of either run is left unchanged. Requiring the intervals to be
+ * apart is conservative, so a regression flagged here is a real one.
+ *
+ * Run as a program at the end of the perf profile's test phase, it fails the build if
+ * {@link RegressionGateListener} left a marker saying a route regressed.
+ */
+public final class RegressionGate {
+
+    /** Marker left under target/perf by a comparison that found a regression. */
+    public static final String MARKER = "regression-gate.failed";
+
+    private final double tolerance;
+    private final double confidence;
+    private final double[] percentiles;
+    private final long minCalls;
+
+    /**
+     * @param tolerance Relative change allowed beyond the confidence intervals, e.g. 0.1
+     * @param confidence Two-sided confidence level of the intervals, e.g. 0.95
+     * @param percentiles Latency percentiles compared, e.g. {50, 90, 99}
+     * @param minCalls Fewest calls a route needs in both runs to be compared
+     */
+    public RegressionGate(double tolerance, double confidence, double[] percentiles, long minCalls) {
+        if (tolerance < 0) throw new IllegalArgumentException("tolerance must not be negative");
+        if (!(confidence > 0 && confidence < 1)) throw new IllegalArgumentException("confidence must be in (0, 1)");
+        for (double q : percentiles) {
+            if (!(q > 0 && q < 100)) throw new IllegalArgumentException("percentiles must be in (0, 100): " + q);
+        }
+        this.tolerance = tolerance;
+        this.confidence = confidence;
+        this.percentiles = percentiles.clone();
+        this.minCalls = minCalls;
+    }
+
+    /**
+     * Gate configured from -Dperf.gate.tolerance (default 0.10), -Dperf.gate.confidence
+     * (default 0.95), -Dperf.gate.percentiles (default 50,90,99) and -Dperf.gate.minCalls
+     * (default 20).
+     */
+    public static RegressionGate fromSystemProperties() {
+        String[] list = System.getProperty("perf.gate.percentiles", "50,90,99").split(",");
+        double[] percentiles = new double[list.length];
+        for (int i = 0; i < list.length; i++) percentiles[i] = Double.parseDouble(list[i].trim());
+        return new RegressionGate(Double.parseDouble(System.getProperty("perf.gate.tolerance", "0.10")),
+            Double.parseDouble(System.getProperty("perf.gate.confidence", "0.95")),
+            percentiles, Long.getLong("perf.gate.minCalls", 20));
+    }
+
+    /**
+     * Compare every route of a run with the baseline.
+     *
+     * @param baseline The stored run
+     * @param current The run just made
+     * @return One row per route and metric
+     */
+    public Result compare(PerfBaseline baseline, PerfBaseline current) {
+        double z = z((1 + confidence) / 2);
+        List<Row> rows = new ArrayList<>();
+        TreeSet<String> routes = new TreeSet<>(baseline.routes().keySet());
+        routes.addAll(current.routes().keySet());
+        for (String route : routes) {
+            Histogram before = baseline.routes().get(route);
+            Histogram after = current.routes().get(route);
+            if (before == null || after == null) {
+                rows.add(new Row(route, "calls", before == null ? 0 : before.getTotalCount(), 0, 0,
+                    after == null ? 0 : after.getTotalCount(), 0, 0, before == null ? Verdict.NEW : Verdict.MISSING));
+                continue;
+            }
+            boolean enough = before.getTotalCount() >= minCalls && after.getTotalCount() >= minCalls;
+            for (double q : percentiles) {
+                double[] b = percentileInterval(before, q, z);
+                double[] a = percentileInterval(after, q, z);
+                boolean bounded = !Double.isInfinite(b[2]) && !Double.isInfinite(a[2]);
+                rows.add(new Row(route, "p" + label(q) + "_ms", b[0], b[1], b[2], a[0], a[1], a[2],
+                    enough && bounded ? verdict(b, a, true) : Verdict.INSUFFICIENT));
+            }
+            double[] b = throughputInterval(before.getTotalCount(), baseline.elapsedNanos(), z);
+            double[] a = throughputInterval(after.getTotalCount(), current.elapsedNanos(), z);
+            rows.add(new Row(route, "throughput_per_s", b[0], b[1], b[2], a[0], a[1], a[2],
+                enough ? verdict(b, a, false) : Verdict.INSUFFICIENT));
+        }
+        return new Result(baseline, current, tolerance, confidence, rows);
+    }
+
+    private Verdict verdict(double[] before, double[] after, boolean higherIsWorse) {
+        if (higherIsWorse) {
+            if (after[1] > before[2] * (1 + tolerance)) return Verdict.REGRESSED;
+            if (after[2] < before[1] * (1 - tolerance)) return Verdict.IMPROVED;
+        } else {
+            if (after[2] < before[1] * (1 - tolerance)) return Verdict.REGRESSED;
+            if (after[1] > before[2] * (1 + tolerance)) return Verdict.IMPROVED;
+        }
+        return Verdict.UNCHANGED;
+    }
+
+    /**
+     * Distribution-free interval of a percentile: the values at the order-statistic ranks
+     * around n*q, from the normal approximation of the binomial count below the percentile.
+     * A high percentile of few calls has no upper bound: its upper rank is past the slowest call.
+     *
+     * @return Estimate, low and high, in milliseconds; high is infinite when unbounded
+     */
+    static double[] percentileInterval(Histogram h, double percentile, double z) {
+        long n = h.getTotalCount();
+        double q = percentile / 100;
+        double spread = z * Math.sqrt(n * q * (1 - q));
+        long low = (long) Math.floor(n * q - spread);
+        long high = (long) Math.ceil(n * q + spread) + 1;
+        return new double[] {
+            h.getValueAtPercentile(percentile) / 1000.0,
+            low < 1 ? 0 : h.getValueAtPercentile(100.0 * low / n) / 1000.0,
+            high > n ? Double.POSITIVE_INFINITY : h.getValueAtPercentile(100.0 * high / n) / 1000.0 };
+    }
+
+    /**
+     * Interval of a rate from its Poisson count.
+     *
+     * @return Estimate, low and high, in calls per second
+     */
+    static double[] throughputInterval(long calls, long elapsedNanos, double z) {
+        double seconds = elapsedNanos / 1e9;
+        if (seconds <= 0) return new double[] { 0, 0, 0 };
+        double spread = z * Math.sqrt(calls);
+        return new double[] { calls / seconds, Math.max(0, calls - spread) / seconds, (calls + spread) / seconds };
+    }
+
+    /** Standard normal quantile, by bisection on {@link DriftDetector#normalCdf}. */
+    static double z(double p) {
+        double lo = -10;
+        double hi = 10;
+        for (int i = 0; i < 100; i++) {
+            double mid = (lo + hi) / 2;
+            if (DriftDetector.normalCdf(mid) < p) lo = mid;
+            else hi = mid;
+        }
+        return (lo + hi) / 2;
+    }
+
+    private static String label(double q) {
+        return q == Math.rint(q) ? String.valueOf((long) q) : String.valueOf(q).replace('.', '_');
+    }
+
+    /**
+     * Fail if the last comparison found a regression.
+     *
+     * @param args The module directory, against which -Dperf.dir is resolved
+     * @throws IllegalStateException With the regressed routes, if the marker is there
+     */
+    public static void main(String[] args) throws IOException {
+        Path dir = Paths.get(System.getProperty("perf.dir", "target/perf"));
+        if (args.length > 0 && !dir.isAbsolute()) dir = Paths.get(args[0]).resolve(dir);
+        Path marker = dir.resolve(MARKER);
+        if (Files.exists(marker)) {
+            throw new IllegalStateException("Performance regressed against the baseline:"
+                + System.lineSeparator() + new String(Files.readAllBytes(marker), StandardCharsets.UTF_8).strip());
+        }
+    }
+
+    /**
+     * Outcome of one metric of one route.
+     */
+    public enum Verdict {
+        REGRESSED,
+        IMPROVED,
+        UNCHANGED,
+        /** Too few calls in one of the runs to say. */
+        INSUFFICIENT,
+        /** Route only in the current run. */
+        NEW,
+        /** Route only in the baseline. */
+        MISSING
+    }
+
+    /**
+     * One metric of one route, in both runs.
+     */
+    public static final class Row {
+        private final String route;
+        private final String metric;
+        private final double baseline;
+        private final double baselineLow;
+        private final double baselineHigh;
+        private final double current;
+        private final double currentLow;
+        private final double currentHigh;
+        private final Verdict verdict;
+
+        Row(String route, String metric, double baseline, double baselineLow, double baselineHigh,
+            double current, double currentLow, double currentHigh, Verdict verdict) {
+            this.route = route;
+            this.metric = metric;
+            this.baseline = baseline;
+            this.baselineLow = baselineLow;
+            this.baselineHigh = baselineHigh;
+            this.current = current;
+            this.currentLow = currentLow;
+            this.currentHigh = currentHigh;
+            this.verdict = verdict;
+        }
+
+        public String route() { return route; }
+        /** "p99_ms", "throughput_per_s", or "calls" for routes in one run only. */
+        public String metric() { return metric; }
+        public double baseline() { return baseline; }
+        public double current() { return current; }
+        public Verdict verdict() { return verdict; }
+
+        /** Current value relative to the baseline. */
+        public double ratio() {
+            return baseline == 0 ? 0 : current / baseline;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("route", route);
+            m.put("metric", metric);
+            m.put("baseline", round(baseline));
+            m.put("baseline_ci", Arrays.asList(round(baselineLow), round(baselineHigh)));
+            m.put("current", round(current));
+            m.put("current_ci", Arrays.asList(round(currentLow), round(currentHigh)));
+            m.put("ratio", round(ratio()));
+            m.put("verdict", verdict.name());
+            return m;
+        }
+
+        /** Rounded to three decimals; null for an unbounded interval. */
+        private static Double round(double v) {
+            return Double.isInfinite(v) ? null : Math.round(v * 1000) / 1000.0;
+        }
+
+        @Override
+        public String toString() {
+            if (verdict == Verdict.NEW || verdict == Verdict.MISSING) {
+                return String.format("%s %s (%.0f calls before, %.0f now)", route, verdict, baseline, current);
+            }
+            return String.format("%s %s: %.2f [%.2f, %.2f] -> %.2f [%.2f, %.2f] (x%.2f) %s", route, metric,
+                baseline, baselineLow, baselineHigh, current, currentLow, currentHigh, ratio(), verdict);
+        }
+    }
+
+    /**
+     * All rows of a comparison.
+     */
+    public static final class Result {
+        private final PerfBaseline baseline;
+        private final PerfBaseline current;
+        private final double tolerance;
+        private final double confidence;
+        private final List<Row> rows;
+
+        Result(PerfBaseline baseline, PerfBaseline current, double tolerance, double confidence, List<Row> rows) {
+            this.baseline = baseline;
+            this.current = current;
+            this.tolerance = tolerance;
+            this.confidence = confidence;
+            this.rows = List.copyOf(rows);
+        }
+
+        public List<Row> rows() { return rows; }
+
+        /** Rows with a verdict. */
+        public List<Row> rows(Verdict verdict) {
+            List<Row> matching = new ArrayList<>();
+            for (Row row : rows) if (row.verdict() == verdict) matching.add(row);
+            return matching;
+        }
+
+        public boolean regressed() {
+            return !rows(Verdict.REGRESSED).isEmpty();
+        }
+
+        public PerfReport toReport() {
+            Map<String, Object> config = new LinkedHashMap<>();
+            config.put("baseline_recorded", baseline.recorded());
+            config.put("tolerance", tolerance);
+            config.put("confidence", confidence);
+            config.put("baseline_elapsed_s", baseline.elapsedNanos() / 1e9);
+            config.put("current_elapsed_s", current.elapsedNanos() / 1e9);
+            List<Object> list = new ArrayList<>();
+            for (Row row : rows) list.add(row.toMap());
+            return new PerfReport("regression").put("config", config).put("regressed", regressed()).put("rows", list);
+        }
+
+        /**
+         * One line per route and metric that moved, then the verdict.
+         */
+        public String summary() {
+            StringBuilder sb = new StringBuilder();
+            for (Verdict v : new Verdict[] { Verdict.REGRESSED, Verdict.IMPROVED, Verdict.NEW, Verdict.MISSING }) {
+                for (Row row : rows(v)) sb.append("[gate] ").append(row).append(System.lineSeparator());
+            }
+            sb.append(String.format("[gate] %d regressed, %d improved, %d unchanged, %d with too few calls"
+                    + " (tolerance %.0f%%, %.0f%% confidence)%n", rows(Verdict.REGRESSED).size(),
+                rows(Verdict.IMPROVED).size(), rows(Verdict.UNCHANGED).size(), rows(Verdict.INSUFFICIENT).size(),
+                tolerance * 100, confidence * 100));
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.ecse429.todoapi.perf;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Checks the run's {@link EndpointMetrics} against a stored {@link PerfBaseline}.
+ * Registered with the JUnit Platform through META-INF/services.
+ *
+ * Does nothing unless -Dperf.baseline names a baseline. If its file does not exist yet, or
+ * -Dperf.baseline.update=true, the run is stored as the baseline. Otherwise the run is
+ * compared with it by a {@link RegressionGate}, the comparison is written to
+ * target/perf/regression-report.json, and a regression leaves a marker that fails the
+ * build through the perf profile. A listener cannot fail the run itself.
+ */
+public class RegressionGateListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        try {
+            Files.deleteIfExists(marker());
+        } catch (IOException e) {
+            System.err.println("Warning: Could not clear the regression marker: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        String name = System.getProperty("perf.baseline");
+        if (name == null || name.isBlank()) return;
+        try {
+            PerfBaseline current = PerfBaseline.fromEndpointMetrics();
+            if (current.routes().isEmpty()) return;
+            Path file = PerfBaseline.file(name);
+            if (!Files.exists(file) || Boolean.getBoolean("perf.baseline.update")) {
+                current.write(file);
+                System.out.println("[gate] baseline written to " + file.toAbsolutePath());
+                return;
+            }
+            RegressionGate.Result result = RegressionGate.fromSystemProperties().compare(PerfBaseline.read(file), current);
+            Path report = result.toReport().write(System.getProperty("perf.gate.report", "regression-report.json"));
+            System.out.print(result.summary());
+            System.out.println("[gate] compared with " + file.toAbsolutePath() + ", report written to " + report.toAbsolutePath());
+            if (result.regressed()) {
+                StringBuilder sb = new StringBuilder();
+                for (RegressionGate.Row row : result.rows(RegressionGate.Verdict.REGRESSED)) {
+                    sb.append(row).append(System.lineSeparator());
+                }
+                Files.write(marker(), sb.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (Exception e) {
+            // Reporting must never fail the run
+            System.err.println("Warning: Could not check the performance baseline: " + e.getMessage());
+        }
+    }
+
+    private static Path marker() throws IOException {
+        Path dir = Paths.get(System.getProperty("perf.dir", "target/perf"));
+        Files.createDirectories(dir);
+        return dir.resolve(RegressionGate.MARKER);
+    }
+}
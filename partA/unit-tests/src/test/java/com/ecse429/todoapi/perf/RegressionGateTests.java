@@ -0,0 +1,124 @@
+package com.ecse429.todoapi.perf;
+
+import com.ecse429.todoapi.perf.RegressionGate.Row;
+import com.ecse429.todoapi.perf.RegressionGate.Verdict;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link RegressionGate} intervals and verdicts on synthetic baselines, without a server.
+ */
+public class RegressionGateTests {
+
+    private static final String ROUTE = "GET /todos";
+    private static final long TEN_SECONDS = TimeUnit.SECONDS.toNanos(10);
+
+    private final RegressionGate gate = new RegressionGate(0.10, 0.95, new double[] {50, 99}, 20);
+
+    /** Calls evenly spread between two latencies, in microseconds. */
+    private static Histogram latencies(int calls, long fromMicros, long toMicros) {
+        Histogram h = PerfReport.newHistogram();
+        for (int i = 0; i < calls; i++) h.recordValue(fromMicros + (toMicros - fromMicros) * i / Math.max(1, calls - 1));
+        return h;
+    }
+
+    private static PerfBaseline run(Histogram h) {
+        return run(h, TEN_SECONDS);
+    }
+
+    private static PerfBaseline run(Histogram h, long elapsedNanos) {
+        return new PerfBaseline("2026-01-01T00:00:00Z", elapsedNanos, Map.of(ROUTE, h));
+    }
+
+    private static Row row(RegressionGate.Result result, String metric) {
+        for (Row row : result.rows()) {
+            if (row.route().equals(ROUTE) && row.metric().equals(metric)) return row;
+        }
+        throw new AssertionError("no " + metric + " row in " + result.rows());
+    }
+
+    @Test
+    void z_is_the_normal_quantile() {
+        assertEquals(1.959964, RegressionGate.z(0.975), 1e-5);
+        assertEquals(0, RegressionGate.z(0.5), 1e-6);
+    }
+
+    @Test
+    void high_percentile_of_few_calls_is_unbounded() {
+        double z = RegressionGate.z(0.975);
+        double[] p99 = RegressionGate.percentileInterval(latencies(30, 1_000, 2_000), 99, z);
+        assertTrue(Double.isInfinite(p99[2]));
+
+        double[] p50 = RegressionGate.percentileInterval(latencies(30, 1_000, 2_000), 50, z);
+        assertFalse(Double.isInfinite(p50[2]));
+        assertTrue(p50[1] <= p50[0] && p50[0] <= p50[2], p50[1] + " " + p50[0] + " " + p50[2]);
+
+        double[] many = RegressionGate.percentileInterval(latencies(10_000, 1_000, 2_000), 99, z);
+        assertFalse(Double.isInfinite(many[2]));
+        assertTrue(many[1] <= many[0] && many[0] <= many[2]);
+    }
+
+    @Test
+    void unbounded_percentile_is_insufficient_even_when_far_apart() {
+        RegressionGate.Result result = gate.compare(run(latencies(30, 900, 1_100)), run(latencies(30, 9_000, 11_000)));
+        assertEquals(Verdict.REGRESSED, row(result, "p50_ms").verdict());
+        assertEquals(Verdict.INSUFFICIENT, row(result, "p99_ms").verdict());
+        assertEquals(Verdict.UNCHANGED, row(result, "throughput_per_s").verdict());
+        assertTrue(result.regressed());
+    }
+
+    @Test
+    void disjoint_intervals_regress_or_improve() {
+        Histogram fast = latencies(1_000, 900, 1_100);
+        Histogram slow = latencies(1_000, 1_900, 2_100);
+
+        RegressionGate.Result slower = gate.compare(run(fast), run(slow));
+        assertEquals(Verdict.REGRESSED, row(slower, "p50_ms").verdict());
+        assertEquals(Verdict.REGRESSED, row(slower, "p99_ms").verdict());
+
+        RegressionGate.Result faster = gate.compare(run(slow), run(fast));
+        assertEquals(Verdict.IMPROVED, row(faster, "p50_ms").verdict());
+        assertEquals(Verdict.IMPROVED, row(faster, "p99_ms").verdict());
+        assertFalse(faster.regressed());
+    }
+
+    @Test
+    void overlapping_intervals_are_unchanged() {
+        // 5% slower: inside the tolerance
+        RegressionGate.Result result = gate.compare(run(latencies(1_000, 900, 1_100)), run(latencies(1_000, 945, 1_155)));
+        assertEquals(Verdict.UNCHANGED, row(result, "p50_ms").verdict());
+        assertEquals(Verdict.UNCHANGED, row(result, "p99_ms").verdict());
+        assertFalse(result.regressed());
+    }
+
+    @Test
+    void throughput_regresses_when_calls_drop() {
+        Histogram h = latencies(1_000, 900, 1_100);
+        RegressionGate.Result result = gate.compare(run(h), run(h, 2 * TEN_SECONDS));
+        assertEquals(Verdict.REGRESSED, row(result, "throughput_per_s").verdict());
+        assertEquals(Verdict.UNCHANGED, row(result, "p50_ms").verdict());
+    }
+
+    @Test
+    void routes_below_min_calls_are_insufficient() {
+        RegressionGate.Result result = gate.compare(run(latencies(10, 900, 1_100)), run(latencies(10, 9_000, 11_000)));
+        for (Row row : result.rows()) assertEquals(Verdict.INSUFFICIENT, row.verdict(), row.toString());
+        assertFalse(result.regressed());
+    }
+
+    @Test
+    void routes_in_one_run_only_are_new_or_missing() {
+        PerfBaseline before = new PerfBaseline("a", TEN_SECONDS, Map.of("GET /old", latencies(50, 900, 1_100)));
+        PerfBaseline after = new PerfBaseline("b", TEN_SECONDS, Map.of("GET /new", latencies(50, 900, 1_100)));
+        RegressionGate.Result result = gate.compare(before, after);
+        assertEquals(1, result.rows(Verdict.NEW).size());
+        assertEquals("GET /new", result.rows(Verdict.NEW).get(0).route());
+        assertEquals(1, result.rows(Verdict.MISSING).size());
+        assertEquals("GET /old", result.rows(Verdict.MISSING).get(0).route());
+    }
+}
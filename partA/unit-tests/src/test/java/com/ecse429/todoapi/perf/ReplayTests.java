@@ -0,0 +1,32 @@
+package com.ecse429.todoapi.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Replays a traffic capture against the Todo Manager API.
+ * Record one with any test run, e.g. mvn test -Dtodo.capture=capture.bin, then replay it with
+ * mvn test -Pperf -Dtest=ReplayTests [-Dreplay.file=target/perf/capture.bin -Dreplay.speed=10 -Dreplay.concurrency=8].
+ * A speed of 0 replays as fast as possible. Skipped when the capture file does not exist.
+ * Writes latency per route, schedule lag and status mismatches to target/perf/replay-report.json
+ * (override with -Dreplay.report).
+ */
+public class ReplayTests extends PerfTestBase {
+
+    @Test
+    void captured_traffic_replays() {
+        Path file = Paths.get(System.getProperty("replay.file", "target/perf/capture.bin"));
+        assumeTrue(Files.isRegularFile(file), "no capture at " + file.toAbsolutePath());
+
+        TrafficCapture.Capture capture = TrafficCapture.read(file);
+        TrafficReplayer.Result result = TrafficReplayer.fromSystemProperties(capture).run();
+        report("replay", "replay.report", "replay-report.json", result);
+        assertEquals(0, result.errors(), "requests failed without a response");
+    }
+}
@@ -0,0 +1,253 @@
+package com.ecse429.todoapi.perf;
+
+import com.ecse429.todoapi.ResetStrategy;
+import com.ecse429.todoapi.TestHelper;
+import com.ecse429.todoapi.TestNamespace;
+import com.ecse429.todoapi.TestServer;
+import com.ecse429.todoapi.perf.ScalingBenchmark.Collection;
+import io.restassured.response.Response;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Cost and isolation of each {@link ResetStrategy}.
+ *
+ * Every round creates the given number of todos, categories and projects, links each
+ * todo to a category and makes it a task of a project, all tracked in a fresh namespace,
+ * and times the reset. It then checks what a strategy has to guarantee:
+ * <ul>
+ *   <li>leftovers: objects of the round still on the server after the reset, matched by
+ *       namespaced title since a restart hands their IDs out again</li>
+ *   <li>bystanders: an object owned by another namespace, which a reset that is safe
+ *       with concurrent tests must leave alone</li>
+ *   <li>IDs: the ID of the first todo created after each reset; equal in every round
+ *       when the reset restarts ID allocation</li>
+ * </ul>
+ * RESTART is skipped unless the tests started the server (-Dtodo.server=embedded or jar).
+ */
+public final class ResetBenchmark {
+
+    private final List<ResetStrategy> strategies;
+    private final int rounds;
+    private final int entities;
+
+    /**
+     * @param strategies Strategies to measure, in order
+     * @param rounds Seeded resets per strategy
+     * @param entities Todos, categories and projects created per round, each
+     */
+    public ResetBenchmark(List<ResetStrategy> strategies, int rounds, int entities) {
+        if (rounds < 1) throw new IllegalArgumentException("rounds must be at least 1");
+        this.strategies = strategies;
+        this.rounds = rounds;
+        this.entities = entities;
+    }
+
+    /**
+     * Benchmark configured from -Dreset.strategies (default tracked,wipe,restart),
+     * -Dreset.rounds (default 10) and -Dreset.entities (default 10).
+     */
+    public static ResetBenchmark fromSystemProperties() {
+        List<ResetStrategy> strategies = new ArrayList<>();
+        for (String name : System.getProperty("reset.strategies", "tracked,wipe,restart").split(",")) {
+            if (!name.isBlank()) strategies.add(ResetStrategy.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+        }
+        return new ResetBenchmark(strategies, Integer.getInteger("reset.rounds", 10),
+            Integer.getInteger("reset.entities", 10));
+    }
+
+    /**
+     * Measure every strategy. Leaves the calling thread bound to a fresh namespace.
+     *
+     * @return Timings and isolation checks per strategy
+     */
+    public Result run() {
+        TestNamespace bystanders = TestNamespace.session("reset-bystanders");
+        List<Measurement> measurements = new ArrayList<>();
+        try {
+            for (ResetStrategy strategy : strategies) {
+                if (strategy == ResetStrategy.RESTART && TestServer.embedded() == null && TestServer.managed() == null) {
+                    System.out.println("[reset] restart skipped: the tests did not start the server");
+                    continue;
+                }
+                Measurement m = measure(strategy, bystanders);
+                measurements.add(m);
+                System.out.println("[reset] " + m);
+            }
+        } finally {
+            bystanders.registry().cleanup();
+            TestNamespace.begin("reset benchmark");
+        }
+        return new Result(measurements);
+    }
+
+    private Measurement measure(ResetStrategy strategy, TestNamespace bystanders) {
+        String name = strategy.name().toLowerCase(Locale.ROOT);
+        Histogram timings = PerfReport.newHistogram();
+        List<String> probeIds = new ArrayList<>();
+        int leftovers = 0;
+        int bystandersLost = 0;
+        for (int round = 0; round < rounds; round++) {
+            String[] bystander = new String[1];
+            bystanders.bind(() -> bystander[0] = TestHelper.createTodo("bystander", false, "reset")).run();
+
+            TestNamespace ns = TestNamespace.begin("reset " + name + " round " + round);
+            List<String> created = seed(name);
+            timings.recordValue(PerfReport.micros(strategy.reset(ns)));
+            TestNamespace.end();
+
+            for (String path : created) {
+                if (exists(path, ns)) leftovers++;
+            }
+            if (!exists("/todos/" + bystander[0], bystanders)) bystandersLost++;
+
+            TestNamespace.begin("reset " + name + " probe " + round);
+            probeIds.add(TestHelper.createTodo("probe", false, "reset"));
+            TestHelper.cleanupNamespace();
+        }
+        return new Measurement(name, strategy.parallelSafe(), timings, entities * 3, leftovers, bystandersLost, probeIds);
+    }
+
+    /**
+     * Whether the object at a path is still the one the namespace created. IDs start
+     * over after a restart, so another object may answer on the same path.
+     */
+    private static boolean exists(String path, TestNamespace owner) {
+        Response res = given().when().get(path);
+        if (res.getStatusCode() != 200) return false;
+        String root = path.substring(1, path.indexOf('/', 1));
+        return owner.owns(res.path(root + "[0].title"));
+    }
+
+    /** Create and link one round's objects; returns their paths. */
+    private List<String> seed(String label) {
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < entities; i++) {
+            String todo = Collection.TODOS.create(label + "-" + i);
+            String category = Collection.CATEGORIES.create(label + "-" + i);
+            String project = Collection.PROJECTS.create(label + "-" + i);
+            TestHelper.link("/todos/" + todo + "/categories", category);
+            TestHelper.link("/projects/" + project + "/tasks", todo);
+            paths.addAll(Arrays.asList("/todos/" + todo, "/categories/" + category, "/projects/" + project));
+        }
+        return paths;
+    }
+
+    /**
+     * Timings and isolation checks of one strategy.
+     */
+    public static final class Measurement {
+        private final String strategy;
+        private final boolean parallelSafe;
+        private final Histogram timings;
+        private final int objectsPerRound;
+        private final int leftovers;
+        private final int bystandersLost;
+        private final List<String> probeIds;
+
+        Measurement(String strategy, boolean parallelSafe, Histogram timings, int objectsPerRound,
+                    int leftovers, int bystandersLost, List<String> probeIds) {
+            this.strategy = strategy;
+            this.parallelSafe = parallelSafe;
+            this.timings = timings;
+            this.objectsPerRound = objectsPerRound;
+            this.leftovers = leftovers;
+            this.bystandersLost = bystandersLost;
+            this.probeIds = probeIds;
+        }
+
+        public String strategy() { return strategy; }
+        public Histogram timings() { return timings; }
+        /** Objects of a round still on the server after its reset, summed over rounds. */
+        public int leftovers() { return leftovers; }
+        /** Rounds whose reset removed another namespace's object. */
+        public int bystandersLost() { return bystandersLost; }
+
+        /** Whether every round's first new todo got the same ID. */
+        public boolean idsReset() {
+            return probeIds.size() > 1 && probeIds.stream().distinct().count() == 1;
+        }
+
+        /** No leftovers, so the next test starts from the state it expects. */
+        public boolean isolates() {
+            return leftovers == 0;
+        }
+
+        public double meanMillis() {
+            return timings.getMean() / 1000.0;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("strategy", strategy);
+            m.put("objects_per_round", objectsPerRound);
+            m.put("leftovers", leftovers);
+            m.put("bystanders_lost", bystandersLost);
+            m.put("parallel_safe", parallelSafe);
+            m.put("ids_reset", idsReset());
+            m.put("probe_ids", probeIds);
+            m.put("latency", PerfReport.latency(timings));
+            return m;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: mean %.2f ms, p99 %.2f ms, %d leftovers, %d bystanders lost, ids %s",
+                strategy, meanMillis(), timings.getValueAtPercentile(99) / 1000.0, leftovers, bystandersLost,
+                idsReset() ? "reset" : "not reset");
+        }
+    }
+
+    /**
+     * Outcome of a benchmark run.
+     */
+    public static final class Result implements PerfResult {
+        private final List<Measurement> measurements;
+
+        Result(List<Measurement> measurements) {
+            this.measurements = measurements;
+        }
+
+        public List<Measurement> measurements() {
+            return measurements;
+        }
+
+        /** The fastest strategy with no leftovers, or null. */
+        public Measurement cheapestIsolating() {
+            Measurement best = null;
+            for (Measurement m : measurements) {
+                if (m.isolates() && (best == null || m.meanMillis() < best.meanMillis())) best = m;
+            }
+            return best;
+        }
+
+        /**
+         * Per-strategy timings and checks as a {@link PerfReport}.
+         */
+        public PerfReport toReport() {
+            List<Object> rows = new ArrayList<>();
+            for (Measurement m : measurements) rows.add(m.toMap());
+            Measurement best = cheapestIsolating();
+            return new PerfReport("reset-benchmark")
+                .put("strategies", rows)
+                .put("cheapest_isolating", best == null ? null : best.strategy);
+        }
+
+        /**
+         * The cheapest isolating strategy on one line.
+         */
+        public String summary() {
+            Measurement best = cheapestIsolating();
+            if (best == null) return "[reset] no strategy left the server clean\n";
+            return String.format("[reset] cheapest isolating strategy: %s (mean %.2f ms)%n", best.strategy, best.meanMillis());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecse429.todoapi.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Reset-strategy benchmark for the Todo Manager API.
+ * Run with
+ * mvn test -Pperf -Dtodo.server=embedded -Dtest=ResetTests [-Dreset.strategies=tracked,wipe,restart -Dreset.rounds=10].
+ * Writes mean and percentile reset time, leftovers, bystanders lost and whether IDs restart
+ * per strategy to target/perf/reset-benchmark.json (override with -Dreset.report).
+ * Fails when no strategy leaves the server clean.
+ */
+public class ResetTests extends PerfTestBase {
+
+    @Test
+    void reset_strategies_compared() {
+        ResetBenchmark.Result result = ResetBenchmark.fromSystemProperties().run();
+        Path report = report("reset", "reset.report", "reset-benchmark.json", result);
+        assertFalse(result.measurements().isEmpty(), "no strategy was measured");
+        assertNotNull(result.cheapestIsolating(), "every strategy left objects behind; see " + report);
+    }
+}
@@ -0,0 +1,324 @@
+package com.ecse429.todoapi.perf;
+
+import com.ecse429.todoapi.CollectionReader;
+import com.ecse429.todoapi.TestHelper;
+import io.restassured.response.Response;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Collection-size scaling benchmark for GET and HEAD on /todos, /categories and /projects.
+ *
+ * The three collections are grown in steps to each configured size. At every step the
+ * benchmark measures GET and HEAD latency, the bytes of the GET body and the client-side
+ * time to read the body, once with the streaming {@link CollectionReader} used by the
+ * helpers and once with a GPath extraction like the tests' res.path("todos"). The
+ * measurements are then fitted against the number of items actually listed with
+ * {@link GrowthFit}, so super-linear list serialization shows up as an exponent above 1.
+ *
+ * Entities are created in parallel by a {@link Seeder} in the caller's namespace and
+ * deleted in bulk at the end.
+ */
+public final class ScalingBenchmark {
+
+    /** Default sizes: 10 to 100k items per collection. */
+    public static final String DEFAULT_SIZES = "10,100,1000,10000,100000";
+
+    /**
+     * A collection endpoint under test.
+     */
+    public enum Collection {
+        TODOS("/todos", "todos", label -> TestHelper.createTodo(label, false, "scaling")),
+        CATEGORIES("/categories", "categories", label -> TestHelper.createCategory(label, "scaling")),
+        PROJECTS("/projects", "projects", label -> TestHelper.createProject(label, "scaling"));
+
+        private final String path;
+        private final String root;
+        private final Function<String, String> create;
+
+        Collection(String path, String root, Function<String, String> create) {
+            this.path = path;
+            this.root = root;
+            this.create = create;
+        }
+
+        public String path() {
+            return path;
+        }
+
+        public String root() {
+            return root;
+        }
+
+        /** Create one entity through {@link TestHelper}, tracked in the current namespace. */
+        String create(String label) {
+            return create.apply(label);
+        }
+    }
+
+    private final int[] sizes;
+    private final int samples;
+    private final int warmup;
+    private final int seedConcurrency;
+
+    /**
+     * @param sizes Number of entities to create per collection at each step, in any order
+     * @param samples Measured requests per endpoint and method at each step
+     * @param warmup Unmeasured requests before the samples
+     * @param seedConcurrency Parallel creates while growing the collections
+     */
+    public ScalingBenchmark(int[] sizes, int samples, int warmup, int seedConcurrency) {
+        if (sizes.length == 0) throw new IllegalArgumentException("at least one size is required");
+        if (samples < 1) throw new IllegalArgumentException("samples must be at least 1");
+        if (seedConcurrency < 1) throw new IllegalArgumentException("seed concurrency must be at least 1");
+        this.sizes = Arrays.stream(sizes).filter(s -> s > 0).sorted().distinct().toArray();
+        this.samples = samples;
+        this.warmup = Math.max(0, warmup);
+        this.seedConcurrency = seedConcurrency;
+    }
+
+    /**
+     * Benchmark configured from system properties: scaling.sizes (default {@link #DEFAULT_SIZES}),
+     * scaling.samples (default 20), scaling.warmup (default 3) and scaling.seed.concurrency (default 32).
+     */
+    public static ScalingBenchmark fromSystemProperties() {
+        int[] sizes = Arrays.stream(System.getProperty("scaling.sizes", DEFAULT_SIZES).split(","))
+            .map(String::trim).filter(s -> !s.isEmpty()).mapToInt(Integer::parseInt).toArray();
+        return new ScalingBenchmark(sizes, Integer.getInteger("scaling.samples", 20),
+            Integer.getInteger("scaling.warmup", 3), Integer.getInteger("scaling.seed.concurrency", 32));
+    }
+
+    /**
+     * Grow the collections through every size, measuring at each step, then delete what was created.
+     *
+     * @return One step per size and collection, with the fitted growth curves
+     */
+    public Result run() {
+        Map<Collection, List<String>> created = new LinkedHashMap<>();
+        for (Collection c : Collection.values()) created.put(c, new ArrayList<>());
+        List<Step> steps = new ArrayList<>();
+
+        try (Seeder seeder = new Seeder("scaling", seedConcurrency)) {
+            try {
+                for (int size : sizes) {
+                    for (Collection c : Collection.values()) {
+                        List<String> ids = created.get(c);
+                        long start = System.nanoTime();
+                        ids.addAll(seeder.run(ids.size(), size, i -> c.create.apply("scaling-" + c.root + "-" + i)));
+                        long seedNanos = System.nanoTime() - start;
+                        steps.add(measure(c, size, seedNanos));
+                        System.out.println("[scaling] " + steps.get(steps.size() - 1));
+                    }
+                }
+            } finally {
+                List<String> paths = new ArrayList<>();
+                for (Map.Entry<Collection, List<String>> e : created.entrySet()) {
+                    for (String id : e.getValue()) paths.add(e.getKey().path + "/" + id);
+                }
+                seeder.delete(paths);
+            }
+        }
+        return new Result(steps);
+    }
+
+    private Step measure(Collection c, int size, long seedNanos) {
+        for (int i = 0; i < warmup; i++) {
+            given().when().get(c.path).then().statusCode(200);
+            given().when().head(c.path).then().statusCode(200);
+        }
+
+        Histogram get = PerfReport.newHistogram();
+        Histogram head = PerfReport.newHistogram();
+        Histogram stream = PerfReport.newHistogram();
+        Histogram gpath = PerfReport.newHistogram();
+        long bytes = 0;
+        int items = 0;
+        for (int i = 0; i < samples; i++) {
+            long t0 = System.nanoTime();
+            Response res = given().when().get(c.path);
+            long t1 = System.nanoTime();
+            res.then().statusCode(200);
+            get.recordValue(PerfReport.micros(t1 - t0));
+            bytes = res.asByteArray().length;
+
+            long t2 = System.nanoTime();
+            items = CollectionReader.ids(res, c.root).size();
+            long t3 = System.nanoTime();
+            List<Object> listed = res.path(c.root);
+            long t4 = System.nanoTime();
+            if (listed == null || listed.size() != items) {
+                throw new IllegalStateException("GPath and streaming reads of " + c.path + " disagree");
+            }
+            stream.recordValue(PerfReport.micros(t3 - t2));
+            gpath.recordValue(PerfReport.micros(t4 - t3));
+
+            long t5 = System.nanoTime();
+            given().when().head(c.path).then().statusCode(200);
+            head.recordValue(PerfReport.micros(System.nanoTime() - t5));
+        }
+        return new Step(c, size, items, bytes, seedNanos, get, head, stream, gpath);
+    }
+
+    /**
+     * Measurements for one collection at one size.
+     */
+    public static final class Step {
+        private final Collection collection;
+        private final int seeded;
+        private final int items;
+        private final long bytes;
+        private final long seedNanos;
+        private final Histogram get;
+        private final Histogram head;
+        private final Histogram streamParse;
+        private final Histogram gpathParse;
+
+        Step(Collection collection, int seeded, int items, long bytes, long seedNanos,
+             Histogram get, Histogram head, Histogram streamParse, Histogram gpathParse) {
+            this.collection = collection;
+            this.seeded = seeded;
+            this.items = items;
+            this.bytes = bytes;
+            this.seedNanos = seedNanos;
+            this.get = get;
+            this.head = head;
+            this.streamParse = streamParse;
+            this.gpathParse = gpathParse;
+        }
+
+        public Collection collection() { return collection; }
+        /** Entities created by the benchmark. */
+        public int seeded() { return seeded; }
+        /** Items actually listed, including any the server held before the run. */
+        public int items() { return items; }
+        public long bytes() { return bytes; }
+        public Histogram get() { return get; }
+        public Histogram head() { return head; }
+        public Histogram streamParse() { return streamParse; }
+        public Histogram gpathParse() { return gpathParse; }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("seeded", seeded);
+            m.put("items", items);
+            m.put("bytes", bytes);
+            m.put("bytes_per_item", items == 0 ? 0 : Math.round(bytes * 10.0 / items) / 10.0);
+            m.put("seed_s", Math.round(seedNanos / 1e6) / 1000.0);
+            m.put("get", PerfReport.latency(get));
+            m.put("head", PerfReport.latency(head));
+            m.put("parse_stream", PerfReport.latency(streamParse));
+            m.put("parse_gpath", PerfReport.latency(gpathParse));
+            return m;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-11s %7d items %10d bytes  GET p50 %8.2f ms  HEAD p50 %8.2f ms  parse p50 %7.2f ms (gpath %7.2f ms)",
+                collection.path, items, bytes, get.getValueAtPercentile(50) / 1000.0,
+                head.getValueAtPercentile(50) / 1000.0, streamParse.getValueAtPercentile(50) / 1000.0,
+                gpathParse.getValueAtPercentile(50) / 1000.0);
+        }
+    }
+
+    /**
+     * Outcome of a scaling run.
+     */
+    public static final class Result implements PerfResult {
+        private static final String[] METRICS = {"get", "head", "bytes", "parse_stream", "parse_gpath"};
+
+        private final List<Step> steps;
+
+        Result(List<Step> steps) {
+            this.steps = steps;
+        }
+
+        public List<Step> steps() {
+            return steps;
+        }
+
+        /**
+         * Fit of one measurement of one collection against the number of items listed.
+         *
+         * @param collection The collection
+         * @param metric One of "get", "head", "bytes", "parse_stream", "parse_gpath"
+         * @return The growth curve; p50 latencies are used for the timed metrics
+         */
+        public GrowthFit fit(Collection collection, String metric) {
+            List<Step> mine = new ArrayList<>();
+            for (Step s : steps) if (s.collection == collection) mine.add(s);
+            double[] x = new double[mine.size()];
+            double[] y = new double[mine.size()];
+            for (int i = 0; i < mine.size(); i++) {
+                Step s = mine.get(i);
+                x[i] = s.items;
+                y[i] = value(s, metric);
+            }
+            return GrowthFit.of(x, y);
+        }
+
+        private static double value(Step s, String metric) {
+            switch (metric) {
+                case "get": return s.get.getValueAtPercentile(50);
+                case "head": return s.head.getValueAtPercentile(50);
+                case "bytes": return s.bytes;
+                case "parse_stream": return s.streamParse.getValueAtPercentile(50);
+                case "parse_gpath": return s.gpathParse.getValueAtPercentile(50);
+                default: throw new IllegalArgumentException("Unknown metric " + metric);
+            }
+        }
+
+        /** Collections and metrics whose growth is super-linear, e.g. "/todos get". */
+        public List<String> superLinear() {
+            List<String> flagged = new ArrayList<>();
+            for (Collection c : Collection.values()) {
+                for (String metric : METRICS) {
+                    if (fit(c, metric).superLinear()) flagged.add(c.path + " " + metric);
+                }
+            }
+            return flagged;
+        }
+
+        /**
+         * The run as a {@link PerfReport}: per-step measurements and the growth fits per collection.
+         */
+        public PerfReport toReport() {
+            Map<String, Object> collections = new LinkedHashMap<>();
+            for (Collection c : Collection.values()) {
+                List<Object> rows = new ArrayList<>();
+                for (Step s : steps) if (s.collection == c) rows.add(s.toMap());
+                if (rows.isEmpty()) continue;
+                Map<String, Object> fits = new LinkedHashMap<>();
+                for (String metric : METRICS) fits.put(metric, fit(c, metric).toMap());
+                Map<String, Object> m = new LinkedHashMap<>();
+                m.put("steps", rows);
+                m.put("growth", fits);
+                collections.put(c.path, m);
+            }
+            return new PerfReport("scaling")
+                .put("collections", collections)
+                .put("super_linear", superLinear());
+        }
+
+        /**
+         * Growth of each metric per collection as a fixed-width table.
+         */
+        public String summary() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("[scaling] %-11s %-13s %s%n", "collection", "metric", "growth"));
+            for (Collection c : Collection.values()) {
+                for (String metric : METRICS) {
+                    sb.append(String.format("[scaling] %-11s %-13s %s%n", c.path, metric, fit(c, metric)));
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
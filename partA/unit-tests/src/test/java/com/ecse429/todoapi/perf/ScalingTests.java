@@ -0,0 +1,25 @@
+package com.ecse429.todoapi.perf;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Collection-size scaling benchmark for the Todo Manager API.
+ * Run with
+ * mvn test -Pperf -Dtest=ScalingTests [-Dscaling.sizes=10,100,1000 -Dscaling.samples=20].
+ * Writes per-size latency, bytes and parse time with the fitted growth curves to
+ * target/perf/scaling-report.json (override with -Dscaling.report).
+ */
+public class ScalingTests extends PerfTestBase {
+
+    @Test
+    void collection_endpoints_scale_with_size() {
+        ScalingBenchmark.Result result = ScalingBenchmark.fromSystemProperties().run();
+        report("scaling", "scaling.report", "scaling-report.json", result);
+        if (!result.superLinear().isEmpty()) {
+            System.out.println("[scaling] super-linear growth: " + String.join(", ", result.superLinear()));
+        }
+        assertFalse(result.steps().isEmpty(), "no size was measured");
+    }
+}
@@ -0,0 +1,95 @@
+package com.ecse429.todoapi.perf;
+
+import com.ecse429.todoapi.BulkDeleter;
+import com.ecse429.todoapi.TestNamespace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Runs large batches of independent creates or links for the benchmarks that build big datasets.
+ *
+ * Calls run on a fixed pool of platform threads (see {@link LoadGenerator} for why not
+ * virtual ones) in the {@link TestNamespace} that was current when the seeder was made,
+ * so whatever the helpers create is tracked by the caller's registry. What the benchmark
+ * created is removed with {@link #delete} through the {@link BulkDeleter}.
+ */
+final class Seeder implements AutoCloseable {
+
+    private final String name;
+    private final TestNamespace ns = TestNamespace.current();
+    private final ExecutorService executor;
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    /**
+     * @param name Thread name prefix and log tag, e.g. "scaling"
+     * @param concurrency Calls in flight at once
+     */
+    Seeder(String name, int concurrency) {
+        if (concurrency < 1) throw new IllegalArgumentException("seed concurrency must be at least 1");
+        this.name = name;
+        this.executor = Executors.newFixedThreadPool(concurrency, task -> {
+            Thread t = new Thread(task, name + "-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Run call(from) .. call(to - 1) concurrently and wait for all of them.
+     *
+     * @param from First index, inclusive
+     * @param to Last index, exclusive
+     * @param call The work for one index, e.g. a create returning the new ID
+     * @return The results in index order
+     * @throws IllegalStateException if any call failed or returned null
+     */
+    List<String> run(int from, int to, IntFunction<String> call) {
+        List<Future<String>> pending = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            int index = i;
+            pending.add(executor.submit(() -> {
+                String[] result = new String[1];
+                ns.bind(() -> result[0] = call.apply(index)).run();
+                return result[0];
+            }));
+        }
+        List<String> results = new ArrayList<>(pending.size());
+        for (Future<String> f : pending) {
+            try {
+                String result = f.get();
+                if (result == null) throw new IllegalStateException(name + ": a call returned no ID");
+                results.add(result);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(name + ": interrupted while seeding", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(name + ": seeding failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Delete the given item paths in bulk and stop tracking them in the seeder's namespace.
+     *
+     * @param paths Item paths, e.g. "/todos/12"
+     */
+    void delete(List<String> paths) {
+        if (paths.isEmpty()) return;
+        BulkDeleter.Result result = new BulkDeleter().deleteAll(paths);
+        paths.forEach(ns.registry()::forget);
+        System.out.println("[" + name + "] deleted " + result);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,243 @@
+package com.ecse429.todoapi.perf;
+
+import com.ecse429.todoapi.ManagedTodoServer;
+import com.ecse429.todoapi.TestServer;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * JDK Flight Recorder on the server process for marked phases of a benchmark.
+ *
+ * Enabled with -Dtodo.jfr=true. A benchmark marks a phase with
+ * {@code ServerProfiler.profile("load", () -> ...)}, or opens and closes a {@link Phase}
+ * itself; the server is recorded for its length with the -Dtodo.jfr.settings configuration
+ * (default profile), and on close the recording is saved as {@code <phase>.jfr} next to the
+ * reports under target/perf, condensed into a {@link JfrSummary} and written to
+ * {@code <phase>-jfr.json}.
+ * The server is found as follows:
+ * <ul>
+ *   <li>-Dtodo.server=embedded: recorded in-process; CPU and allocation samples are kept
+ *       only from server threads, GC pauses are the whole test JVM's</li>
+ *   <li>-Dtodo.server=jar: the launched process, through jcmd</li>
+ *   <li>otherwise: the process given by -Dtodo.jfr.pid, or the one local JVM whose command
+ *       line contains -Dtodo.jfr.match (default TodoManagerTestAPI), through jcmd</li>
+ * </ul>
+ * A server that cannot be recorded is reported with a warning and leaves the benchmark
+ * running unprofiled. A phase spanning a server restart loses its recording.
+ */
+public final class ServerProfiler {
+
+    private static final long JCMD_TIMEOUT_SECONDS = 30;
+
+    private ServerProfiler() {
+    }
+
+    /**
+     * Start recording the server for a phase; does nothing unless -Dtodo.jfr=true.
+     *
+     * @param name Phase name, used for the recording and its files (e.g., "load")
+     * @return The phase; close it when the phase ends
+     */
+    public static Phase phase(String name) {
+        String file = name.replaceAll("[^A-Za-z0-9._-]", "-");
+        if (!Boolean.getBoolean("todo.jfr")) return new Phase(file, null);
+        try {
+            Target target = target();
+            target.start("todo-" + file, System.getProperty("todo.jfr.settings", "profile"));
+            return new Phase(file, target);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Warning: could not start JFR for phase " + name + ": " + e.getMessage());
+            return new Phase(file, null);
+        }
+    }
+
+    /**
+     * Run an action as a recorded phase; see {@link #phase}.
+     *
+     * @param name Phase name, used for the recording and its files (e.g., "load")
+     * @param action The measured part of the benchmark
+     * @return What the action returned
+     */
+    public static <T> T profile(String name, Supplier<T> action) {
+        Phase phase = phase(name);
+        try {
+            return action.get();
+        } finally {
+            phase.close();
+        }
+    }
+
+    private static Target target() throws IOException {
+        if (TestServer.embedded() != null) return new InProcess();
+        ManagedTodoServer managed = TestServer.managed();
+        if (managed != null) return new Jcmd(managed.pid());
+        String pid = System.getProperty("todo.jfr.pid");
+        if (pid != null) return new Jcmd(Long.parseLong(pid.trim()));
+        return new Jcmd(discover(System.getProperty("todo.jfr.match", "TodoManagerTestAPI")));
+    }
+
+    /**
+     * PID of the one local JVM, other than this one, whose command line contains the text.
+     */
+    private static long discover(String match) throws IOException {
+        List<Long> found = new ArrayList<>();
+        for (String line : jcmd("-l").split("\n")) {
+            String[] parts = line.trim().split("\\s+", 2);
+            if (parts.length < 2 || !parts[1].contains(match)) continue;
+            long pid = Long.parseLong(parts[0]);
+            if (pid != ProcessHandle.current().pid()) found.add(pid);
+        }
+        if (found.size() != 1) {
+            throw new IllegalStateException((found.isEmpty() ? "no" : found.size()) + " local JVM matching " + match
+                + "; set -Dtodo.jfr.pid");
+        }
+        return found.get(0);
+    }
+
+    /**
+     * Run jcmd from this JVM's installation.
+     *
+     * @return Its output
+     * @throws IllegalStateException If it fails or reports an error
+     */
+    private static String jcmd(String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "jcmd").toString());
+        command.addAll(List.of(args));
+        Process p = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output;
+        try (InputStream in = p.getInputStream()) {
+            output = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try {
+            if (!p.waitFor(JCMD_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                p.destroyForcibly();
+                throw new IllegalStateException("jcmd " + String.join(" ", args) + " timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted waiting for jcmd", e);
+        }
+        if (p.exitValue() != 0 || output.contains("Exception") || output.contains("Could not")) {
+            throw new IllegalStateException("jcmd " + String.join(" ", args) + " failed: " + output.strip());
+        }
+        return output;
+    }
+
+    /**
+     * A JVM that can be recorded.
+     */
+    private interface Target {
+        void start(String recording, String settings) throws IOException;
+
+        void stop(String recording, Path file) throws IOException;
+
+        /** Whether the recording also holds threads that are not the server's. */
+        boolean shared();
+    }
+
+    /** The embedded server, in this JVM. */
+    private static final class InProcess implements Target {
+        private Recording recording;
+
+        @Override
+        public void start(String name, String settings) throws IOException {
+            try {
+                recording = new Recording(Configuration.getConfiguration(settings));
+            } catch (ParseException e) {
+                throw new IOException("bad JFR settings " + settings, e);
+            }
+            recording.setName(name);
+            recording.start();
+        }
+
+        @Override
+        public void stop(String name, Path file) throws IOException {
+            recording.stop();
+            try {
+                recording.dump(file);
+            } finally {
+                recording.close();
+            }
+        }
+
+        @Override
+        public boolean shared() {
+            return true;
+        }
+    }
+
+    /** Another local JVM, driven through jcmd. */
+    private static final class Jcmd implements Target {
+        private final long pid;
+
+        Jcmd(long pid) {
+            this.pid = pid;
+        }
+
+        @Override
+        public void start(String name, String settings) throws IOException {
+            jcmd(String.valueOf(pid), "JFR.start", "name=" + name, "settings=" + settings);
+        }
+
+        @Override
+        public void stop(String name, Path file) throws IOException {
+            jcmd(String.valueOf(pid), "JFR.stop", "name=" + name, "filename=" + file.toAbsolutePath());
+        }
+
+        @Override
+        public boolean shared() {
+            return false;
+        }
+    }
+
+    /**
+     * A recorded phase. Closing it saves and summarizes the recording.
+     */
+    public static final class Phase implements AutoCloseable {
+        private final String name;
+        private final Target target;
+        private final long start = System.nanoTime();
+        private JfrSummary summary;
+
+        Phase(String name, Target target) {
+            this.name = name;
+            this.target = target;
+        }
+
+        /** The summary once the phase is closed, or null if it was not recorded. */
+        public JfrSummary summary() {
+            return summary;
+        }
+
+        @Override
+        public void close() {
+            if (target == null || summary != null) return;
+            long elapsed = System.nanoTime() - start;
+            Path file = Paths.get(System.getProperty("perf.dir", "target/perf")).resolve(name + ".jfr");
+            try {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                target.stop("todo-" + name, file);
+                summary = JfrSummary.read(file, elapsed, target.shared(), Integer.getInteger("todo.jfr.top", 10));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Warning: could not save JFR for phase " + name + ": " + e.getMessage());
+                return;
+            }
+            Path report = summary.toReport(name).write(name + "-jfr.json");
+            System.out.print(summary.summary(name));
+            System.out.println("[jfr] " + name + " recording at " + file.toAbsolutePath() + ", summary at " + report.toAbsolutePath());
+        }
+    }
+}
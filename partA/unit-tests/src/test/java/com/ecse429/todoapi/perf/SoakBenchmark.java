@@ -0,0 +1,147 @@
+package com.ecse429.todoapi.perf;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Long run of a mixed workload at a fixed rate, watching for latency and throughput drift.
+ *
+ * Drives a {@link LoadGenerator} at a constant arrival rate for hours, cutting the run into
+ * windows with a latency histogram each, and prints every window as it closes. At the end a
+ * {@link DriftDetector} compares the early windows with the late ones. Creates outpace deletes
+ * in the default mix, so the server's collections grow through the run, which is how
+ * degradation from growing internal structures shows up.
+ */
+public final class SoakBenchmark {
+
+    /** Mix of the soak: the load mix with todo updates. */
+    public static final String DEFAULT_MIX = LoadGenerator.DEFAULT_MIX + ",updateTodo:10";
+
+    private final LoadGenerator generator;
+    private final double rate;
+    private final long durationNanos;
+    private final long windowNanos;
+    private final DriftDetector detector;
+
+    /**
+     * @param rate Operations started per second
+     * @param durationNanos Length of the run
+     * @param windowNanos Length of a window
+     * @param mix Relative weight of each operation
+     * @param maxInFlight Cap on outstanding requests; arrivals beyond it are dropped and counted
+     * @param detector Comparison of early and late windows
+     */
+    public SoakBenchmark(double rate, long durationNanos, long windowNanos, Map<LoadGenerator.Operation, Integer> mix,
+                         int maxInFlight, DriftDetector detector) {
+        if (windowNanos <= 0 || windowNanos > durationNanos) throw new IllegalArgumentException("window must be positive and within the run");
+        this.generator = new LoadGenerator(ArrivalProcess.constant(rate), durationNanos, mix, maxInFlight, 10);
+        this.rate = rate;
+        this.durationNanos = durationNanos;
+        this.windowNanos = windowNanos;
+        this.detector = detector;
+    }
+
+    /**
+     * Soak configured from -Dsoak.rate (default 20 per second), -Dsoak.duration.minutes
+     * (default 120), -Dsoak.window.seconds (default 60), -Dsoak.mix (default {@link #DEFAULT_MIX}),
+     * -Dsoak.maxInFlight (default 1000) and the {@link DriftDetector#fromSystemProperties detector}.
+     */
+    public static SoakBenchmark fromSystemProperties() {
+        long duration = (long) (Double.parseDouble(System.getProperty("soak.duration.minutes", "120")) * 60e9);
+        long window = (long) (Double.parseDouble(System.getProperty("soak.window.seconds", "60")) * 1e9);
+        return new SoakBenchmark(Double.parseDouble(System.getProperty("soak.rate", "20")), duration, window,
+            LoadGenerator.parseMix(System.getProperty("soak.mix", DEFAULT_MIX)),
+            Integer.getInteger("soak.maxInFlight", 1_000), DriftDetector.fromSystemProperties());
+    }
+
+    /**
+     * Run the soak and compare its early and late windows.
+     *
+     * @return The windows, the whole run and the drift of each metric
+     */
+    public Result run() {
+        List<LoadGenerator.Window> windows = new ArrayList<>();
+        LoadGenerator.Result load = generator.run(windowNanos, w -> {
+            windows.add(w);
+            Histogram h = w.latency();
+            System.out.printf("[soak] window %d at %.0fs: %.1f ops/s, p50 %.2f ms, p99 %.2f ms, %d dropped%n",
+                w.index(), w.offsetNanos() / 1e9, w.throughput(), h.getValueAtPercentile(50) / 1000.0,
+                h.getValueAtPercentile(99) / 1000.0, w.dropped());
+        });
+        return new Result(rate, durationNanos, windowNanos, windows, load, detector.analyse(windows));
+    }
+
+    /**
+     * Outcome of a soak.
+     */
+    public static final class Result implements PerfResult {
+        private final double rate;
+        private final long durationNanos;
+        private final long windowNanos;
+        private final List<LoadGenerator.Window> windows;
+        private final LoadGenerator.Result load;
+        private final List<DriftDetector.Drift> drifts;
+
+        Result(double rate, long durationNanos, long windowNanos, List<LoadGenerator.Window> windows,
+               LoadGenerator.Result load, List<DriftDetector.Drift> drifts) {
+            this.rate = rate;
+            this.durationNanos = durationNanos;
+            this.windowNanos = windowNanos;
+            this.windows = windows;
+            this.load = load;
+            this.drifts = drifts;
+        }
+
+        public List<LoadGenerator.Window> windows() { return windows; }
+        public LoadGenerator.Result load() { return load; }
+        public List<DriftDetector.Drift> drifts() { return drifts; }
+
+        /** Whether p99 rose or throughput fell significantly between early and late windows. */
+        public boolean degraded() {
+            return drifts.stream().anyMatch(DriftDetector.Drift::degraded);
+        }
+
+        /**
+         * The soak as a {@link PerfReport}: configuration, drift of each metric and every window.
+         */
+        public PerfReport toReport() {
+            Map<String, Object> run = new LinkedHashMap<>();
+            run.put("rate_per_s", rate);
+            run.put("duration_s", durationNanos / 1e9);
+            run.put("window_s", windowNanos / 1e9);
+            run.put("elapsed_s", load.elapsedNanos() / 1e9);
+            run.put("issued", load.issued());
+            run.put("dropped", load.dropped());
+            run.put("latency", PerfReport.latency(load.overall()));
+
+            List<Object> drift = new ArrayList<>();
+            for (DriftDetector.Drift d : drifts) drift.add(d.toMap());
+            List<Object> rows = new ArrayList<>();
+            for (LoadGenerator.Window w : windows) {
+                Map<String, Object> m = new LinkedHashMap<>();
+                m.put("index", w.index());
+                m.put("offset_s", w.offsetNanos() / 1e9);
+                m.put("length_s", w.lengthNanos() / 1e9);
+                m.put("issued", w.issued());
+                m.put("dropped", w.dropped());
+                m.put("throughput_per_s", w.throughput());
+                m.put("latency", PerfReport.latency(w.latency()));
+                rows.add(m);
+            }
+            return new PerfReport("soak").put("run", run).put("drift", drift).put("windows", rows);
+        }
+
+        /**
+         * The per-operation table of the whole run followed by one line per metric's drift.
+         */
+        public String summary() {
+            StringBuilder sb = new StringBuilder(load.summary());
+            for (DriftDetector.Drift d : drifts) sb.append("[soak] ").append(d).append('\n');
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecse429.todoapi.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Soak run against the Todo Manager API.
+ * Skipped unless its length is given, since it runs for hours:
+ * mvn test -Pperf -Dtest=SoakTests -Dsoak.duration.minutes=120 [-Dsoak.rate=20 -Dsoak.window.seconds=60].
+ * Writes every window's throughput and percentiles, and the drift of p99 and throughput between
+ * early and late windows, to target/perf/soak-report.json (override with -Dsoak.report).
+ */
+public class SoakTests extends PerfTestBase {
+
+    @Test
+    void soak_without_drift() {
+        assumeTrue(System.getProperty("soak.duration.minutes") != null, "soak runs for hours; set -Dsoak.duration.minutes");
+        SoakBenchmark.Result result = ServerProfiler.profile("soak", () -> SoakBenchmark.fromSystemProperties().run());
+        Path report = report("soak", "soak.report", "soak-report.json", result);
+        assertTrue(result.load().overall().getTotalCount() > 0, "no request completed");
+        assertFalse(result.degraded(), "p99 or throughput degraded during the soak; see " + report);
+    }
+}
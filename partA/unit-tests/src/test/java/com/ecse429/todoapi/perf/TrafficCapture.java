@@ -0,0 +1,318 @@
+package com.ecse429.todoapi.perf;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Records every RestAssured exchange to an append-only capture file for {@link TrafficReplayer}.
+ * Clients that bypass RestAssured, such as the jdk {@code ApiClient}, hand theirs to {@link #record}.
+ *
+ * Enabled with -Dtodo.capture=path (relative paths resolve under target/perf). Each exchange
+ * is appended as one length-prefixed binary record in a gzip stream: start offset and duration
+ * in nanoseconds since the capture began, method, path and query, request headers and body,
+ * status, response content type and body. Records are appended as calls complete, so with
+ * parallel tests they are ordered by completion, not by start; the reader sorts them.
+ * The file is closed by {@link TrafficCaptureListener} when the test run ends.
+ */
+public final class TrafficCapture implements Filter {
+
+    private static final int MAGIC = 0x54444341; // "TDCA"
+    private static final int VERSION = 1;
+    private static final int NO_BODY = -1;
+
+    private static volatile TrafficCapture instance;
+
+    private final Path path;
+    private final long originNanos = System.nanoTime();
+    private final DataOutputStream out;
+    private long records;
+    private boolean closed;
+
+    private TrafficCapture(Path path) throws IOException {
+        this.path = path;
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(path)), 1 << 16));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(System.currentTimeMillis());
+    }
+
+    /**
+     * Register the filter globally if -Dtodo.capture is set.
+     * Safe to call from every test class; only the first call has an effect.
+     */
+    public static synchronized void install() {
+        String target = System.getProperty("todo.capture");
+        if (instance != null || target == null || target.isBlank()) return;
+        Path path = Paths.get(System.getProperty("perf.dir", "target/perf")).resolve(target);
+        try {
+            instance = new TrafficCapture(path);
+        } catch (IOException e) {
+            System.err.println("Warning: Could not open capture file " + path + ": " + e.getMessage());
+            return;
+        }
+        RestAssured.filters(instance);
+    }
+
+    /**
+     * Flush and close the capture file, if capturing. Later exchanges are not recorded.
+     *
+     * @return The file written, or null if nothing was captured
+     */
+    public static synchronized Path close() {
+        if (instance == null) return null;
+        TrafficCapture capture = instance;
+        synchronized (capture) {
+            capture.closed = true;
+            try {
+                capture.out.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not close capture file " + capture.path, e);
+            }
+            System.out.println("[capture] " + capture.records + " exchanges written to " + capture.path.toAbsolutePath());
+        }
+        return capture.path;
+    }
+
+    /** Whether exchanges are being captured. */
+    public static boolean capturing() {
+        return instance != null;
+    }
+
+    /**
+     * Record an exchange made outside RestAssured; does nothing unless capturing.
+     *
+     * @param method The HTTP method
+     * @param uri The full request URI
+     * @param headers The request headers
+     * @param requestBody The request body, or null
+     * @param startNanos System.nanoTime() when the request was sent
+     * @param elapsedNanos Time until the response was read
+     * @param status The response status
+     * @param contentType The response content type, or null
+     * @param responseBody The response body
+     */
+    public static void record(String method, String uri, Map<String, String> headers, byte[] requestBody,
+                              long startNanos, long elapsedNanos, int status, String contentType, byte[] responseBody) {
+        TrafficCapture capture = instance;
+        if (capture == null) return;
+        capture.append(new Exchange(startNanos - capture.originNanos, elapsedNanos, method, pathAndQuery(uri),
+            headers, requestBody, status, contentType, responseBody));
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long elapsed = System.nanoTime() - start;
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Header h : requestSpec.getHeaders()) headers.put(h.getName(), h.getValue());
+        if (requestSpec.getContentType() != null) headers.putIfAbsent("Content-Type", requestSpec.getContentType());
+        Exchange exchange = new Exchange(start - originNanos, elapsed, requestSpec.getMethod(),
+            pathAndQuery(requestSpec.getURI()), headers, bytes(requestSpec.getBody()),
+            response.getStatusCode(), response.getContentType(), response.asByteArray());
+        append(exchange);
+        return response;
+    }
+
+    private synchronized void append(Exchange e) {
+        if (closed) return;
+        try {
+            out.writeLong(e.offsetNanos);
+            out.writeLong(e.durationNanos);
+            out.writeUTF(e.method);
+            out.writeUTF(e.path);
+            out.writeShort(e.headers.size());
+            for (Map.Entry<String, String> h : e.headers.entrySet()) {
+                out.writeUTF(h.getKey());
+                out.writeUTF(h.getValue());
+            }
+            writeBody(e.requestBody);
+            out.writeShort(e.status);
+            out.writeUTF(e.responseContentType == null ? "" : e.responseContentType);
+            writeBody(e.responseBody);
+            records++;
+        } catch (IOException ex) {
+            // Capturing must never fail a test
+            System.err.println("Warning: Could not append to capture file " + path + ": " + ex.getMessage());
+        }
+    }
+
+    private void writeBody(byte[] body) throws IOException {
+        if (body == null) {
+            out.writeInt(NO_BODY);
+            return;
+        }
+        out.writeInt(body.length);
+        out.write(body);
+    }
+
+    /**
+     * Read every exchange of a capture file, ordered by start time. A file cut short,
+     * e.g. by a killed run, yields the exchanges before the cut.
+     *
+     * @param path The capture file
+     * @return The exchanges
+     */
+    public static Capture read(Path path) {
+        List<Exchange> exchanges = new ArrayList<>();
+        long startedAt;
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(file, 1 << 16)))) {
+            if (in.readInt() != MAGIC) throw new IOException("not a capture file");
+            int version = in.readInt();
+            if (version != VERSION) throw new IOException("unsupported capture version " + version);
+            startedAt = in.readLong();
+            while (true) {
+                Exchange e = readExchange(in);
+                if (e == null) break;
+                exchanges.add(e);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read capture file " + path, e);
+        }
+        exchanges.sort((a, b) -> Long.compare(a.offsetNanos, b.offsetNanos));
+        return new Capture(startedAt, exchanges);
+    }
+
+    private static Exchange readExchange(DataInputStream in) throws IOException {
+        long offset;
+        try {
+            offset = in.readLong();
+        } catch (EOFException end) {
+            return null;
+        }
+        try {
+            long duration = in.readLong();
+            String method = in.readUTF();
+            String path = in.readUTF();
+            int headerCount = in.readUnsignedShort();
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (int i = 0; i < headerCount; i++) headers.put(in.readUTF(), in.readUTF());
+            byte[] requestBody = readBody(in);
+            int status = in.readUnsignedShort();
+            String contentType = in.readUTF();
+            byte[] responseBody = readBody(in);
+            return new Exchange(offset, duration, method, path, headers, requestBody, status,
+                contentType.isEmpty() ? null : contentType, responseBody);
+        } catch (EOFException truncated) {
+            return null;
+        }
+    }
+
+    private static byte[] readBody(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == NO_BODY) return null;
+        byte[] body = new byte[length];
+        in.readFully(body);
+        return body;
+    }
+
+    private static String pathAndQuery(String uri) {
+        try {
+            URI u = URI.create(uri);
+            return u.getRawQuery() == null ? u.getRawPath() : u.getRawPath() + "?" + u.getRawQuery();
+        } catch (IllegalArgumentException e) {
+            return uri;
+        }
+    }
+
+    private static byte[] bytes(Object body) {
+        if (body == null) return null;
+        if (body instanceof byte[]) return (byte[]) body;
+        return String.valueOf(body).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The contents of a capture file.
+     */
+    public static final class Capture {
+        private final long startedAtMillis;
+        private final List<Exchange> exchanges;
+
+        Capture(long startedAtMillis, List<Exchange> exchanges) {
+            this.startedAtMillis = startedAtMillis;
+            this.exchanges = Collections.unmodifiableList(exchanges);
+        }
+
+        /** Wall-clock time the capture began, in epoch milliseconds. */
+        public long startedAtMillis() { return startedAtMillis; }
+        /** Exchanges ordered by start time. */
+        public List<Exchange> exchanges() { return exchanges; }
+
+        /** Time from the first request's start to the last response. */
+        public long spanNanos() {
+            long end = 0;
+            for (Exchange e : exchanges) end = Math.max(end, e.offsetNanos + e.durationNanos);
+            return exchanges.isEmpty() ? 0 : end - exchanges.get(0).offsetNanos;
+        }
+    }
+
+    /**
+     * One recorded request and its response.
+     */
+    public static final class Exchange {
+        private final long offsetNanos;
+        private final long durationNanos;
+        private final String method;
+        private final String path;
+        private final Map<String, String> headers;
+        private final byte[] requestBody;
+        private final int status;
+        private final String responseContentType;
+        private final byte[] responseBody;
+
+        Exchange(long offsetNanos, long durationNanos, String method, String path, Map<String, String> headers,
+                 byte[] requestBody, int status, String responseContentType, byte[] responseBody) {
+            this.offsetNanos = offsetNanos;
+            this.durationNanos = durationNanos;
+            this.method = method;
+            this.path = path;
+            this.headers = headers;
+            this.requestBody = requestBody;
+            this.status = status;
+            this.responseContentType = responseContentType;
+            this.responseBody = responseBody;
+        }
+
+        /** Start of the request, in nanoseconds since the capture began. */
+        public long offsetNanos() { return offsetNanos; }
+        public long durationNanos() { return durationNanos; }
+        public String method() { return method; }
+        /** Path and query, without scheme, host or port. */
+        public String path() { return path; }
+        public Map<String, String> headers() { return headers; }
+        public byte[] requestBody() { return requestBody; }
+        public int status() { return status; }
+        public String responseContentType() { return responseContentType; }
+        public byte[] responseBody() { return responseBody; }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecse429.todoapi.perf;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Closes the {@link TrafficCapture} file once the whole test plan has run.
+ * Registered with the JUnit Platform through META-INF/services.
+ */
+public class TrafficCaptureListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        try {
+            TrafficCapture.close();
+        } catch (Exception e) {
+            // Capturing must never fail the run
+            System.err.println("Warning: Could not close capture file: " + e.getMessage());
+        }
+    }
+}
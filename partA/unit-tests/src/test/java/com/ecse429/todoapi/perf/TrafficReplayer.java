@@ -0,0 +1,452 @@
+package com.ecse429.todoapi.perf;
+
+import com.ecse429.todoapi.TestHelper;
+import com.ecse429.todoapi.TestNamespace;
+import com.ecse429.todoapi.perf.TrafficCapture.Exchange;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Re-issues the exchanges of a {@link TrafficCapture} file against the current server.
+ *
+ * Requests start at their captured offsets divided by the speed factor (1 for real time,
+ * 10 for ten times faster, 0 for as fast as possible), on at most the configured number of
+ * platform threads (see {@link LoadGenerator} for why not virtual ones).
+ *
+ * Objects get new IDs on every run, so IDs are rewritten. Every captured create, a POST
+ * to /todos, /categories or /projects or a POST through a relationship without an "id",
+ * maps the ID it returned, read with {@link TestHelper#extractId}, to the ID the replayed
+ * call returns. The mapping is applied to the ID segments of later paths and to the "id"
+ * of relationship bodies; IDs no earlier create returned, e.g. the server's own data or
+ * probes for missing objects, are sent unchanged. Requests on the same object keep their
+ * captured order: each one waits for the previous request that named any of its objects.
+ * A request whose create failed is skipped. Replayed creates are tracked in the caller's
+ * {@link TestNamespace} and deletes untracked, so teardown removes whatever is left over.
+ */
+public final class TrafficReplayer {
+
+    private static final Pattern BODY_ID = Pattern.compile("(\"id\"\\s*:\\s*\")([^\"]*)(\")");
+    private static final long DEPENDENCY_TIMEOUT_SECONDS = 60;
+
+    private final List<Exchange> exchanges;
+    private final double speed;
+    private final int concurrency;
+    private final long capturedNanos;
+
+    /** Per exchange: "root/id" of the object it creates, or null. */
+    private final String[] creates;
+    /** Per exchange: the create each captured "root/id" it names was returned by. */
+    private final List<Map<String, Integer>> sources = new ArrayList<>();
+    /** Per exchange: earlier exchanges that must complete before it is sent. */
+    private final int[][] dependencies;
+    private final CountDownLatch[] completions;
+    /** Replayed ID returned by each create. */
+    private final Map<Integer, String> ids = new ConcurrentHashMap<>();
+
+    private final Map<String, Recorder> latencies = new ConcurrentHashMap<>();
+    private final Recorder lag = new Recorder(PerfReport.MAX_LATENCY_MICROS, 3);
+    private final LongAdder mismatches = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, String> firstMismatch = new ConcurrentHashMap<>();
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    /**
+     * @param capture The exchanges to replay
+     * @param speed Speed-up over the captured timing; 0 or less replays as fast as possible
+     * @param concurrency Requests in flight at once
+     */
+    public TrafficReplayer(TrafficCapture.Capture capture, double speed, int concurrency) {
+        if (concurrency < 1) throw new IllegalArgumentException("concurrency must be at least 1");
+        this.exchanges = capture.exchanges();
+        this.speed = speed;
+        this.concurrency = concurrency;
+        this.capturedNanos = capture.spanNanos();
+
+        int n = exchanges.size();
+        creates = new String[n];
+        dependencies = new int[n][];
+        completions = new CountDownLatch[n];
+        Map<String, Integer> lastCreate = new HashMap<>();
+        Map<String, Integer> lastTouch = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            Exchange e = exchanges.get(i);
+            completions[i] = new CountDownLatch(1);
+            creates[i] = createdKey(e, capturedResponse(e));
+
+            Map<String, Integer> source = new HashMap<>();
+            Set<Integer> after = new TreeSet<>();
+            for (String key : referencedKeys(e)) {
+                Integer create = lastCreate.get(key);
+                if (create != null) source.put(key, create);
+                Integer touch = lastTouch.get(key);
+                if (touch != null) after.add(touch);
+                lastTouch.put(key, i);
+            }
+            if (creates[i] != null) {
+                lastCreate.put(creates[i], i);
+                lastTouch.put(creates[i], i);
+            }
+            sources.add(source);
+            dependencies[i] = after.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Replayer configured from -Dreplay.speed (default 1) and -Dreplay.concurrency (default 8).
+     *
+     * @param capture The exchanges to replay
+     */
+    public static TrafficReplayer fromSystemProperties(TrafficCapture.Capture capture) {
+        return new TrafficReplayer(capture,
+            Double.parseDouble(System.getProperty("replay.speed", "1")),
+            Integer.getInteger("replay.concurrency", 8));
+    }
+
+    /**
+     * Replay every exchange and wait for all of them to finish.
+     *
+     * @return Latency per route, schedule lag and status mismatches
+     */
+    public Result run() {
+        TestNamespace ns = TestNamespace.current();
+        Semaphore inFlight = new Semaphore(concurrency);
+        ExecutorService executor = Executors.newCachedThreadPool(task -> {
+            Thread t = new Thread(task, "replay-" + threadIds.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        long first = exchanges.isEmpty() ? 0 : exchanges.get(0).offsetNanos();
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < exchanges.size(); i++) {
+                Exchange e = exchanges.get(i);
+                long intended = start + (speed > 0 ? (long) ((e.offsetNanos() - first) / speed) : 0);
+                for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                // Dispatch in capture order: whatever a request waits for already holds a permit
+                inFlight.acquireUninterruptibly();
+                int index = i;
+                executor.execute(ns.bind(() -> {
+                    try {
+                        replay(index, e, intended);
+                    } finally {
+                        completions[index].countDown();
+                        inFlight.release();
+                    }
+                }));
+            }
+        } finally {
+            executor.shutdown();
+            inFlight.acquireUninterruptibly(concurrency);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Map<String, Histogram> routes = new TreeMap<>();
+        latencies.forEach((route, r) -> routes.put(route, r.getIntervalHistogram()));
+        return new Result(exchanges.size(), speed, concurrency, elapsed, capturedNanos, routes,
+            lag.getIntervalHistogram(), mismatches.sum(), skipped.sum(), errors.sum(), new TreeMap<>(firstMismatch));
+    }
+
+    private void replay(int index, Exchange e, long intendedNanos) {
+        for (int dependency : dependencies[index]) {
+            if (!await(completions[dependency])) {
+                skipped.increment();
+                return;
+            }
+        }
+        Map<String, Integer> source = sources.get(index);
+        String path = rewritePath(e.path(), source);
+        String body = e.requestBody() == null ? null : new String(e.requestBody(), StandardCharsets.UTF_8);
+        if (path == null || (body != null && (body = rewriteBody(e.path(), body, source)) == null)) {
+            skipped.increment();
+            return;
+        }
+
+        RequestSpecification spec = given();
+        for (Map.Entry<String, String> h : e.headers().entrySet()) {
+            String name = h.getKey();
+            if (name.equalsIgnoreCase("Content-Length") || name.equalsIgnoreCase("Host")) continue;
+            if (name.equalsIgnoreCase("Content-Type")) spec.contentType(h.getValue());
+            else spec.header(name, h.getValue());
+        }
+        if (body != null) spec.body(body);
+
+        long sent = System.nanoTime();
+        lag.recordValue(PerfReport.micros(sent - intendedNanos));
+        Response res;
+        try {
+            res = spec.when().request(e.method(), path);
+        } catch (RuntimeException ex) {
+            errors.increment();
+            return;
+        }
+        String route = e.method() + " " + EndpointMetrics.template(e.path());
+        latencies.computeIfAbsent(route, k -> new Recorder(PerfReport.MAX_LATENCY_MICROS, 3))
+            .recordValue(PerfReport.micros(System.nanoTime() - sent));
+        if (res.getStatusCode() != e.status()) {
+            mismatches.increment();
+            firstMismatch.putIfAbsent(route, "captured " + e.status() + ", replayed " + res.getStatusCode());
+        }
+        track(index, e, path, res);
+    }
+
+    /** Map the ID a replayed create returned, track it, and untrack replayed deletes. */
+    private void track(int index, Exchange e, String path, Response res) {
+        String captured = creates[index];
+        if (captured != null) {
+            String root = captured.substring(0, captured.indexOf('/'));
+            String id = res.getStatusCode() / 100 == 2 ? idOf(res, root) : null;
+            if (id != null) {
+                ids.put(index, id);
+                TestNamespace.current().registry().trackEntity("/" + root + "/" + id);
+            }
+        }
+        if ("DELETE".equals(e.method()) && segments(path).length == 2 && res.getStatusCode() / 100 == 2) {
+            TestNamespace.current().registry().forget(path);
+        }
+    }
+
+    /**
+     * The path with every captured ID replaced, or null if one of them belongs to a create that failed.
+     */
+    private String rewritePath(String captured, Map<String, Integer> source) {
+        int query = captured.indexOf('?');
+        String[] segments = segments(query < 0 ? captured : captured.substring(0, query));
+        StringBuilder sb = new StringBuilder(captured.length());
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (i % 2 == 1) {
+                segment = resolve(rootOf(segments, i) + "/" + segment, segment, source);
+                if (segment == null) return null;
+            }
+            sb.append('/').append(segment);
+        }
+        if (sb.length() == 0) sb.append('/');
+        return query < 0 ? sb.toString() : sb.append(captured, query, captured.length()).toString();
+    }
+
+    /**
+     * A relationship body with its "id" replaced; other bodies are sent unchanged.
+     * Null if the ID belongs to a create that failed.
+     */
+    private String rewriteBody(String capturedPath, String body, Map<String, Integer> source) {
+        String key = bodyKey(capturedPath, body);
+        if (key == null) return body;
+        Matcher m = BODY_ID.matcher(body);
+        m.find();
+        String id = resolve(key, m.group(2), source);
+        if (id == null) return null;
+        return body.substring(0, m.start(2)) + id + body.substring(m.end(2));
+    }
+
+    private String resolve(String key, String capturedId, Map<String, Integer> source) {
+        Integer create = source.get(key);
+        return create == null ? capturedId : ids.get(create);
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(DEPENDENCY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * "root/id" of every object a request names, in its path or in a relationship body.
+     */
+    private static List<String> referencedKeys(Exchange e) {
+        List<String> keys = new ArrayList<>(3);
+        String[] segments = segments(e.path().split("\\?", 2)[0]);
+        for (int i = 1; i < segments.length; i += 2) keys.add(rootOf(segments, i) + "/" + segments[i]);
+        if (e.requestBody() != null) {
+            String key = bodyKey(e.path(), new String(e.requestBody(), StandardCharsets.UTF_8));
+            if (key != null) keys.add(key);
+        }
+        return keys;
+    }
+
+    /** "root/id" named by the "id" of a relationship body, or null. */
+    private static String bodyKey(String path, String body) {
+        String[] segments = segments(path.split("\\?", 2)[0]);
+        if (segments.length != 3) return null;
+        Matcher m = BODY_ID.matcher(body);
+        return m.find() ? target(segments[2]) + "/" + m.group(2) : null;
+    }
+
+    /** Collection the ID at an odd segment index belongs to. */
+    private static String rootOf(String[] segments, int index) {
+        return index == 1 ? segments[0] : target(segments[index - 1]);
+    }
+
+    /**
+     * "root/id" of the object a captured create returned, or null if the exchange is not a create.
+     */
+    private static String createdKey(Exchange e, Response captured) {
+        if (!"POST".equals(e.method()) || e.status() / 100 != 2 || captured == null) return null;
+        String[] segments = segments(e.path().split("\\?", 2)[0]);
+        String root;
+        if (segments.length == 1) {
+            root = segments[0];
+        } else if (segments.length == 3) {
+            String body = e.requestBody() == null ? "" : new String(e.requestBody(), StandardCharsets.UTF_8);
+            if (BODY_ID.matcher(body).find()) return null; // links an existing object
+            root = target(segments[2]);
+        } else {
+            return null;
+        }
+        String id = idOf(captured, root);
+        return id == null ? null : root + "/" + id;
+    }
+
+    /** {@link TestHelper#extractId}, or null for a body that does not parse. */
+    private static String idOf(Response res, String root) {
+        try {
+            return TestHelper.extractId(res, root);
+        } catch (RuntimeException unparseable) {
+            return null;
+        }
+    }
+
+    private static Response capturedResponse(Exchange e) {
+        if (e.responseBody() == null || e.responseBody().length == 0) return null;
+        return new ResponseBuilder()
+            .setStatusCode(e.status())
+            .setContentType(e.responseContentType() == null ? "application/json" : e.responseContentType())
+            .setBody(e.responseBody())
+            .build();
+    }
+
+    /** Collection the targets of a relationship live in. */
+    private static String target(String relationship) {
+        switch (relationship) {
+            case "tasks": return "todos";
+            case "tasksof": return "projects";
+            default: return relationship;
+        }
+    }
+
+    private static String[] segments(String path) {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+    }
+
+    /**
+     * Outcome of a replay.
+     */
+    public static final class Result implements PerfResult {
+        private final int exchanges;
+        private final double speed;
+        private final int concurrency;
+        private final long elapsedNanos;
+        private final long capturedNanos;
+        private final Map<String, Histogram> routes;
+        private final Histogram lag;
+        private final long mismatches;
+        private final long skipped;
+        private final long errors;
+        private final Map<String, String> firstMismatch;
+
+        Result(int exchanges, double speed, int concurrency, long elapsedNanos, long capturedNanos,
+               Map<String, Histogram> routes, Histogram lag, long mismatches, long skipped, long errors,
+               Map<String, String> firstMismatch) {
+            this.exchanges = exchanges;
+            this.speed = speed;
+            this.concurrency = concurrency;
+            this.elapsedNanos = elapsedNanos;
+            this.capturedNanos = capturedNanos;
+            this.routes = routes;
+            this.lag = lag;
+            this.mismatches = mismatches;
+            this.skipped = skipped;
+            this.errors = errors;
+            this.firstMismatch = firstMismatch;
+        }
+
+        public int exchanges() { return exchanges; }
+        /** Replayed requests whose status differs from the captured one. */
+        public long mismatches() { return mismatches; }
+        /** Requests not sent because a create they depend on failed. */
+        public long skipped() { return skipped; }
+        /** Requests that failed without a response. */
+        public long errors() { return errors; }
+        /** How late requests were sent relative to their schedule. */
+        public Histogram lag() { return lag; }
+
+        /** Latencies of every route combined. */
+        public Histogram overall() {
+            Histogram all = PerfReport.newHistogram();
+            routes.values().forEach(all::add);
+            return all;
+        }
+
+        /**
+         * The replay as a {@link PerfReport}: timing, lag, mismatches and per-route percentiles.
+         */
+        public PerfReport toReport() {
+            Map<String, Object> run = new LinkedHashMap<>();
+            run.put("exchanges", exchanges);
+            run.put("speed", speed > 0 ? speed + "x" : "max");
+            run.put("concurrency", concurrency);
+            run.put("captured_s", capturedNanos / 1e9);
+            run.put("elapsed_s", elapsedNanos / 1e9);
+            run.put("throughput_per_s", PerfReport.perSecond(overall().getTotalCount(), elapsedNanos));
+            run.put("status_mismatches", mismatches);
+            run.put("skipped", skipped);
+            run.put("errors", errors);
+
+            Map<String, Object> perRoute = new LinkedHashMap<>();
+            for (Map.Entry<String, Histogram> e : routes.entrySet()) {
+                Map<String, Object> m = new LinkedHashMap<>(PerfReport.latency(e.getValue()));
+                if (firstMismatch.containsKey(e.getKey())) m.put("first_mismatch", firstMismatch.get(e.getKey()));
+                perRoute.put(e.getKey(), m);
+            }
+            return new PerfReport("replay")
+                .put("run", run)
+                .put("lag", PerfReport.latency(lag))
+                .put("latency", PerfReport.latency(overall()))
+                .put("routes", perRoute);
+        }
+
+        /**
+         * Totals and overall percentiles on a few lines.
+         */
+        public String summary() {
+            Histogram all = overall();
+            return String.format("[replay] %d exchanges at %s in %.2fs (captured %.2fs), %d status mismatches, %d skipped, %d errors%n"
+                    + "[replay] latency p50 %.2f ms p99 %.2f ms, schedule lag p99 %.2f ms%n",
+                exchanges, speed > 0 ? speed + "x" : "max speed", elapsedNanos / 1e9, capturedNanos / 1e9,
+                mismatches, skipped, errors, all.getValueAtPercentile(50) / 1000.0,
+                all.getValueAtPercentile(99) / 1000.0, lag.getValueAtPercentile(99) / 1000.0);
+        }
+    }
+}